@@ -0,0 +1,114 @@
+package com.example.sistemapedidos.api;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.codec.JsonEscritor;
+import com.example.sistemapedidos.codec.JsonLeitor;
+import com.example.sistemapedidos.codec.PedidoJson;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe PedidoJsonCodec.
+ * Converte as mensagens JSON da API HTTP de/para objetos do domínio, escrito à mão
+ * sobre JsonLeitor/JsonEscritor (sem reflexão). A representação de pedido, cliente e
+ * item é a mesma do codec geral (PedidoJson).
+ *
+ * Formato da requisição de criação:
+ * <pre>
+ * {"cliente": {"id": "CLI001", "nome": "Ana", "email": "ana@example.com"},
+ *  "itens": [{"tipo": "FISICO", "nome": "Livro", "preco": 75.9, "pesoKg": 1.2, "quantidade": 1},
+ *            {"tipo": "DIGITAL", "nome": "Ebook", "preco": 29.99, "urlDownload": "http://...", "quantidade": 2}],
+ *  "status": "AGUARDANDO_PAGAMENTO"}
+ * </pre>
+ * O campo "status" é opcional.
+ */
+public class PedidoJsonCodec {
+
+    private PedidoJsonCodec() {
+        // Classe utilitária, apenas métodos estáticos
+    }
+
+    /**
+     * Lê uma requisição de criação de pedido e prepara o PedidoBuilder correspondente.
+     * A construção final (construir()) fica a cargo de quem chama.
+     * @param json Corpo da requisição em UTF-8.
+     * @return O builder preenchido com cliente, itens e status (se informado).
+     * @throws IllegalArgumentException se o JSON for inválido ou faltar algum campo obrigatório.
+     */
+    public static PedidoBuilder lerCriacao(ByteBuffer json) {
+        return lerCriacao(json, new PedidoBuilder());
+    }
+
+    /**
+     * Variante que preenche um builder já existente.
+     */
+    public static PedidoBuilder lerCriacao(ByteBuffer json, PedidoBuilder builder) {
+        JsonLeitor leitor = new JsonLeitor(json);
+        leitor.iniciarObjeto();
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            switch (campo) {
+                case "cliente":
+                    builder.comCliente(PedidoJson.lerCliente(leitor));
+                    break;
+                case "itens":
+                    leitor.iniciarArray();
+                    while (leitor.proximoElemento()) {
+                        PedidoJson.lerItem(leitor, builder);
+                    }
+                    break;
+                case "status":
+                    builder.comStatusInicial(leitor.lerString());
+                    break;
+                default:
+                    leitor.pularValor();
+            }
+        }
+        exigirFim(leitor);
+        return builder;
+    }
+
+    /**
+     * Lê o corpo de uma atualização de status: {"status": "PAGO"}.
+     * @return O novo status.
+     */
+    public static String lerStatus(ByteBuffer json) {
+        JsonLeitor leitor = new JsonLeitor(json);
+        leitor.iniciarObjeto();
+        String status = null;
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            if ("status".equals(campo)) {
+                status = leitor.lerString();
+            } else {
+                leitor.pularValor();
+            }
+        }
+        exigirFim(leitor);
+        if (status == null) {
+            throw new IllegalArgumentException("Campo 'status' é obrigatório.");
+        }
+        return status;
+    }
+
+    /**
+     * Escreve a representação JSON completa de um pedido.
+     */
+    public static void escreverPedido(Pedido pedido, JsonEscritor escritor) {
+        PedidoJson.escrever(pedido, escritor);
+    }
+
+    /**
+     * Escreve uma mensagem de erro no formato {"erro": "..."}.
+     */
+    public static void escreverErro(String mensagem, JsonEscritor escritor) {
+        escritor.iniciarObjeto().campo("erro", mensagem).fimObjeto();
+    }
+
+    private static void exigirFim(JsonLeitor leitor) {
+        if (leitor.temMaisConteudo()) {
+            throw new IllegalArgumentException("Conteúdo depois do fim do JSON.");
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.sistemapedidos.api;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.codec.JsonEscritor;
+import com.example.sistemapedidos.idempotencia.CacheIdempotencia;
+import com.example.sistemapedidos.indice.IndiceTemporalPedidos;
+import com.example.sistemapedidos.indice.PaginaPedidos;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+import com.example.sistemapedidos.velocidade.LimiteVelocidadeExcedidoException;
+import com.example.sistemapedidos.velocidade.LimitadorVelocidade;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Classe ServidorHttpPedidos.
+ * Expõe a criação e consulta de pedidos via HTTP usando o servidor embutido do JDK
+ * (com.sun.net.httpserver), com uma virtual thread por requisição (Java 21).
+ *
+ * Rotas:
+ * <ul>
+ *   <li>POST /pedidos              - cria um pedido (via PedidoBuilder) e retorna 201 com o JSON do pedido;
+ *                                    com o header Idempotency-Key, novas tentativas recebem o pedido original;
+ *                                    429 se o cliente passou de um limite de velocidade (quando configurado)</li>
+ *   <li>GET  /pedidos              - lista pedidos por data, paginado por cursor:
+ *                                    ?de=2024-03-01T00:00&amp;ate=2024-04-01T00:00&amp;limite=50&amp;ordem=desc&amp;cursor=...</li>
+ *   <li>GET  /pedidos/{id}         - retorna o pedido ou 404</li>
+ *   <li>PUT  /pedidos/{id}/status  - altera o status: {"status": "PAGO"}</li>
+ * </ul>
+ * Corpos acima de 256 KiB recebem 413.
+ */
+public class ServidorHttpPedidos {
+    private static final String PREFIXO = "/pedidos";
+    private static final int BACKLOG = 16_384; // Fila de conexões pendentes alta para testes de carga
+    private static final String HEADER_IDEMPOTENCIA = "Idempotency-Key";
+    private static final int CAPACIDADE_IDEMPOTENCIA = 100_000;
+    private static final Duration JANELA_IDEMPOTENCIA = Duration.ofMinutes(10);
+    private static final int LIMITE_PAGINA_PADRAO = 50;
+    private static final int LIMITE_PAGINA_MAXIMO = 1_000;
+    private static final int TAMANHO_MAXIMO_CORPO = 256 * 1024; // Bem acima de um pedido com o máximo de itens
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final RepositorioPedidos repositorio;
+    private final CacheIdempotencia cacheIdempotencia;
+    private final IndiceTemporalPedidos indice;
+    private final LimitadorVelocidade limitadorVelocidade; // null: sem limites por cliente
+
+    public ServidorHttpPedidos(int porta, RepositorioPedidos repositorio) throws IOException {
+        this(porta, repositorio, new CacheIdempotencia(CAPACIDADE_IDEMPOTENCIA, JANELA_IDEMPOTENCIA));
+    }
+
+    public ServidorHttpPedidos(int porta, RepositorioPedidos repositorio, CacheIdempotencia cacheIdempotencia) throws IOException {
+        this(porta, repositorio, cacheIdempotencia, new IndiceTemporalPedidos());
+    }
+
+    /**
+     * @param indice Índice usado na listagem por data. Pedidos já existentes no repositório são indexados.
+     */
+    public ServidorHttpPedidos(int porta, RepositorioPedidos repositorio, CacheIdempotencia cacheIdempotencia,
+                               IndiceTemporalPedidos indice) throws IOException {
+        this(porta, repositorio, cacheIdempotencia, indice, null);
+    }
+
+    /**
+     * @param limitadorVelocidade Limites por cliente aplicados na criação de pedidos (429 quando excedidos);
+     *                            null para não limitar.
+     */
+    public ServidorHttpPedidos(int porta, RepositorioPedidos repositorio, CacheIdempotencia cacheIdempotencia,
+                               IndiceTemporalPedidos indice, LimitadorVelocidade limitadorVelocidade) throws IOException {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("Repositório não pode ser nulo.");
+        }
+        if (cacheIdempotencia == null) {
+            throw new IllegalArgumentException("Cache de idempotência não pode ser nulo.");
+        }
+        this.repositorio = repositorio;
+        this.cacheIdempotencia = cacheIdempotencia;
+        this.indice = indice != null ? indice : new IndiceTemporalPedidos();
+        this.limitadorVelocidade = limitadorVelocidade;
+        for (Pedido pedido : repositorio.listarTodos()) {
+            this.indice.indexar(pedido);
+        }
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.servidor.setExecutor(executor);
+        this.servidor.createContext(PREFIXO, this::tratar);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Para o servidor, aguardando no máximo 1 segundo pelas requisições em andamento.
+     */
+    public void parar() {
+        servidor.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Porta efetivamente usada (útil quando o servidor é criado com porta 0).
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void tratar(HttpExchange troca) throws IOException {
+        try {
+            String caminho = troca.getRequestURI().getPath();
+            String metodo = troca.getRequestMethod();
+            if (!caminho.equals(PREFIXO) && !caminho.startsWith(PREFIXO + "/")) { // O contexto aceita também "/pedidosX"
+                responderErro(troca, 404, "Rota não encontrada: " + caminho);
+                return;
+            }
+            String resto = caminho.length() > PREFIXO.length() ? caminho.substring(PREFIXO.length() + 1) : "";
+
+            if (resto.isEmpty()) {
+                if ("POST".equals(metodo)) {
+                    criarPedido(troca);
+                } else if ("GET".equals(metodo)) {
+                    listarPedidos(troca);
+                } else {
+                    responderErro(troca, 405, "Método não suportado: " + metodo);
+                }
+            } else if (resto.endsWith("/status")) {
+                if ("PUT".equals(metodo) || "PATCH".equals(metodo)) {
+                    atualizarStatus(troca, resto.substring(0, resto.length() - "/status".length()));
+                } else {
+                    responderErro(troca, 405, "Método não suportado: " + metodo);
+                }
+            } else if (resto.indexOf('/') < 0) {
+                if ("GET".equals(metodo)) {
+                    buscarPedido(troca, resto);
+                } else {
+                    responderErro(troca, 405, "Método não suportado: " + metodo);
+                }
+            } else {
+                responderErro(troca, 404, "Rota não encontrada: " + caminho);
+            }
+        } catch (LimiteVelocidadeExcedidoException e) {
+            responderErro(troca, 429, e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Erros de validação do domínio (builder, factory, JSON) viram 400
+            responderErro(troca, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            // Detalhes só no log do servidor: a mensagem pode expor dados internos
+            System.err.println("Erro interno em " + troca.getRequestMethod() + " " + troca.getRequestURI() + ":");
+            e.printStackTrace();
+            responderErro(troca, 500, "Erro interno.");
+        } finally {
+            troca.close();
+        }
+    }
+
+    private void criarPedido(HttpExchange troca) throws IOException {
+        ByteBuffer corpo = lerCorpo(troca);
+        if (corpo == null) {
+            return;
+        }
+        PedidoBuilder builder = PedidoJsonCodec.lerCriacao(corpo).comOuvinte(indice);
+        String chave = troca.getRequestHeaders().getFirst(HEADER_IDEMPOTENCIA);
+        if (chave != null) {
+            builder.comChaveIdempotencia(chave, cacheIdempotencia);
+        }
+        if (limitadorVelocidade != null) {
+            builder.comLimitadorVelocidade(limitadorVelocidade);
+        }
+        Pedido pedido = builder.construir();
+        repositorio.salvar(pedido);
+        troca.getResponseHeaders().set("Location", PREFIXO + "/" + pedido.getId());
+        responderPedido(troca, 201, pedido);
+    }
+
+    private void buscarPedido(HttpExchange troca, String id) throws IOException {
+        Pedido pedido = repositorio.buscarPorId(id);
+        if (pedido == null) {
+            responderErro(troca, 404, "Pedido não encontrado: " + id);
+            return;
+        }
+        responderPedido(troca, 200, pedido);
+    }
+
+    private void listarPedidos(HttpExchange troca) throws IOException {
+        Map<String, String> parametros = lerParametros(troca.getRequestURI().getRawQuery());
+        int limite = parametros.containsKey("limite") ? Integer.parseInt(parametros.get("limite")) : LIMITE_PAGINA_PADRAO;
+        if (limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite máximo da página é " + LIMITE_PAGINA_MAXIMO + ".");
+        }
+        PaginaPedidos pagina = indice.buscar(lerData(parametros.get("de")), lerData(parametros.get("ate")), limite,
+                parametros.get("cursor"), "desc".equalsIgnoreCase(parametros.get("ordem")));
+
+        JsonEscritor escritor = new JsonEscritor(256 + pagina.getPedidos().size() * 512);
+        escritor.iniciarObjeto().campo("pedidos").iniciarArray();
+        for (Pedido pedido : pagina.getPedidos()) {
+            synchronized (pedido) {
+                PedidoJsonCodec.escreverPedido(pedido, escritor);
+            }
+        }
+        escritor.fimArray().campo("proximoCursor", pagina.getProximoCursor()).fimObjeto();
+        responder(troca, 200, escritor);
+    }
+
+    private static Map<String, String> lerParametros(String query) {
+        Map<String, String> parametros = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parametros;
+        }
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private static LocalDateTime lerData(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + texto + " (use o formato 2024-03-01T00:00).");
+        }
+    }
+
+    private void atualizarStatus(HttpExchange troca, String id) throws IOException {
+        Pedido pedido = repositorio.buscarPorId(id);
+        if (pedido == null) {
+            responderErro(troca, 404, "Pedido não encontrado: " + id);
+            return;
+        }
+        ByteBuffer corpo = lerCorpo(troca);
+        if (corpo == null) {
+            return;
+        }
+        String status = PedidoJsonCodec.lerStatus(corpo);
+        synchronized (pedido) { // Pedido não é thread-safe; serializa alterações concorrentes
+            pedido.setStatus(status);
+        }
+        responderPedido(troca, 200, pedido);
+    }
+
+    /**
+     * Lê o corpo da requisição, até TAMANHO_MAXIMO_CORPO bytes.
+     * @return O corpo, ou null se passou do limite (já respondido com 413).
+     */
+    private ByteBuffer lerCorpo(HttpExchange troca) throws IOException {
+        byte[] corpo = troca.getRequestBody().readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+        if (corpo.length > TAMANHO_MAXIMO_CORPO) {
+            responderErro(troca, 413, "Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes.");
+            return null;
+        }
+        return ByteBuffer.wrap(corpo);
+    }
+
+    private void responderPedido(HttpExchange troca, int codigo, Pedido pedido) throws IOException {
+        JsonEscritor escritor = new JsonEscritor(512);
+        synchronized (pedido) {
+            PedidoJsonCodec.escreverPedido(pedido, escritor);
+        }
+        responder(troca, codigo, escritor);
+    }
+
+    private void responderErro(HttpExchange troca, int codigo, String mensagem) throws IOException {
+        JsonEscritor escritor = new JsonEscritor(128);
+        PedidoJsonCodec.escreverErro(mensagem, escritor);
+        responder(troca, codigo, escritor);
+    }
+
+    private void responder(HttpExchange troca, int codigo, JsonEscritor escritor) throws IOException {
+        ByteBuffer resposta = escritor.resultado();
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(codigo, resposta.remaining());
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(resposta.array(), resposta.arrayOffset() + resposta.position(), resposta.remaining());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        ServidorHttpPedidos servidor = new ServidorHttpPedidos(porta, new RepositorioPedidos());
+        servidor.iniciar();
+        System.out.println("API de pedidos ouvindo em http://localhost:" + servidor.getPorta() + PREFIXO);
+    }
+}
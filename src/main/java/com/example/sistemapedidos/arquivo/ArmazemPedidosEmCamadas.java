@@ -0,0 +1,186 @@
+package com.example.sistemapedidos.arquivo;
+
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Classe ArmazemPedidosEmCamadas.
+ * Armazenamento de pedidos em duas camadas:
+ * - quente: pedidos recentes, como objetos Pedido em memória (RepositorioPedidos);
+ * - fria: pedidos antigos, em SegmentoFrio (arquivos comprimidos somente leitura) com índice pequeno em memória.
+ *
+ * arquivar() move para a camada fria os pedidos mais antigos que a idade configurada
+ * (pela data do pedido). As buscas por ID e por período consultam as duas camadas
+ * de forma transparente para quem chama.
+ *
+ * Pedidos arquivados são considerados encerrados: alterações feitas neles depois de
+ * arquivados não são refletidas na camada fria.
+ */
+public class ArmazemPedidosEmCamadas implements Closeable {
+    private static final String EXTENSAO = ".seg";
+
+    private final RepositorioPedidos quente;
+    private final Path diretorio;
+    private final int linhasPorBloco;
+    private final List<SegmentoFrio> segmentos = new CopyOnWriteArrayList<>(); // mais recente primeiro
+
+    /**
+     * @param quente    Repositório da camada quente.
+     * @param diretorio Diretório dos segmentos frios. Segmentos já existentes são abertos.
+     */
+    public ArmazemPedidosEmCamadas(RepositorioPedidos quente, Path diretorio) throws IOException {
+        this(quente, diretorio, SegmentoFrio.LINHAS_POR_BLOCO_PADRAO);
+    }
+
+    public ArmazemPedidosEmCamadas(RepositorioPedidos quente, Path diretorio, int linhasPorBloco) throws IOException {
+        if (quente == null || diretorio == null) {
+            throw new IllegalArgumentException("Repositório e diretório não podem ser nulos.");
+        }
+        this.quente = quente;
+        this.diretorio = diretorio;
+        this.linhasPorBloco = linhasPorBloco;
+        Files.createDirectories(diretorio);
+        List<Path> existentes = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            arquivos.forEach(existentes::add);
+        }
+        existentes.sort(Comparator.comparing(Path::getFileName).reversed()); // Nome começa pelo instante de criação
+        for (Path arquivo : existentes) {
+            segmentos.add(SegmentoFrio.abrir(arquivo));
+        }
+    }
+
+    public void salvar(Pedido pedido) {
+        quente.salvar(pedido);
+    }
+
+    /**
+     * Busca um pedido pelo ID, primeiro na camada quente e depois nos segmentos frios (do mais novo ao mais antigo).
+     * @return O pedido, ou null se não existir em nenhuma camada.
+     */
+    public Pedido buscarPorId(String id) throws IOException {
+        Pedido pedido = quente.buscarPorId(id);
+        if (pedido != null) {
+            return pedido;
+        }
+        for (SegmentoFrio segmento : segmentos) {
+            pedido = segmento.buscarPorId(id);
+            if (pedido != null) {
+                return pedido;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca os pedidos com data no intervalo [de, ate) nas duas camadas, ordenados por data.
+     */
+    public List<Pedido> buscarPorPeriodo(LocalDateTime de, LocalDateTime ate) throws IOException {
+        if (de == null || ate == null) {
+            throw new IllegalArgumentException("Período não pode ter datas nulas.");
+        }
+        List<Pedido> resultado = new ArrayList<>();
+        Map<String, LocalDateTime> quentes = new HashMap<>(); // ID -> data (IDs são únicos na camada quente)
+        for (Pedido pedido : quente.listarTodos()) {
+            LocalDateTime data = pedido.getData();
+            if (!data.isBefore(de) && data.isBefore(ate)) {
+                resultado.add(pedido);
+                quentes.put(pedido.getId(), data);
+            }
+        }
+        for (SegmentoFrio segmento : segmentos) {
+            if (segmento.sobrepoe(de, ate)) {
+                for (Pedido pedido : segmento.buscarPorPeriodo(de, ate)) {
+                    // Mesmo ID e data que um pedido quente: é a cópia de um arquivamento em andamento,
+                    // e a camada quente tem prioridade. Só o ID não basta: IDs aleatórios podem repetir
+                    if (!pedido.getData().equals(quentes.get(pedido.getId()))) {
+                        resultado.add(pedido);
+                    }
+                }
+            }
+        }
+        resultado.sort(Comparator.comparing(Pedido::getData).thenComparing(Pedido::getId));
+        return resultado;
+    }
+
+    /**
+     * Move para a camada fria os pedidos com data anterior a (agora - idadeMaxima).
+     * @return Quantos pedidos foram arquivados.
+     */
+    public int arquivar(Duration idadeMaxima) throws IOException {
+        return arquivarAnterioresA(LocalDateTime.now().minus(idadeMaxima));
+    }
+
+    /**
+     * Move para a camada fria os pedidos com data anterior ao limite.
+     * O segmento é gravado e registrado antes de os pedidos saírem da camada quente,
+     * então uma busca concorrente sempre encontra o pedido em alguma das camadas.
+     * @return Quantos pedidos foram arquivados.
+     */
+    public synchronized int arquivarAnterioresA(LocalDateTime limite) throws IOException {
+        List<Pedido> antigos = new ArrayList<>();
+        for (Pedido pedido : quente.listarTodos()) {
+            if (pedido.getData().isBefore(limite)) {
+                antigos.add(pedido);
+            }
+        }
+        if (antigos.isEmpty()) {
+            return 0;
+        }
+        String nome = String.format("%019d-%04d%s", System.currentTimeMillis(), segmentos.size(), EXTENSAO);
+        SegmentoFrio segmento = SegmentoFrio.escrever(diretorio.resolve(nome), antigos, linhasPorBloco);
+        segmentos.add(0, segmento);
+        for (Pedido pedido : antigos) {
+            quente.remover(pedido.getId());
+        }
+        return antigos.size();
+    }
+
+    public int quantidadeQuente() {
+        return quente.quantidade();
+    }
+
+    public int quantidadeFria() {
+        int total = 0;
+        for (SegmentoFrio segmento : segmentos) {
+            total += segmento.quantidade();
+        }
+        return total;
+    }
+
+    public int quantidadeSegmentos() {
+        return segmentos.size();
+    }
+
+    /**
+     * Memória aproximada ocupada pelos índices da camada fria, em bytes.
+     */
+    public long bytesIndicesFrios() {
+        long total = 0;
+        for (SegmentoFrio segmento : segmentos) {
+            total += segmento.bytesIndiceEmMemoria();
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (SegmentoFrio segmento : segmentos) {
+            segmento.close();
+        }
+    }
+}
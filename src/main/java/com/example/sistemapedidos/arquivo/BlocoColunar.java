@@ -0,0 +1,348 @@
+package com.example.sistemapedidos.arquivo;
+
+import com.example.sistemapedidos.factory.CriadorProduto;
+import com.example.sistemapedidos.factory.ProdutoFactory;
+import com.example.sistemapedidos.factory.RegistroTiposProduto;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Classe BlocoColunar.
+ * Codifica um grupo de pedidos em formato colunar comprimido: em vez de gravar pedido a pedido,
+ * grava todos os IDs, depois todas as datas, todos os status etc. Valores parecidos ficam juntos,
+ * o que ajuda muito a compressão (Deflate). Status, clientes e produtos repetidos viram
+ * dicionários: cada linha guarda só o índice no dicionário.
+ *
+ * Colunas, na ordem: id | data (segundos, delta) | nanos | status (dic.) | cliente (dic.) |
+ * qtd. de itens | produto de cada item (dic.) | quantidade de cada item.
+ */
+class BlocoColunar {
+    private static final byte EXTRA_NENHUM = 0;
+    private static final byte EXTRA_DOUBLE = 1;
+    private static final byte EXTRA_TEXTO = 2;
+
+    private BlocoColunar() {
+    }
+
+    /**
+     * Codifica e comprime os pedidos (já na ordem desejada).
+     * @return Os 4 primeiros bytes guardam o tamanho descomprimido; o resto é o conteúdo comprimido.
+     */
+    static byte[] codificar(List<Pedido> pedidos) {
+        try {
+            ByteArrayOutputStream bruto = new ByteArrayOutputStream(pedidos.size() * 64);
+            DataOutputStream saida = new DataOutputStream(bruto);
+            saida.writeInt(pedidos.size());
+
+            for (Pedido p : pedidos) {
+                escreverTexto(saida, p.getId());
+            }
+            long segundosAnterior = 0;
+            for (Pedido p : pedidos) {
+                long segundos = p.getData().toEpochSecond(ZoneOffset.UTC);
+                saida.writeLong(segundos - segundosAnterior); // Delta: datas ordenadas viram números pequenos
+                segundosAnterior = segundos;
+            }
+            for (Pedido p : pedidos) {
+                saida.writeInt(p.getData().getNano());
+            }
+
+            Dicionario<String> status = new Dicionario<>();
+            Dicionario<Cliente> clientes = new Dicionario<>();
+            Dicionario<Produto> produtos = new Dicionario<>();
+            int[] linhaStatus = new int[pedidos.size()];
+            int[] linhaCliente = new int[pedidos.size()];
+            List<ItemPedido> itens = new ArrayList<>();
+            int[] itensPorLinha = new int[pedidos.size()];
+            for (int i = 0; i < pedidos.size(); i++) {
+                Pedido p = pedidos.get(i);
+                linhaStatus[i] = status.indice(p.getStatus());
+                linhaCliente[i] = clientes.indice(p.getCliente());
+                List<ItemPedido> itensPedido = p.getItens();
+                itensPorLinha[i] = itensPedido.size();
+                itens.addAll(itensPedido);
+            }
+
+            saida.writeInt(status.valores.size());
+            for (String s : status.valores) {
+                escreverTexto(saida, s);
+            }
+            for (int s : linhaStatus) {
+                saida.writeShort(s);
+            }
+
+            saida.writeInt(clientes.valores.size());
+            for (Cliente c : clientes.valores) {
+                escreverTexto(saida, c.getId());
+                escreverTexto(saida, c.getNome());
+                escreverTexto(saida, c.getEmail());
+            }
+            for (int c : linhaCliente) {
+                saida.writeInt(c);
+            }
+
+            for (int n : itensPorLinha) {
+                saida.writeShort(n);
+            }
+            int[] produtoDoItem = new int[itens.size()];
+            for (int i = 0; i < itens.size(); i++) {
+                produtoDoItem[i] = produtos.indice(itens.get(i).getProduto());
+            }
+            saida.writeInt(produtos.valores.size());
+            for (Produto produto : produtos.valores) {
+                escreverProduto(produto, saida);
+            }
+            for (int p : produtoDoItem) {
+                saida.writeInt(p);
+            }
+            for (ItemPedido item : itens) {
+                saida.writeInt(item.getQuantidade());
+            }
+            saida.flush();
+            return comprimir(bruto.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Não acontece com streams em memória
+        }
+    }
+
+    /**
+     * Descomprime o bloco e reconstrói apenas os pedidos aceitos pelo filtro, na ordem em que foram gravados.
+     * O filtro é avaliado só com ID e data (colunas baratas), antes de montar o Pedido.
+     */
+    static List<Pedido> decodificar(byte[] bloco, BiPredicate<String, LocalDateTime> filtro) {
+        try {
+            ByteBuffer entrada = ByteBuffer.wrap(descomprimir(bloco));
+            int linhas = entrada.getInt();
+
+            String[] ids = new String[linhas];
+            for (int i = 0; i < linhas; i++) {
+                ids[i] = lerTexto(entrada);
+            }
+            long[] segundos = new long[linhas];
+            long acumulado = 0;
+            for (int i = 0; i < linhas; i++) {
+                acumulado += entrada.getLong();
+                segundos[i] = acumulado;
+            }
+            int[] nanos = new int[linhas];
+            for (int i = 0; i < linhas; i++) {
+                nanos[i] = entrada.getInt();
+            }
+
+            String[] dicStatus = new String[entrada.getInt()];
+            for (int i = 0; i < dicStatus.length; i++) {
+                dicStatus[i] = lerTexto(entrada);
+            }
+            int[] linhaStatus = new int[linhas];
+            for (int i = 0; i < linhas; i++) {
+                linhaStatus[i] = Short.toUnsignedInt(entrada.getShort());
+            }
+
+            // Dicionários de clientes e produtos só guardam a posição de cada entrada:
+            // os objetos são criados quando alguma linha aceita pelo filtro os usa
+            int[] posicaoCliente = new int[entrada.getInt()];
+            for (int i = 0; i < posicaoCliente.length; i++) {
+                posicaoCliente[i] = entrada.position();
+                pularTexto(entrada);
+                pularTexto(entrada);
+                pularTexto(entrada);
+            }
+            Cliente[] dicClientes = new Cliente[posicaoCliente.length];
+            int[] linhaCliente = new int[linhas];
+            for (int i = 0; i < linhas; i++) {
+                linhaCliente[i] = entrada.getInt();
+            }
+
+            int[] itensPorLinha = new int[linhas];
+            int totalItens = 0;
+            for (int i = 0; i < linhas; i++) {
+                itensPorLinha[i] = Short.toUnsignedInt(entrada.getShort());
+                totalItens += itensPorLinha[i];
+            }
+            int[] posicaoProduto = new int[entrada.getInt()];
+            for (int i = 0; i < posicaoProduto.length; i++) {
+                posicaoProduto[i] = entrada.position();
+                pularTexto(entrada);
+                pularTexto(entrada);
+                entrada.position(entrada.position() + Double.BYTES);
+                byte extra = entrada.get();
+                if (extra == EXTRA_DOUBLE) {
+                    entrada.position(entrada.position() + Double.BYTES);
+                } else if (extra == EXTRA_TEXTO) {
+                    pularTexto(entrada);
+                }
+            }
+            Produto[] dicProdutos = new Produto[posicaoProduto.length];
+            int[] produtoDoItem = new int[totalItens];
+            for (int i = 0; i < totalItens; i++) {
+                produtoDoItem[i] = entrada.getInt();
+            }
+            int[] quantidadeDoItem = new int[totalItens];
+            for (int i = 0; i < totalItens; i++) {
+                quantidadeDoItem[i] = entrada.getInt();
+            }
+
+            List<Pedido> pedidos = new ArrayList<>();
+            int item = 0;
+            for (int i = 0; i < linhas; i++) {
+                LocalDateTime data = LocalDateTime.ofEpochSecond(segundos[i], nanos[i], ZoneOffset.UTC);
+                if (!filtro.test(ids[i], data)) {
+                    item += itensPorLinha[i];
+                    continue;
+                }
+                int c = linhaCliente[i];
+                if (dicClientes[c] == null) {
+                    entrada.position(posicaoCliente[c]);
+                    dicClientes[c] = new Cliente(lerTexto(entrada), lerTexto(entrada), lerTexto(entrada));
+                }
+                // Direto no Pedido, sem PedidoBuilder: o segmento guarda pedidos já aceitos, que não
+                // podem deixar de ser lidos se a configuração mudar (ex: maxItensPorPedido menor)
+                Pedido pedido = new Pedido(ids[i], dicClientes[c], data, dicStatus[linhaStatus[i]], itensPorLinha[i]);
+                for (int j = 0; j < itensPorLinha[i]; j++, item++) {
+                    int p = produtoDoItem[item];
+                    if (dicProdutos[p] == null) {
+                        entrada.position(posicaoProduto[p]);
+                        dicProdutos[p] = lerProduto(entrada);
+                    }
+                    pedido.adicionarItem(new ItemPedido(dicProdutos[p], quantidadeDoItem[item], dicProdutos[p].getPreco()));
+                }
+                pedidos.add(pedido);
+            }
+            return pedidos;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new UncheckedIOException(new IOException("Bloco de segmento corrompido.", e));
+        }
+    }
+
+    /**
+     * O argumento extra vem do CriadorProduto do tipo, então tipos registrados voltam completos.
+     * @throws IllegalArgumentException se o tipo não estiver registrado (não daria para ler de volta).
+     */
+    private static void escreverProduto(Produto produto, DataOutputStream saida) throws IOException {
+        CriadorProduto criador = RegistroTiposProduto.getInstance().criadorPara(produto.getTipo());
+        escreverTexto(saida, produto.getTipo());
+        escreverTexto(saida, produto.getNome());
+        saida.writeDouble(produto.getPreco());
+        if (criador.getTipoArgumento() == double.class) {
+            saida.writeByte(EXTRA_DOUBLE);
+            saida.writeDouble(criador.argumentoNumerico(produto));
+        } else if (criador.getTipoArgumento() == String.class) {
+            saida.writeByte(EXTRA_TEXTO);
+            escreverTexto(saida, criador.argumentoTexto(produto));
+        } else {
+            saida.writeByte(EXTRA_NENHUM);
+        }
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer entrada) {
+        int tamanho = entrada.getInt();
+        String texto = new String(entrada.array(), entrada.position(), tamanho, StandardCharsets.UTF_8);
+        entrada.position(entrada.position() + tamanho);
+        return texto;
+    }
+
+    private static void pularTexto(ByteBuffer entrada) {
+        int tamanho = entrada.getInt();
+        entrada.position(entrada.position() + tamanho);
+    }
+
+    private static Produto lerProduto(ByteBuffer entrada) {
+        String tipo = lerTexto(entrada);
+        String nome = lerTexto(entrada);
+        double preco = entrada.getDouble();
+        byte extra = entrada.get();
+        if (extra == EXTRA_DOUBLE) {
+            return ProdutoFactory.criar(tipo, nome, preco, entrada.getDouble());
+        } else if (extra == EXTRA_TEXTO) {
+            return ProdutoFactory.criar(tipo, nome, preco, lerTexto(entrada));
+        }
+        return ProdutoFactory.criar(tipo, nome, preco);
+    }
+
+    private static byte[] comprimir(byte[] dados) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(dados);
+            deflater.finish();
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4 + 64);
+            saida.write(dados.length >>> 24);
+            saida.write(dados.length >>> 16);
+            saida.write(dados.length >>> 8);
+            saida.write(dados.length);
+            byte[] pedaco = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(pedaco);
+                saida.write(pedaco, 0, n);
+            }
+            return saida.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] descomprimir(byte[] bloco) {
+        int tamanhoOriginal = ((bloco[0] & 0xFF) << 24) | ((bloco[1] & 0xFF) << 16) | ((bloco[2] & 0xFF) << 8) | (bloco[3] & 0xFF);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bloco, 4, bloco.length - 4);
+            byte[] dados = new byte[tamanhoOriginal];
+            int lidos = 0;
+            while (lidos < tamanhoOriginal && !inflater.finished()) {
+                int n = inflater.inflate(dados, lidos, tamanhoOriginal - lidos);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Fim inesperado dos dados comprimidos.");
+                }
+                lidos += n;
+            }
+            return dados;
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Bloco de segmento corrompido.", e));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Dicionário simples: atribui um índice sequencial a cada valor distinto.
+     */
+    private static final class Dicionario<T> {
+        final List<T> valores = new ArrayList<>();
+        final Map<T, Integer> indices = new HashMap<>();
+
+        int indice(T valor) {
+            Integer existente = indices.get(valor);
+            if (existente != null) {
+                return existente;
+            }
+            indices.put(valor, valores.size());
+            valores.add(valor);
+            return valores.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.sistemapedidos.arquivo;
+
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Classe SegmentoFrio.
+ * Arquivo somente leitura com pedidos antigos ("camada fria"). Os pedidos são ordenados por data
+ * e gravados em blocos colunares comprimidos (ver BlocoColunar). Em memória fica apenas um índice
+ * pequeno:
+ * - por bloco: posição no arquivo, tamanho e datas mínima/máxima;
+ * - por pedido: hash de 64 bits do ID e número da linha (12 bytes por pedido).
+ *
+ * Busca por ID: busca binária no índice de hashes, leitura e descompressão de um único bloco.
+ * Busca por período: só os blocos cujo intervalo de datas cruza o período são lidos.
+ *
+ * Formato do arquivo:
+ * [MAGICO, VERSAO] [bloco 0] [bloco 1] ... [rodapé com o índice] [posição do rodapé, MAGICO]
+ */
+public class SegmentoFrio implements Closeable {
+    public static final int LINHAS_POR_BLOCO_PADRAO = 512;
+    private static final int MAGICO = 0x50534547; // "PSEG"
+    private static final int VERSAO = 1;
+
+    private final Path arquivo;
+    private final FileChannel canal;
+    private final int linhasPorBloco;
+    private final int totalLinhas;
+    private final long[] posicaoBloco;
+    private final int[] tamanhoBloco;
+    private final long[] dataMinimaBloco; // segundos desde a época (UTC), inclusive
+    private final long[] dataMaximaBloco;
+    private final long[] hashesOrdenados;
+    private final int[] linhaDoHash;
+
+    private SegmentoFrio(Path arquivo, FileChannel canal, int linhasPorBloco, int totalLinhas,
+                         long[] posicaoBloco, int[] tamanhoBloco, long[] dataMinimaBloco, long[] dataMaximaBloco,
+                         long[] hashesOrdenados, int[] linhaDoHash) {
+        this.arquivo = arquivo;
+        this.canal = canal;
+        this.linhasPorBloco = linhasPorBloco;
+        this.totalLinhas = totalLinhas;
+        this.posicaoBloco = posicaoBloco;
+        this.tamanhoBloco = tamanhoBloco;
+        this.dataMinimaBloco = dataMinimaBloco;
+        this.dataMaximaBloco = dataMaximaBloco;
+        this.hashesOrdenados = hashesOrdenados;
+        this.linhaDoHash = linhaDoHash;
+    }
+
+    /**
+     * Grava um novo segmento com os pedidos informados e o abre para leitura.
+     * A gravação é feita em um arquivo temporário que só é renomeado no final,
+     * então um segmento nunca fica pela metade.
+     */
+    public static SegmentoFrio escrever(Path arquivo, Collection<Pedido> pedidos, int linhasPorBloco) throws IOException {
+        if (pedidos == null || pedidos.isEmpty()) {
+            throw new IllegalArgumentException("Segmento precisa de ao menos um pedido.");
+        }
+        if (linhasPorBloco <= 0) {
+            throw new IllegalArgumentException("Linhas por bloco deve ser positivo.");
+        }
+        List<Pedido> ordenados = new ArrayList<>(pedidos);
+        ordenados.sort(Comparator.comparing(Pedido::getData).thenComparing(Pedido::getId));
+
+        int numBlocos = (ordenados.size() + linhasPorBloco - 1) / linhasPorBloco;
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (OutputStream arquivoSaida = Files.newOutputStream(temporario);
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(arquivoSaida, 1 << 16))) {
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO);
+            long posicao = 8;
+            long[] posicoes = new long[numBlocos];
+            int[] tamanhos = new int[numBlocos];
+            long[] minimas = new long[numBlocos];
+            long[] maximas = new long[numBlocos];
+            for (int b = 0; b < numBlocos; b++) {
+                List<Pedido> linhas = ordenados.subList(b * linhasPorBloco, Math.min(ordenados.size(), (b + 1) * linhasPorBloco));
+                byte[] bloco = BlocoColunar.codificar(linhas);
+                saida.write(bloco);
+                posicoes[b] = posicao;
+                tamanhos[b] = bloco.length;
+                minimas[b] = segundos(linhas.get(0).getData());
+                maximas[b] = segundos(linhas.get(linhas.size() - 1).getData());
+                posicao += bloco.length;
+            }
+
+            // Índice de IDs: (hash, linha) ordenado por hash
+            long[][] pares = new long[ordenados.size()][];
+            for (int i = 0; i < ordenados.size(); i++) {
+                pares[i] = new long[]{hash(ordenados.get(i).getId()), i};
+            }
+            Arrays.sort(pares, (a, c) -> Long.compare(a[0], c[0]));
+
+            long posicaoRodape = posicao;
+            saida.writeInt(linhasPorBloco);
+            saida.writeInt(ordenados.size());
+            saida.writeInt(numBlocos);
+            for (int b = 0; b < numBlocos; b++) {
+                saida.writeLong(posicoes[b]);
+                saida.writeInt(tamanhos[b]);
+                saida.writeLong(minimas[b]);
+                saida.writeLong(maximas[b]);
+            }
+            for (long[] par : pares) {
+                saida.writeLong(par[0]);
+                saida.writeInt((int) par[1]);
+            }
+            saida.writeLong(posicaoRodape);
+            saida.writeInt(MAGICO);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return abrir(arquivo);
+    }
+
+    public static SegmentoFrio escrever(Path arquivo, Collection<Pedido> pedidos) throws IOException {
+        return escrever(arquivo, pedidos, LINHAS_POR_BLOCO_PADRAO);
+    }
+
+    /**
+     * Abre um segmento existente, carregando apenas o índice para a memória.
+     */
+    public static SegmentoFrio abrir(Path arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            long tamanhoArquivo = canal.size();
+            ByteBuffer fim = ler(canal, tamanhoArquivo - 12, 12);
+            long posicaoRodape = fim.getLong();
+            if (fim.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é um segmento de pedidos: " + arquivo);
+            }
+            ByteBuffer cabecalho = ler(canal, 0, 8);
+            if (cabecalho.getInt() != MAGICO || cabecalho.getInt() != VERSAO) {
+                throw new IOException("Versão de segmento não suportada: " + arquivo);
+            }
+            ByteBuffer rodape = ler(canal, posicaoRodape, (int) (tamanhoArquivo - 12 - posicaoRodape));
+            int linhasPorBloco = rodape.getInt();
+            int totalLinhas = rodape.getInt();
+            int numBlocos = rodape.getInt();
+            long[] posicoes = new long[numBlocos];
+            int[] tamanhos = new int[numBlocos];
+            long[] minimas = new long[numBlocos];
+            long[] maximas = new long[numBlocos];
+            for (int b = 0; b < numBlocos; b++) {
+                posicoes[b] = rodape.getLong();
+                tamanhos[b] = rodape.getInt();
+                minimas[b] = rodape.getLong();
+                maximas[b] = rodape.getLong();
+            }
+            long[] hashes = new long[totalLinhas];
+            int[] linhas = new int[totalLinhas];
+            for (int i = 0; i < totalLinhas; i++) {
+                hashes[i] = rodape.getLong();
+                linhas[i] = rodape.getInt();
+            }
+            return new SegmentoFrio(arquivo, canal, linhasPorBloco, totalLinhas,
+                    posicoes, tamanhos, minimas, maximas, hashes, linhas);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Busca um pedido pelo ID.
+     * @return O pedido reconstruído, ou null se não estiver neste segmento.
+     */
+    public Pedido buscarPorId(String id) throws IOException {
+        long h = hash(id);
+        int posicao = Arrays.binarySearch(hashesOrdenados, h);
+        if (posicao < 0) {
+            return null;
+        }
+        while (posicao > 0 && hashesOrdenados[posicao - 1] == h) {
+            posicao--; // Volta até o primeiro com o mesmo hash (colisões são raras, mas possíveis)
+        }
+        for (; posicao < hashesOrdenados.length && hashesOrdenados[posicao] == h; posicao++) {
+            int bloco = linhaDoHash[posicao] / linhasPorBloco;
+            List<Pedido> encontrados = BlocoColunar.decodificar(lerBloco(bloco), (idLinha, data) -> idLinha.equals(id));
+            if (!encontrados.isEmpty()) {
+                return encontrados.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca os pedidos com data no intervalo [de, ate), em ordem de data.
+     */
+    public List<Pedido> buscarPorPeriodo(LocalDateTime de, LocalDateTime ate) throws IOException {
+        List<Pedido> resultado = new ArrayList<>();
+        long deSegundos = segundos(de);
+        long ateSegundos = segundos(ate);
+        for (int b = 0; b < posicaoBloco.length; b++) {
+            if (dataMaximaBloco[b] < deSegundos || dataMinimaBloco[b] > ateSegundos) {
+                continue; // Bloco inteiro fora do período: nem é lido do disco
+            }
+            resultado.addAll(BlocoColunar.decodificar(lerBloco(b),
+                    (id, data) -> !data.isBefore(de) && data.isBefore(ate)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Indica se o segmento pode ter pedidos no intervalo [de, ate).
+     */
+    public boolean sobrepoe(LocalDateTime de, LocalDateTime ate) {
+        return posicaoBloco.length > 0
+                && dataMinimaBloco[0] <= segundos(ate)
+                && dataMaximaBloco[posicaoBloco.length - 1] >= segundos(de);
+    }
+
+    public int quantidade() {
+        return totalLinhas;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Tamanho aproximado do índice mantido em memória, em bytes.
+     */
+    public long bytesIndiceEmMemoria() {
+        return (long) hashesOrdenados.length * (Long.BYTES + Integer.BYTES)
+                + (long) posicaoBloco.length * (3 * Long.BYTES + Integer.BYTES);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private byte[] lerBloco(int bloco) throws IOException {
+        return ler(canal, posicaoBloco[bloco], tamanhoBloco[bloco]).array();
+    }
+
+    private static ByteBuffer ler(FileChannel canal, long posicao, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        while (buffer.hasRemaining()) {
+            // Leitura posicional: segura para várias threads lendo o mesmo canal
+            if (canal.read(buffer, posicao + buffer.position()) < 0) {
+                throw new IOException("Fim inesperado do segmento.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static long segundos(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits do ID.
+     */
+    static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
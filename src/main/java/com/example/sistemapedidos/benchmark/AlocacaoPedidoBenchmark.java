@@ -0,0 +1,68 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Classe AlocacaoPedidoBenchmark.
+ * Mede bytes alocados e tempo médio por pedido construído em três modos:
+ * - new PedidoBuilder() a cada pedido (relógio do sistema);
+ * - um builder reaproveitado com reset() (relógio do sistema);
+ * - PedidoBuilder.daThread() (reaproveitado e com relógio em cache).
+ * A alocação é lida do ThreadMXBean da própria thread, como o profiler de GC do JMH faz.
+ *
+ * Uso: AlocacaoPedidoBenchmark [pedidosPorRodada] [itensPorPedido]
+ */
+public class AlocacaoPedidoBenchmark {
+    private static volatile Object sumidouro; // Evita que o JIT descarte os pedidos construídos
+
+    public static void main(String[] args) {
+        int pedidos = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int itensPorPedido = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Cliente cliente = new Cliente("BENCH", "Cliente Benchmark", "bench@example.com");
+        Produto[] produtos = new Produto[itensPorPedido];
+        for (int i = 0; i < itensPorPedido; i++) {
+            produtos[i] = new ProdutoFisico("Produto " + i, 10.0 + i, 1.0);
+        }
+        com.sun.management.ThreadMXBean mxThreads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        PedidoBuilder reutilizado = new PedidoBuilder();
+        Supplier<PedidoBuilder> novo = PedidoBuilder::new;
+        Supplier<PedidoBuilder> comReset = reutilizado::reset;
+        Supplier<PedidoBuilder> daThread = PedidoBuilder::daThread;
+
+        System.out.println("Pedidos por rodada: " + pedidos + " | itens por pedido: " + itensPorPedido);
+        for (int rodada = 0; rodada < 3; rodada++) {
+            boolean reportar = rodada == 2; // Rodadas anteriores só aquecem o JIT
+            medir("new PedidoBuilder()", novo, cliente, produtos, pedidos, mxThreads, reportar);
+            medir("reset()", comReset, cliente, produtos, pedidos, mxThreads, reportar);
+            medir("daThread() + relógio em cache", daThread, cliente, produtos, pedidos, mxThreads, reportar);
+        }
+    }
+
+    private static void medir(String nome, Supplier<PedidoBuilder> fonte, Cliente cliente, Produto[] produtos, int pedidos,
+                              com.sun.management.ThreadMXBean mxThreads, boolean reportar) {
+        long bytesInicio = mxThreads.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < pedidos; i++) {
+            PedidoBuilder builder = fonte.get().comCliente(cliente);
+            for (Produto produto : produtos) {
+                builder.adicionarItem(produto, 1);
+            }
+            Pedido pedido = builder.construir();
+            sumidouro = pedido;
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = mxThreads.getCurrentThreadAllocatedBytes() - bytesInicio;
+        if (reportar) {
+            System.out.printf("%-32s %6.0f ns/pedido | %5d bytes/pedido%n", nome, (double) nanos / pedidos, bytes / pedidos);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.arquivo.ArmazemPedidosEmCamadas;
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Classe ArquivamentoBenchmark.
+ * Gera pedidos espalhados pelos últimos anos e compara o heap ocupado com tudo em memória
+ * e depois de arquivar os pedidos com mais de N dias em segmentos frios. Mede também a
+ * latência de busca por ID e por período em cada camada e o tamanho dos arquivos gerados.
+ *
+ * Uso: ArquivamentoBenchmark [pedidos] [diasNaCamadaQuente] [diretorio]
+ */
+public class ArquivamentoBenchmark {
+    private static final int ANOS_DE_HISTORICO = 3;
+
+    public static void main(String[] args) throws IOException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int diasQuentes = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+        Path diretorio = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("segmentos-pedidos");
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(5_000, 50_000, 42);
+        Random aleatorio = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+        long segundosHistorico = Duration.ofDays(365L * ANOS_DE_HISTORICO).getSeconds();
+
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        String[] ids = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            PedidoBuilder builder = new PedidoBuilder()
+                    .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())))
+                    .comData(agora.minusSeconds((long) (aleatorio.nextDouble() * segundosHistorico)))
+                    .comStatusInicial(aleatorio.nextInt(10) < 8 ? "ENTREGUE" : "PAGO");
+            int itens = 1 + aleatorio.nextInt(4);
+            for (int j = 0; j < itens; j++) {
+                builder.adicionarItem(catalogo.produto(aleatorio.nextInt(catalogo.quantidadeProdutos())), 1 + aleatorio.nextInt(3));
+            }
+            Pedido pedido = builder.construir();
+            repositorio.salvar(pedido);
+            ids[i] = pedido.getId();
+        }
+        long heapTudoQuente = heapUsado();
+        System.out.printf("Pedidos: %d em %d anos | heap com tudo em memória: %d MB%n",
+                quantidade, ANOS_DE_HISTORICO, heapTudoQuente >> 20);
+
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(repositorio, diretorio)) {
+            long t0 = System.nanoTime();
+            int arquivados = armazem.arquivar(Duration.ofDays(diasQuentes));
+            long msArquivamento = (System.nanoTime() - t0) / 1_000_000;
+            long heapComArquivo = heapUsado();
+            System.out.printf("Arquivados: %d em %d ms | quentes: %d | segmentos: %d (%d MB em disco)%n",
+                    arquivados, msArquivamento, armazem.quantidadeQuente(), armazem.quantidadeSegmentos(),
+                    tamanhoEmDisco(diretorio) >> 20);
+            System.out.printf("Heap depois do arquivamento: %d MB (índices frios: %d MB)%n",
+                    heapComArquivo >> 20, armazem.bytesIndicesFrios() >> 20);
+
+            HistogramaLatencia idQuente = new HistogramaLatencia();
+            HistogramaLatencia idFrio = new HistogramaLatencia();
+            for (int rodada = 0; rodada < 2; rodada++) { // Primeira rodada só aquece o JIT
+                idQuente.zerar();
+                idFrio.zerar();
+                for (int i = 0; i < 20_000; i++) {
+                    String id = ids[aleatorio.nextInt(quantidade)];
+                    long inicio = System.nanoTime();
+                    Pedido pedido = armazem.buscarPorId(id);
+                    long nanos = System.nanoTime() - inicio;
+                    boolean quente = pedido.getData().isAfter(agora.minusDays(diasQuentes));
+                    (quente ? idQuente : idFrio).registrar(nanos);
+                }
+            }
+            System.out.println("busca por ID (quente): " + idQuente.resumo());
+            System.out.println("busca por ID (fria):   " + idFrio.resumo());
+
+            HistogramaLatencia periodoQuente = medirPeriodo(armazem, agora.minusDays(diasQuentes - 1), aleatorio);
+            HistogramaLatencia periodoFrio = medirPeriodo(armazem, agora.minusDays(365L * ANOS_DE_HISTORICO - 2), aleatorio);
+            System.out.println("período de 1 dia (quente): " + periodoQuente.resumo());
+            System.out.println("período de 1 dia (fria):   " + periodoFrio.resumo());
+        }
+    }
+
+    private static HistogramaLatencia medirPeriodo(ArmazemPedidosEmCamadas armazem, LocalDateTime base, Random aleatorio)
+            throws IOException {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime de = base.plusMinutes(aleatorio.nextInt(24 * 60));
+            long inicio = System.nanoTime();
+            armazem.buscarPorPeriodo(de, de.plusDays(1));
+            histograma.registrar(System.nanoTime() - inicio);
+        }
+        return histograma;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long tamanhoEmDisco(Path diretorio) throws IOException {
+        long total = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                total += Files.size(arquivo);
+            }
+        }
+        return total;
+    }
+}
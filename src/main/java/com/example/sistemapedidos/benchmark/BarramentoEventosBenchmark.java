@@ -0,0 +1,85 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.evento.BarramentoEventosPedido;
+import com.example.sistemapedidos.evento.EstrategiaEspera;
+import com.example.sistemapedidos.evento.TipoEventoPedido;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Classe BarramentoEventosBenchmark.
+ * Mede a vazão (eventos/s) e a latência de publicação do BarramentoEventosPedido para cada
+ * estratégia de espera, além dos bytes alocados pela thread produtora por evento
+ * (deve ser ~0, já que os slots do anel são pré-alocados).
+ *
+ * Uso: BarramentoEventosBenchmark [eventos] [consumidores] [tamanhoAnel]
+ */
+public class BarramentoEventosBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int eventos = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int consumidores = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int tamanhoAnel = args.length > 2 ? Integer.parseInt(args[2]) : 64 * 1024;
+
+        Pedido pedido = new PedidoBuilder()
+                .comCliente(new Cliente("BENCH", "Cliente Benchmark", "bench@example.com"))
+                .adicionarItem(new ProdutoFisico("Produto", 10.0, 1.0), 1)
+                .construir();
+
+        System.out.println("Eventos: " + eventos + " | consumidores: " + consumidores + " | anel: " + tamanhoAnel);
+        String[] nomes = {"ocupada", "comYield", "bloqueante"};
+        for (String nome : nomes) {
+            // Primeira rodada aquece o JIT; só a segunda é reportada
+            executar(nome, pedido, eventos / 5, consumidores, tamanhoAnel, false);
+            executar(nome, pedido, eventos, consumidores, tamanhoAnel, true);
+        }
+    }
+
+    private static void executar(String estrategia, Pedido pedido, int eventos, int consumidores,
+                                 int tamanhoAnel, boolean reportar) throws InterruptedException {
+        BarramentoEventosPedido barramento = new BarramentoEventosPedido(tamanhoAnel, criarEstrategia(estrategia));
+        long[] somas = new long[consumidores]; // cada consumidor escreve só na sua posição
+        for (int c = 0; c < consumidores; c++) {
+            final int indice = c;
+            barramento.adicionarConsumidor("c" + c, (evento, sequencia, fimDoLote) -> somas[indice] += sequencia);
+        }
+        barramento.iniciar();
+
+        HistogramaLatencia publicacao = new HistogramaLatencia();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long alocadoAntes = threads.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < eventos; i++) {
+            long t0 = System.nanoTime();
+            barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "PENDENTE", "PAGO");
+            publicacao.registrar(System.nanoTime() - t0);
+        }
+        long alocado = threads.getCurrentThreadAllocatedBytes() - alocadoAntes;
+        // Espera todos os consumidores alcançarem o produtor
+        for (int c = 0; c < consumidores; c++) {
+            while (barramento.sequenciaDe("c" + c) < barramento.getCursor()) {
+                Thread.onSpinWait();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        barramento.parar();
+
+        if (reportar) {
+            System.out.printf("%-11s %,.0f eventos/s | %.2f bytes/evento (produtor) | publicação: %s%n",
+                    estrategia, eventos / segundos, (double) alocado / eventos, publicacao.resumo());
+        }
+    }
+
+    private static EstrategiaEspera criarEstrategia(String nome) {
+        switch (nome) {
+            case "ocupada": return EstrategiaEspera.ocupada();
+            case "comYield": return EstrategiaEspera.comYield();
+            default: return EstrategiaEspera.bloqueante();
+        }
+    }
+}
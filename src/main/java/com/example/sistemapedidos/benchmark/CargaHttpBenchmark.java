@@ -0,0 +1,128 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.api.ServidorHttpPedidos;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe CargaHttpBenchmark.
+ * Cliente de teste de carga local para a API HTTP de pedidos. Abre N conexões concorrentes
+ * (uma virtual thread por conexão), cada uma alternando criação (POST) e consulta (GET)
+ * de pedidos durante o tempo informado, e ao final reporta requisições/s e percentis de latência.
+ *
+ * Uso: CargaHttpBenchmark [urlBase|embutido] [conexoes] [segundos]
+ * Ex.: CargaHttpBenchmark embutido 10000 30
+ *
+ * Com "embutido" (padrão) o próprio benchmark sobe o servidor numa porta livre.
+ * Para 10 mil conexões é preciso que o limite de arquivos abertos permita (ulimit -n).
+ */
+public class CargaHttpBenchmark {
+
+    private static final String CORPO_PEDIDO =
+            "{\"cliente\":{\"id\":\"CLI%d\",\"nome\":\"Cliente Carga\",\"email\":\"carga@example.com\"},"
+            + "\"itens\":[{\"tipo\":\"FISICO\",\"nome\":\"Livro\",\"preco\":75.9,\"pesoKg\":1.2,\"quantidade\":1},"
+            + "{\"tipo\":\"DIGITAL\",\"nome\":\"Ebook\",\"preco\":29.99,\"urlDownload\":\"http://example.com/e\",\"quantidade\":2}]}";
+
+    public static void main(String[] args) throws Exception {
+        String alvo = args.length > 0 ? args[0] : "embutido";
+        int conexoes = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        ServidorHttpPedidos servidorEmbutido = null;
+        if ("embutido".equals(alvo)) {
+            servidorEmbutido = new ServidorHttpPedidos(0, new RepositorioPedidos());
+            servidorEmbutido.iniciar();
+            alvo = "http://localhost:" + servidorEmbutido.getPorta();
+        }
+        String urlPedidos = alvo + "/pedidos";
+        System.out.println("Alvo: " + urlPedidos + " | conexões: " + conexoes + " | duração: " + segundos + "s");
+
+        ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(virtuais)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        LongAdder erros = new LongAdder();
+        // Aquecimento curto (10% da duração, no mínimo 1s) cujas amostras são descartadas
+        long aquecimentoNanos = Math.max(1, segundos / 10) * 1_000_000_000L;
+        long inicio = System.nanoTime();
+        long fimAquecimento = inicio + aquecimentoNanos;
+        long fim = fimAquecimento + segundos * 1_000_000_000L;
+        CountDownLatch terminados = new CountDownLatch(conexoes);
+
+        for (int c = 0; c < conexoes; c++) {
+            final int idConexao = c;
+            virtuais.submit(() -> {
+                try {
+                    executarConexao(cliente, urlPedidos, idConexao, fim, histograma, erros);
+                } finally {
+                    terminados.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(aquecimentoNanos / 1_000_000);
+        histograma.zerar();
+        erros.reset();
+        long inicioMedicao = System.nanoTime();
+        terminados.await();
+        double decorridoSeg = (System.nanoTime() - inicioMedicao) / 1e9;
+
+        System.out.printf("Requisições: %d em %.1fs -> %.0f req/s | erros: %d%n",
+                histograma.getContagem(), decorridoSeg, histograma.getContagem() / decorridoSeg, erros.sum());
+        System.out.println("Latência: " + histograma.resumo());
+
+        virtuais.shutdownNow();
+        if (servidorEmbutido != null) {
+            servidorEmbutido.parar();
+        }
+    }
+
+    private static void executarConexao(HttpClient cliente, String urlPedidos, int idConexao, long fim,
+                                        HistogramaLatencia histograma, LongAdder erros) {
+        HttpRequest criacao = HttpRequest.newBuilder(URI.create(urlPedidos))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(CORPO_PEDIDO, idConexao)))
+                .build();
+        String ultimoId = null;
+        while (System.nanoTime() < fim) {
+            HttpRequest requisicao = ultimoId == null
+                    ? criacao
+                    : HttpRequest.newBuilder(URI.create(urlPedidos + "/" + ultimoId)).GET().build();
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                histograma.registrar(System.nanoTime() - t0);
+                if (resposta.statusCode() >= 400) {
+                    erros.increment();
+                    ultimoId = null;
+                } else if (ultimoId == null) {
+                    ultimoId = resposta.headers().firstValue("Location")
+                            .map(l -> l.substring(l.lastIndexOf('/') + 1))
+                            .orElse(null);
+                } else {
+                    ultimoId = null; // Próxima requisição volta a criar um pedido
+                }
+            } catch (Exception e) {
+                erros.increment();
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
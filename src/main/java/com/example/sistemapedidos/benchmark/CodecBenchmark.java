@@ -0,0 +1,95 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.DistribuicaoZipf;
+import com.example.sistemapedidos.codec.JsonEscritor;
+import com.example.sistemapedidos.codec.JsonLeitor;
+import com.example.sistemapedidos.codec.PedidoBinarioEscritor;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.codec.PedidoJson;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classe CodecBenchmark.
+ * Mede vazão de codificação e decodificação (pedidos/s e MB/s) e bytes por pedido
+ * dos codecs binário (PedidoBinarioEscritor/Leitor) e JSON (PedidoJson), sobre um lote
+ * de pedidos sintéticos com produtos em distribuição Zipf.
+ *
+ * Uso: CodecBenchmark [pedidos] [rodadas]
+ */
+public class CodecBenchmark {
+    private static volatile Object sumidouro; // Evita que o JIT descarte os pedidos decodificados
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(10_000, 50_000, 42);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(catalogo.quantidadeProdutos(), 1.0);
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            PedidoBuilder builder = new PedidoBuilder()
+                    .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())));
+            int itens = 1 + aleatorio.nextInt(5);
+            for (int j = 0; j < itens; j++) {
+                builder.adicionarItem(catalogo.produto(zipf.sortear(aleatorio)), 1 + aleatorio.nextInt(3));
+            }
+            pedidos.add(builder.construir());
+        }
+
+        ByteBuffer binario = ByteBuffer.allocate(quantidade * 512);
+        JsonEscritor json = new JsonEscritor(quantidade * 1024);
+        System.out.println("Pedidos por rodada: " + quantidade + " | rodadas: " + rodadas);
+        for (int rodada = 0; rodada < rodadas; rodada++) {
+            boolean reportar = rodada == rodadas - 1; // Rodadas anteriores só aquecem o JIT
+
+            // Binário: um fluxo por rodada (dicionário de produtos começa vazio)
+            PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+            binario.clear();
+            long t0 = System.nanoTime();
+            for (Pedido pedido : pedidos) {
+                escritor.escrever(pedido, binario);
+            }
+            long nanosCodificar = System.nanoTime() - t0;
+            binario.flip();
+            int bytesBinario = binario.remaining();
+            PedidoBinarioLeitor leitor = new PedidoBinarioLeitor();
+            t0 = System.nanoTime();
+            for (int i = 0; i < quantidade; i++) {
+                sumidouro = leitor.ler(binario);
+            }
+            long nanosDecodificar = System.nanoTime() - t0;
+            if (reportar) {
+                reportar("binário", quantidade, bytesBinario, nanosCodificar, nanosDecodificar);
+                System.out.println("  produtos distintos no dicionário: " + escritor.tamanhoDicionario());
+            }
+
+            json.limpar();
+            t0 = System.nanoTime();
+            PedidoJson.escreverTodos(pedidos, json);
+            nanosCodificar = System.nanoTime() - t0;
+            ByteBuffer escrito = json.resultado();
+            int bytesJson = escrito.remaining();
+            t0 = System.nanoTime();
+            sumidouro = PedidoJson.lerTodos(new JsonLeitor(escrito));
+            nanosDecodificar = System.nanoTime() - t0;
+            if (reportar) {
+                reportar("JSON", quantidade, bytesJson, nanosCodificar, nanosDecodificar);
+            }
+        }
+    }
+
+    private static void reportar(String nome, int quantidade, int bytes, long nanosCodificar, long nanosDecodificar) {
+        System.out.printf("%-8s %5d bytes/pedido | codificar: %,10.0f pedidos/s (%6.1f MB/s) | decodificar: %,10.0f pedidos/s (%6.1f MB/s)%n",
+                nome, bytes / quantidade,
+                quantidade * 1e9 / nanosCodificar, bytes * 1e9 / nanosCodificar / (1 << 20),
+                quantidade * 1e9 / nanosDecodificar, bytes * 1e9 / nanosDecodificar / (1 << 20));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.DistribuicaoZipf;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.recomendacao.MotorCoocorrencia;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Classe CoocorrenciaBenchmark.
+ * Alimenta o MotorCoocorrencia com pedidos PAGO sintéticos (1 a 6 itens, produtos por Zipf)
+ * e mede:
+ * - vazão de registro (pedidos/s e pares atualizados/s), na melhor de algumas rodadas;
+ * - latência da consulta dos 10 mais comprados juntos, para produtos sorteados por Zipf;
+ * - memória do motor por par distinto (heap medido após GC), comparada com a de um
+ *   HashMap&lt;Produto, Map&lt;Produto, Integer&gt;&gt; com as mesmas contagens.
+ *
+ * Uso: CoocorrenciaBenchmark [produtos] [pedidos] [rodadas] [consultas]
+ */
+public class CoocorrenciaBenchmark {
+    private static volatile Object sumidouro; // Evita que o JIT descarte as consultas
+
+    public static void main(String[] args) {
+        int quantidadeProdutos = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int quantidadePedidos = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int rodadas = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int consultas = args.length > 3 ? Integer.parseInt(args[3]) : 1_000_000;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(quantidadeProdutos, 1_000, 42);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(quantidadeProdutos, 0.9);
+        Random aleatorio = new Random(7);
+        List<Pedido> pedidos = new ArrayList<>(quantidadePedidos);
+        long paresPorRodada = 0;
+        for (int i = 0; i < quantidadePedidos; i++) {
+            PedidoBuilder builder = new PedidoBuilder()
+                    .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())))
+                    .comStatusInicial("PAGO");
+            int itens = 1 + aleatorio.nextInt(6);
+            for (int j = 0; j < itens; j++) {
+                builder.adicionarItem(catalogo.produto(zipf.sortear(aleatorio)), 1);
+            }
+            Pedido pedido = builder.construir();
+            int distintos = pedido.getItens().size();
+            paresPorRodada += (long) distintos * (distintos - 1) / 2;
+            pedidos.add(pedido);
+        }
+        System.out.println("Produtos: " + quantidadeProdutos + " | pedidos: " + quantidadePedidos
+                + " | pares por rodada: " + paresPorRodada);
+
+        MotorCoocorrencia motor = null;
+        double melhor = 0;
+        for (int rodada = 0; rodada < rodadas; rodada++) { // Rodadas iniciais aquecem o JIT; fica a melhor
+            motor = null;
+            long antes = heapUsado();
+            motor = new MotorCoocorrencia();
+            long inicio = System.nanoTime();
+            for (Pedido pedido : pedidos) {
+                motor.registrar(pedido);
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            melhor = Math.max(melhor, quantidadePedidos / segundos);
+            if (rodada == rodadas - 1) {
+                long bytes = heapUsado() - antes;
+                System.out.printf("Registro: %,.0f pedidos/s | %,.0f pares atualizados/s%n",
+                        melhor, melhor * paresPorRodada / quantidadePedidos);
+                System.out.printf("Motor: %d produtos, %d pares distintos, %.1f MB no heap = %.1f bytes/par (arrays: %.1f bytes/par)%n",
+                        motor.quantidadeProdutos(), motor.quantidadePares(), bytes / 1e6,
+                        (double) bytes / motor.quantidadePares(), (double) motor.bytesEstimados() / motor.quantidadePares());
+            }
+        }
+
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int rodada = 0; rodada < 2; rodada++) {
+            histograma.zerar(); // A primeira rodada só aquece
+            for (int i = 0; i < consultas; i++) {
+                Produto produto = catalogo.produto(zipf.sortear(aleatorio));
+                long inicio = System.nanoTime();
+                sumidouro = motor.maisCompradosJunto(produto, 10);
+                histograma.registrar(System.nanoTime() - inicio);
+            }
+        }
+        System.out.println("Top-10: " + histograma.resumo());
+
+        long antes = heapUsado();
+        Map<Produto, Map<Produto, Integer>> encaixotado = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            List<ItemPedido> itens = pedido.getItens();
+            for (ItemPedido a : itens) {
+                for (ItemPedido b : itens) {
+                    if (a != b) {
+                        encaixotado.computeIfAbsent(a.getProduto(), p -> new HashMap<>()).merge(b.getProduto(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        long bytes = heapUsado() - antes;
+        Reference.reachabilityFence(pedidos); // Mantém pedidos e mapa vivos durante a medição
+        Reference.reachabilityFence(encaixotado);
+        System.out.printf("HashMap<Produto, Map<Produto, Integer>>: %.1f MB no heap = %.1f bytes/par%n",
+                bytes / 1e6, (double) bytes / motor.quantidadePares());
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
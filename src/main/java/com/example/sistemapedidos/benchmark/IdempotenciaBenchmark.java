@@ -0,0 +1,74 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.idempotencia.CacheIdempotencia;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classe IdempotenciaBenchmark.
+ * Compara a latência de PedidoBuilder.construir() com e sem chave de idempotência, com várias
+ * threads construindo pedidos ao mesmo tempo. Uma fração das chaves é repetida para simular
+ * as novas tentativas dos apps.
+ *
+ * Uso: IdempotenciaBenchmark [threads] [pedidosPorThread] [percentualRepeticoes]
+ */
+public class IdempotenciaBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int pedidosPorThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int percentualRepeticoes = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Cliente cliente = new Cliente("BENCH", "Cliente Benchmark", "bench@example.com");
+        Produto produto = new ProdutoFisico("Produto", 10.0, 1.0);
+        CacheIdempotencia cache = new CacheIdempotencia(1_000_000, Duration.ofMinutes(10));
+
+        System.out.println("Threads: " + threads + " | pedidos/thread: " + pedidosPorThread
+                + " | repetições: " + percentualRepeticoes + "%");
+        for (int rodada = 0; rodada < 2; rodada++) {
+            boolean reportar = rodada == 1; // Primeira rodada só aquece o JIT
+            HistogramaLatencia semChave = executar(threads, pedidosPorThread, cliente, produto, null, 0);
+            HistogramaLatencia comChave = executar(threads, pedidosPorThread, cliente, produto, cache, percentualRepeticoes);
+            if (reportar) {
+                System.out.println("sem chave: " + semChave.resumo());
+                System.out.println("com chave: " + comChave.resumo());
+                System.out.printf("custo médio da idempotência: %.0f ns/pedido | chaves no cache: %d%n",
+                        comChave.getMediaNanos() - semChave.getMediaNanos(), cache.tamanho());
+            }
+        }
+    }
+
+    private static HistogramaLatencia executar(int threads, int pedidosPorThread, Cliente cliente, Produto produto,
+                                               CacheIdempotencia cache, int percentualRepeticoes)
+            throws InterruptedException {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        CountDownLatch fim = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final String prefixo = "t" + t + "-" + System.nanoTime() + "-";
+            new Thread(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                for (int i = 0; i < pedidosPorThread; i++) {
+                    // Repetições reaproveitam uma chave recente da mesma thread
+                    int n = (i > 0 && aleatorio.nextInt(100) < percentualRepeticoes) ? i - 1 : i;
+                    long t0 = System.nanoTime();
+                    PedidoBuilder builder = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1);
+                    if (cache != null) {
+                        builder.comChaveIdempotencia(prefixo + n, cache);
+                    }
+                    builder.construir();
+                    histograma.registrar(System.nanoTime() - t0);
+                }
+                fim.countDown();
+            }).start();
+        }
+        fim.await();
+        return histograma;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.indice.IndiceTemporalPedidos;
+import com.example.sistemapedidos.indice.PaginaPedidos;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe IndiceTemporalBenchmark.
+ * Compara a listagem paginada por data feita ordenando a coleção inteira a cada requisição
+ * (listarTodos + sort + skip) com o IndiceTemporalPedidos (cursor), na primeira página e em
+ * páginas profundas, enquanto outras threads continuam inserindo pedidos.
+ *
+ * Uso: IndiceTemporalBenchmark [pedidos] [tamanhoPagina] [threadsEscrita]
+ */
+public class IndiceTemporalBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int tamanhoPagina = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int threadsEscrita = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        Cliente cliente = new Cliente("BENCH", "Cliente Benchmark", "bench@example.com");
+        Produto produto = new ProdutoFisico("Produto", 10.0, 1.0);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        IndiceTemporalPedidos indice = new IndiceTemporalPedidos();
+        for (int i = 0; i < quantidade; i++) {
+            Pedido pedido = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1)
+                    .comData(inicio.plusSeconds(ThreadLocalRandom.current().nextLong(365L * 24 * 3600)))
+                    .comOuvinte(indice)
+                    .construir();
+            repositorio.salvar(pedido);
+        }
+        System.out.println("Pedidos: " + quantidade + " | página: " + tamanhoPagina + " | threads inserindo: " + threadsEscrita);
+
+        // Escritores concorrentes: o índice não deve bloquear as leituras
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        AtomicLong inseridos = new AtomicLong();
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < threadsEscrita; t++) {
+            Thread escritor = new Thread(() -> {
+                while (ativo.get()) {
+                    Pedido pedido = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1)
+                            .comData(inicio.plusSeconds(ThreadLocalRandom.current().nextLong(365L * 24 * 3600)))
+                            .comOuvinte(indice)
+                            .construir();
+                    repositorio.salvar(pedido);
+                    inseridos.incrementAndGet();
+                    LockSupport.parkNanos(100_000); // ~10 mil pedidos/s por thread: carga contínua sem crescer sem limite
+                }
+            });
+            escritor.setDaemon(true);
+            escritor.start();
+            escritores.add(escritor);
+        }
+
+        LocalDateTime de = inicio.plusMonths(2);
+        LocalDateTime ate = inicio.plusMonths(3);
+        int[] paginas = {1, 40, 400};
+        for (int rodada = 0; rodada < 2; rodada++) { // Primeira rodada só aquece o JIT
+            for (int pagina : paginas) {
+                HistogramaLatencia ordenando = new HistogramaLatencia();
+                HistogramaLatencia comIndice = new HistogramaLatencia();
+                String cursor = cursorDaPagina(indice, de, ate, tamanhoPagina, pagina);
+                for (int i = 0; i < 5; i++) {
+                    long t0 = System.nanoTime();
+                    paginaOrdenando(repositorio, de, ate, tamanhoPagina, pagina);
+                    ordenando.registrar(System.nanoTime() - t0);
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    long t0 = System.nanoTime();
+                    indice.buscar(de, ate, tamanhoPagina, cursor, false);
+                    comIndice.registrar(System.nanoTime() - t0);
+                }
+                if (rodada == 1) {
+                    System.out.println("página " + pagina + " ordenando tudo: " + ordenando.resumo());
+                    System.out.println("página " + pagina + " com índice:     " + comIndice.resumo());
+                }
+            }
+        }
+        ativo.set(false);
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        System.out.println("Pedidos inseridos durante as medições: " + inseridos.get());
+    }
+
+    // Caminha pelos cursores até a página desejada (não entra na medição)
+    private static String cursorDaPagina(IndiceTemporalPedidos indice, LocalDateTime de, LocalDateTime ate,
+                                         int tamanhoPagina, int pagina) {
+        String cursor = null;
+        for (int p = 1; p < pagina; p++) {
+            PaginaPedidos atual = indice.buscar(de, ate, tamanhoPagina, cursor, false);
+            cursor = atual.getProximoCursor();
+        }
+        return cursor;
+    }
+
+    private static List<Pedido> paginaOrdenando(RepositorioPedidos repositorio, LocalDateTime de, LocalDateTime ate,
+                                                int tamanhoPagina, int pagina) {
+        List<Pedido> todos = new ArrayList<>(repositorio.listarTodos());
+        todos.removeIf(p -> p.getData().isBefore(de) || !p.getData().isBefore(ate));
+        todos.sort(Comparator.comparing(Pedido::getData).thenComparing(Pedido::getId));
+        int inicio = Math.min(todos.size(), (pagina - 1) * tamanhoPagina);
+        return todos.subList(inicio, Math.min(todos.size(), inicio + tamanhoPagina));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.inicio.CaminhoPedido;
+import com.example.sistemapedidos.inicio.InicioRapido;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe InicioRapidoBenchmark.
+ * Mede o início de processos novos da JVM rodando o CaminhoPedido, em três configurações:
+ * padrão, modo de início rápido (-Dsistemapedidos.inicioRapido=true) e início rápido com o
+ * arquivo AppCDS do perfil "inicio-rapido". Para cada processo mede:
+ * - tempo até o primeiro pedido: do ProcessBuilder.start() até o filho avisar que respondeu
+ *   o primeiro pedido (inclui a subida da JVM e o preparo);
+ * - latência do primeiro pedido: só a chamada processar() do primeiro pedido, medida no filho;
+ * - vazão de pico: a maior vazão entre as janelas de 50 ms do filho;
+ * - tempo até o pico: do start() até a primeira janela com pelo menos 90% da vazão de pico.
+ * Cada configuração roda várias vezes e o resultado é a mediana.
+ *
+ * Precisa do jar e do arquivo CDS: mvn -Pinicio-rapido package
+ *
+ * Uso: InicioRapidoBenchmark [jar] [arquivoCds] [execucoes] [segundos]
+ */
+public class InicioRapidoBenchmark {
+    private static final String FILHO = "filho";
+    private static final String PRIMEIRO = "PRIMEIRO ";
+    private static final String JANELA = "JANELA ";
+    private static final long JANELA_NANOS = 50_000_000L;
+    private static final double FRACAO_PICO = 0.9;
+
+    private static volatile Object sumidouro; // Evita que o JIT descarte os pedidos processados
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && FILHO.equals(args[0])) {
+            filho(Double.parseDouble(args[1]));
+            return;
+        }
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/sistema-pedidos-online-1.0-SNAPSHOT.jar");
+        Path arquivoCds = Path.of(args.length > 1 ? args[1] : "target/sistema-pedidos.jsa");
+        int execucoes = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        double segundos = args.length > 3 ? Double.parseDouble(args[3]) : 5.0;
+        if (!Files.exists(jar)) {
+            System.err.println("Jar não encontrado: " + jar + ". Gere com: mvn -Pinicio-rapido package");
+            return;
+        }
+
+        String modoRapido = "-D" + InicioRapido.PROPRIEDADE + "=true";
+        System.out.println("Execuções por configuração: " + execucoes + " | duração: " + segundos + " s"
+                + " | processadores: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-22s %14s %14s %14s %16s%n", "Configuração", "1º pedido (ms)", "latência (ms)",
+                "até o pico (ms)", "pico (pedidos/s)");
+        medir("padrão", jar, segundos, execucoes);
+        medir("início rápido", jar, segundos, execucoes, modoRapido);
+        if (Files.exists(arquivoCds)) {
+            medir("início rápido + CDS", jar, segundos, execucoes, "-XX:SharedArchiveFile=" + arquivoCds, modoRapido);
+        } else {
+            System.out.println("Arquivo CDS não encontrado (" + arquivoCds + "); gere com: mvn -Pinicio-rapido package");
+        }
+    }
+
+    private static void medir(String nome, Path jar, double segundos, int execucoes, String... opcoesJvm)
+            throws IOException, InterruptedException {
+        double[] primeiro = new double[execucoes];
+        double[] latencia = new double[execucoes];
+        double[] atePico = new double[execucoes];
+        double[] pico = new double[execucoes];
+        for (int i = 0; i < execucoes; i++) {
+            double[] resultado = executar(jar, segundos, opcoesJvm);
+            primeiro[i] = resultado[0];
+            latencia[i] = resultado[1];
+            atePico[i] = resultado[2];
+            pico[i] = resultado[3];
+        }
+        System.out.printf("%-22s %14.1f %14.2f %14.0f %16.0f%n", nome, mediana(primeiro), mediana(latencia),
+                mediana(atePico), mediana(pico));
+    }
+
+    /**
+     * @return {tempo até o primeiro pedido (ms), latência do primeiro pedido (ms), tempo até o pico (ms), pico (pedidos/s)}
+     */
+    private static double[] executar(Path jar, double segundos, String... opcoesJvm) throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        comando.addAll(List.of(opcoesJvm));
+        comando.add("-cp");
+        comando.add(jar.toString());
+        comando.add(InicioRapidoBenchmark.class.getName());
+        comando.add(FILHO);
+        comando.add(Double.toString(segundos));
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        double tempoPrimeiro = -1;
+        double latenciaPrimeiro = -1;
+        List<double[]> janelas = new ArrayList<>(); // {instante de chegada (ms), pedidos/s}
+        try (BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = saida.readLine()) != null) {
+                double agora = (System.nanoTime() - inicio) / 1e6;
+                if (linha.startsWith(PRIMEIRO)) {
+                    tempoPrimeiro = agora;
+                    latenciaPrimeiro = Long.parseLong(linha.substring(PRIMEIRO.length())) / 1e6;
+                } else if (linha.startsWith(JANELA)) {
+                    long pedidos = Long.parseLong(linha.substring(JANELA.length()));
+                    janelas.add(new double[]{agora, pedidos * 1e9 / JANELA_NANOS});
+                }
+            }
+        }
+        if (processo.waitFor() != 0 || tempoPrimeiro < 0 || janelas.isEmpty()) {
+            throw new IOException("Processo filho falhou: " + comando);
+        }
+
+        double pico = 0;
+        for (double[] janela : janelas) {
+            pico = Math.max(pico, janela[1]);
+        }
+        double atePico = 0;
+        for (double[] janela : janelas) {
+            if (janela[1] >= FRACAO_PICO * pico) {
+                atePico = janela[0];
+                break;
+            }
+        }
+        return new double[]{tempoPrimeiro, latenciaPrimeiro, atePico, pico};
+    }
+
+    /**
+     * Lado do processo filho: processa pedidos pelo tempo pedido e informa o primeiro pedido e
+     * a contagem de cada janela na saída padrão.
+     */
+    private static void filho(double segundos) {
+        if (InicioRapido.ativo()) {
+            InicioRapido.preparar();
+        }
+        CaminhoPedido caminho = new CaminhoPedido();
+        long t0 = System.nanoTime();
+        sumidouro = caminho.processar(0);
+        System.out.println(PRIMEIRO + (System.nanoTime() - t0));
+
+        long fim = System.nanoTime() + (long) (segundos * 1e9);
+        int i = 1;
+        long fimJanela = System.nanoTime() + JANELA_NANOS;
+        while (fimJanela <= fim) {
+            long pedidos = 0;
+            while (System.nanoTime() < fimJanela) {
+                for (int j = 0; j < 64; j++) { // Consulta o relógio a cada 64 pedidos
+                    sumidouro = caminho.processar(i++);
+                }
+                pedidos += 64;
+            }
+            System.out.println(JANELA + pedidos);
+            fimJanela += JANELA_NANOS;
+        }
+    }
+
+    private static double mediana(double[] valores) {
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int meio = ordenados.length / 2;
+        return ordenados.length % 2 == 1 ? ordenados[meio] : (ordenados[meio - 1] + ordenados[meio]) / 2;
+    }
+}
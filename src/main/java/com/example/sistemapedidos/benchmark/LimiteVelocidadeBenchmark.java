@@ -0,0 +1,147 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.DistribuicaoZipf;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.velocidade.LimiteVelocidadeExcedidoException;
+import com.example.sistemapedidos.velocidade.LimitadorVelocidade;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Classe LimiteVelocidadeBenchmark.
+ * Mede o custo das verificações do LimitadorVelocidade com milhões de clientes ativos:
+ * - memória da tabela por cliente (heap medido após GC);
+ * - primeiro pedido de cada cliente (ocupa a posição na tabela);
+ * - latência por verificação com clientes sorteados uniformemente (pior caso de cache), em rodadas;
+ * - latência da recusa (cliente acima do limite, com a exceção);
+ * - custo de PedidoBuilder.construir() com e sem limitador.
+ *
+ * Uso: LimiteVelocidadeBenchmark [clientes] [verificacoes]
+ */
+public class LimiteVelocidadeBenchmark {
+    private static final int CESTAS = 1024;
+
+    private static volatile Object sumidouro; // Evita que o JIT descarte os pedidos construídos
+
+    public static void main(String[] args) {
+        int quantidadeClientes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int verificacoes = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(10_000, 1_000, 42);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(catalogo.quantidadeProdutos(), 0.9);
+        Random aleatorio = new Random(7);
+        List<List<ItemPedido>> cestas = new ArrayList<>(CESTAS);
+        double[] valores = new double[CESTAS];
+        for (int c = 0; c < CESTAS; c++) {
+            List<ItemPedido> itens = new ArrayList<>();
+            int quantidade = 1 + aleatorio.nextInt(6);
+            for (int i = 0; i < quantidade; i++) {
+                Produto produto = catalogo.produto(zipf.sortear(aleatorio));
+                itens.add(new ItemPedido(produto, 1, produto.getPreco()));
+                valores[c] += produto.getPreco();
+            }
+            cestas.add(itens);
+        }
+        String[] ids = new String[quantidadeClientes];
+        for (int i = 0; i < quantidadeClientes; i++) {
+            ids[i] = "CLI" + i;
+        }
+
+        long antes = heapUsado();
+        LimitadorVelocidade limitador = new LimitadorVelocidade(quantidadeClientes, 10, 5_000.0, 50);
+        long bytes = heapUsado() - antes;
+        System.out.printf("Clientes: %,d | tabela: %.1f MB no heap = %.1f bytes/cliente%n",
+                quantidadeClientes, bytes / 1e6, (double) bytes / quantidadeClientes);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < quantidadeClientes; i++) {
+            limitador.verificar(ids[i], valores[i & (CESTAS - 1)], cestas.get(i & (CESTAS - 1)));
+        }
+        System.out.printf("Primeiro pedido de cada cliente: %.0f ns/verificação | ativos: %,d | sem espaço: %d%n",
+                (double) (System.nanoTime() - inicio) / quantidadeClientes, limitador.clientesAtivos(),
+                limitador.quantidadeSemEspaco());
+
+        HistogramaLatencia aceitas = new HistogramaLatencia();
+        HistogramaLatencia recusadas = new HistogramaLatencia();
+        for (int rodada = 0; rodada < 3; rodada++) {
+            aceitas.zerar(); // Rodadas iniciais aquecem o JIT; fica a última
+            recusadas.zerar();
+            for (int i = 0; i < verificacoes; i++) {
+                int cliente = aleatorio.nextInt(quantidadeClientes);
+                int cesta = aleatorio.nextInt(CESTAS);
+                long t0 = System.nanoTime();
+                try {
+                    limitador.verificar(ids[cliente], valores[cesta], cestas.get(cesta));
+                    aceitas.registrar(System.nanoTime() - t0);
+                } catch (LimiteVelocidadeExcedidoException e) {
+                    recusadas.registrar(System.nanoTime() - t0);
+                }
+            }
+        }
+        System.out.println("Clientes uniformes, aceitas: " + aceitas.resumo());
+        System.out.println("Clientes uniformes, recusadas: " + recusadas.resumo());
+
+        recusadas.zerar();
+        for (int i = 0; i < verificacoes / 10; i++) {
+            int cesta = i & (CESTAS - 1);
+            long t0 = System.nanoTime();
+            try {
+                limitador.verificar(ids[0], valores[cesta], cestas.get(cesta));
+            } catch (LimiteVelocidadeExcedidoException e) {
+                recusadas.registrar(System.nanoTime() - t0);
+            }
+        }
+        System.out.println("Cliente acima do limite (recusas, linhas em cache): " + recusadas.resumo());
+
+        Cliente[] clientes = new Cliente[1_000];
+        for (int i = 0; i < clientes.length; i++) {
+            clientes[i] = new Cliente(ids[i + 1], "Cliente " + i, "cliente" + i + "@example.com");
+        }
+        LimitadorVelocidade semLimites = new LimitadorVelocidade(quantidadeClientes, 0, 0, 0);
+        for (int rodada = 0; rodada < 3; rodada++) {
+            long sem = construir(clientes, cestas, null, verificacoes / 5, aleatorio);
+            long com = construir(clientes, cestas, semLimites, verificacoes / 5, aleatorio);
+            if (rodada == 2) {
+                System.out.printf("PedidoBuilder.construir(): %.0f ns sem limitador | %.0f ns com limitador%n",
+                        (double) sem / (verificacoes / 5), (double) com / (verificacoes / 5));
+            }
+        }
+        Reference.reachabilityFence(limitador);
+    }
+
+    /**
+     * @param limitador null para construir sem limites; os limites ficam desligados para não recusar.
+     * @return Nanossegundos gastos.
+     */
+    private static long construir(Cliente[] clientes, List<List<ItemPedido>> cestas, LimitadorVelocidade limitador,
+                                  int pedidos, Random aleatorio) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < pedidos; i++) {
+            PedidoBuilder builder = PedidoBuilder.daThread().comCliente(clientes[aleatorio.nextInt(clientes.length)]);
+            for (ItemPedido item : cestas.get(i & (CESTAS - 1))) {
+                builder.adicionarItem(item.getProduto(), 1);
+            }
+            if (limitador != null) {
+                builder.comLimitadorVelocidade(limitador);
+            }
+            sumidouro = builder.construir();
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.leitura.ModeloLeituraPedidos;
+import com.example.sistemapedidos.leitura.ProjecaoPedido;
+import com.example.sistemapedidos.leitura.RetratoPedidos;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe ModeloLeituraBenchmark.
+ * Escritores criam pedidos e mudam status enquanto leitores montam um pequeno relatório
+ * (pedidos de um cliente + contagem de um status), em dois cenários:
+ * - "travado": leitores e escritores disputam um lock sobre as mesmas estruturas mutáveis;
+ * - "modelo": escritores só notificam o ModeloLeituraPedidos e leitores usam o retrato publicado.
+ * Reporta vazão dos escritores, latência dos leitores e, no modelo, a defasagem do retrato lido.
+ *
+ * Uso: ModeloLeituraBenchmark [segundos] [escritores] [leitores] [intervaloMs] [publicarACada]
+ */
+public class ModeloLeituraBenchmark {
+    private static final String[] STATUS = {"PAGO", "ENVIADO", "ENTREGUE"};
+
+    private static volatile Object sumidouro; // Evita que o JIT descarte os relatórios
+
+    public static void main(String[] args) throws InterruptedException {
+        int segundos = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int escritores = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int leitores = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long intervaloMs = args.length > 3 ? Long.parseLong(args[3]) : 50;
+        int publicarACada = args.length > 4 ? Integer.parseInt(args[4]) : 1024;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(1_000, 20_000, 42);
+        System.out.println("Segundos: " + segundos + " | escritores: " + escritores + " | leitores: " + leitores
+                + " | publicação: " + intervaloMs + " ms ou " + publicarACada + " escritas");
+        for (int rodada = 0; rodada < 2; rodada++) { // Primeira rodada só aquece o JIT
+            boolean reportar = rodada == 1;
+            travado(catalogo, reportar ? segundos : 1, escritores, leitores, reportar);
+            modelo(catalogo, reportar ? segundos : 1, escritores, leitores,
+                    Duration.ofMillis(intervaloMs), publicarACada, reportar);
+        }
+    }
+
+    private static void travado(CatalogoSintetico catalogo, int segundos, int escritores, int leitores,
+                                boolean reportar) throws InterruptedException {
+        Object trava = new Object();
+        Map<String, List<Pedido>> porCliente = new HashMap<>();
+        Map<String, Integer> porStatus = new HashMap<>();
+        LongAdder escritas = new LongAdder();
+        HistogramaLatencia leituras = new HistogramaLatencia();
+        executar(segundos, escritores, leitores, () -> {
+            Pedido pedido = novoPedido(catalogo);
+            synchronized (trava) {
+                porCliente.computeIfAbsent(pedido.getCliente().getId(), c -> new ArrayList<>()).add(pedido);
+                porStatus.merge(pedido.getStatus(), 1, Integer::sum);
+            }
+            String novo = STATUS[ThreadLocalRandom.current().nextInt(STATUS.length)];
+            synchronized (trava) {
+                porStatus.merge(pedido.getStatus(), -1, Integer::sum);
+                pedido.setStatus(novo);
+                porStatus.merge(novo, 1, Integer::sum);
+            }
+            escritas.add(2);
+        }, () -> {
+            String clienteId = catalogo.cliente(ThreadLocalRandom.current().nextInt(catalogo.quantidadeClientes())).getId();
+            long t0 = System.nanoTime();
+            double soma = 0;
+            synchronized (trava) {
+                for (Pedido pedido : porCliente.getOrDefault(clienteId, List.of())) {
+                    soma += pedido.getTotal();
+                }
+                soma += porStatus.getOrDefault("PAGO", 0);
+            }
+            leituras.registrar(System.nanoTime() - t0);
+            sumidouro = soma;
+        });
+        if (reportar) {
+            System.out.printf("travado: escritas %,.0f/s%n  leitura: %s%n", escritas.sum() / (double) segundos, leituras.resumo());
+        }
+    }
+
+    private static void modelo(CatalogoSintetico catalogo, int segundos, int escritores, int leitores,
+                               Duration intervalo, int publicarACada, boolean reportar) throws InterruptedException {
+        LongAdder escritas = new LongAdder();
+        HistogramaLatencia leituras = new HistogramaLatencia();
+        HistogramaLatencia defasagem = new HistogramaLatencia();
+        try (ModeloLeituraPedidos modelo = new ModeloLeituraPedidos(intervalo, publicarACada)) {
+            executar(segundos, escritores, leitores, () -> {
+                Pedido pedido = new PedidoBuilder()
+                        .comCliente(catalogo.cliente(ThreadLocalRandom.current().nextInt(catalogo.quantidadeClientes())))
+                        .adicionarItem(catalogo.produto(ThreadLocalRandom.current().nextInt(catalogo.quantidadeProdutos())), 1)
+                        .comOuvinte(modelo)
+                        .construir();
+                pedido.setStatus(STATUS[ThreadLocalRandom.current().nextInt(STATUS.length)]);
+                escritas.add(2);
+            }, () -> {
+                String clienteId = catalogo.cliente(ThreadLocalRandom.current().nextInt(catalogo.quantidadeClientes())).getId();
+                long t0 = System.nanoTime();
+                RetratoPedidos retrato = modelo.retrato();
+                double soma = 0;
+                for (ProjecaoPedido projecao : retrato.listarPorCliente(clienteId)) {
+                    soma += projecao.getTotal();
+                }
+                soma += retrato.quantidadePorStatus("PAGO");
+                long t1 = System.nanoTime();
+                leituras.registrar(t1 - t0);
+                if (retrato.getVersao() > 0) {
+                    defasagem.registrar(t1 - retrato.getPublicadoEmNanos());
+                }
+                sumidouro = soma;
+            });
+            if (reportar) {
+                System.out.printf("modelo:  escritas %,.0f/s | %d pedidos na última versão (v%d)%n  leitura: %s%n  idade do retrato lido: %s%n",
+                        escritas.sum() / (double) segundos, modelo.retrato().quantidade(), modelo.retrato().getVersao(),
+                        leituras.resumo(), defasagem.resumo());
+            }
+        }
+    }
+
+    private static Pedido novoPedido(CatalogoSintetico catalogo) {
+        return new PedidoBuilder()
+                .comCliente(catalogo.cliente(ThreadLocalRandom.current().nextInt(catalogo.quantidadeClientes())))
+                .adicionarItem(catalogo.produto(ThreadLocalRandom.current().nextInt(catalogo.quantidadeProdutos())), 1)
+                .construir();
+    }
+
+    private static void executar(int segundos, int escritores, int leitores, Runnable escrita, Runnable leitura)
+            throws InterruptedException {
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < escritores + leitores; i++) {
+            Runnable operacao = i < escritores ? escrita : leitura;
+            Thread thread = new Thread(() -> {
+                while (ativo.get()) {
+                    operacao.run();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Thread.sleep(segundos * 1000L);
+        ativo.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.DistribuicaoZipf;
+import com.example.sistemapedidos.fiscal.PipelineNotasFiscais;
+import com.example.sistemapedidos.fiscal.ResumoEmissao;
+import com.example.sistemapedidos.fiscal.TabelaTributaria;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Classe NotaFiscalBenchmark.
+ * Mede a vazão (notas/s e MB/s) do PipelineNotasFiscais com 1, 2, 4... threads, sobre um
+ * conjunto de pedidos gerado com semente fixa (mesma entrada em toda execução; ~90% PAGO).
+ * Cada rodada grava em um diretório temporário novo, apagado ao final.
+ *
+ * Uso: NotaFiscalBenchmark [pedidos] [maxThreads] [rodadas]
+ */
+public class NotaFiscalBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int rodadas = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(10_000, 50_000, 42);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(catalogo.quantidadeProdutos(), 1.0);
+        Random aleatorio = new Random(7);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            PedidoBuilder builder = new PedidoBuilder()
+                    .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())))
+                    .comData(inicio.plusSeconds(i))
+                    .comStatusInicial(aleatorio.nextInt(10) == 0 ? "PENDENTE" : "PAGO");
+            int itens = 1 + aleatorio.nextInt(5);
+            for (int j = 0; j < itens; j++) {
+                builder.adicionarItem(catalogo.produto(zipf.sortear(aleatorio)), 1 + aleatorio.nextInt(3));
+            }
+            pedidos.add(builder.construir());
+        }
+        LocalDateTime emissao = LocalDateTime.of(2024, 6, 1, 12, 0);
+        System.out.println("Pedidos: " + quantidade + " | rodadas por configuração: " + rodadas
+                + " | processadores: " + Runtime.getRuntime().availableProcessors());
+
+        for (int threads = 1; threads <= Math.max(1, maxThreads); threads *= 2) {
+            double melhor = 0;
+            ResumoEmissao resumo = null;
+            for (int rodada = 0; rodada < rodadas; rodada++) { // Rodadas iniciais aquecem o JIT; reporta a melhor
+                Path diretorio = Files.createTempDirectory("notas-benchmark");
+                try (PipelineNotasFiscais pipeline = new PipelineNotasFiscais(TabelaTributaria.padrao(), diretorio,
+                        PipelineNotasFiscais.TAMANHO_LOTE_MAXIMO, threads, 1)) {
+                    long t0 = System.nanoTime();
+                    resumo = pipeline.emitir(pedidos, emissao);
+                    double segundos = (System.nanoTime() - t0) / 1e9;
+                    melhor = Math.max(melhor, resumo.getNotas() / segundos);
+                } finally {
+                    apagar(diretorio);
+                }
+            }
+            System.out.printf("%d thread(s): %,.0f notas/s | %.1f MB/s | %d lotes | %.0f bytes/nota%n",
+                    threads, melhor, melhor * resumo.getBytes() / resumo.getNotas() / 1e6,
+                    resumo.getArquivos().size(), (double) resumo.getBytes() / resumo.getNotas());
+        }
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.carga.CatalogoSintetico;
+import com.example.sistemapedidos.carga.DistribuicaoZipf;
+import com.example.sistemapedidos.carga.HistogramaLatencia;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.particao.ProcessoNoLocal;
+import com.example.sistemapedidos.particao.RoteadorPedidos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe ParticionamentoBenchmark.
+ * Mede a vazão de gravação (pedidos/s) da camada particionada com 1, 2, 4... nós, cada um
+ * em um processo Java separado no loopback, e a latência das consultas scatter-gather.
+ * No fim, adiciona mais um nó e mede o rebalanceamento (pedidos migrados e tempo).
+ *
+ * Numa máquina só, os nós disputam os mesmos núcleos: a escala medida aqui é um limite
+ * inferior do que se teria com um nó por máquina.
+ *
+ * Uso: ParticionamentoBenchmark [pedidosPorRodada] [maxNos] [threadsCliente] [tamanhoLote]
+ */
+public class ParticionamentoBenchmark {
+    private static volatile Object sumidouro; // Evita que o JIT descarte os resultados das consultas
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int maxNos = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threadsCliente = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int tamanhoLote = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+
+        CatalogoSintetico catalogo = new CatalogoSintetico(10_000, 100_000, 42);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(catalogo.quantidadeProdutos(), 1.0);
+        Random aleatorio = new Random(7);
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < quantidade; i++) {
+            PedidoBuilder builder = new PedidoBuilder()
+                    .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())))
+                    .comData(inicio.plusSeconds(aleatorio.nextInt(365 * 24 * 3600)));
+            int itens = 1 + aleatorio.nextInt(4);
+            for (int j = 0; j < itens; j++) {
+                builder.adicionarItem(catalogo.produto(zipf.sortear(aleatorio)), 1 + aleatorio.nextInt(3));
+            }
+            pedidos.add(builder.construir());
+        }
+        System.out.println("Pedidos: " + quantidade + " | threads cliente: " + threadsCliente + " | lote: " + tamanhoLote);
+
+        for (int totalNos = 1; totalNos <= maxNos; totalNos *= 2) {
+            List<ProcessoNoLocal> processos = new ArrayList<>();
+            try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+                for (int n = 0; n < totalNos; n++) {
+                    ProcessoNoLocal processo = ProcessoNoLocal.iniciar("no-" + n, "-Xmx1g");
+                    processos.add(processo);
+                    roteador.adicionarNo(processo.getNome(), processo.getEndereco());
+                }
+
+                gravar(roteador, pedidos.subList(0, Math.min(quantidade, 20_000)), threadsCliente, tamanhoLote); // Aquecimento
+                long t0 = System.nanoTime();
+                gravar(roteador, pedidos, threadsCliente, tamanhoLote);
+                double segundos = (System.nanoTime() - t0) / 1e9;
+                System.out.printf("%d nó(s): %,.0f pedidos/s | distribuição %s%n",
+                        totalNos, quantidade / segundos, roteador.distribuicao());
+
+                HistogramaLatencia porId = new HistogramaLatencia();
+                HistogramaLatencia porCliente = new HistogramaLatencia();
+                HistogramaLatencia porPeriodo = new HistogramaLatencia();
+                for (int rodada = 0; rodada < 2; rodada++) { // Primeira rodada só aquece
+                    porId.zerar();
+                    porCliente.zerar();
+                    porPeriodo.zerar();
+                    for (int i = 0; i < 2_000; i++) {
+                        Pedido alvo = pedidos.get(aleatorio.nextInt(quantidade));
+                        long c0 = System.nanoTime();
+                        sumidouro = roteador.buscarPorId(alvo.getId());
+                        porId.registrar(System.nanoTime() - c0);
+                        c0 = System.nanoTime();
+                        sumidouro = roteador.listarPorCliente(alvo.getCliente().getId());
+                        porCliente.registrar(System.nanoTime() - c0);
+                    }
+                    for (int i = 0; i < 50; i++) {
+                        LocalDateTime de = inicio.plusDays(aleatorio.nextInt(360));
+                        long c0 = System.nanoTime();
+                        sumidouro = roteador.buscarPorPeriodo(de, de.plusHours(6));
+                        porPeriodo.registrar(System.nanoTime() - c0);
+                    }
+                }
+                System.out.println("  buscarPorId (todos os nós):   " + porId.resumo());
+                System.out.println("  listarPorCliente (um nó):     " + porCliente.resumo());
+                System.out.println("  buscarPorPeriodo 6h (todos):  " + porPeriodo.resumo());
+
+                ProcessoNoLocal extra = ProcessoNoLocal.iniciar("no-" + totalNos, "-Xmx1g");
+                processos.add(extra);
+                long r0 = System.nanoTime();
+                long migrados = roteador.adicionarNo(extra.getNome(), extra.getEndereco());
+                System.out.printf("  +1 nó: %d de %d pedidos migrados (%.1f%%) em %.0f ms%n", migrados, roteador.contar(),
+                        100.0 * migrados / roteador.contar(), (System.nanoTime() - r0) / 1e6);
+            } finally {
+                for (ProcessoNoLocal processo : processos) {
+                    processo.close();
+                }
+            }
+        }
+    }
+
+    private static void gravar(RoteadorPedidos roteador, List<Pedido> pedidos, int threads, int tamanhoLote)
+            throws InterruptedException {
+        AtomicInteger proximo = new AtomicInteger();
+        List<Thread> clientes = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread cliente = new Thread(() -> {
+                int inicio;
+                while ((inicio = proximo.getAndAdd(tamanhoLote)) < pedidos.size()) {
+                    try {
+                        roteador.salvarTodos(pedidos.subList(inicio, Math.min(pedidos.size(), inicio + tamanhoLote)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            cliente.start();
+            clientes.add(cliente);
+        }
+        for (Thread cliente : clientes) {
+            cliente.join();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.sistemapedidos.benchmark;
+
+import com.example.sistemapedidos.factory.ProdutoFactory;
+import com.example.sistemapedidos.model.produto.Produto;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Classe ProdutoFactoryBenchmark.
+ * Mede ns e bytes alocados por produto criado em quatro caminhos:
+ * - criarProduto(tipo, nome, preco, Object...) (boxing do argumento e array de varargs);
+ * - criar(tipo, nome, preco, double|String) com o tipo em MAIÚSCULAS;
+ * - o mesmo com o tipo em grafia mista ("Fisico"), comparado sem distinguir maiúsculas;
+ * - criarFisico/criarDigital, sem busca.
+ * Metade dos produtos é física e metade digital, com preços e pesos variando a cada chamada.
+ *
+ * Uso: ProdutoFactoryBenchmark [produtosPorRodada]
+ */
+public class ProdutoFactoryBenchmark {
+    private static volatile Object sumidouro; // Evita que o JIT descarte os produtos criados
+
+    private interface Caminho {
+        Produto criar(int i, double preco);
+    }
+
+    public static void main(String[] args) {
+        int produtos = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        com.sun.management.ThreadMXBean mxThreads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String url = "http://example.com/download";
+
+        Caminho legado = (i, preco) -> (i & 1) == 0
+                ? ProdutoFactory.criarProduto("FISICO", "Produto", preco, preco / 10)
+                : ProdutoFactory.criarProduto("DIGITAL", "Produto", preco, url);
+        Caminho registro = (i, preco) -> (i & 1) == 0
+                ? ProdutoFactory.criar("FISICO", "Produto", preco, preco / 10)
+                : ProdutoFactory.criar("DIGITAL", "Produto", preco, url);
+        Caminho grafiaMista = (i, preco) -> (i & 1) == 0
+                ? ProdutoFactory.criar("Fisico", "Produto", preco, preco / 10)
+                : ProdutoFactory.criar("Digital", "Produto", preco, url);
+        Caminho direto = (i, preco) -> (i & 1) == 0
+                ? ProdutoFactory.criarFisico("Produto", preco, preco / 10)
+                : ProdutoFactory.criarDigital("Produto", preco, url);
+
+        System.out.println("Produtos por rodada: " + produtos);
+        for (int rodada = 0; rodada < 3; rodada++) {
+            boolean reportar = rodada == 2; // Rodadas anteriores só aquecem o JIT
+            medir("criarProduto(Object...)", legado, produtos, mxThreads, reportar);
+            medir("criar(tipo) MAIÚSCULO", registro, produtos, mxThreads, reportar);
+            medir("criar(tipo) grafia mista", grafiaMista, produtos, mxThreads, reportar);
+            medir("criarFisico/criarDigital", direto, produtos, mxThreads, reportar);
+        }
+    }
+
+    private static void medir(String nome, Caminho caminho, int produtos, com.sun.management.ThreadMXBean mxThreads,
+                              boolean reportar) {
+        long bytesInicio = mxThreads.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < produtos; i++) {
+            sumidouro = caminho.criar(i, 1.0 + (i & 1023));
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = mxThreads.getCurrentThreadAllocatedBytes() - bytesInicio;
+        if (reportar) {
+            System.out.printf("%-28s %6.1f ns/produto | %5d bytes/produto%n", nome, (double) nanos / produtos, bytes / produtos);
+        }
+    }
+}
@@ -1,30 +1,124 @@
 package com.example.sistemapedidos.builder;
 
+import com.example.sistemapedidos.idempotencia.CacheIdempotencia;
 import com.example.sistemapedidos.model.Cliente;
 import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.OuvintePedido;
 import com.example.sistemapedidos.model.Pedido;
 import com.example.sistemapedidos.model.produto.Produto;
 import com.example.sistemapedidos.singleton.ConfiguracaoSistema; // Exemplo de uso do Singleton
+import com.example.sistemapedidos.velocidade.LimitadorVelocidade;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Classe PedidoBuilder - Implementação do Padrão Builder.
  * Facilita a construção de objetos Pedido complexos, passo a passo.
  * Permite criar um Pedido com diferentes configurações de forma legível e flexível.
+ *
+ * Também pode ser reutilizado: reset() prepara o mesmo builder para um novo pedido,
+ * mantendo o índice de itens já dimensionado. daThread() entrega um builder por thread,
+ * já resetado, para caminhos quentes que criam muitos pedidos.
  */
 public class PedidoBuilder {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+    // Relógio dos builders por thread: resolução de 1 ms é suficiente para a data do pedido
+    private static final RelogioPedido RELOGIO_DA_THREAD = RelogioPedido.emCache(Duration.ofMillis(1));
+    private static final ThreadLocal<PedidoBuilder> BUILDER_DA_THREAD =
+            ThreadLocal.withInitial(() -> new PedidoBuilder(RELOGIO_DA_THREAD));
+
+    private final RelogioPedido relogio;
     private Pedido pedidoEmConstrucao;
-    private int contadorItens; // Para respeitar o limite de itens por pedido, por exemplo
+    private Map<Produto, ItemPedido> itensPorProduto; // Índice para juntar produtos repetidos; o tamanho é o limite de itens
+    private OuvintePedido ouvinte; // Notificado quando o pedido é construído e quando o status mudar
+    private String chaveIdempotencia; // Opcional: evita pedidos duplicados em novas tentativas
+    private CacheIdempotencia cacheIdempotencia;
+    private LimitadorVelocidade limitadorVelocidade; // Opcional: limites de pedidos, valor e produtos por cliente
 
     public PedidoBuilder() {
-        this.pedidoEmConstrucao = new Pedido(); // Cria a instância base do Pedido
+        this(RelogioPedido.sistema());
+    }
+
+    /**
+     * @param relogio Fonte da data padrão dos pedidos (ex: RelogioPedido.emCache para evitar LocalDateTime.now()).
+     */
+    public PedidoBuilder(RelogioPedido relogio) {
+        if (relogio == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo.");
+        }
+        this.relogio = relogio;
+        this.itensPorProduto = new HashMap<>();
+        iniciarPedido(0);
+    }
+
+    /**
+     * Builder reutilizável da thread atual, já resetado.
+     * Não deve ser guardado nem usado em construções aninhadas: a próxima chamada
+     * na mesma thread reseta o mesmo builder. Com virtual threads (uma por requisição)
+     * não há reaproveitamento; nesse caso prefira new PedidoBuilder(relogio).
+     * @return O builder da thread, pronto para um novo pedido.
+     */
+    public static PedidoBuilder daThread() {
+        return BUILDER_DA_THREAD.get().reset();
+    }
+
+    /**
+     * Prepara o builder para um novo pedido, como se fosse recém-criado (novo ID, data,
+     * status inicial, sem itens, ouvintes, chave de idempotência nem limitador). O pedido construído
+     * antes não é afetado. A lista de itens do novo pedido já nasce com o tamanho do anterior.
+     * @return O próprio PedidoBuilder.
+     */
+    public PedidoBuilder reset() {
+        int capacidadeItens = itensPorProduto.size();
+        itensPorProduto.clear(); // clear() mantém a tabela já dimensionada
+        ouvinte = null;
+        chaveIdempotencia = null;
+        cacheIdempotencia = null;
+        limitadorVelocidade = null;
+        iniciarPedido(capacidadeItens);
+        return this;
+    }
+
+    private void iniciarPedido(int capacidadeItens) {
+        this.pedidoEmConstrucao = new Pedido(capacidadeItens); // Cria a instância base do Pedido
         // Define valores padrão ou iniciais para o Pedido
-        this.pedidoEmConstrucao.setId(UUID.randomUUID().toString().substring(0, 8)); // ID curto
-        this.pedidoEmConstrucao.setData(LocalDateTime.now());
+        this.pedidoEmConstrucao.setId(novoId()); // ID curto
+        this.pedidoEmConstrucao.setData(relogio.agora());
         this.pedidoEmConstrucao.setStatus("PENDENTE_INICIAL");
-        this.contadorItens = 0;
+    }
+
+    /**
+     * ID curto de 8 caracteres hexadecimais (mesmo formato do antigo prefixo de UUID),
+     * gerado de um único int aleatório, sem criar UUID nem strings intermediárias.
+     * Não é um valor seguro contra adivinhação.
+     */
+    private static String novoId() {
+        int aleatorio = ThreadLocalRandom.current().nextInt();
+        byte[] id = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            id[i] = HEX[aleatorio & 0xF];
+            aleatorio >>>= 4;
+        }
+        return new String(id, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Define o ID do pedido. Se não chamado, usa um ID curto aleatório.
+     * Útil para reconstruir pedidos já existentes (ex: lidos de um arquivo).
+     * @param id O ID do pedido.
+     * @return O próprio PedidoBuilder.
+     */
+    public PedidoBuilder comId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do pedido não pode ser vazio.");
+        }
+        this.pedidoEmConstrucao.setId(id);
+        return this;
     }
 
     /**
@@ -42,6 +136,8 @@ public class PedidoBuilder {
 
     /**
      * Adiciona um item ao pedido.
+     * Se o produto já estiver no pedido, a quantidade é somada ao item existente
+     * (mantendo o preço unitário da primeira inclusão) e não conta como um novo item.
      * @param produto O produto a ser adicionado.
      * @param quantidade A quantidade do produto.
      * @return O próprio PedidoBuilder.
@@ -56,15 +152,21 @@ public class PedidoBuilder {
             throw new IllegalArgumentException("Quantidade do item deve ser positiva.");
         }
 
+        ItemPedido existente = itensPorProduto.get(produto);
+        if (existente != null) {
+            existente.setQuantidade(existente.getQuantidade() + quantidade); // Atualiza o total do pedido
+            return this;
+        }
+
         // Exemplo de uso do Singleton para obter uma configuração
         ConfiguracaoSistema config = ConfiguracaoSistema.getInstance();
-        if (contadorItens >= config.getMaxItensPorPedido()) {
+        if (itensPorProduto.size() >= config.getMaxItensPorPedido()) {
             throw new IllegalStateException("Número máximo de itens (" + config.getMaxItensPorPedido() + ") por pedido excedido.");
         }
 
         ItemPedido item = new ItemPedido(produto, quantidade, produto.getPreco());
-        this.pedidoEmConstrucao.adicionarItem(item);
-        this.contadorItens++;
+        this.pedidoEmConstrucao.adicionarItem(item); // Já soma o subtotal ao total do pedido
+        itensPorProduto.put(produto, item);
         return this;
     }
 
@@ -94,25 +196,86 @@ public class PedidoBuilder {
         return this;
     }
 
+    /**
+     * Registra um ouvinte do ciclo de vida do pedido (ex: um barramento de eventos).
+     * Ele é avisado ao final de construir() e, depois, a cada mudança de status do pedido.
+     * Pode ser chamado mais de uma vez; todos os ouvintes são notificados na ordem de registro.
+     * @param ouvinte O ouvinte a ser registrado.
+     * @return O próprio PedidoBuilder.
+     */
+    public PedidoBuilder comOuvinte(OuvintePedido ouvinte) {
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("Ouvinte não pode ser nulo.");
+        }
+        this.ouvinte = OuvintePedido.combinar(this.ouvinte, ouvinte);
+        return this;
+    }
+
+    /**
+     * Torna a construção idempotente: se um pedido já foi construído com a mesma chave
+     * dentro da janela do cache, construir() retorna esse pedido original em vez de um novo.
+     * A chave vale por cliente (ver CacheIdempotencia.chaveDoCliente): a mesma chave enviada por
+     * outro cliente não encontra o pedido original.
+     * @param chave A chave de idempotência enviada pelo cliente (ex: header Idempotency-Key).
+     * @param cache O cache onde as chaves são registradas.
+     * @return O próprio PedidoBuilder.
+     */
+    public PedidoBuilder comChaveIdempotencia(String chave, CacheIdempotencia cache) {
+        if (chave == null || chave.trim().isEmpty()) {
+            throw new IllegalArgumentException("Chave de idempotência não pode ser vazia.");
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache de idempotência não pode ser nulo.");
+        }
+        this.chaveIdempotencia = chave;
+        this.cacheIdempotencia = cache;
+        return this;
+    }
+
+    /**
+     * Aplica os limites de velocidade do cliente (pedidos por minuto, valor e produtos distintos por hora):
+     * construir() recusa o pedido que passaria de algum deles. Novas tentativas resolvidas pela chave de
+     * idempotência não contam de novo.
+     * @param limitador O limitador compartilhado pelos builders do sistema.
+     * @return O próprio PedidoBuilder.
+     */
+    public PedidoBuilder comLimitadorVelocidade(LimitadorVelocidade limitador) {
+        if (limitador == null) {
+            throw new IllegalArgumentException("Limitador de velocidade não pode ser nulo.");
+        }
+        this.limitadorVelocidade = limitador;
+        return this;
+    }
 
     /**
      * Constrói e retorna o objeto Pedido finalizado.
-     * Realiza validações finais e cálculos (como o total do pedido).
+     * Realiza validações finais. O total já é mantido a cada item adicionado.
+     * Se uma chave de idempotência foi informada e já usada, retorna o pedido original.
      * @return O objeto Pedido construído.
      * @throws IllegalStateException se dados obrigatórios não foram fornecidos (ex: cliente, itens).
+     * @throws com.example.sistemapedidos.velocidade.LimiteVelocidadeExcedidoException se o cliente passou
+     *         de um limite de velocidade (ver comLimitadorVelocidade).
      */
     public Pedido construir() {
+        // Caminho rápido da idempotência: nova tentativa de um pedido já criado
+        Cliente cliente = this.pedidoEmConstrucao.getCliente();
+        String chaveNoCache = null;
+        if (this.chaveIdempotencia != null && cliente != null) {
+            chaveNoCache = CacheIdempotencia.chaveDoCliente(cliente.getId(), this.chaveIdempotencia);
+            Pedido original = this.cacheIdempotencia.obter(chaveNoCache);
+            if (original != null) {
+                return original;
+            }
+        }
+
         // Validações antes de construir o objeto final
         if (this.pedidoEmConstrucao.getCliente() == null) {
             throw new IllegalStateException("Cliente é obrigatório para construir o pedido.");
         }
-        if (this.pedidoEmConstrucao.getItens().isEmpty()) {
+        if (this.itensPorProduto.isEmpty()) {
             throw new IllegalStateException("O pedido deve ter pelo menos um item.");
         }
 
-        // Calcula o total do pedido
-        this.pedidoEmConstrucao.calcularTotal();
-
         // Define um status final se ainda for o inicial (opcional, depende da lógica de negócio)
         if ("PENDENTE_INICIAL".equals(this.pedidoEmConstrucao.getStatus())) {
             this.pedidoEmConstrucao.setStatus("PENDENTE");
@@ -121,11 +284,33 @@ public class PedidoBuilder {
         // Retorna uma cópia ou o objeto em si. Para este exemplo, retornamos o objeto.
         // Em cenários mais complexos, poderia-se retornar uma cópia imutável.
         Pedido pedidoFinalizado = this.pedidoEmConstrucao;
+
+        // Limites por cliente: o pedido só é contado se for aceito
+        if (this.limitadorVelocidade != null) {
+            this.limitadorVelocidade.verificar(pedidoFinalizado.getCliente().getId(), pedidoFinalizado.getTotal(),
+                    this.itensPorProduto.values());
+        }
+
+        // Duas tentativas simultâneas com a mesma chave: só a primeira a registrar vale, e a
+        // contagem da que perdeu é desfeita (o cliente não pode ser cobrado duas vezes no limite)
+        if (chaveNoCache != null) {
+            Pedido registrado = this.cacheIdempotencia.registrarSeAusente(chaveNoCache, pedidoFinalizado);
+            if (registrado != pedidoFinalizado) {
+                if (this.limitadorVelocidade != null) {
+                    this.limitadorVelocidade.estornar(cliente.getId(), pedidoFinalizado.getTotal());
+                }
+                return registrado;
+            }
+        }
+
+        // Só depois de finalizado o pedido passa a notificar mudanças de status
+        if (this.ouvinte != null) {
+            pedidoFinalizado.setOuvinte(this.ouvinte);
+            this.ouvinte.pedidoCriado(pedidoFinalizado);
+        }
         
-        // Opcional: Resetar o builder para uma nova construção, embora geralmente se crie um novo builder.
-        // this.pedidoEmConstrucao = new Pedido(); 
-        // this.contadorItens = 0;
+        // Para reaproveitar o builder em um novo pedido, chame reset() (ou use daThread()).
 
         return pedidoFinalizado;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.example.sistemapedidos.builder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Classe RelogioEmCache.
+ * RelogioPedido que guarda o último LocalDateTime calculado e só calcula outro
+ * quando a resolução expira. O caminho comum custa um System.nanoTime() e uma
+ * leitura volatile, sem alocação.
+ *
+ * Várias threads podem atualizar ao mesmo tempo quando a resolução expira; a última
+ * escrita vence, o que é inofensivo (os valores diferem em poucos nanossegundos).
+ */
+class RelogioEmCache implements RelogioPedido {
+    private final long resolucaoNanos;
+    private volatile Leitura ultima;
+
+    RelogioEmCache(Duration resolucao) {
+        if (resolucao == null || resolucao.isNegative() || resolucao.isZero()) {
+            throw new IllegalArgumentException("Resolução do relógio deve ser positiva.");
+        }
+        this.resolucaoNanos = resolucao.toNanos();
+        this.ultima = new Leitura(LocalDateTime.now(), System.nanoTime());
+    }
+
+    @Override
+    public LocalDateTime agora() {
+        Leitura leitura = ultima;
+        long agoraNanos = System.nanoTime();
+        if (agoraNanos - leitura.nanos >= resolucaoNanos) {
+            leitura = new Leitura(LocalDateTime.now(), agoraNanos);
+            ultima = leitura;
+        }
+        return leitura.data;
+    }
+
+    // Data e instante (nanoTime) publicados juntos, para não ler um sem o outro
+    private static final class Leitura {
+        final LocalDateTime data;
+        final long nanos;
+
+        Leitura(LocalDateTime data, long nanos) {
+            this.data = data;
+            this.nanos = nanos;
+        }
+    }
+}
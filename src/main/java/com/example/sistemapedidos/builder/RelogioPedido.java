@@ -0,0 +1,33 @@
+package com.example.sistemapedidos.builder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Interface RelogioPedido.
+ * Fonte da data/hora atribuída aos pedidos pelo PedidoBuilder.
+ * Permite trocar LocalDateTime.now() (que faz as contas de fuso a cada chamada)
+ * por um relógio em cache, ou por um relógio fixo em testes.
+ */
+@FunctionalInterface
+public interface RelogioPedido {
+
+    LocalDateTime agora();
+
+    /**
+     * Relógio do sistema: LocalDateTime.now() a cada chamada (comportamento padrão do builder).
+     */
+    static RelogioPedido sistema() {
+        return LocalDateTime::now;
+    }
+
+    /**
+     * Relógio em cache com resolução grossa: a data/hora só é recalculada quando
+     * a anterior tem mais que a resolução informada. Entre uma atualização e outra,
+     * todos os pedidos recebem o mesmo instante.
+     * @param resolucao Tempo máximo de defasagem aceito (ex: 1 ms, 10 ms).
+     */
+    static RelogioPedido emCache(Duration resolucao) {
+        return new RelogioEmCache(resolucao);
+    }
+}
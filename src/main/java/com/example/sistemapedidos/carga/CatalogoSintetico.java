@@ -0,0 +1,62 @@
+package com.example.sistemapedidos.carga;
+
+import com.example.sistemapedidos.factory.ProdutoFactory;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.produto.Produto;
+
+import java.util.Random;
+
+/**
+ * Classe CatalogoSintetico.
+ * Gera um catálogo de produtos e uma base de clientes sintéticos, de forma reproduzível
+ * (mesma semente, mesmos dados). Os produtos são criados pela ProdutoFactory, com uma mistura
+ * de físicos (maioria) e digitais, e preços com cauda longa.
+ */
+public class CatalogoSintetico {
+    private static final double FRACAO_DIGITAIS = 0.25;
+
+    private final Produto[] produtos;
+    private final Cliente[] clientes;
+
+    public CatalogoSintetico(int quantidadeProdutos, int quantidadeClientes, long semente) {
+        if (quantidadeProdutos <= 0 || quantidadeClientes <= 0) {
+            throw new IllegalArgumentException("Catálogo precisa de ao menos um produto e um cliente.");
+        }
+        Random aleatorio = new Random(semente);
+        this.produtos = new Produto[quantidadeProdutos];
+        for (int i = 0; i < quantidadeProdutos; i++) {
+            // Preço log-normal: muitos itens baratos, poucos caros
+            double preco = Math.round(Math.exp(3.0 + aleatorio.nextGaussian()) * 100.0) / 100.0 + 0.99;
+            if (aleatorio.nextDouble() < FRACAO_DIGITAIS) {
+                produtos[i] = ProdutoFactory.criarDigital("Digital-" + i, preco,
+                        "http://example.com/download/" + i);
+            } else {
+                double pesoKg = Math.round(aleatorio.nextDouble() * 2000.0) / 100.0;
+                produtos[i] = ProdutoFactory.criarFisico("Fisico-" + i, preco, pesoKg);
+            }
+        }
+        this.clientes = new Cliente[quantidadeClientes];
+        for (int i = 0; i < quantidadeClientes; i++) {
+            clientes[i] = new Cliente("CLI" + i, "Cliente " + i, "cliente" + i + "@example.com");
+        }
+    }
+
+    /**
+     * Produto na posição informada do ranking de popularidade (0 = mais vendido).
+     */
+    public Produto produto(int posicao) {
+        return produtos[posicao];
+    }
+
+    public Cliente cliente(int posicao) {
+        return clientes[posicao];
+    }
+
+    public int quantidadeProdutos() {
+        return produtos.length;
+    }
+
+    public int quantidadeClientes() {
+        return clientes.length;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sistemapedidos.carga;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Classe DistribuicaoZipf.
+ * Sorteia posições de 0 a n-1 seguindo a lei de Zipf: a posição k tem probabilidade
+ * proporcional a 1 / (k+1)^expoente. Com expoente perto de 1, poucos itens concentram
+ * a maior parte dos sorteios, como acontece com os produtos mais vendidos de uma loja.
+ *
+ * A distribuição acumulada é pré-calculada uma vez; cada sorteio é uma busca binária.
+ * A instância é imutável e pode ser compartilhada entre threads (cada thread usa seu Random).
+ */
+public class DistribuicaoZipf {
+    private final double[] acumulada;
+
+    /**
+     * @param n        Quantidade de itens.
+     * @param expoente Expoente da distribuição (0 = uniforme; ~1 = típico de catálogos reais).
+     */
+    public DistribuicaoZipf(int n, double expoente) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Quantidade de itens deve ser positiva.");
+        }
+        if (expoente < 0) {
+            throw new IllegalArgumentException("Expoente não pode ser negativo.");
+        }
+        this.acumulada = new double[n];
+        double soma = 0;
+        for (int k = 0; k < n; k++) {
+            soma += 1.0 / Math.pow(k + 1, expoente);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= soma; // Normaliza para [0, 1]
+        }
+    }
+
+    /**
+     * Sorteia uma posição (0 é a mais popular).
+     */
+    public int sortear(Random aleatorio) {
+        double u = aleatorio.nextDouble();
+        int posicao = Arrays.binarySearch(acumulada, u);
+        if (posicao < 0) {
+            posicao = -posicao - 1; // Ponto de inserção: primeira acumulada maior que u
+        }
+        return Math.min(posicao, acumulada.length - 1);
+    }
+
+    public int getTamanho() {
+        return acumulada.length;
+    }
+}
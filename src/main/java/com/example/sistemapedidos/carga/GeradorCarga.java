@@ -0,0 +1,267 @@
+package com.example.sistemapedidos.carga;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe GeradorCarga.
+ * Ponto de entrada para testes de carga e de resistência ("soak test"). Gera um catálogo e uma base
+ * de clientes sintéticos e, a partir de N threads, cria pedidos (PedidoBuilder + produtos da
+ * ProdutoFactory) e faz a rotação de status dos pedidos recentes, numa taxa alvo e por um tempo definido.
+ *
+ * - Produtos sorteados por Zipf (poucos produtos muito vendidos, cauda longa).
+ * - Quantidade de itens por pedido variando de 1 até maxItensPorPedido (pedidos pequenos são mais comuns).
+ * - Rotação de status: PENDENTE -> PAGO -> ENVIADO -> ENTREGUE, com alguns cancelamentos.
+ *
+ * A latência é medida a partir do instante em que a operação deveria ter começado pela taxa alvo,
+ * então atrasos acumulados (quando o sistema não acompanha a taxa) aparecem nos percentis.
+ * Ao final são reportados vazão, percentis de latência, coletas de lixo e bytes alocados por operação.
+ *
+ * Uso (parâmetros opcionais, formato chave=valor):
+ *   GeradorCarga threads=8 taxa=50000 duracao=60 produtos=10000 clientes=100000 zipf=1.0 rotacao=30 relatorio=5
+ * taxa=0 significa "o mais rápido possível"; rotacao é o percentual de operações que mudam status.
+ */
+public class GeradorCarga {
+    private static final int RECENTES_POR_THREAD = 1024;
+
+    private final int threads;
+    private final double taxaPorSegundo;
+    private final int duracaoSegundos;
+    private final int percentualRotacao;
+    private final int intervaloRelatorioSegundos;
+    private final CatalogoSintetico catalogo;
+    private final DistribuicaoZipf zipfProdutos;
+    private final int maxItens;
+
+    private final HistogramaLatencia latenciaCriacao = new HistogramaLatencia();
+    private final HistogramaLatencia latenciaStatus = new HistogramaLatencia();
+    private final LongAdder operacoes = new LongAdder();
+    private final LongAdder itensCriados = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder bytesAlocados = new LongAdder(); // Cada thread soma o que alocou ao terminar
+
+    public GeradorCarga(int threads, double taxaPorSegundo, int duracaoSegundos, int percentualRotacao,
+                        int intervaloRelatorioSegundos, CatalogoSintetico catalogo, double expoenteZipf) {
+        if (threads <= 0 || duracaoSegundos <= 0) {
+            throw new IllegalArgumentException("Threads e duração devem ser positivos.");
+        }
+        this.threads = threads;
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.duracaoSegundos = duracaoSegundos;
+        this.percentualRotacao = percentualRotacao;
+        this.intervaloRelatorioSegundos = Math.max(1, intervaloRelatorioSegundos);
+        this.catalogo = catalogo;
+        this.zipfProdutos = new DistribuicaoZipf(catalogo.quantidadeProdutos(), expoenteZipf);
+        this.maxItens = ConfiguracaoSistema.getInstance().getMaxItensPorPedido();
+    }
+
+    /**
+     * Executa a carga e imprime o relatório.
+     */
+    public void executar() throws InterruptedException {
+        Map<String, long[]> gcAntes = lerColetas();
+        long fimNanos = System.nanoTime() + duracaoSegundos * 1_000_000_000L;
+        long intervaloPorThread = taxaPorSegundo > 0 ? (long) (1e9 * threads / taxaPorSegundo) : 0;
+
+        CountDownLatch terminadas = new CountDownLatch(threads);
+        List<Thread> trabalhadoras = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    laco(fimNanos, intervaloPorThread);
+                } finally {
+                    terminadas.countDown();
+                }
+            }, "carga-" + t);
+            trabalhadoras.add(thread);
+        }
+        long inicio = System.nanoTime();
+        for (Thread thread : trabalhadoras) {
+            thread.start();
+        }
+
+        long operacoesAnteriores = 0;
+        while (!terminadas.await(intervaloRelatorioSegundos, TimeUnit.SECONDS)) {
+            long total = operacoes.sum();
+            System.out.printf("[%4ds] %,.0f ops/s | criação %s%n",
+                    (System.nanoTime() - inicio) / 1_000_000_000L,
+                    (double) (total - operacoesAnteriores) / intervaloRelatorioSegundos,
+                    latenciaCriacao.resumo());
+            operacoesAnteriores = total;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        imprimirRelatorio(segundos, gcAntes);
+    }
+
+    private void laco(long fimNanos, long intervaloNanos) {
+        com.sun.management.ThreadMXBean mxThreads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long alocadoInicio = mxThreads.getCurrentThreadAllocatedBytes();
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Pedido[] recentes = new Pedido[RECENTES_POR_THREAD];
+        int quantidadeRecentes = 0;
+        long proximoInicio = System.nanoTime();
+
+        while (true) {
+            long agora = System.nanoTime();
+            if (agora >= fimNanos) {
+                break;
+            }
+            if (intervaloNanos > 0) {
+                aguardarAte(proximoInicio);
+            }
+            long inicioPlanejado = intervaloNanos > 0 ? proximoInicio : System.nanoTime();
+            try {
+                if (quantidadeRecentes > 0 && aleatorio.nextInt(100) < percentualRotacao) {
+                    int posicao = aleatorio.nextInt(quantidadeRecentes);
+                    if (!avancarStatus(recentes[posicao], aleatorio)) {
+                        // Pedido chegou a um status final: sai da lista de recentes
+                        recentes[posicao] = recentes[--quantidadeRecentes];
+                        recentes[quantidadeRecentes] = null;
+                    }
+                    latenciaStatus.registrar(System.nanoTime() - inicioPlanejado);
+                } else {
+                    Pedido pedido = criarPedido(aleatorio);
+                    latenciaCriacao.registrar(System.nanoTime() - inicioPlanejado);
+                    if (quantidadeRecentes < recentes.length) {
+                        recentes[quantidadeRecentes++] = pedido;
+                    } else {
+                        recentes[aleatorio.nextInt(recentes.length)] = pedido;
+                    }
+                }
+                operacoes.increment();
+            } catch (RuntimeException e) {
+                erros.increment();
+            }
+            proximoInicio += intervaloNanos;
+        }
+        bytesAlocados.add(mxThreads.getCurrentThreadAllocatedBytes() - alocadoInicio);
+    }
+
+    private Pedido criarPedido(ThreadLocalRandom aleatorio) {
+        PedidoBuilder builder = PedidoBuilder.daThread() // Builder reaproveitado por thread, relógio em cache
+                .comCliente(catalogo.cliente(aleatorio.nextInt(catalogo.quantidadeClientes())));
+        int itens = sortearQuantidadeItens(aleatorio);
+        for (int i = 0; i < itens; i++) {
+            // Quantidade por item: quase sempre 1 ou 2 unidades
+            int quantidade = aleatorio.nextInt(10) < 8 ? 1 : 2 + aleatorio.nextInt(3);
+            builder.adicionarItem(catalogo.produto(zipfProdutos.sortear(aleatorio)), quantidade);
+        }
+        itensCriados.add(itens);
+        return builder.construir();
+    }
+
+    /**
+     * Quantidade de itens com decaimento geométrico (média ~3), limitada a maxItensPorPedido.
+     */
+    private int sortearQuantidadeItens(ThreadLocalRandom aleatorio) {
+        int itens = 1;
+        while (itens < maxItens && aleatorio.nextInt(3) != 0) {
+            itens++;
+        }
+        return itens;
+    }
+
+    /**
+     * Avança o status do pedido no fluxo típico.
+     * @return false se o pedido chegou a um status final.
+     */
+    private static boolean avancarStatus(Pedido pedido, ThreadLocalRandom aleatorio) {
+        switch (pedido.getStatus()) {
+            case "PENDENTE":
+                pedido.setStatus(aleatorio.nextInt(10) == 0 ? "CANCELADO" : "PAGO");
+                return !"CANCELADO".equals(pedido.getStatus());
+            case "PAGO":
+                pedido.setStatus("ENVIADO");
+                return true;
+            case "ENVIADO":
+                pedido.setStatus("ENTREGUE");
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private static void aguardarAte(long instanteNanos) {
+        long restante;
+        while ((restante = instanteNanos - System.nanoTime()) > 0) {
+            if (restante > 50_000) {
+                LockSupport.parkNanos(restante - 20_000); // Dorme, mas acorda um pouco antes
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void imprimirRelatorio(double segundos, Map<String, long[]> gcAntes) {
+        long total = operacoes.sum();
+        System.out.println();
+        System.out.println("=== Resultado ===");
+        System.out.printf("Operações: %,d em %.1fs -> %,.0f ops/s (alvo: %s) | erros: %d%n", total, segundos,
+                total / segundos, taxaPorSegundo > 0 ? String.format("%,.0f", taxaPorSegundo) : "máximo", erros.sum());
+        System.out.printf("Pedidos criados: %,d (média de %.1f itens) | mudanças de status: %,d%n",
+                latenciaCriacao.getContagem(),
+                latenciaCriacao.getContagem() == 0 ? 0.0 : (double) itensCriados.sum() / latenciaCriacao.getContagem(),
+                latenciaStatus.getContagem());
+        System.out.println("Latência criação: " + latenciaCriacao.resumo());
+        System.out.println("Latência status:  " + latenciaStatus.resumo());
+
+        Map<String, long[]> gcDepois = lerColetas();
+        for (Map.Entry<String, long[]> e : gcDepois.entrySet()) {
+            long[] antes = gcAntes.getOrDefault(e.getKey(), new long[2]);
+            System.out.printf("GC %-25s coletas: %,d | tempo: %,d ms%n", e.getKey(),
+                    e.getValue()[0] - antes[0], e.getValue()[1] - antes[1]);
+        }
+        System.out.printf("Alocação: %,.0f bytes/operação (%,.1f MB/s)%n",
+                total == 0 ? 0.0 : (double) bytesAlocados.sum() / total, bytesAlocados.sum() / segundos / (1024 * 1024));
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        System.out.printf("Heap em uso ao final: %,d MB%n", memoria.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+    }
+
+    private static Map<String, long[]> lerColetas() {
+        Map<String, long[]> coletas = new HashMap<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            coletas.put(gc.getName(), new long[]{gc.getCollectionCount(), gc.getCollectionTime()});
+        }
+        return coletas;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Parâmetro inválido (use chave=valor): " + arg);
+            }
+            parametros.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        int threads = Integer.parseInt(parametros.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        double taxa = Double.parseDouble(parametros.getOrDefault("taxa", "50000"));
+        int duracao = Integer.parseInt(parametros.getOrDefault("duracao", "60"));
+        int produtos = Integer.parseInt(parametros.getOrDefault("produtos", "10000"));
+        int clientes = Integer.parseInt(parametros.getOrDefault("clientes", "100000"));
+        double zipf = Double.parseDouble(parametros.getOrDefault("zipf", "1.0"));
+        int rotacao = Integer.parseInt(parametros.getOrDefault("rotacao", "30"));
+        int relatorio = Integer.parseInt(parametros.getOrDefault("relatorio", "5"));
+        long semente = Long.parseLong(parametros.getOrDefault("semente", "42"));
+
+        System.out.printf("Gerando catálogo: %,d produtos, %,d clientes (Zipf %.2f)...%n", produtos, clientes, zipf);
+        CatalogoSintetico catalogo = new CatalogoSintetico(produtos, clientes, semente);
+        System.out.printf("Carga: %d threads, taxa %s ops/s, %ds, %d%% de mudanças de status%n",
+                threads, taxa > 0 ? String.format("%,.0f", taxa) : "máxima", duracao, rotacao);
+        new GeradorCarga(threads, taxa, duracao, rotacao, relatorio, catalogo, zipf).executar();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.sistemapedidos.carga;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe HistogramaLatencia.
+ * Histograma de latências (em nanossegundos) com baldes log-lineares: cada potência de 2
+ * é dividida em 32 sub-baldes, o que dá erro relativo de no máximo ~3% nos percentis.
+ * Registrar é O(1), sem alocação e seguro entre threads, então pode ser chamado
+ * direto do laço medido pelos benchmarks.
+ */
+public class HistogramaLatencia {
+    private static final int BITS_SUB_BALDE = 5;
+    private static final int SUB_BALDES = 1 << BITS_SUB_BALDE;
+    private static final int TOTAL_BALDES = (64 - BITS_SUB_BALDE) * SUB_BALDES;
+
+    private final AtomicLongArray baldes = new AtomicLongArray(TOTAL_BALDES);
+    private final LongAdder contagem = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra uma amostra.
+     * @param nanos Latência em nanossegundos (valores negativos contam como 0).
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        baldes.incrementAndGet(indice(valor));
+        contagem.increment();
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long getContagem() {
+        return contagem.sum();
+    }
+
+    public double getMediaNanos() {
+        long n = contagem.sum();
+        return n == 0 ? 0 : (double) soma.sum() / n;
+    }
+
+    public long getMaximoNanos() {
+        return maximo.get();
+    }
+
+    /**
+     * Retorna o valor (aproximado, limite superior do balde) abaixo do qual está
+     * a fração informada das amostras.
+     * @param percentil Valor entre 0 e 100 (ex: 99.9).
+     */
+    public long percentilNanos(double percentil) {
+        long total = contagem.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            acumulado += baldes.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Zera o histograma (por exemplo, ao final do aquecimento).
+     */
+    public void zerar() {
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            baldes.set(i, 0);
+        }
+        contagem.reset();
+        soma.reset();
+        maximo.reset();
+    }
+
+    /**
+     * Resumo em uma linha com média e percentis em microssegundos.
+     */
+    public String resumo() {
+        return String.format("amostras=%d media=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                getContagem(), getMediaNanos() / 1000.0,
+                percentilNanos(50) / 1000.0, percentilNanos(90) / 1000.0,
+                percentilNanos(99) / 1000.0, percentilNanos(99.9) / 1000.0,
+                getMaximoNanos() / 1000.0);
+    }
+
+    static int indice(long valor) {
+        if (valor < SUB_BALDES) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_SUB_BALDE;
+        int sub = (int) (valor >>> deslocamento) & (SUB_BALDES - 1);
+        return ((deslocamento + 1) << BITS_SUB_BALDE) + sub;
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUB_BALDES) {
+            return indice;
+        }
+        int deslocamento = (indice >> BITS_SUB_BALDE) - 1;
+        int sub = indice & (SUB_BALDES - 1);
+        return ((long) (SUB_BALDES + sub + 1) << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.sistemapedidos.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe Binario.
+ * Primitivas do formato binário: varints (LEB128, 7 bits por byte), zigzag para
+ * números com sinal e textos UTF-8 prefixados pelo tamanho.
+ */
+final class Binario {
+
+    private Binario() {
+    }
+
+    static void escreverVarint(ByteBuffer buffer, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            buffer.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        buffer.put((byte) valor);
+    }
+
+    static void escreverVarlong(ByteBuffer buffer, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            buffer.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        buffer.put((byte) valor);
+    }
+
+    /**
+     * Zigzag: números negativos pequenos também viram varints curtos.
+     */
+    static void escreverVarlongComSinal(ByteBuffer buffer, long valor) {
+        escreverVarlong(buffer, (valor << 1) ^ (valor >> 63));
+    }
+
+    static int lerVarint(ByteBuffer buffer) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = buffer.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido.");
+    }
+
+    static long lerVarlong(ByteBuffer buffer) {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = buffer.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido.");
+    }
+
+    static long lerVarlongComSinal(ByteBuffer buffer) {
+        long valor = lerVarlong(buffer);
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    static void escreverTexto(ByteBuffer buffer, String texto) {
+        int tamanho = tamanhoUtf8(texto);
+        escreverVarint(buffer, tamanho);
+        if (tamanho == texto.length()) {
+            // Só ASCII (caso comum): copia os caracteres direto, sem array intermediário
+            if (buffer.remaining() < tamanho) {
+                throw new BufferOverflowException();
+            }
+            for (int i = 0; i < tamanho; i++) {
+                buffer.put((byte) texto.charAt(i));
+            }
+        } else {
+            buffer.put(texto.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    static String lerTexto(ByteBuffer buffer) {
+        int tamanho = lerVarint(buffer);
+        if (tamanho < 0 || tamanho > buffer.remaining()) {
+            throw new IllegalArgumentException("Texto truncado nos dados binários.");
+        }
+        String texto;
+        if (buffer.hasArray()) {
+            texto = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), tamanho, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + tamanho);
+        } else {
+            byte[] bytes = new byte[tamanho];
+            buffer.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+
+    /**
+     * Quantos bytes o texto ocupa em UTF-8 (igual a String.getBytes(UTF_8).length).
+     */
+    private static int tamanhoUtf8(String texto) {
+        int bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length() && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++; // Surrogate sem par: o encoder troca por '?'
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
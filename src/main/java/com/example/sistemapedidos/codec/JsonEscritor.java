@@ -0,0 +1,277 @@
+package com.example.sistemapedidos.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Classe JsonEscritor.
+ * Escritor de JSON em streaming: grava os tokens diretamente como bytes UTF-8
+ * em um ByteBuffer, sem montar árvore intermediária e sem usar reflexão.
+ * Quem usa decide a estrutura chamando os métodos na ordem certa
+ * (iniciarObjeto, campo, valor, fimObjeto...).
+ *
+ * Pode trabalhar sobre um buffer fornecido (capacidade fixa) ou sobre um buffer
+ * interno que cresce conforme necessário.
+ */
+public class JsonEscritor {
+    private ByteBuffer buffer;
+    private final boolean cresce;
+    private boolean precisaVirgula; // true quando o último token escrito foi um valor completo
+
+    /**
+     * Cria um escritor com buffer interno que cresce automaticamente.
+     * @param capacidadeInicial Tamanho inicial do buffer em bytes.
+     */
+    public JsonEscritor(int capacidadeInicial) {
+        this.buffer = ByteBuffer.allocate(Math.max(16, capacidadeInicial));
+        this.cresce = true;
+    }
+
+    /**
+     * Cria um escritor que grava no buffer informado, a partir da posição atual.
+     * @param destino Buffer de destino. Se faltar espaço, é lançada BufferOverflowException.
+     */
+    public JsonEscritor(ByteBuffer destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("Buffer de destino não pode ser nulo.");
+        }
+        this.buffer = destino;
+        this.cresce = false;
+    }
+
+    public JsonEscritor iniciarObjeto() {
+        separar();
+        escreverByte('{');
+        precisaVirgula = false;
+        return this;
+    }
+
+    public JsonEscritor fimObjeto() {
+        escreverByte('}');
+        precisaVirgula = true;
+        return this;
+    }
+
+    public JsonEscritor iniciarArray() {
+        separar();
+        escreverByte('[');
+        precisaVirgula = false;
+        return this;
+    }
+
+    public JsonEscritor fimArray() {
+        escreverByte(']');
+        precisaVirgula = true;
+        return this;
+    }
+
+    /**
+     * Escreve o nome de um campo (e os dois-pontos). Deve ser seguido de um valor.
+     */
+    public JsonEscritor campo(String nome) {
+        separar();
+        escreverTexto(nome);
+        escreverByte(':');
+        precisaVirgula = false;
+        return this;
+    }
+
+    public JsonEscritor valor(String texto) {
+        separar();
+        if (texto == null) {
+            escreverAscii("null");
+        } else {
+            escreverTexto(texto);
+        }
+        precisaVirgula = true;
+        return this;
+    }
+
+    public JsonEscritor valor(long numero) {
+        separar();
+        escreverLong(numero);
+        precisaVirgula = true;
+        return this;
+    }
+
+    public JsonEscritor valor(double numero) {
+        if (Double.isNaN(numero) || Double.isInfinite(numero)) {
+            throw new IllegalArgumentException("JSON não suporta o número " + numero + ".");
+        }
+        separar();
+        if (numero == (long) numero && Math.abs(numero) < 1e15) {
+            // Inteiros "redondos" saem sem notação científica nem ".0" desnecessário
+            escreverLong((long) numero);
+        } else {
+            escreverAscii(Double.toString(numero));
+        }
+        precisaVirgula = true;
+        return this;
+    }
+
+    public JsonEscritor valor(boolean booleano) {
+        separar();
+        escreverAscii(booleano ? "true" : "false");
+        precisaVirgula = true;
+        return this;
+    }
+
+    public JsonEscritor nulo() {
+        separar();
+        escreverAscii("null");
+        precisaVirgula = true;
+        return this;
+    }
+
+    /**
+     * Atalhos para o caso comum "campo": valor.
+     */
+    public JsonEscritor campo(String nome, String texto) {
+        return campo(nome).valor(texto);
+    }
+
+    public JsonEscritor campo(String nome, long numero) {
+        return campo(nome).valor(numero);
+    }
+
+    public JsonEscritor campo(String nome, double numero) {
+        return campo(nome).valor(numero);
+    }
+
+    /**
+     * Retorna uma visão do que foi escrito até agora (do início até o fim do JSON).
+     * A visão compartilha os bytes com o escritor: não deve ser usada após limpar().
+     */
+    public ByteBuffer resultado() {
+        ByteBuffer visao = buffer.duplicate();
+        visao.flip();
+        return visao;
+    }
+
+    /**
+     * Copia o JSON escrito para um novo array de bytes.
+     */
+    public byte[] paraBytes() {
+        ByteBuffer escrito = resultado();
+        byte[] bytes = new byte[escrito.remaining()];
+        escrito.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Descarta o conteúdo para reaproveitar o escritor (e o buffer) em outro documento.
+     */
+    public void limpar() {
+        buffer.clear();
+        precisaVirgula = false;
+    }
+
+    // --- Escrita de baixo nível ---
+
+    private void separar() {
+        if (precisaVirgula) {
+            escreverByte(',');
+            precisaVirgula = false;
+        }
+    }
+
+    private void garantirEspaco(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (!cresce) {
+            throw new BufferOverflowException();
+        }
+        int novaCapacidade = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+        ByteBuffer maior = ByteBuffer.allocate(novaCapacidade);
+        buffer.flip();
+        maior.put(buffer);
+        buffer = maior;
+    }
+
+    private void escreverByte(int b) {
+        garantirEspaco(1);
+        buffer.put((byte) b);
+    }
+
+    private void escreverAscii(String s) {
+        garantirEspaco(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    private void escreverLong(long numero) {
+        if (numero == Long.MIN_VALUE) {
+            escreverAscii("-9223372036854775808");
+            return;
+        }
+        garantirEspaco(20);
+        if (numero < 0) {
+            buffer.put((byte) '-');
+            numero = -numero;
+        }
+        // Escreve os dígitos de trás para frente diretamente no buffer
+        int inicio = buffer.position();
+        do {
+            buffer.put((byte) ('0' + (numero % 10)));
+            numero /= 10;
+        } while (numero != 0);
+        int fim = buffer.position() - 1;
+        while (inicio < fim) {
+            byte tmp = buffer.get(inicio);
+            buffer.put(inicio++, buffer.get(fim));
+            buffer.put(fim--, tmp);
+        }
+    }
+
+    private void escreverTexto(String s) {
+        // Pior caso: 6 bytes por caractere (escape \\uXXXX) + aspas
+        garantirEspaco(s.length() * 6 + 2);
+        buffer.put((byte) '"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\');
+                buffer.put((byte) c);
+            } else if (c < 0x20) {
+                escreverControle(c);
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    private void escreverControle(char c) {
+        buffer.put((byte) '\\');
+        switch (c) {
+            case '\n': buffer.put((byte) 'n'); break;
+            case '\r': buffer.put((byte) 'r'); break;
+            case '\t': buffer.put((byte) 't'); break;
+            case '\b': buffer.put((byte) 'b'); break;
+            case '\f': buffer.put((byte) 'f'); break;
+            default:
+                buffer.put((byte) 'u');
+                buffer.put((byte) '0');
+                buffer.put((byte) '0');
+                buffer.put((byte) HEX[(c >> 4) & 0xF]);
+                buffer.put((byte) HEX[c & 0xF]);
+        }
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+}
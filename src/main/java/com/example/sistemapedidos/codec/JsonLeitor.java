@@ -0,0 +1,360 @@
+package com.example.sistemapedidos.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe JsonLeitor.
+ * Leitor de JSON em streaming (estilo "pull"): percorre os bytes UTF-8 de um ByteBuffer
+ * e entrega os valores conforme são pedidos, sem montar uma árvore intermediária
+ * e sem reflexão. Quem lê conhece o formato esperado e chama os métodos na ordem.
+ *
+ * Exemplo de uso:
+ * <pre>
+ *   leitor.iniciarObjeto();
+ *   String campo;
+ *   while ((campo = leitor.proximoCampo()) != null) {
+ *       if ("nome".equals(campo)) nome = leitor.lerString();
+ *       else leitor.pularValor();
+ *   }
+ * </pre>
+ *
+ * Erros de formato são reportados com IllegalArgumentException. Objetos e arrays podem ter
+ * no máximo PROFUNDIDADE_MAXIMA níveis: entradas de fora não estouram a pilha em pularValor().
+ */
+public class JsonLeitor {
+    public static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final ByteBuffer entrada;
+    private byte[] temporario = new byte[64]; // reaproveitado para montar strings e números
+    // Por nível aberto: se ainda não leu nenhum membro (o próximo não é precedido de ',')
+    private final boolean[] primeiroMembro = new boolean[PROFUNDIDADE_MAXIMA];
+    private int profundidade;
+
+    public JsonLeitor(ByteBuffer entrada) {
+        if (entrada == null) {
+            throw new IllegalArgumentException("Entrada JSON não pode ser nula.");
+        }
+        this.entrada = entrada;
+    }
+
+    public JsonLeitor(byte[] entrada) {
+        this(ByteBuffer.wrap(entrada));
+    }
+
+    public void iniciarObjeto() {
+        esperar('{');
+        entrarNivel();
+    }
+
+    /**
+     * Avança para o próximo campo do objeto atual.
+     * @return O nome do campo, ou null quando o objeto terminou ('}' é consumido).
+     */
+    public String proximoCampo() {
+        int c = proximoSignificativo();
+        if (c == '}') {
+            entrada.get();
+            profundidade--;
+            return null;
+        }
+        separarMembro(c);
+        String nome = lerString();
+        esperar(':');
+        return nome;
+    }
+
+    public void iniciarArray() {
+        esperar('[');
+        entrarNivel();
+    }
+
+    /**
+     * Verifica se há mais um elemento no array atual.
+     * @return true se há elemento a ler; false quando o array terminou (']' é consumido).
+     */
+    public boolean proximoElemento() {
+        int c = proximoSignificativo();
+        if (c == ']') {
+            entrada.get();
+            profundidade--;
+            return false;
+        }
+        separarMembro(c);
+        return true;
+    }
+
+    /**
+     * Se o próximo valor for null, consome-o e retorna true.
+     */
+    public boolean lerNulo() {
+        if (proximoSignificativo() == 'n') {
+            esperarPalavra("null");
+            return true;
+        }
+        return false;
+    }
+
+    public String lerString() {
+        esperar('"');
+        int tamanho = 0;
+        while (true) {
+            if (!entrada.hasRemaining()) {
+                throw erro("string não terminada");
+            }
+            byte b = entrada.get();
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                tamanho = lerEscape(tamanho);
+                continue;
+            }
+            tamanho = acrescentar(tamanho, b);
+        }
+        return new String(temporario, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    public double lerDouble() {
+        int tamanho = lerTokenNumerico();
+        return Double.parseDouble(new String(temporario, 0, tamanho, StandardCharsets.US_ASCII));
+    }
+
+    public long lerLong() {
+        int c = proximoSignificativo();
+        boolean negativo = false;
+        if (c == '-') {
+            negativo = true;
+            entrada.get();
+        }
+        // Acumula em negativo, como Long.parseLong: cobre também a magnitude de Long.MIN_VALUE
+        long limite = negativo ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long valor = 0;
+        int digitos = 0;
+        while (entrada.hasRemaining()) {
+            byte b = entrada.get(entrada.position());
+            if (b < '0' || b > '9') {
+                break;
+            }
+            entrada.get();
+            int digito = b - '0';
+            if (valor < limite / 10 || valor * 10 < limite + digito) {
+                throw erro("inteiro fora do intervalo");
+            }
+            valor = valor * 10 - digito;
+            digitos++;
+        }
+        if (digitos == 0) {
+            throw erro("número inteiro esperado");
+        }
+        if (entrada.hasRemaining()) {
+            byte b = entrada.get(entrada.position());
+            if (b == '.' || b == 'e' || b == 'E') {
+                throw erro("número inteiro esperado");
+            }
+        }
+        return negativo ? valor : -valor;
+    }
+
+    public int lerInt() {
+        long valor = lerLong();
+        if (valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            throw erro("inteiro fora do intervalo");
+        }
+        return (int) valor;
+    }
+
+    public boolean lerBooleano() {
+        int c = proximoSignificativo();
+        if (c == 't') {
+            esperarPalavra("true");
+            return true;
+        }
+        esperarPalavra("false");
+        return false;
+    }
+
+    /**
+     * Ignora o próximo valor, seja ele simples, objeto ou array.
+     */
+    public void pularValor() {
+        int c = proximoSignificativo();
+        switch (c) {
+            case '{':
+                iniciarObjeto();
+                while (proximoCampo() != null) {
+                    pularValor();
+                }
+                break;
+            case '[':
+                iniciarArray();
+                while (proximoElemento()) {
+                    pularValor();
+                }
+                break;
+            case '"':
+                lerString();
+                break;
+            case 't':
+            case 'f':
+                lerBooleano();
+                break;
+            case 'n':
+                esperarPalavra("null");
+                break;
+            default:
+                lerTokenNumerico();
+        }
+    }
+
+    /**
+     * Indica se ainda há algo além de espaços em branco na entrada.
+     */
+    public boolean temMaisConteudo() {
+        return proximoSignificativo() != -1;
+    }
+
+    // --- Auxiliares ---
+
+    private void entrarNivel() {
+        if (profundidade == PROFUNDIDADE_MAXIMA) {
+            throw erro("mais de " + PROFUNDIDADE_MAXIMA + " níveis de objetos e arrays");
+        }
+        primeiroMembro[profundidade++] = true;
+    }
+
+    /**
+     * Exige ',' antes de todo membro do nível atual, exceto o primeiro.
+     */
+    private void separarMembro(int c) {
+        if (profundidade == 0) {
+            throw new IllegalStateException("Nenhum objeto ou array aberto.");
+        }
+        if (primeiroMembro[profundidade - 1]) {
+            primeiroMembro[profundidade - 1] = false;
+        } else if (c == ',') {
+            entrada.get();
+        } else {
+            throw erro("esperado ','");
+        }
+    }
+
+    private int proximoSignificativo() {
+        while (entrada.hasRemaining()) {
+            byte b = entrada.get(entrada.position());
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                entrada.get();
+            } else {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    private void esperar(char esperado) {
+        int c = proximoSignificativo();
+        if (c != esperado) {
+            throw erro("esperado '" + esperado + "'");
+        }
+        entrada.get();
+    }
+
+    private void esperarPalavra(String palavra) {
+        proximoSignificativo();
+        for (int i = 0; i < palavra.length(); i++) {
+            if (!entrada.hasRemaining() || entrada.get() != palavra.charAt(i)) {
+                throw erro("esperado '" + palavra + "'");
+            }
+        }
+    }
+
+    private int lerTokenNumerico() {
+        proximoSignificativo();
+        int tamanho = 0;
+        while (entrada.hasRemaining()) {
+            byte b = entrada.get(entrada.position());
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                tamanho = acrescentar(tamanho, entrada.get());
+            } else {
+                break;
+            }
+        }
+        if (tamanho == 0) {
+            throw erro("número esperado");
+        }
+        return tamanho;
+    }
+
+    private int lerEscape(int tamanho) {
+        if (!entrada.hasRemaining()) {
+            throw erro("escape incompleto");
+        }
+        byte b = entrada.get();
+        switch (b) {
+            case '"': return acrescentar(tamanho, (byte) '"');
+            case '\\': return acrescentar(tamanho, (byte) '\\');
+            case '/': return acrescentar(tamanho, (byte) '/');
+            case 'n': return acrescentar(tamanho, (byte) '\n');
+            case 'r': return acrescentar(tamanho, (byte) '\r');
+            case 't': return acrescentar(tamanho, (byte) '\t');
+            case 'b': return acrescentar(tamanho, (byte) '\b');
+            case 'f': return acrescentar(tamanho, (byte) '\f');
+            case 'u':
+                int cp = lerHex4();
+                if (Character.isHighSurrogate((char) cp) && entrada.remaining() >= 6
+                        && entrada.get(entrada.position()) == '\\' && entrada.get(entrada.position() + 1) == 'u') {
+                    entrada.position(entrada.position() + 2);
+                    cp = Character.toCodePoint((char) cp, (char) lerHex4());
+                }
+                return acrescentarCodePoint(tamanho, cp);
+            default:
+                throw erro("escape inválido");
+        }
+    }
+
+    private int lerHex4() {
+        if (entrada.remaining() < 4) {
+            throw erro("escape unicode incompleto");
+        }
+        int valor = 0;
+        for (int i = 0; i < 4; i++) {
+            int d = Character.digit(entrada.get(), 16);
+            if (d < 0) {
+                throw erro("escape unicode inválido");
+            }
+            valor = (valor << 4) | d;
+        }
+        return valor;
+    }
+
+    private int acrescentarCodePoint(int tamanho, int cp) {
+        if (cp < 0x80) {
+            return acrescentar(tamanho, (byte) cp);
+        } else if (cp < 0x800) {
+            tamanho = acrescentar(tamanho, (byte) (0xC0 | (cp >> 6)));
+            return acrescentar(tamanho, (byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            tamanho = acrescentar(tamanho, (byte) (0xE0 | (cp >> 12)));
+            tamanho = acrescentar(tamanho, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+            return acrescentar(tamanho, (byte) (0x80 | (cp & 0x3F)));
+        }
+        tamanho = acrescentar(tamanho, (byte) (0xF0 | (cp >> 18)));
+        tamanho = acrescentar(tamanho, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+        tamanho = acrescentar(tamanho, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+        return acrescentar(tamanho, (byte) (0x80 | (cp & 0x3F)));
+    }
+
+    private int acrescentar(int tamanho, byte b) {
+        if (tamanho == temporario.length) {
+            byte[] maior = new byte[temporario.length * 2];
+            System.arraycopy(temporario, 0, maior, 0, tamanho);
+            temporario = maior;
+        }
+        temporario[tamanho] = b;
+        return tamanho + 1;
+    }
+
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException("JSON inválido na posição " + entrada.position() + ": " + mensagem + ".");
+    }
+}
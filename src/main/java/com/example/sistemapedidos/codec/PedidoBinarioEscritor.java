@@ -0,0 +1,127 @@
+package com.example.sistemapedidos.codec;
+
+import com.example.sistemapedidos.factory.CriadorProduto;
+import com.example.sistemapedidos.factory.RegistroTiposProduto;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe PedidoBinarioEscritor.
+ * Codificador binário compacto de pedidos, escrito à mão (sem reflexão) sobre ByteBuffer.
+ * Números usam varints; cada produto é gravado por completo só na primeira vez em que
+ * aparece no fluxo e, depois, apenas como referência ao dicionário de produtos.
+ *
+ * O dicionário faz parte do estado do fluxo: os pedidos devem ser lidos por um único
+ * PedidoBinarioLeitor, na mesma ordem em que foram escritos (ex: uma conexão). Para
+ * recomeçar, chame limparDicionario() nos dois lados no mesmo ponto do fluxo.
+ *
+ * Formato de um pedido:
+ * id | data (segundos UTC, zigzag) | nanos | status | cliente (id, nome, email) | qtd. itens |
+ * por item: ref (0 = produto novo, seguido da definição; n = produto n-1 do dicionário) | quantidade.
+ * Definição de produto: tipo (1 = físico, 2 = digital) | nome | preço (double) | peso ou URL;
+ * tipos registrados no RegistroTiposProduto usam 3 | nome do tipo | nome | preço | argumento
+ * extra do CriadorProduto (double, texto ou nada).
+ * O preço unitário de cada item é o preço do produto, como o PedidoBuilder faz.
+ *
+ * Não é thread-safe: use um escritor por fluxo.
+ */
+public class PedidoBinarioEscritor {
+    static final byte TIPO_FISICO = 1;
+    static final byte TIPO_DIGITAL = 2;
+    static final byte TIPO_REGISTRADO = 3;
+
+    private final Map<Produto, Integer> dicionario = new HashMap<>();
+    private final List<Produto> novosNoPedido = new ArrayList<>(); // Para desfazer se o buffer encher
+
+    /**
+     * Escreve o pedido a partir da posição atual do buffer.
+     * Se faltar espaço, o buffer volta à posição inicial, o dicionário não é alterado
+     * e BufferOverflowException é lançada (quem chama pode esvaziar o buffer e tentar de novo).
+     * Qualquer outra falha (ex: tipo de produto não registrado) desfaz o pedido do mesmo jeito.
+     */
+    public void escrever(Pedido pedido, ByteBuffer destino) {
+        int inicio = destino.position();
+        novosNoPedido.clear();
+        try {
+            Binario.escreverTexto(destino, pedido.getId());
+            LocalDateTime data = pedido.getData();
+            Binario.escreverVarlongComSinal(destino, data.toEpochSecond(ZoneOffset.UTC));
+            Binario.escreverVarint(destino, data.getNano());
+            Binario.escreverTexto(destino, pedido.getStatus());
+            Cliente cliente = pedido.getCliente();
+            Binario.escreverTexto(destino, cliente.getId());
+            Binario.escreverTexto(destino, cliente.getNome());
+            Binario.escreverTexto(destino, cliente.getEmail());
+
+            List<ItemPedido> itens = pedido.getItens();
+            Binario.escreverVarint(destino, itens.size());
+            for (ItemPedido item : itens) {
+                Produto produto = item.getProduto();
+                Integer indice = dicionario.get(produto);
+                if (indice != null) {
+                    Binario.escreverVarint(destino, indice + 1);
+                } else {
+                    Binario.escreverVarint(destino, 0);
+                    escreverProduto(produto, destino);
+                    dicionario.put(produto, dicionario.size());
+                    novosNoPedido.add(produto);
+                }
+                Binario.escreverVarint(destino, item.getQuantidade());
+            }
+        } catch (RuntimeException e) { // BufferOverflowException ou produto que não pôde ser gravado
+            destino.position(inicio);
+            for (Produto produto : novosNoPedido) {
+                dicionario.remove(produto);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Quantidade de produtos distintos já enviados neste fluxo.
+     */
+    public int tamanhoDicionario() {
+        return dicionario.size();
+    }
+
+    public void limparDicionario() {
+        dicionario.clear();
+    }
+
+    private static void escreverProduto(Produto produto, ByteBuffer destino) {
+        if (produto instanceof ProdutoFisico) {
+            destino.put(TIPO_FISICO);
+            Binario.escreverTexto(destino, produto.getNome());
+            destino.putDouble(produto.getPreco());
+            destino.putDouble(((ProdutoFisico) produto).getPesoKg());
+        } else if (produto instanceof ProdutoDigital) {
+            destino.put(TIPO_DIGITAL);
+            Binario.escreverTexto(destino, produto.getNome());
+            destino.putDouble(produto.getPreco());
+            Binario.escreverTexto(destino, ((ProdutoDigital) produto).getUrlDownload());
+        } else {
+            CriadorProduto criador = RegistroTiposProduto.getInstance().criadorPara(produto.getTipo());
+            destino.put(TIPO_REGISTRADO);
+            Binario.escreverTexto(destino, criador.getTipo());
+            Binario.escreverTexto(destino, produto.getNome());
+            destino.putDouble(produto.getPreco());
+            if (criador.getTipoArgumento() == double.class) {
+                destino.putDouble(criador.argumentoNumerico(produto));
+            } else if (criador.getTipoArgumento() == String.class) {
+                Binario.escreverTexto(destino, criador.argumentoTexto(produto));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sistemapedidos.codec;
+
+import com.example.sistemapedidos.factory.CriadorProduto;
+import com.example.sistemapedidos.factory.RegistroTiposProduto;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe PedidoBinarioLeitor.
+ * Decodificador do formato de PedidoBinarioEscritor. Mantém o mesmo dicionário de produtos
+ * do escritor, então deve ler os pedidos do fluxo na ordem em que foram escritos.
+ * Os pedidos são reconstruídos direto em Pedido, sem PedidoBuilder: já foram aceitos por
+ * quem os gravou, e a configuração local (ex: maxItensPorPedido de um nó) não deve recusá-los
+ * nem mudar o status. Os produtos são criados uma vez por produto distinto do fluxo.
+ *
+ * Não é thread-safe: use um leitor por fluxo.
+ */
+public class PedidoBinarioLeitor {
+    private final List<Produto> dicionario = new ArrayList<>();
+
+    /**
+     * Lê o próximo pedido a partir da posição atual do buffer.
+     * Se falhar, o buffer volta à posição inicial e o dicionário não é alterado: com dados
+     * truncados, quem chama pode esperar o resto do pedido e tentar de novo.
+     * @throws IllegalArgumentException se os dados estiverem truncados ou corrompidos.
+     */
+    public Pedido ler(ByteBuffer origem) {
+        int inicio = origem.position();
+        int tamanhoDicionario = dicionario.size();
+        try {
+            String id = Binario.lerTexto(origem);
+            long segundos = Binario.lerVarlongComSinal(origem);
+            int nanos = Binario.lerVarint(origem);
+            LocalDateTime data = LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+            String status = Binario.lerTexto(origem);
+            Cliente cliente = new Cliente(Binario.lerTexto(origem), Binario.lerTexto(origem), Binario.lerTexto(origem));
+
+            int itens = Binario.lerVarint(origem);
+            if (itens < 0 || itens > origem.remaining() / 2) { // Cada item ocupa ao menos 2 bytes
+                throw new IllegalArgumentException("Quantidade de itens inválida nos dados binários: " + itens + ".");
+            }
+            Pedido pedido = new Pedido(id, cliente, data, status, itens);
+            for (int i = 0; i < itens; i++) {
+                int referencia = Binario.lerVarint(origem);
+                Produto produto;
+                if (referencia == 0) {
+                    produto = lerProduto(origem);
+                    dicionario.add(produto);
+                } else if (referencia <= dicionario.size()) {
+                    produto = dicionario.get(referencia - 1);
+                } else {
+                    throw new IllegalArgumentException("Referência de produto inexistente: " + referencia);
+                }
+                pedido.adicionarItem(new ItemPedido(produto, Binario.lerVarint(origem), produto.getPreco()));
+            }
+            return pedido;
+        } catch (RuntimeException e) {
+            origem.position(inicio);
+            dicionario.subList(tamanhoDicionario, dicionario.size()).clear();
+            if (e instanceof BufferUnderflowException) {
+                throw new IllegalArgumentException("Pedido binário truncado.");
+            }
+            throw e;
+        }
+    }
+
+    public int tamanhoDicionario() {
+        return dicionario.size();
+    }
+
+    public void limparDicionario() {
+        dicionario.clear();
+    }
+
+    private static Produto lerProduto(ByteBuffer origem) {
+        byte tipo = origem.get();
+        if (tipo == PedidoBinarioEscritor.TIPO_FISICO) {
+            return new ProdutoFisico(Binario.lerTexto(origem), origem.getDouble(), origem.getDouble());
+        } else if (tipo == PedidoBinarioEscritor.TIPO_DIGITAL) {
+            return new ProdutoDigital(Binario.lerTexto(origem), origem.getDouble(), Binario.lerTexto(origem));
+        } else if (tipo == PedidoBinarioEscritor.TIPO_REGISTRADO) {
+            CriadorProduto criador = RegistroTiposProduto.getInstance().criadorPara(Binario.lerTexto(origem));
+            String nome = Binario.lerTexto(origem);
+            double preco = origem.getDouble();
+            if (criador.getTipoArgumento() == double.class) {
+                return criador.criar(nome, preco, origem.getDouble());
+            } else if (criador.getTipoArgumento() == String.class) {
+                return criador.criar(nome, preco, Binario.lerTexto(origem));
+            }
+            return criador.criar(nome, preco);
+        }
+        throw new IllegalArgumentException("Tipo de produto desconhecido nos dados binários: " + tipo);
+    }
+}
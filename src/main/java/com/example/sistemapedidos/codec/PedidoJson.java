@@ -0,0 +1,191 @@
+package com.example.sistemapedidos.codec;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.factory.ProdutoFactory;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Classe PedidoJson.
+ * Codec JSON escrito à mão para Pedido, ItemPedido, Cliente e os tipos de Produto,
+ * em streaming sobre JsonEscritor/JsonLeitor: sem reflexão e sem árvore intermediária.
+ *
+ * Formato de um pedido:
+ * <pre>
+ * {"id": "1a2b3c4d", "cliente": {"id": "CLI001", "nome": "Ana", "email": "ana@example.com"},
+ *  "data": "2024-03-01T10:15:30", "status": "PAGO", "total": 135.7,
+ *  "itens": [{"tipo": "FISICO", "nome": "Livro", "preco": 75.9, "pesoKg": 1.2, "quantidade": 1,
+ *             "precoUnitario": 75.9, "subtotal": 75.9}, ...]}
+ * </pre>
+ * Na leitura, "total", "precoUnitario" e "subtotal" são ignorados: o pedido é reconstruído
+ * pelo PedidoBuilder, que recalcula os valores a partir dos produtos.
+ */
+public class PedidoJson {
+
+    private PedidoJson() {
+        // Classe utilitária, apenas métodos estáticos
+    }
+
+    public static void escrever(Pedido pedido, JsonEscritor escritor) {
+        escritor.iniciarObjeto()
+                .campo("id", pedido.getId());
+        escritor.campo("cliente");
+        escreverCliente(pedido.getCliente(), escritor);
+        escritor.campo("data", pedido.getData() != null ? pedido.getData().toString() : null)
+                .campo("status", pedido.getStatus())
+                .campo("total", pedido.getTotal());
+        escritor.campo("itens").iniciarArray();
+        for (ItemPedido item : pedido.getItens()) {
+            escreverItem(item, escritor);
+        }
+        escritor.fimArray().fimObjeto();
+    }
+
+    /**
+     * Escreve vários pedidos como um array JSON.
+     */
+    public static void escreverTodos(Collection<Pedido> pedidos, JsonEscritor escritor) {
+        escritor.iniciarArray();
+        for (Pedido pedido : pedidos) {
+            escrever(pedido, escritor);
+        }
+        escritor.fimArray();
+    }
+
+    public static void escreverCliente(Cliente cliente, JsonEscritor escritor) {
+        escritor.iniciarObjeto()
+                .campo("id", cliente.getId())
+                .campo("nome", cliente.getNome())
+                .campo("email", cliente.getEmail())
+                .fimObjeto();
+    }
+
+    public static void escreverItem(ItemPedido item, JsonEscritor escritor) {
+        Produto produto = item.getProduto();
+        escritor.iniciarObjeto()
+                .campo("tipo", produto.getTipo())
+                .campo("nome", produto.getNome())
+                .campo("preco", produto.getPreco());
+        if (produto instanceof ProdutoFisico) {
+            escritor.campo("pesoKg", ((ProdutoFisico) produto).getPesoKg());
+        } else if (produto instanceof ProdutoDigital) {
+            escritor.campo("urlDownload", ((ProdutoDigital) produto).getUrlDownload());
+        }
+        escritor.campo("quantidade", (long) item.getQuantidade())
+                .campo("precoUnitario", item.getPrecoUnitario())
+                .campo("subtotal", item.getSubtotal())
+                .fimObjeto();
+    }
+
+    /**
+     * Lê um pedido completo, preenchendo o builder informado (que deve estar vazio ou resetado).
+     * @return O pedido reconstruído.
+     * @throws IllegalArgumentException se o JSON for inválido ou faltar algum campo obrigatório.
+     */
+    public static Pedido ler(JsonLeitor leitor, PedidoBuilder builder) {
+        leitor.iniciarObjeto();
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            switch (campo) {
+                case "id": builder.comId(leitor.lerString()); break;
+                case "cliente": builder.comCliente(lerCliente(leitor)); break;
+                case "data": builder.comData(lerData(leitor.lerString())); break;
+                case "status": builder.comStatusInicial(leitor.lerString()); break;
+                case "itens":
+                    leitor.iniciarArray();
+                    while (leitor.proximoElemento()) {
+                        lerItem(leitor, builder);
+                    }
+                    break;
+                default: leitor.pularValor(); // "total" e campos desconhecidos
+            }
+        }
+        return builder.construir();
+    }
+
+    public static Pedido ler(JsonLeitor leitor) {
+        return ler(leitor, new PedidoBuilder());
+    }
+
+    /**
+     * Lê um array JSON de pedidos.
+     */
+    public static List<Pedido> lerTodos(JsonLeitor leitor) {
+        List<Pedido> pedidos = new ArrayList<>();
+        PedidoBuilder builder = new PedidoBuilder();
+        leitor.iniciarArray();
+        while (leitor.proximoElemento()) {
+            pedidos.add(ler(leitor, builder.reset()));
+        }
+        return pedidos;
+    }
+
+    public static Cliente lerCliente(JsonLeitor leitor) {
+        String id = null;
+        String nome = null;
+        String email = null;
+        leitor.iniciarObjeto();
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            switch (campo) {
+                case "id": id = leitor.lerString(); break;
+                case "nome": nome = leitor.lerString(); break;
+                case "email": email = leitor.lerString(); break;
+                default: leitor.pularValor();
+            }
+        }
+        return new Cliente(id, nome, email); // O próprio Cliente valida os campos
+    }
+
+    /**
+     * Lê um item (produto + quantidade) e o adiciona ao builder.
+     */
+    public static void lerItem(JsonLeitor leitor, PedidoBuilder builder) {
+        String tipo = null;
+        String nome = null;
+        double preco = 0;
+        Double pesoKg = null;
+        String urlDownload = null;
+        int quantidade = 0;
+        leitor.iniciarObjeto();
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            switch (campo) {
+                case "tipo": tipo = leitor.lerString(); break;
+                case "nome": nome = leitor.lerString(); break;
+                case "preco": preco = leitor.lerDouble(); break;
+                case "pesoKg": pesoKg = leitor.lerDouble(); break;
+                case "urlDownload": urlDownload = leitor.lerString(); break;
+                case "quantidade": quantidade = leitor.lerInt(); break;
+                default: leitor.pularValor();
+            }
+        }
+        Produto produto;
+        if (pesoKg != null) {
+            produto = ProdutoFactory.criar(tipo, nome, preco, pesoKg.doubleValue());
+        } else if (urlDownload != null) {
+            produto = ProdutoFactory.criar(tipo, nome, preco, urlDownload);
+        } else {
+            produto = ProdutoFactory.criar(tipo, nome, preco);
+        }
+        builder.adicionarItem(produto, quantidade);
+    }
+
+    private static LocalDateTime lerData(String texto) {
+        try {
+            return LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida no JSON: " + texto);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.sistemapedidos.evento;
+
+import com.example.sistemapedidos.model.OuvintePedido;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe BarramentoEventosPedido.
+ * Barramento de eventos do ciclo de vida dos pedidos no estilo "Disruptor": um anel (ring buffer)
+ * pré-alocado com um único produtor e vários consumidores.
+ *
+ * - O produtor reserva a próxima sequência, sobrescreve o slot correspondente e publica o cursor.
+ *   Nenhum objeto é alocado por evento.
+ * - Cada consumidor roda em sua thread e mantém sua própria Sequencia (até onde já processou).
+ *   Todos os consumidores recebem todos os eventos, na ordem.
+ * - O produtor nunca sobrescreve um slot que o consumidor mais lento ainda não leu: se o anel
+ *   encher, ele espera (back-pressure).
+ * - Exceções de um consumidor vão para o TratadorErroConsumidor do barramento; o evento é pulado.
+ *
+ * Implementa OuvintePedido, então pode ser registrado direto no PedidoBuilder (comOuvinte).
+ *
+ * IMPORTANTE: é um barramento de produtor único. As publicações devem vir de uma única thread
+ * por vez (ou de threads diferentes com sincronização externa entre elas).
+ */
+public class BarramentoEventosPedido implements OuvintePedido {
+    private final EventoPedido[] anel;
+    private final int mascara;
+    private final EstrategiaEspera estrategiaEspera;
+    private final TratadorErroConsumidor tratadorErros;
+    private final Sequencia cursor = new Sequencia();
+    private final List<Processador> processadores = new ArrayList<>();
+    private final AtomicBoolean ativo = new AtomicBoolean(false);
+
+    // Estado do produtor (acessado só pela thread produtora)
+    private long proximaSequencia = Sequencia.VALOR_INICIAL;
+    private long minimoConsumidoEmCache = Sequencia.VALOR_INICIAL;
+    private volatile Sequencia[] sequenciasConsumidores = new Sequencia[0];
+
+    /**
+     * @param tamanho          Número de slots do anel (deve ser potência de 2).
+     * @param estrategiaEspera Como os consumidores esperam por novos eventos.
+     */
+    public BarramentoEventosPedido(int tamanho, EstrategiaEspera estrategiaEspera) {
+        this(tamanho, estrategiaEspera, TratadorErroConsumidor.IGNORAR);
+    }
+
+    /**
+     * @param tratadorErros Recebe as exceções lançadas pelos consumidores.
+     */
+    public BarramentoEventosPedido(int tamanho, EstrategiaEspera estrategiaEspera, TratadorErroConsumidor tratadorErros) {
+        if (tamanho <= 0 || Integer.bitCount(tamanho) != 1) {
+            throw new IllegalArgumentException("Tamanho do anel deve ser uma potência de 2 positiva.");
+        }
+        if (estrategiaEspera == null) {
+            throw new IllegalArgumentException("Estratégia de espera não pode ser nula.");
+        }
+        if (tratadorErros == null) {
+            throw new IllegalArgumentException("Tratador de erros não pode ser nulo.");
+        }
+        this.anel = new EventoPedido[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            anel[i] = new EventoPedido(); // Pré-alocação: os slots são reaproveitados para sempre
+        }
+        this.mascara = tamanho - 1;
+        this.estrategiaEspera = estrategiaEspera;
+        this.tratadorErros = tratadorErros;
+    }
+
+    /**
+     * Registra um consumidor. Deve ser chamado antes de iniciar().
+     * @param nome       Nome do consumidor (usado no nome da thread e em sequenciaDe()).
+     * @param consumidor O consumidor.
+     */
+    public synchronized void adicionarConsumidor(String nome, ConsumidorEventoPedido consumidor) {
+        if (ativo.get()) {
+            throw new IllegalStateException("Consumidores devem ser adicionados antes de iniciar o barramento.");
+        }
+        if (nome == null || consumidor == null) {
+            throw new IllegalArgumentException("Nome e consumidor não podem ser nulos.");
+        }
+        processadores.add(new Processador(nome, consumidor));
+        Sequencia[] sequencias = new Sequencia[processadores.size()];
+        for (int i = 0; i < sequencias.length; i++) {
+            sequencias[i] = processadores.get(i).sequencia;
+        }
+        this.sequenciasConsumidores = sequencias; // O produtor passa a respeitar este consumidor
+    }
+
+    /**
+     * Inicia uma thread por consumidor.
+     */
+    public synchronized void iniciar() {
+        if (!ativo.compareAndSet(false, true)) {
+            throw new IllegalStateException("Barramento já iniciado.");
+        }
+        for (Processador processador : processadores) {
+            processador.thread.start();
+        }
+    }
+
+    /**
+     * Para o barramento. Os consumidores terminam de processar o que já foi publicado e encerram.
+     */
+    public synchronized void parar() throws InterruptedException {
+        if (!ativo.compareAndSet(true, false)) {
+            return;
+        }
+        estrategiaEspera.sinalizar();
+        for (Processador processador : processadores) {
+            processador.thread.join();
+        }
+    }
+
+    @Override
+    public void pedidoCriado(Pedido pedido) {
+        publicar(TipoEventoPedido.PEDIDO_CRIADO, pedido, null, pedido.getStatus());
+    }
+
+    @Override
+    public void statusAlterado(Pedido pedido, String statusAnterior, String statusNovo) {
+        publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, statusAnterior, statusNovo);
+    }
+
+    /**
+     * Publica um evento. Não aloca memória; bloqueia (girando) apenas se o anel estiver cheio.
+     * @return A sequência atribuída ao evento.
+     */
+    public long publicar(TipoEventoPedido tipo, Pedido pedido, String statusAnterior, String statusNovo) {
+        long sequencia = reservar();
+        anel[(int) (sequencia & mascara)].preencher(tipo, pedido, statusAnterior, statusNovo, System.nanoTime());
+        cursor.set(sequencia); // "release": o slot preenchido fica visível para os consumidores
+        estrategiaEspera.sinalizar();
+        return sequencia;
+    }
+
+    /**
+     * Sequência do último evento publicado (-1 se nenhum).
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Sequência do último evento processado pelo consumidor informado.
+     */
+    public long sequenciaDe(String nomeConsumidor) {
+        for (Processador processador : processadores) {
+            if (processador.nome.equals(nomeConsumidor)) {
+                return processador.sequencia.get();
+            }
+        }
+        throw new IllegalArgumentException("Consumidor não encontrado: " + nomeConsumidor);
+    }
+
+    /**
+     * Quantos eventos o consumidor informado recebeu com erro (exceção lançada).
+     */
+    public long falhasDe(String nomeConsumidor) {
+        for (Processador processador : processadores) {
+            if (processador.nome.equals(nomeConsumidor)) {
+                return processador.falhas.get();
+            }
+        }
+        throw new IllegalArgumentException("Consumidor não encontrado: " + nomeConsumidor);
+    }
+
+    public int getTamanho() {
+        return anel.length;
+    }
+
+    /**
+     * Reserva a próxima sequência. Só avança proximaSequencia depois de garantir o slot: se falhar,
+     * a sequência não fica "furada" (reservada e nunca publicada).
+     */
+    private long reservar() {
+        long sequencia = proximaSequencia + 1;
+        long limite = sequencia - anel.length; // slot que será sobrescrito precisa já ter sido lido
+        if (limite > minimoConsumidoEmCache) {
+            long minimo;
+            while (limite > (minimo = minimoConsumido())) {
+                if (!ativo.get() && sequenciasConsumidores.length > 0) {
+                    throw new IllegalStateException("Anel cheio e barramento parado (ou ainda não iniciado).");
+                }
+                LockSupport.parkNanos(1L);
+            }
+            minimoConsumidoEmCache = minimo;
+        }
+        proximaSequencia = sequencia;
+        return sequencia;
+    }
+
+    private long minimoConsumido() {
+        Sequencia[] sequencias = this.sequenciasConsumidores;
+        if (sequencias.length == 0) {
+            return cursor.get(); // Sem consumidores, nada segura o produtor
+        }
+        long minimo = Long.MAX_VALUE;
+        for (Sequencia s : sequencias) {
+            minimo = Math.min(minimo, s.get());
+        }
+        return minimo;
+    }
+
+    /**
+     * Laço de um consumidor: espera por sequências, entrega os eventos em lote e avança sua Sequencia.
+     */
+    private class Processador implements Runnable {
+        private final String nome;
+        private final ConsumidorEventoPedido consumidor;
+        private final Sequencia sequencia = new Sequencia();
+        private final AtomicLong falhas = new AtomicLong();
+        private final Thread thread;
+
+        Processador(String nome, ConsumidorEventoPedido consumidor) {
+            this.nome = nome;
+            this.consumidor = consumidor;
+            this.thread = new Thread(this, "barramento-" + nome);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long proxima = sequencia.get() + 1;
+            try {
+                while (true) {
+                    long disponivel = estrategiaEspera.aguardar(proxima, cursor, ativo);
+                    if (disponivel < proxima) {
+                        if (!ativo.get() && cursor.get() < proxima) {
+                            return; // Parado e sem nada pendente
+                        }
+                        continue;
+                    }
+                    for (long s = proxima; s <= disponivel; s++) {
+                        EventoPedido evento = anel[(int) (s & mascara)];
+                        try {
+                            consumidor.aoReceber(evento, s, s == disponivel);
+                        } catch (RuntimeException e) {
+                            // Um consumidor com erro não pode travar o barramento nem os demais consumidores
+                            falhas.incrementAndGet();
+                            tratarErro(evento, s, e);
+                        }
+                    }
+                    sequencia.set(disponivel);
+                    proxima = disponivel + 1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void tratarErro(EventoPedido evento, long s, RuntimeException erro) {
+            try {
+                tratadorErros.aoFalhar(nome, evento, s, erro);
+            } catch (RuntimeException e) {
+                // O tratador também falhou: a falha já está contada, segue para o próximo evento
+            }
+        }
+    }
+}
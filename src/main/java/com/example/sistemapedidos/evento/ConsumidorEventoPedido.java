@@ -0,0 +1,18 @@
+package com.example.sistemapedidos.evento;
+
+/**
+ * Interface ConsumidorEventoPedido.
+ * Recebe, em ordem, todos os eventos publicados no barramento.
+ * Cada consumidor roda em sua própria thread e avança no seu próprio ritmo.
+ */
+@FunctionalInterface
+public interface ConsumidorEventoPedido {
+
+    /**
+     * @param evento     O evento (válido apenas durante a chamada).
+     * @param sequencia  Posição do evento na sequência global do barramento.
+     * @param fimDoLote  true se este é o último evento disponível no momento
+     *                   (útil para agrupar escritas, ex: fazer flush em persistência).
+     */
+    void aoReceber(EventoPedido evento, long sequencia, boolean fimDoLote);
+}
@@ -0,0 +1,47 @@
+package com.example.sistemapedidos.evento;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estratégia bloqueante: o consumidor dorme numa Condition até o produtor sinalizar.
+ */
+class EsperaBloqueante implements EstrategiaEspera {
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition publicado = trava.newCondition();
+    private volatile boolean alguemEsperando; // evita travar no produtor quando ninguém dorme
+
+    @Override
+    public long aguardar(long sequencia, Sequencia cursor, AtomicBoolean ativo) throws InterruptedException {
+        long disponivel = cursor.get();
+        if (disponivel >= sequencia) {
+            return disponivel;
+        }
+        trava.lock();
+        try {
+            while ((disponivel = cursor.get()) < sequencia && ativo.get()) {
+                alguemEsperando = true;
+                // Tempo limite curto como proteção contra sinal perdido entre a checagem e o await
+                publicado.await(1, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            trava.unlock();
+        }
+        return disponivel;
+    }
+
+    @Override
+    public void sinalizar() {
+        if (alguemEsperando) {
+            trava.lock();
+            try {
+                alguemEsperando = false;
+                publicado.signalAll();
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.sistemapedidos.evento;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estratégia que gira algumas vezes e depois passa a ceder a CPU com Thread.yield().
+ */
+class EsperaComYield implements EstrategiaEspera {
+    private static final int GIROS = 100;
+
+    @Override
+    public long aguardar(long sequencia, Sequencia cursor, AtomicBoolean ativo) {
+        int giros = GIROS;
+        long disponivel;
+        while ((disponivel = cursor.get()) < sequencia && ativo.get()) {
+            if (giros > 0) {
+                giros--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return disponivel;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistemapedidos.evento;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estratégia de espera ocupada (busy spin).
+ */
+class EsperaOcupada implements EstrategiaEspera {
+
+    @Override
+    public long aguardar(long sequencia, Sequencia cursor, AtomicBoolean ativo) {
+        long disponivel;
+        while ((disponivel = cursor.get()) < sequencia && ativo.get()) {
+            Thread.onSpinWait();
+        }
+        return disponivel;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sistemapedidos.evento;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Interface EstrategiaEspera - Padrão Strategy.
+ * Define como um consumidor espera até que o produtor publique a sequência desejada.
+ * Troca-se latência por uso de CPU: espera ocupada reage mais rápido, mas mantém um núcleo
+ * ocupado; a bloqueante economiza CPU, mas acorda mais devagar.
+ */
+public interface EstrategiaEspera {
+
+    /**
+     * Espera até que o cursor alcance a sequência informada ou até o barramento ser parado.
+     * @param sequencia Sequência desejada.
+     * @param cursor    Cursor do produtor.
+     * @param ativo     Fica false quando o barramento é parado.
+     * @return A maior sequência disponível (pode ser menor que a desejada se o barramento parou).
+     */
+    long aguardar(long sequencia, Sequencia cursor, AtomicBoolean ativo) throws InterruptedException;
+
+    /**
+     * Chamado pelo produtor após cada publicação (e na parada), para acordar quem estiver bloqueado.
+     */
+    default void sinalizar() {
+    }
+
+    /**
+     * Espera ocupada: menor latência, consome um núcleo inteiro por consumidor.
+     */
+    static EstrategiaEspera ocupada() {
+        return new EsperaOcupada();
+    }
+
+    /**
+     * Gira um pouco e depois cede a CPU com Thread.yield(): bom meio-termo.
+     */
+    static EstrategiaEspera comYield() {
+        return new EsperaComYield();
+    }
+
+    /**
+     * Bloqueia em uma Condition até ser sinalizado: menor uso de CPU, maior latência.
+     */
+    static EstrategiaEspera bloqueante() {
+        return new EsperaBloqueante();
+    }
+}
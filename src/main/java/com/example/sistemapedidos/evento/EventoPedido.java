@@ -0,0 +1,68 @@
+package com.example.sistemapedidos.evento;
+
+import com.example.sistemapedidos.model.Pedido;
+
+/**
+ * Classe EventoPedido.
+ * Uma posição (slot) do anel do BarramentoEventosPedido. Os slots são pré-alocados
+ * e reaproveitados a cada volta do anel: o produtor apenas sobrescreve os campos,
+ * por isso publicar não aloca memória.
+ *
+ * Consumidores só devem ler o evento durante o callback; depois disso o slot
+ * pode ser reescrito pelo produtor. Para guardar dados, copie os campos.
+ */
+public class EventoPedido {
+    private TipoEventoPedido tipo;
+    private Pedido pedido;
+    private String statusAnterior;
+    private String statusNovo;
+    private long instanteNanos; // System.nanoTime() no momento da publicação
+
+    EventoPedido() {
+        // Criado apenas pelo barramento, na pré-alocação do anel
+    }
+
+    void preencher(TipoEventoPedido tipo, Pedido pedido, String statusAnterior, String statusNovo, long instanteNanos) {
+        this.tipo = tipo;
+        this.pedido = pedido;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+        this.instanteNanos = instanteNanos;
+    }
+
+    public TipoEventoPedido getTipo() {
+        return tipo;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    /**
+     * Status antes da mudança (null para PEDIDO_CRIADO).
+     */
+    public String getStatusAnterior() {
+        return statusAnterior;
+    }
+
+    /**
+     * Status após a mudança (para PEDIDO_CRIADO, o status com que o pedido foi construído).
+     */
+    public String getStatusNovo() {
+        return statusNovo;
+    }
+
+    public long getInstanteNanos() {
+        return instanteNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoPedido{" +
+               "tipo=" + tipo +
+               ", pedido=" + (pedido != null ? pedido.getId() : "null") +
+               ", statusAnterior='" + statusAnterior + '\'' +
+               ", statusNovo='" + statusNovo + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sistemapedidos.evento;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Classe Sequencia.
+ * Contador de sequência usado pelo barramento (cursor do produtor e progresso de cada consumidor).
+ * O valor fica cercado por campos de preenchimento para ocupar sua própria linha de cache
+ * e evitar "false sharing" entre threads que atualizam sequências vizinhas.
+ */
+public class Sequencia {
+    public static final long VALOR_INICIAL = -1L;
+
+    private static final VarHandle VALOR;
+
+    static {
+        try {
+            VALOR = MethodHandles.lookup().findVarHandle(Sequencia.class, "valor", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7; // preenchimento antes
+    private volatile long valor = VALOR_INICIAL;
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15; // preenchimento depois
+
+    public long get() {
+        return (long) VALOR.getAcquire(this);
+    }
+
+    /**
+     * Publica um novo valor com semântica "release": tudo que foi escrito antes
+     * (ex: os campos do slot) fica visível para quem ler este valor com get().
+     */
+    public void set(long novoValor) {
+        VALOR.setRelease(this, novoValor);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
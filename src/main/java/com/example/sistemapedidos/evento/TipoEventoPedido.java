@@ -0,0 +1,9 @@
+package com.example.sistemapedidos.evento;
+
+/**
+ * Tipos de evento do ciclo de vida de um pedido transportados pelo barramento.
+ */
+public enum TipoEventoPedido {
+    PEDIDO_CRIADO,
+    STATUS_ALTERADO
+}
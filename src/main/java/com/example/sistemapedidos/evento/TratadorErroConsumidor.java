@@ -0,0 +1,23 @@
+package com.example.sistemapedidos.evento;
+
+/**
+ * Interface TratadorErroConsumidor.
+ * Recebe as exceções lançadas pelos consumidores do barramento. O evento com erro é pulado
+ * (o consumidor segue para o próximo), para que um consumidor com problema não trave o
+ * barramento nem os demais consumidores.
+ */
+@FunctionalInterface
+public interface TratadorErroConsumidor {
+
+    /** Não faz nada: as falhas ficam só na contagem de BarramentoEventosPedido.falhasDe(). */
+    TratadorErroConsumidor IGNORAR = (consumidor, evento, sequencia, erro) -> { };
+
+    /**
+     * Chamado na thread do consumidor que falhou.
+     * @param consumidor Nome do consumidor.
+     * @param evento     O evento (válido apenas durante a chamada).
+     * @param sequencia  Posição do evento na sequência global do barramento.
+     * @param erro       A exceção lançada pelo consumidor.
+     */
+    void aoFalhar(String consumidor, EventoPedido evento, long sequencia, RuntimeException erro);
+}
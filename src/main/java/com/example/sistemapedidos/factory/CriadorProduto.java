@@ -0,0 +1,56 @@
+package com.example.sistemapedidos.factory;
+
+import com.example.sistemapedidos.model.produto.Produto;
+
+/**
+ * Interface CriadorProduto.
+ * Cria os produtos de um tipo registrado no RegistroTiposProduto. Cada tipo aceita no máximo
+ * um argumento extra, numérico (ex: peso) ou de texto (ex: URL), recebido já tipado, sem
+ * Object... e sem boxing. Os métodos do argumento que o tipo não aceita lançam
+ * IllegalArgumentException por padrão.
+ *
+ * Quem grava produtos (codec binário, arquivo colunar) lê o argumento de volta com
+ * argumentoNumerico/argumentoTexto, então o tipo que aceita um argumento deve implementar
+ * o método correspondente; o RegistroTiposProduto recusa o registro caso contrário.
+ */
+public interface CriadorProduto {
+
+    /**
+     * Tipo criado, igual ao getTipo() dos produtos retornados (ex: "FISICO").
+     */
+    String getTipo();
+
+    /**
+     * Tipo Java do argumento extra aceito: double.class, String.class ou null (nenhum).
+     */
+    default Class<?> getTipoArgumento() {
+        return null;
+    }
+
+    /**
+     * Cria o produto com o argumento extra no valor padrão do tipo.
+     */
+    Produto criar(String nome, double preco);
+
+    default Produto criar(String nome, double preco, double valor) {
+        throw new IllegalArgumentException("Tipo de produto " + getTipo() + " não aceita argumento numérico.");
+    }
+
+    default Produto criar(String nome, double preco, String texto) {
+        throw new IllegalArgumentException("Tipo de produto " + getTipo() + " não aceita argumento de texto.");
+    }
+
+    /**
+     * Argumento numérico do produto, o inverso de criar(nome, preco, valor).
+     */
+    default double argumentoNumerico(Produto produto) {
+        throw new IllegalArgumentException("Tipo de produto " + getTipo() + " não aceita argumento numérico.");
+    }
+
+    /**
+     * Argumento de texto do produto, o inverso de criar(nome, preco, texto).
+     */
+    default String argumentoTexto(Produto produto) {
+        throw new IllegalArgumentException("Tipo de produto " + getTipo() + " não aceita argumento de texto.");
+    }
+}
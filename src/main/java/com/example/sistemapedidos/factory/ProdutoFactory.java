@@ -12,45 +12,73 @@ import com.example.sistemapedidos.model.produto.ProdutoDigital;
  * Esta é uma forma simplificada, muitas vezes chamada de "Simple Factory".
  * Um Factory Method mais canônico envolveria uma interface de fábrica e classes
  * de fábrica concretas, ou um método abstrato na superclasse que as subclasses implementam.
+ *
+ * Os tipos não são mais fixos aqui: cada tipo tem um CriadorProduto no RegistroTiposProduto
+ * global, e novos tipos são registrados lá. Os métodos criar(...) recebem o argumento extra
+ * já tipado (sem Object...) e recusam argumento que o tipo não aceita; criarFisico e
+ * criarDigital nem consultam o registro.
  */
 public class ProdutoFactory {
 
     /**
      * Cria um objeto Produto com base no tipo especificado e argumentos.
      *
-     * @param tipo        String indicando o tipo de produto ("FISICO" ou "DIGITAL"). Case-insensitive.
+     * @param tipo        String indicando o tipo de produto ("FISICO", "DIGITAL" ou outro registrado). Case-insensitive.
      * @param nome        Nome do produto.
      * @param preco       Preço do produto.
      * @param args        Argumentos adicionais específicos do tipo de produto.
      * Para "FISICO": args[0] deve ser o peso (Double).
      * Para "DIGITAL": args[0] deve ser a URL de download (String).
-     * @return Uma instância de Produto (ProdutoFisico ou ProdutoDigital).
+     * Se args[0] não for do tipo esperado, imprime um aviso e usa o valor padrão do tipo.
+     * @return Uma instância de Produto (ProdutoFisico, ProdutoDigital ou do tipo registrado).
      * @throws IllegalArgumentException se o tipo for desconhecido ou os argumentos forem inválidos.
      */
     public static Produto criarProduto(String tipo, String nome, double preco, Object... args) {
-        if (tipo == null) {
-            throw new IllegalArgumentException("Tipo de produto não pode ser nulo.");
+        CriadorProduto criador = RegistroTiposProduto.getInstance().criadorPara(tipo);
+        if (args.length == 0) {
+            return criador.criar(nome, preco);
         }
-
-        if ("FISICO".equalsIgnoreCase(tipo)) {
-            double peso = 0.0; // Valor padrão
-            if (args.length > 0 && args[0] instanceof Double) {
-                peso = (Double) args[0];
-            } else if (args.length > 0) {
-                // Se um argumento foi passado mas não é Double, pode ser um erro de uso
-                System.err.println("Aviso: Argumento para peso de ProdutoFisico não é Double. Usando peso padrão 0.0.");
-            }
-            return new ProdutoFisico(nome, preco, peso);
-        } else if ("DIGITAL".equalsIgnoreCase(tipo)) {
-            String urlDownload = ""; // Valor padrão
-            if (args.length > 0 && args[0] instanceof String) {
-                urlDownload = (String) args[0];
-            } else if (args.length > 0) {
-                System.err.println("Aviso: Argumento para URL de ProdutoDigital não é String. Usando URL padrão vazia.");
-            }
-            return new ProdutoDigital(nome, preco, urlDownload);
-        } else {
-            throw new IllegalArgumentException("Tipo de produto desconhecido: " + tipo);
+        Class<?> tipoArgumento = criador.getTipoArgumento();
+        if (tipoArgumento == double.class && args[0] instanceof Double) {
+            return criador.criar(nome, preco, (Double) args[0]);
+        } else if (tipoArgumento == String.class && args[0] instanceof String) {
+            return criador.criar(nome, preco, (String) args[0]);
         }
+        // Se um argumento foi passado mas não é do tipo esperado, pode ser um erro de uso
+        System.err.println("Aviso: Argumento inválido para produto " + criador.getTipo() + ": " + args[0]
+                + ". Usando valor padrão.");
+        return criador.criar(nome, preco);
+    }
+
+    /**
+     * Cria um produto do tipo registrado com o argumento extra no valor padrão.
+     * @throws IllegalArgumentException se o tipo for nulo ou desconhecido.
+     */
+    public static Produto criar(String tipo, String nome, double preco) {
+        return RegistroTiposProduto.getInstance().criadorPara(tipo).criar(nome, preco);
+    }
+
+    /**
+     * Cria um produto do tipo registrado com argumento numérico (ex: peso de FISICO).
+     * @throws IllegalArgumentException se o tipo for desconhecido ou não aceitar argumento numérico.
+     */
+    public static Produto criar(String tipo, String nome, double preco, double valor) {
+        return RegistroTiposProduto.getInstance().criadorPara(tipo).criar(nome, preco, valor);
+    }
+
+    /**
+     * Cria um produto do tipo registrado com argumento de texto (ex: URL de DIGITAL).
+     * @throws IllegalArgumentException se o tipo for desconhecido ou não aceitar argumento de texto.
+     */
+    public static Produto criar(String tipo, String nome, double preco, String texto) {
+        return RegistroTiposProduto.getInstance().criadorPara(tipo).criar(nome, preco, texto);
+    }
+
+    public static ProdutoFisico criarFisico(String nome, double preco, double pesoKg) {
+        return new ProdutoFisico(nome, preco, pesoKg);
+    }
+
+    public static ProdutoDigital criarDigital(String nome, double preco, String urlDownload) {
+        return new ProdutoDigital(nome, preco, urlDownload);
     }
 }
@@ -0,0 +1,260 @@
+package com.example.sistemapedidos.factory;
+
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe RegistroTiposProduto.
+ * Associa cada tipo de produto ("FISICO", "DIGITAL", ...) ao seu CriadorProduto. Novos tipos
+ * são registrados na inicialização da aplicação, sem alterar a ProdutoFactory:
+ * <pre>
+ * RegistroTiposProduto.getInstance().registrar(new CriadorAssinatura());
+ * </pre>
+ *
+ * A busca ignora maiúsculas/minúsculas como equalsIgnoreCase, sem criar Strings: a tabela
+ * é pré-calculada a cada registro (endereçamento aberto, hash sobre os caracteres já
+ * normalizados). Caracteres ASCII são comparados com aritmética de bits; só os demais passam
+ * pelas regras Unicode de regionMatches. A tabela é imutável e trocada inteira a cada
+ * registro (copy-on-write): leituras não travam e registros, que são raros, são sincronizados.
+ */
+public final class RegistroTiposProduto {
+
+    private static final RegistroTiposProduto INSTANCIA = new RegistroTiposProduto();
+
+    private volatile Tabela tabela = new Tabela(new ArrayList<>());
+    private final List<CriadorProduto> registrados = new ArrayList<>();
+
+    /**
+     * Cria um registro com os tipos nativos FISICO e DIGITAL.
+     */
+    public RegistroTiposProduto() {
+        registrar(new CriadorFisico());
+        registrar(new CriadorDigital());
+    }
+
+    /**
+     * Registro global, usado pela ProdutoFactory.
+     */
+    public static RegistroTiposProduto getInstance() {
+        return INSTANCIA;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o tipo for vazio, se o argumento extra não for double,
+     *                                  String ou nenhum, ou se o criador não souber ler o argumento
+     *                                  de volta do produto (argumentoNumerico/argumentoTexto).
+     * @throws IllegalStateException se o tipo (ignorando maiúsculas/minúsculas) já estiver registrado.
+     */
+    public synchronized void registrar(CriadorProduto criador) {
+        String tipo = criador.getTipo();
+        if (tipo == null || tipo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tipo de produto não pode ser vazio.");
+        }
+        Class<?> argumento = criador.getTipoArgumento();
+        if (argumento == double.class) {
+            exigirImplementado(criador, "argumentoNumerico");
+        } else if (argumento == String.class) {
+            exigirImplementado(criador, "argumentoTexto");
+        } else if (argumento != null) {
+            throw new IllegalArgumentException("Argumento extra do tipo " + tipo + " deve ser double, String ou nenhum.");
+        }
+        if (tabela.buscar(tipo) != null) {
+            throw new IllegalStateException("Tipo de produto já registrado: " + tipo);
+        }
+        registrados.add(criador);
+        publicar();
+    }
+
+    /**
+     * @throws IllegalStateException se o tipo não estiver registrado.
+     */
+    public synchronized void remover(String tipo) {
+        CriadorProduto criador = buscar(tipo);
+        if (criador == null) {
+            throw new IllegalStateException("Tipo de produto não registrado: " + tipo);
+        }
+        registrados.remove(criador);
+        publicar();
+    }
+
+    /**
+     * @return O criador do tipo (ignorando maiúsculas/minúsculas), ou null se não houver.
+     */
+    public CriadorProduto buscar(String tipo) {
+        return tipo != null ? tabela.buscar(tipo) : null;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o tipo for nulo ou não estiver registrado.
+     */
+    public CriadorProduto criadorPara(String tipo) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de produto não pode ser nulo.");
+        }
+        CriadorProduto criador = buscar(tipo);
+        if (criador == null) {
+            throw new IllegalArgumentException("Tipo de produto desconhecido: " + tipo);
+        }
+        return criador;
+    }
+
+    /**
+     * Tipos registrados, na ordem de registro.
+     */
+    public synchronized List<String> tipos() {
+        List<String> tipos = new ArrayList<>(registrados.size());
+        for (CriadorProduto criador : registrados) {
+            tipos.add(criador.getTipo());
+        }
+        return tipos;
+    }
+
+    private void publicar() {
+        tabela = new Tabela(registrados);
+    }
+
+    /** Sem o método, produtos do tipo seriam gravados sem o argumento e voltariam diferentes. */
+    private static void exigirImplementado(CriadorProduto criador, String metodo) {
+        try {
+            if (criador.getClass().getMethod(metodo, Produto.class).getDeclaringClass() == CriadorProduto.class) {
+                throw new IllegalArgumentException("Criador do tipo " + criador.getTipo() + " deve implementar " + metodo + "(Produto).");
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e); // O método é declarado em CriadorProduto
+        }
+    }
+
+    /**
+     * Tabela de endereçamento aberto (sondagem linear) com no máximo 50% de ocupação.
+     */
+    private static class Tabela {
+        private final String[] chaves;
+        private final CriadorProduto[] valores;
+
+        Tabela(List<CriadorProduto> criadores) {
+            int capacidade = Integer.highestOneBit(Math.max(2, criadores.size()) * 2) * 2;
+            chaves = new String[capacidade];
+            valores = new CriadorProduto[capacidade];
+            for (CriadorProduto criador : criadores) {
+                int posicao = hash(criador.getTipo()) & (capacidade - 1);
+                while (chaves[posicao] != null) {
+                    posicao = (posicao + 1) & (capacidade - 1);
+                }
+                chaves[posicao] = criador.getTipo();
+                valores[posicao] = criador;
+            }
+        }
+
+        CriadorProduto buscar(String tipo) {
+            int mascara = chaves.length - 1;
+            int posicao = hash(tipo) & mascara;
+            String chave;
+            while ((chave = chaves[posicao]) != null) {
+                if (iguaisIgnorandoCaixa(chave, tipo)) {
+                    return valores[posicao];
+                }
+                posicao = (posicao + 1) & mascara;
+            }
+            return null;
+        }
+
+        /** Mesmo resultado de equalsIgnoreCase; regionMatches só a partir do primeiro caractere não ASCII diferente. */
+        private static boolean iguaisIgnorandoCaixa(String chave, String tipo) {
+            int tamanho = tipo.length();
+            if (chave.length() != tamanho) {
+                return false;
+            }
+            for (int i = 0; i < tamanho; i++) {
+                char a = chave.charAt(i);
+                char b = tipo.charAt(i);
+                if (a == b) {
+                    continue;
+                }
+                if ((a | b) >= 0x80) {
+                    return chave.regionMatches(true, i, tipo, i, tamanho - i);
+                }
+                int letra = (a | 0x20) - 'a'; // Minúscula de a, se for letra
+                if ((a ^ b) != 0x20 || letra < 0 || letra > 'z' - 'a') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Hash que ignora maiúsculas/minúsculas, com a mesma normalização de equalsIgnoreCase. */
+        private static int hash(String tipo) {
+            int tamanho = tipo.length();
+            if (tamanho == 0) {
+                return 0;
+            }
+            // Tamanho, primeiro e último caracteres bastam para separar poucos tipos, sem percorrer a String
+            int h = 31 * (31 * tamanho + normalizar(tipo.charAt(0))) + normalizar(tipo.charAt(tamanho - 1));
+            return h ^ (h >>> 16);
+        }
+
+        private static int normalizar(char c) {
+            if (c >= 0x80) {
+                c = Character.toLowerCase(Character.toUpperCase(c)); // Pode virar ASCII (ex: sinal Kelvin -> 'k')
+            }
+            return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+        }
+    }
+
+    private static class CriadorFisico implements CriadorProduto {
+        @Override
+        public String getTipo() {
+            return "FISICO";
+        }
+
+        @Override
+        public Class<?> getTipoArgumento() {
+            return double.class;
+        }
+
+        @Override
+        public Produto criar(String nome, double preco) {
+            return new ProdutoFisico(nome, preco, 0.0);
+        }
+
+        @Override
+        public Produto criar(String nome, double preco, double pesoKg) {
+            return new ProdutoFisico(nome, preco, pesoKg);
+        }
+
+        @Override
+        public double argumentoNumerico(Produto produto) {
+            return ((ProdutoFisico) produto).getPesoKg();
+        }
+    }
+
+    private static class CriadorDigital implements CriadorProduto {
+        @Override
+        public String getTipo() {
+            return "DIGITAL";
+        }
+
+        @Override
+        public Class<?> getTipoArgumento() {
+            return String.class;
+        }
+
+        @Override
+        public Produto criar(String nome, double preco) {
+            return new ProdutoDigital(nome, preco, "");
+        }
+
+        @Override
+        public Produto criar(String nome, double preco, String urlDownload) {
+            return new ProdutoDigital(nome, preco, urlDownload);
+        }
+
+        @Override
+        public String argumentoTexto(Produto produto) {
+            return ((ProdutoDigital) produto).getUrlDownload();
+        }
+    }
+}
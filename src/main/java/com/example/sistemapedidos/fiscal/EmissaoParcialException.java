@@ -0,0 +1,40 @@
+package com.example.sistemapedidos.fiscal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe EmissaoParcialException.
+ * Lançada por PipelineNotasFiscais.emitir quando algum lote falha depois de outros já terem
+ * sido gravados. Os lotes gravados valem (as notas existem), então a nova tentativa deve
+ * enviar só os pedidos fora de getResumo().getPedidosFaturados(); os números reservados
+ * para os lotes que falharam ficam sem nota e devem ser inutilizados.
+ */
+public class EmissaoParcialException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResumoEmissao resumo;
+    private final transient List<Long> numerosNaoUsados;
+
+    EmissaoParcialException(ResumoEmissao resumo, List<Long> numerosNaoUsados, Throwable causa) {
+        super("Falha ao emitir lote de notas fiscais (" + resumo.getNotas() + " notas emitidas, "
+                + numerosNaoUsados.size() + " números sem nota): " + causa.getMessage(), causa);
+        this.resumo = resumo;
+        this.numerosNaoUsados = Collections.unmodifiableList(numerosNaoUsados);
+    }
+
+    /**
+     * O que foi emitido pelos lotes que deram certo.
+     */
+    public ResumoEmissao getResumo() {
+        return resumo;
+    }
+
+    /**
+     * Números de nota reservados para os lotes que falharam, em ordem.
+     */
+    public List<Long> getNumerosNaoUsados() {
+        return numerosNaoUsados;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.sistemapedidos.fiscal;
+
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Classe EscritorNotaFiscal.
+ * Escreve um lote de notas fiscais em XML no estilo da NF-e (enviNFe com vários NFe),
+ * em streaming com XMLStreamWriter: cada elemento vai direto para o fluxo de saída,
+ * sem montar árvore DOM. Valores monetários são calculados em centavos (long) e
+ * formatados em um buffer de char reaproveitado, sem String.format.
+ *
+ * Formato de cada nota:
+ * <pre>
+ * &lt;NFe&gt;&lt;infNFe Id="NFe000000123" versao="4.00"&gt;
+ *   &lt;ide&gt;&lt;nNF&gt;123&lt;/nNF&gt;&lt;dhEmi&gt;...&lt;/dhEmi&gt;&lt;xPed&gt;id do pedido&lt;/xPed&gt;&lt;/ide&gt;
+ *   &lt;dest&gt;&lt;idCliente/&gt;&lt;xNome/&gt;&lt;email/&gt;&lt;/dest&gt;
+ *   &lt;det nItem="1"&gt;&lt;prod&gt;...&lt;/prod&gt;&lt;imposto&gt;ICMS ou ISSQN, PIS, COFINS&lt;/imposto&gt;&lt;/det&gt;...
+ *   &lt;total&gt;&lt;vProd/&gt;&lt;vICMS/&gt;&lt;vISS/&gt;&lt;vPIS/&gt;&lt;vCOFINS/&gt;&lt;vNF/&gt;&lt;/total&gt;
+ * &lt;/infNFe&gt;&lt;/NFe&gt;
+ * </pre>
+ *
+ * Não é thread-safe: o pipeline usa um escritor por lote.
+ */
+public class EscritorNotaFiscal implements AutoCloseable {
+    public static final String STATUS_FATURAVEL = "PAGO";
+
+    private static final XMLOutputFactory FABRICA = XMLOutputFactory.newFactory();
+
+    private final TabelaTributaria tabela;
+    private final XMLStreamWriter xml;
+    private final char[] numero = new char[24];
+    private String dataEmissao;
+    private int notas;
+
+    public EscritorNotaFiscal(TabelaTributaria tabela, OutputStream saida) throws XMLStreamException {
+        this.tabela = tabela;
+        this.xml = FABRICA.createXMLStreamWriter(saida, "UTF-8");
+    }
+
+    public EscritorNotaFiscal iniciarLote(long idLote, LocalDateTime emissao) throws XMLStreamException {
+        this.dataEmissao = emissao.withNano(0).toString(); // Igual para todas as notas do lote
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("enviNFe");
+        xml.writeAttribute("versao", "4.00");
+        elemento("idLote", idLote);
+        return this;
+    }
+
+    /**
+     * Escreve a nota de um pedido pago.
+     * @throws IllegalArgumentException se o pedido não estiver PAGO ou não tiver itens.
+     */
+    public void escrever(Pedido pedido, long numeroNota) throws XMLStreamException {
+        if (!STATUS_FATURAVEL.equals(pedido.getStatus())) {
+            throw new IllegalArgumentException("Só pedidos " + STATUS_FATURAVEL + " geram nota fiscal: " + pedido.getId());
+        }
+        List<ItemPedido> itens = pedido.getItens();
+        if (itens.isEmpty()) {
+            throw new IllegalArgumentException("Pedido sem itens não gera nota fiscal: " + pedido.getId());
+        }
+
+        xml.writeStartElement("NFe");
+        xml.writeStartElement("infNFe");
+        xml.writeAttribute("Id", "NFe" + preencher(numeroNota, 9));
+        xml.writeAttribute("versao", "4.00");
+
+        xml.writeStartElement("ide");
+        elemento("nNF", numeroNota);
+        elemento("dhEmi", dataEmissao);
+        elemento("xPed", pedido.getId());
+        xml.writeEndElement();
+
+        Cliente cliente = pedido.getCliente();
+        xml.writeStartElement("dest");
+        elemento("idCliente", cliente.getId());
+        elemento("xNome", cliente.getNome());
+        elemento("email", cliente.getEmail());
+        xml.writeEndElement();
+
+        long totalProdutos = 0;
+        long totalIcms = 0;
+        long totalIss = 0;
+        long totalPis = 0;
+        long totalCofins = 0;
+        int nItem = 0;
+        for (ItemPedido item : itens) {
+            Produto produto = item.getProduto();
+            RegraTributaria regra = tabela.regraPara(produto);
+            long valorProduto = Math.round(item.getSubtotal() * 100);
+            long icmsOuIss = Math.round(valorProduto * regra.getAliquotaIcmsOuIss());
+            long pis = Math.round(valorProduto * regra.getAliquotaPis());
+            long cofins = Math.round(valorProduto * regra.getAliquotaCofins());
+
+            xml.writeStartElement("det");
+            xml.writeAttribute("nItem", Integer.toString(++nItem));
+            xml.writeStartElement("prod");
+            elemento("xProd", produto.getNome());
+            elemento("tipo", regra.getTipo());
+            elemento("NCM", regra.getNcm());
+            elemento("CFOP", regra.getCfop());
+            elemento("qCom", item.getQuantidade());
+            valor("vUnCom", Math.round(item.getPrecoUnitario() * 100));
+            valor("vProd", valorProduto);
+            xml.writeEndElement();
+
+            xml.writeStartElement("imposto");
+            if (regra.isServico()) {
+                imposto("ISSQN", "vAliq", regra.getAliquotaIcmsOuIss(), "vISSQN", icmsOuIss);
+                totalIss += icmsOuIss;
+            } else {
+                imposto("ICMS", "pICMS", regra.getAliquotaIcmsOuIss(), "vICMS", icmsOuIss);
+                totalIcms += icmsOuIss;
+            }
+            imposto("PIS", "pPIS", regra.getAliquotaPis(), "vPIS", pis);
+            imposto("COFINS", "pCOFINS", regra.getAliquotaCofins(), "vCOFINS", cofins);
+            xml.writeEndElement();
+            xml.writeEndElement();
+
+            totalProdutos += valorProduto;
+            totalPis += pis;
+            totalCofins += cofins;
+        }
+
+        xml.writeStartElement("total");
+        valor("vProd", totalProdutos);
+        valor("vICMS", totalIcms);
+        valor("vISS", totalIss);
+        valor("vPIS", totalPis);
+        valor("vCOFINS", totalCofins);
+        valor("vNF", totalProdutos); // Tributos já inclusos no preço
+        xml.writeEndElement();
+
+        xml.writeEndElement(); // infNFe
+        xml.writeEndElement(); // NFe
+        notas++;
+    }
+
+    public void finalizarLote() throws XMLStreamException {
+        xml.writeEndElement(); // enviNFe
+        xml.writeEndDocument();
+        xml.flush();
+    }
+
+    public int getNotas() {
+        return notas;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        xml.close(); // Não fecha o OutputStream, que é de quem o abriu
+    }
+
+    private void elemento(String nome, String texto) throws XMLStreamException {
+        xml.writeStartElement(nome);
+        xml.writeCharacters(texto != null ? texto : "");
+        xml.writeEndElement();
+    }
+
+    private void elemento(String nome, long inteiro) throws XMLStreamException {
+        xml.writeStartElement(nome);
+        int inicio = formatar(inteiro, -1);
+        xml.writeCharacters(numero, inicio, numero.length - inicio);
+        xml.writeEndElement();
+    }
+
+    private void valor(String nome, long centavos) throws XMLStreamException {
+        xml.writeStartElement(nome);
+        int inicio = formatar(centavos, 2);
+        xml.writeCharacters(numero, inicio, numero.length - inicio);
+        xml.writeEndElement();
+    }
+
+    private void imposto(String grupo, String campoAliquota, double aliquota, String campoValor, long centavos)
+            throws XMLStreamException {
+        xml.writeStartElement(grupo);
+        valor(campoAliquota, Math.round(aliquota * 10_000)); // Percentual com 2 casas: 0.1865 -> 18.65
+        valor(campoValor, centavos);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Formata o valor no fim do buffer "numero", da direita para a esquerda.
+     * @param casas Casas decimais implícitas no valor (ex: 2 para centavos), ou -1 para inteiro.
+     * @return A posição onde o texto começa.
+     */
+    private int formatar(long valor, int casas) {
+        boolean negativo = valor < 0;
+        long resto = Math.abs(valor);
+        int posicao = numero.length;
+        int digitos = 0;
+        do {
+            if (digitos == casas) {
+                numero[--posicao] = '.';
+            }
+            numero[--posicao] = (char) ('0' + resto % 10);
+            resto /= 10;
+            digitos++;
+        } while (resto > 0 || digitos <= casas);
+        if (negativo) {
+            numero[--posicao] = '-';
+        }
+        return posicao;
+    }
+
+    private static String preencher(long valor, int largura) {
+        String texto = Long.toString(valor);
+        return texto.length() >= largura ? texto : "0".repeat(largura - texto.length()) + texto;
+    }
+}
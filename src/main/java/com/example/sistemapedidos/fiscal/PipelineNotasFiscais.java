@@ -0,0 +1,192 @@
+package com.example.sistemapedidos.fiscal;
+
+import com.example.sistemapedidos.factory.RegistroTiposProduto;
+import com.example.sistemapedidos.model.Pedido;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe PipelineNotasFiscais.
+ * Emite notas fiscais para os pedidos PAGO em lotes paralelos: os pedidos são divididos
+ * em lotes de tamanho fixo (no máximo 50 notas, como no envio em lote da NF-e) e cada lote
+ * é escrito por uma thread do pool em seu próprio arquivo "lote-NNNNNNNNN.xml".
+ *
+ * Numeração e conteúdo não dependem da ordem de execução das threads: o lote i recebe os
+ * números a partir de (primeiro número + i * tamanhoLote), então a mesma entrada gera
+ * sempre os mesmos arquivos. Cada arquivo é escrito com nome temporário e renomeado ao
+ * final, para que um arquivo de lote nunca seja visto pela metade. Um lote já existente
+ * nunca é sobrescrito: quem continua a emissão num diretório informa o primeiro lote.
+ */
+public class PipelineNotasFiscais implements AutoCloseable {
+    public static final int TAMANHO_LOTE_MAXIMO = 50;
+
+    private final TabelaTributaria tabela;
+    private final Path diretorio;
+    private final int tamanhoLote;
+    private final ExecutorService executor;
+    private final AtomicLong proximoNumero;
+    private final AtomicLong proximoLote;
+
+    /**
+     * @param primeiroNumero Número da primeira nota emitida por este pipeline.
+     * @param primeiroLote Número do primeiro arquivo de lote; deve seguir os lotes já gravados no diretório.
+     * @throws IllegalArgumentException também se a tabela não tiver regra para algum tipo do RegistroTiposProduto.
+     * @throws FileAlreadyExistsException se o diretório já tiver o primeiro lote (ex: emissão anterior).
+     */
+    public PipelineNotasFiscais(TabelaTributaria tabela, Path diretorio, int tamanhoLote, int threads,
+                                long primeiroNumero, long primeiroLote) throws IOException {
+        if (tamanhoLote <= 0 || tamanhoLote > TAMANHO_LOTE_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho do lote deve estar entre 1 e " + TAMANHO_LOTE_MAXIMO + ".");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Quantidade de threads deve ser positiva.");
+        }
+        if (primeiroNumero <= 0) {
+            throw new IllegalArgumentException("Número da primeira nota deve ser positivo.");
+        }
+        if (primeiroLote <= 0) {
+            throw new IllegalArgumentException("Número do primeiro lote deve ser positivo.");
+        }
+        tabela.exigirRegrasPara(RegistroTiposProduto.getInstance().tipos());
+        this.tabela = tabela;
+        this.diretorio = Files.createDirectories(diretorio);
+        Path lote = this.diretorio.resolve(nomeLote(primeiroLote));
+        if (Files.exists(lote)) {
+            throw new FileAlreadyExistsException(lote.toString(), null, "Lote já emitido; informe o primeiro lote seguinte.");
+        }
+        this.tamanhoLote = tamanhoLote;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.proximoNumero = new AtomicLong(primeiroNumero);
+        this.proximoLote = new AtomicLong(primeiroLote);
+    }
+
+    public PipelineNotasFiscais(TabelaTributaria tabela, Path diretorio, int tamanhoLote, int threads,
+                                long primeiroNumero) throws IOException {
+        this(tabela, diretorio, tamanhoLote, threads, primeiroNumero, 1);
+    }
+
+    public PipelineNotasFiscais(Path diretorio, int threads) throws IOException {
+        this(TabelaTributaria.padrao(), diretorio, TAMANHO_LOTE_MAXIMO, threads, 1);
+    }
+
+    /**
+     * Emite as notas dos pedidos PAGO (os demais são ignorados) com a data/hora atual.
+     */
+    public ResumoEmissao emitir(Collection<Pedido> pedidos) throws IOException {
+        return emitir(pedidos, LocalDateTime.now());
+    }
+
+    /**
+     * Emite as notas dos pedidos PAGO (os demais são ignorados).
+     * Se algum lote falhar, os lotes já gravados permanecem e EmissaoParcialException é lançada
+     * com o que foi emitido (para a nova tentativa enviar só os outros pedidos) e os números
+     * reservados que ficaram sem nota; a causa é a falha do primeiro lote com erro.
+     */
+    public ResumoEmissao emitir(Collection<Pedido> pedidos, LocalDateTime dataEmissao) throws IOException {
+        List<Pedido> pagos = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            if (EscritorNotaFiscal.STATUS_FATURAVEL.equals(pedido.getStatus())) {
+                pagos.add(pedido);
+            }
+        }
+        int quantidadeLotes = (pagos.size() + tamanhoLote - 1) / tamanhoLote;
+        // Reserva os números e os lotes de uma vez, antes de distribuir o trabalho
+        long primeiroNumero = proximoNumero.getAndAdd(pagos.size());
+        long primeiroLote = proximoLote.getAndAdd(quantidadeLotes);
+
+        List<Future<Path>> lotes = new ArrayList<>(quantidadeLotes);
+        for (int i = 0; i < quantidadeLotes; i++) {
+            int inicio = i * tamanhoLote;
+            List<Pedido> lote = pagos.subList(inicio, Math.min(pagos.size(), inicio + tamanhoLote));
+            long idLote = primeiroLote + i;
+            long numero = primeiroNumero + inicio;
+            lotes.add(executor.submit(() -> escreverLote(idLote, lote, numero, dataEmissao)));
+        }
+
+        List<Path> arquivos = new ArrayList<>(quantidadeLotes);
+        List<String> faturados = new ArrayList<>(pagos.size());
+        List<Long> numerosNaoUsados = new ArrayList<>();
+        long bytes = 0;
+        Throwable falha = null;
+        for (int i = 0; i < quantidadeLotes; i++) {
+            int inicio = i * tamanhoLote;
+            List<Pedido> lote = pagos.subList(inicio, Math.min(pagos.size(), inicio + tamanhoLote));
+            try {
+                Path arquivo = lotes.get(i).get();
+                arquivos.add(arquivo);
+                bytes += Files.size(arquivo);
+                for (Pedido pedido : lote) {
+                    faturados.add(pedido.getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido esperando os lotes de notas fiscais.");
+            } catch (ExecutionException e) {
+                if (falha == null) {
+                    falha = e.getCause();
+                }
+                for (int j = 0; j < lote.size(); j++) {
+                    numerosNaoUsados.add(primeiroNumero + inicio + j);
+                }
+            }
+        }
+        ResumoEmissao resumo = new ResumoEmissao(pedidos.size() - pagos.size(), arquivos, bytes, faturados);
+        if (falha != null) {
+            throw new EmissaoParcialException(resumo, numerosNaoUsados, falha);
+        }
+        return resumo;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private Path escreverLote(long idLote, List<Pedido> pedidos, long primeiroNumero, LocalDateTime dataEmissao)
+            throws IOException {
+        String nome = nomeLote(idLote);
+        Path temporario = diretorio.resolve(nome + ".tmp");
+        try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(temporario), 64 * 1024);
+             EscritorNotaFiscal escritor = new EscritorNotaFiscal(tabela, saida)) {
+            escritor.iniciarLote(idLote, dataEmissao);
+            long numero = primeiroNumero;
+            for (Pedido pedido : pedidos) {
+                escritor.escrever(pedido, numero++);
+            }
+            escritor.finalizarLote();
+        } catch (XMLStreamException e) {
+            Files.deleteIfExists(temporario);
+            throw new IOException("Erro ao escrever XML do lote " + idLote + ": " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+        try {
+            // Sem REPLACE_EXISTING: no mesmo diretório é um rename, mas falha se o lote já existir
+            return Files.move(temporario, diretorio.resolve(nome));
+        } catch (IOException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+    }
+
+    private static String nomeLote(long idLote) {
+        return String.format("lote-%09d.xml", idLote);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.sistemapedidos.fiscal;
+
+/**
+ * Classe RegraTributaria.
+ * Tributação de um tipo de produto (Produto.getTipo()): códigos fiscais e alíquotas.
+ * Produtos físicos são mercadoria (ICMS); digitais são tratados como serviço (ISS).
+ * Imutável; as alíquotas são guardadas já como fração (18% = 0.18), prontas para
+ * multiplicar pela base de cálculo.
+ */
+public final class RegraTributaria {
+    private final String tipo;
+    private final String cfop;
+    private final String ncm;
+    private final boolean servico; // true = ISS no lugar do ICMS
+    private final double aliquotaIcmsOuIss;
+    private final double aliquotaPis;
+    private final double aliquotaCofins;
+
+    /**
+     * @param aliquotaIcmsOuIss Percentual (ex: 18.0) de ICMS, ou de ISS se for serviço.
+     * @param aliquotaPis Percentual de PIS.
+     * @param aliquotaCofins Percentual de COFINS.
+     */
+    public RegraTributaria(String tipo, String cfop, String ncm, boolean servico,
+                           double aliquotaIcmsOuIss, double aliquotaPis, double aliquotaCofins) {
+        if (tipo == null || tipo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tipo da regra tributária não pode ser vazio.");
+        }
+        if (cfop == null || !cfop.matches("\\d{4}")) {
+            throw new IllegalArgumentException("CFOP deve ter 4 dígitos.");
+        }
+        if (ncm == null || !ncm.matches("\\d{8}")) {
+            throw new IllegalArgumentException("NCM deve ter 8 dígitos.");
+        }
+        if (aliquotaIcmsOuIss < 0 || aliquotaPis < 0 || aliquotaCofins < 0) {
+            throw new IllegalArgumentException("Alíquotas não podem ser negativas.");
+        }
+        this.tipo = tipo.trim().toUpperCase();
+        this.cfop = cfop;
+        this.ncm = ncm;
+        this.servico = servico;
+        this.aliquotaIcmsOuIss = aliquotaIcmsOuIss / 100.0;
+        this.aliquotaPis = aliquotaPis / 100.0;
+        this.aliquotaCofins = aliquotaCofins / 100.0;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public String getCfop() {
+        return cfop;
+    }
+
+    public String getNcm() {
+        return ncm;
+    }
+
+    public boolean isServico() {
+        return servico;
+    }
+
+    /**
+     * Alíquota de ICMS (mercadoria) ou ISS (serviço), como fração.
+     */
+    public double getAliquotaIcmsOuIss() {
+        return aliquotaIcmsOuIss;
+    }
+
+    public double getAliquotaPis() {
+        return aliquotaPis;
+    }
+
+    public double getAliquotaCofins() {
+        return aliquotaCofins;
+    }
+}
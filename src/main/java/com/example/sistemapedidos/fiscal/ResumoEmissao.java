@@ -0,0 +1,52 @@
+package com.example.sistemapedidos.fiscal;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe ResumoEmissao.
+ * Resultado de uma chamada a PipelineNotasFiscais.emitir: notas emitidas, pedidos ignorados
+ * (não PAGO), arquivos de lote gravados (em ordem de lote), total de bytes escritos e IDs
+ * dos pedidos que receberam nota (em ordem de número).
+ */
+public class ResumoEmissao {
+    private final int notas;
+    private final int ignorados;
+    private final List<Path> arquivos;
+    private final long bytes;
+    private final List<String> pedidosFaturados;
+
+    ResumoEmissao(int ignorados, List<Path> arquivos, long bytes, List<String> pedidosFaturados) {
+        this.notas = pedidosFaturados.size();
+        this.ignorados = ignorados;
+        this.arquivos = Collections.unmodifiableList(arquivos);
+        this.bytes = bytes;
+        this.pedidosFaturados = Collections.unmodifiableList(pedidosFaturados);
+    }
+
+    public int getNotas() {
+        return notas;
+    }
+
+    public int getIgnorados() {
+        return ignorados;
+    }
+
+    public List<Path> getArquivos() {
+        return arquivos;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public List<String> getPedidosFaturados() {
+        return pedidosFaturados;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoEmissao{notas=" + notas + ", ignorados=" + ignorados + ", lotes=" + arquivos.size() + ", bytes=" + bytes + "}";
+    }
+}
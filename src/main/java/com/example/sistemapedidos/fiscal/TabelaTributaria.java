@@ -0,0 +1,75 @@
+package com.example.sistemapedidos.fiscal;
+
+import com.example.sistemapedidos.model.produto.Produto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe TabelaTributaria.
+ * Regras tributárias indexadas pelo tipo do produto, montadas uma vez na criação.
+ * A consulta compara primeiro por identidade com os tipos já conhecidos (getTipo()
+ * devolve literais, que a JVM internaliza), caindo no mapa só para outras strings.
+ * Imutável e seguro para as threads do pipeline.
+ */
+public class TabelaTributaria {
+    private final String[] tipos;
+    private final RegraTributaria[] regras;
+    private final Map<String, RegraTributaria> porTipo = new HashMap<>();
+
+    public TabelaTributaria(List<RegraTributaria> regras) {
+        if (regras == null || regras.isEmpty()) {
+            throw new IllegalArgumentException("A tabela tributária precisa de ao menos uma regra.");
+        }
+        for (RegraTributaria regra : regras) {
+            if (porTipo.put(regra.getTipo(), regra) != null) {
+                throw new IllegalArgumentException("Regra tributária duplicada para o tipo: " + regra.getTipo());
+            }
+        }
+        this.regras = regras.toArray(new RegraTributaria[0]);
+        this.tipos = Arrays.stream(this.regras).map(RegraTributaria::getTipo).map(String::intern).toArray(String[]::new);
+    }
+
+    /**
+     * Tabela usada por padrão: venda interna de mercadoria (CFOP 5102, ICMS 18%) para
+     * produtos físicos e prestação de serviço (CFOP 5933, ISS 5%) para digitais, ambos
+     * com PIS 1,65% e COFINS 7,6% (regime não cumulativo).
+     */
+    public static TabelaTributaria padrao() {
+        return new TabelaTributaria(List.of(
+                new RegraTributaria("FISICO", "5102", "49019900", false, 18.0, 1.65, 7.6),
+                new RegraTributaria("DIGITAL", "5933", "00000000", true, 5.0, 1.65, 7.6)));
+    }
+
+    /**
+     * Confere, na inicialização, que há regra para cada tipo (ex: os do RegistroTiposProduto),
+     * em vez de descobrir a falta no meio de uma emissão.
+     * @throws IllegalArgumentException com os tipos sem regra.
+     */
+    public void exigirRegrasPara(Collection<String> tiposProduto) {
+        List<String> semRegra = tiposProduto.stream().filter(tipo -> !porTipo.containsKey(tipo.toUpperCase())).toList();
+        if (!semRegra.isEmpty()) {
+            throw new IllegalArgumentException("Sem regra tributária para os tipos de produto: " + semRegra);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException se não houver regra para o tipo do produto.
+     */
+    public RegraTributaria regraPara(Produto produto) {
+        String tipo = produto.getTipo();
+        for (int i = 0; i < tipos.length; i++) {
+            if (tipos[i] == tipo) {
+                return regras[i];
+            }
+        }
+        RegraTributaria regra = tipo != null ? porTipo.get(tipo.toUpperCase()) : null;
+        if (regra == null) {
+            throw new IllegalArgumentException("Sem regra tributária para o tipo de produto: " + tipo);
+        }
+        return regra;
+    }
+}
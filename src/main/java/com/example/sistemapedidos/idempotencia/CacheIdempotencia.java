@@ -0,0 +1,172 @@
+package com.example.sistemapedidos.idempotencia;
+
+import com.example.sistemapedidos.model.Pedido;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Classe CacheIdempotencia.
+ * Guarda, por uma janela de tempo, o pedido criado para cada chave de idempotência,
+ * para que novas tentativas com a mesma chave (ex: retry do app após timeout) recebam
+ * o pedido original em vez de criar um pedido duplicado.
+ *
+ * Características:
+ * - Concorrente: baseado em ConcurrentHashMap; duas tentativas simultâneas com a mesma chave
+ *   recebem o mesmo pedido (a primeira a registrar vence).
+ * - Limitado: no máximo "capacidade" entradas. Como a janela é a mesma para todas as entradas,
+ *   a ordem de inserção é também a ordem de expiração; um anel de tamanho fixo guarda essa ordem
+ *   e, quando dá a volta, remove a entrada mais antiga.
+ * - Enxuto: cada entrada é apenas chave + referência ao pedido + instante de expiração
+ *   (mais o nó do mapa e uma posição no anel), sem listas ligadas nem timers por entrada.
+ */
+public class CacheIdempotencia {
+    private final Map<String, Entrada> entradas;
+    private final AtomicReferenceArray<Entrada> ordemInsercao;
+    private final AtomicLong proximaPosicao = new AtomicLong();
+    private final long janelaNanos;
+    private final LongSupplier relogioNanos;
+
+    /**
+     * @param capacidade Número máximo de chaves guardadas.
+     * @param janela     Por quanto tempo uma chave continua valendo.
+     */
+    public CacheIdempotencia(int capacidade, Duration janela) {
+        this(capacidade, janela, System::nanoTime);
+    }
+
+    /**
+     * Construtor que permite trocar o relógio (útil em testes).
+     * @param relogioNanos Fonte de tempo monotônica em nanossegundos.
+     */
+    public CacheIdempotencia(int capacidade, Duration janela, LongSupplier relogioNanos) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva.");
+        }
+        if (janela == null || janela.isNegative() || janela.isZero()) {
+            throw new IllegalArgumentException("Janela de idempotência deve ser positiva.");
+        }
+        if (relogioNanos == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo.");
+        }
+        this.entradas = new ConcurrentHashMap<>(Math.min(capacidade, 1 << 16));
+        this.ordemInsercao = new AtomicReferenceArray<>(capacidade);
+        this.janelaNanos = janela.toNanos();
+        this.relogioNanos = relogioNanos;
+    }
+
+    /**
+     * Busca o pedido associado à chave, se ainda estiver dentro da janela.
+     * @return O pedido original, ou null se a chave é nova ou já expirou.
+     */
+    public Pedido obter(String chave) {
+        validarChave(chave);
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expirou(relogioNanos.getAsLong())) {
+            entradas.remove(chave, entrada);
+            return null;
+        }
+        return entrada.pedido;
+    }
+
+    /**
+     * Associa o pedido à chave, a menos que outro pedido válido já esteja associado.
+     * @param chave  A chave de idempotência.
+     * @param pedido O pedido recém-construído.
+     * @return O pedido que ficou associado à chave: o informado, ou o original se a chave já existia.
+     */
+    public Pedido registrarSeAusente(String chave, Pedido pedido) {
+        validarChave(chave);
+        if (pedido == null) {
+            throw new IllegalArgumentException("Pedido não pode ser nulo.");
+        }
+        long agora = relogioNanos.getAsLong();
+        Entrada nova = new Entrada(chave, pedido, agora + janelaNanos);
+        while (true) {
+            Entrada existente = entradas.putIfAbsent(chave, nova);
+            if (existente == null) {
+                registrarOrdem(nova);
+                return pedido;
+            }
+            if (!existente.expirou(agora)) {
+                return existente.pedido;
+            }
+            if (entradas.replace(chave, existente, nova)) {
+                registrarOrdem(nova);
+                return pedido;
+            }
+            // Outra thread mexeu na chave ao mesmo tempo: tenta de novo
+        }
+    }
+
+    /**
+     * Chave do cache para a chave de idempotência enviada por um cliente. Chaves de clientes
+     * diferentes nunca se encontram: uma chave adivinhada não devolve o pedido de outro cliente.
+     * O tamanho do ID vem na frente para que IDs com ':' não se confundam com o resto da chave.
+     */
+    public static String chaveDoCliente(String clienteId, String chave) {
+        return clienteId.length() + ":" + clienteId + chave;
+    }
+
+    /**
+     * Remove todas as entradas já expiradas. Opcional: entradas expiradas também são
+     * descartadas ao serem consultadas ou quando o anel dá a volta.
+     * @return Quantas entradas foram removidas.
+     */
+    public int limparExpirados() {
+        long agora = relogioNanos.getAsLong();
+        int removidas = 0;
+        for (Map.Entry<String, Entrada> e : entradas.entrySet()) {
+            if (e.getValue().expirou(agora) && entradas.remove(e.getKey(), e.getValue())) {
+                removidas++;
+            }
+        }
+        return removidas;
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    public int getCapacidade() {
+        return ordemInsercao.length();
+    }
+
+    private void registrarOrdem(Entrada entrada) {
+        int posicao = (int) (proximaPosicao.getAndIncrement() % ordemInsercao.length());
+        Entrada maisAntiga = ordemInsercao.getAndSet(posicao, entrada);
+        if (maisAntiga != null) {
+            // Só remove se a chave ainda aponta para essa entrada antiga (não para uma mais nova)
+            entradas.remove(maisAntiga.chave, maisAntiga);
+        }
+    }
+
+    private static void validarChave(String chave) {
+        if (chave == null || chave.isEmpty()) {
+            throw new IllegalArgumentException("Chave de idempotência não pode ser vazia.");
+        }
+    }
+
+    private static final class Entrada {
+        final String chave;
+        final Pedido pedido;
+        final long expiraEmNanos;
+
+        Entrada(String chave, Pedido pedido, long expiraEmNanos) {
+            this.chave = chave;
+            this.pedido = pedido;
+            this.expiraEmNanos = expiraEmNanos;
+        }
+
+        boolean expirou(long agoraNanos) {
+            return agoraNanos - expiraEmNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.sistemapedidos.indice;
+
+import com.example.sistemapedidos.model.OuvintePedido;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Classe IndiceTemporalPedidos.
+ * Índice ordenado pela data do pedido (desempate pelo ID), para listagens como
+ * "últimas 24h" ou "março, página 40" sem ordenar a coleção inteira a cada requisição.
+ *
+ * Usa uma ConcurrentSkipListMap: inserções de construir() não bloqueiam leitores, e
+ * cada página custa O(log n + tamanho da página), seja a primeira ou a 40ª.
+ *
+ * A paginação é por cursor: o cursor guarda a chave (data, id) do último pedido entregue,
+ * e a próxima página começa logo depois dela. Pedidos inseridos entre uma página e outra
+ * não deslocam as páginas seguintes, como aconteceria com offset.
+ *
+ * Como OuvintePedido, pode ser registrado no PedidoBuilder (comOuvinte) para indexar cada
+ * pedido construído. A data é considerada imutável depois de indexada.
+ */
+public class IndiceTemporalPedidos implements OuvintePedido {
+    private static final Base64.Encoder CODIFICADOR_CURSOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR_CURSOR = Base64.getUrlDecoder();
+
+    private final ConcurrentSkipListMap<Chave, Pedido> pedidos = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void pedidoCriado(Pedido pedido) {
+        indexar(pedido);
+    }
+
+    public void indexar(Pedido pedido) {
+        if (pedido == null || pedido.getData() == null || pedido.getId() == null) {
+            throw new IllegalArgumentException("Pedido precisa de ID e data para ser indexado.");
+        }
+        pedidos.put(new Chave(pedido.getData(), pedido.getId()), pedido);
+    }
+
+    public boolean remover(Pedido pedido) {
+        return pedidos.remove(new Chave(pedido.getData(), pedido.getId())) != null;
+    }
+
+    public int quantidade() {
+        return pedidos.size();
+    }
+
+    /**
+     * Busca uma página de pedidos com data no intervalo [de, ate).
+     * @param de Início do período (inclusive). Null para sem limite.
+     * @param ate Fim do período (exclusive). Null para sem limite.
+     * @param limite Tamanho máximo da página.
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página.
+     * @param decrescente true para os mais recentes primeiro.
+     * @return A página, com o cursor da próxima (null se esta for a última).
+     * @throws IllegalArgumentException se o limite não for positivo ou o cursor for inválido.
+     */
+    public PaginaPedidos buscar(LocalDateTime de, LocalDateTime ate, int limite, String cursor, boolean decrescente) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite da página deve ser positivo.");
+        }
+        NavigableMap<Chave, Pedido> periodo = periodo(de, ate);
+        if (decrescente) {
+            periodo = periodo.descendingMap();
+        }
+        if (cursor != null) {
+            periodo = periodo.tailMap(decodificarCursor(cursor), false);
+        }
+
+        List<Pedido> pagina = new ArrayList<>(Math.min(limite, 256));
+        Iterator<Map.Entry<Chave, Pedido>> it = periodo.entrySet().iterator();
+        Chave ultima = null;
+        while (pagina.size() < limite && it.hasNext()) {
+            Map.Entry<Chave, Pedido> entrada = it.next();
+            pagina.add(entrada.getValue());
+            ultima = entrada.getKey();
+        }
+        String proximo = ultima != null && it.hasNext() ? codificarCursor(ultima) : null;
+        return new PaginaPedidos(pagina, proximo);
+    }
+
+    /**
+     * Primeira página, em ordem crescente de data.
+     */
+    public PaginaPedidos buscar(LocalDateTime de, LocalDateTime ate, int limite) {
+        return buscar(de, ate, limite, null, false);
+    }
+
+    /**
+     * Quantidade de pedidos no intervalo [de, ate). Percorre o intervalo, então custa O(resultado).
+     */
+    public int contar(LocalDateTime de, LocalDateTime ate) {
+        return periodo(de, ate).size();
+    }
+
+    private NavigableMap<Chave, Pedido> periodo(LocalDateTime de, LocalDateTime ate) {
+        if (de != null && ate != null) {
+            return pedidos.subMap(Chave.inicio(de), true, Chave.inicio(ate), false);
+        } else if (de != null) {
+            return pedidos.tailMap(Chave.inicio(de), true);
+        } else if (ate != null) {
+            return pedidos.headMap(Chave.inicio(ate), false);
+        }
+        return pedidos;
+    }
+
+    private static String codificarCursor(Chave chave) {
+        String texto = chave.data.toEpochSecond(ZoneOffset.UTC) + "." + chave.data.getNano() + "." + chave.id;
+        return CODIFICADOR_CURSOR.encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Chave decodificarCursor(String cursor) {
+        try {
+            String texto = new String(DECODIFICADOR_CURSOR.decode(cursor), StandardCharsets.UTF_8);
+            int ponto1 = texto.indexOf('.');
+            int ponto2 = texto.indexOf('.', ponto1 + 1);
+            long segundos = Long.parseLong(texto.substring(0, ponto1));
+            int nanos = Integer.parseInt(texto.substring(ponto1 + 1, ponto2));
+            return new Chave(LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC), texto.substring(ponto2 + 1));
+        } catch (RuntimeException e) { // Base64, número ou data inválidos
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Chave do índice: data do pedido e, para desempatar pedidos no mesmo instante, o ID.
+     */
+    private static final class Chave implements Comparable<Chave> {
+        final LocalDateTime data;
+        final String id;
+
+        Chave(LocalDateTime data, String id) {
+            this.data = data;
+            this.id = id;
+        }
+
+        /**
+         * Menor chave possível para a data (nenhum ID é menor que a string vazia).
+         */
+        static Chave inicio(LocalDateTime data) {
+            return new Chave(data, "");
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            int porData = data.compareTo(outra.data);
+            return porData != 0 ? porData : id.compareTo(outra.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave)) return false;
+            Chave chave = (Chave) o;
+            return data.equals(chave.data) && id.equals(chave.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * data.hashCode() + id.hashCode();
+        }
+    }
+}
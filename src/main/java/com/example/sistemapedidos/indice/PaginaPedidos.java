@@ -0,0 +1,33 @@
+package com.example.sistemapedidos.indice;
+
+import com.example.sistemapedidos.model.Pedido;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe PaginaPedidos.
+ * Uma página de resultado do IndiceTemporalPedidos: os pedidos da página e o cursor
+ * para buscar a próxima (null quando não há mais pedidos no período).
+ */
+public final class PaginaPedidos {
+    private final List<Pedido> pedidos;
+    private final String proximoCursor;
+
+    PaginaPedidos(List<Pedido> pedidos, String proximoCursor) {
+        this.pedidos = Collections.unmodifiableList(pedidos);
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Pedido> getPedidos() {
+        return pedidos;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sistemapedidos.inicio;
+
+import com.example.sistemapedidos.api.PedidoJsonCodec;
+import com.example.sistemapedidos.codec.JsonEscritor;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe CaminhoPedido.
+ * Reproduz o caminho de um POST /pedidos sem a camada HTTP: lê o JSON de criação, constrói o
+ * pedido, salva no repositório, marca como PAGO e escreve o JSON de resposta. Serve de carga
+ * para o treino do arquivo CDS (TreinoInicioRapido), para o aquecimento do InicioRapido e para
+ * o InicioRapidoBenchmark, de modo que os três exercitem as mesmas classes.
+ *
+ * Os pedidos são removidos do repositório depois de respondidos, para que execuções longas
+ * não acumulem memória. Não é thread-safe: use uma instância por thread.
+ */
+public class CaminhoPedido {
+    private static final int REQUISICOES = 16;
+
+    private final byte[][] requisicoes = new byte[REQUISICOES][];
+    private final RepositorioPedidos repositorio;
+    private final JsonEscritor resposta = new JsonEscritor(1024);
+
+    public CaminhoPedido() {
+        this(new RepositorioPedidos());
+    }
+
+    public CaminhoPedido(RepositorioPedidos repositorio) {
+        this.repositorio = repositorio;
+        JsonEscritor escritor = new JsonEscritor(512);
+        for (int i = 0; i < REQUISICOES; i++) {
+            escritor.limpar();
+            escritor.iniciarObjeto();
+            escritor.campo("cliente").iniciarObjeto()
+                    .campo("id", "CLI" + i)
+                    .campo("nome", "Cliente " + i)
+                    .campo("email", "cliente" + i + "@example.com")
+                    .fimObjeto();
+            escritor.campo("itens").iniciarArray();
+            for (int j = 0; j <= i % 4; j++) { // 1 a 4 itens, físicos e digitais alternados
+                escritor.iniciarObjeto();
+                if (j % 2 == 0) {
+                    escritor.campo("tipo", "FISICO").campo("nome", "Livro " + j).campo("preco", 39.9 + j).campo("pesoKg", 0.5);
+                } else {
+                    escritor.campo("tipo", "DIGITAL").campo("nome", "Ebook " + j).campo("preco", 19.9 + j)
+                            .campo("urlDownload", "http://example.com/ebook/" + j);
+                }
+                escritor.campo("quantidade", 1 + j).fimObjeto();
+            }
+            escritor.fimArray();
+            escritor.fimObjeto();
+            requisicoes[i] = escritor.paraBytes();
+        }
+    }
+
+    /**
+     * Processa um pedido completo.
+     * @param i Escolhe uma das requisições pré-montadas (i % 16).
+     * @return O pedido criado (já PAGO e fora do repositório).
+     */
+    public Pedido processar(int i) {
+        Pedido pedido = PedidoJsonCodec.lerCriacao(ByteBuffer.wrap(requisicoes[i & (REQUISICOES - 1)])).construir();
+        repositorio.salvar(pedido);
+        pedido.setStatus("PAGO");
+        resposta.limpar();
+        PedidoJsonCodec.escreverPedido(pedido, resposta);
+        repositorio.remover(pedido.getId());
+        return pedido;
+    }
+
+    /**
+     * Tamanho em bytes da última resposta escrita.
+     */
+    public int tamanhoResposta() {
+        return resposta.resultado().remaining();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sistemapedidos.inicio;
+
+import com.example.sistemapedidos.factory.RegistroTiposProduto;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+
+/**
+ * Classe InicioRapido.
+ * Modo de início rápido para jobs curtos e workers que sobem e descem com frequência.
+ * Ativado com -Dsistemapedidos.inicioRapido=true, e normalmente combinado com o arquivo
+ * AppCDS gerado pelo perfil Maven "inicio-rapido" (-XX:SharedArchiveFile=...), que evita
+ * carregar e verificar de novo as classes do caminho do pedido a cada processo.
+ *
+ * preparar() tira do primeiro pedido a inicialização preguiçosa (ConfiguracaoSistema,
+ * RegistroTiposProduto, classes do codec, do builder e do repositório): deve ser chamado na
+ * subida da aplicação, antes de aceitar requisições. Funciona com ou sem o modo ativo.
+ */
+public final class InicioRapido {
+    public static final String PROPRIEDADE = "sistemapedidos.inicioRapido";
+
+    private static final boolean ATIVO = Boolean.getBoolean(PROPRIEDADE);
+    private static volatile boolean preparado;
+
+    private InicioRapido() {
+        // Classe utilitária, apenas métodos estáticos
+    }
+
+    /**
+     * Indica se o processo foi iniciado no modo de início rápido (lido uma vez, na carga da classe).
+     */
+    public static boolean ativo() {
+        return ATIVO;
+    }
+
+    /**
+     * Inicializa os singletons e passa um pedido de exemplo por todo o caminho, para que as
+     * classes envolvidas já estejam carregadas e inicializadas. Só faz o trabalho na primeira
+     * chamada.
+     * @return Tempo gasto em nanossegundos (0 se já estava preparado).
+     */
+    public static long preparar() {
+        if (preparado) {
+            return 0;
+        }
+        synchronized (InicioRapido.class) {
+            if (preparado) {
+                return 0;
+            }
+            long inicio = System.nanoTime();
+            ConfiguracaoSistema.getInstance();
+            RegistroTiposProduto.getInstance();
+            CaminhoPedido caminho = new CaminhoPedido();
+            for (int i = 0; i < 16; i++) { // Uma volta pelas requisições de exemplo
+                caminho.processar(i);
+            }
+            preparado = true;
+            return System.nanoTime() - inicio;
+        }
+    }
+}
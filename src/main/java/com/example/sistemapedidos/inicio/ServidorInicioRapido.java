@@ -0,0 +1,21 @@
+package com.example.sistemapedidos.inicio;
+
+import com.example.sistemapedidos.api.ServidorHttpPedidos;
+
+import java.io.IOException;
+
+/**
+ * Classe ServidorInicioRapido.
+ * Sobe a API HTTP de pedidos depois de InicioRapido.preparar(), para que o primeiro pedido
+ * não pague a inicialização. Fica fora do pacote api para que a API não dependa do início
+ * rápido (que já depende dela pelo CaminhoPedido).
+ *
+ * Uso: ServidorInicioRapido [porta]
+ */
+public class ServidorInicioRapido {
+
+    public static void main(String[] args) throws IOException {
+        InicioRapido.preparar(); // Inicialização fora do caminho do primeiro pedido
+        ServidorHttpPedidos.main(args);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.sistemapedidos.inicio;
+
+/**
+ * Classe TreinoInicioRapido.
+ * Execução de treino do perfil Maven "inicio-rapido": roda o caminho do pedido algumas
+ * vezes e encerra. O Maven a executa com -XX:ArchiveClassesAtExit, e a JVM grava ao sair
+ * o arquivo AppCDS com todas as classes carregadas no treino.
+ * Manualmente, a partir do jar:
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=target/sistema-pedidos.jsa -cp target/sistema-pedidos-online-1.0-SNAPSHOT.jar \
+ *      com.example.sistemapedidos.inicio.TreinoInicioRapido
+ * java -XX:SharedArchiveFile=target/sistema-pedidos.jsa -Dsistemapedidos.inicioRapido=true \
+ *      -cp target/sistema-pedidos-online-1.0-SNAPSHOT.jar com.example.sistemapedidos.inicio.ServidorInicioRapido
+ * </pre>
+ * O classpath usado na execução deve ser o mesmo do treino (o jar, não target/classes:
+ * o CDS só arquiva classes vindas de arquivos jar).
+ *
+ * Uso: TreinoInicioRapido [pedidos]
+ */
+public class TreinoInicioRapido {
+
+    public static void main(String[] args) {
+        int pedidos = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long preparo = InicioRapido.preparar();
+        CaminhoPedido caminho = new CaminhoPedido();
+        long inicio = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < pedidos; i++) {
+            caminho.processar(i);
+            bytes += caminho.tamanhoResposta();
+        }
+        long nanos = System.nanoTime() - inicio;
+        System.out.printf("Treino: preparo em %.1f ms, %d pedidos em %.1f ms (%d bytes de resposta).%n",
+                preparo / 1e6, pedidos, nanos / 1e6, bytes);
+    }
+}
@@ -0,0 +1,483 @@
+package com.example.sistemapedidos.leitura;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Classe MapaPersistente.
+ * Mapa imutável com compartilhamento estrutural (HAMT - hash array mapped trie):
+ * com() e sem() devolvem um mapa novo copiando só o caminho da raiz até a folha alterada
+ * (no máximo 7 nós de até 32 posições); o resto da árvore é compartilhado com a versão
+ * anterior, que continua válida e intocada.
+ *
+ * Por ser imutável, pode ser lido por qualquer número de threads sem lock.
+ * Não aceita chaves nem valores nulos.
+ *
+ * Para aplicar muitas alterações de uma vez, transiente() devolve uma versão editável:
+ * nós criados por ela são alterados no lugar nas operações seguintes, em vez de copiados
+ * de novo a cada uma; persistente() congela o resultado.
+ */
+public final class MapaPersistente<K, V> {
+    private static final MapaPersistente<?, ?> VAZIO = new MapaPersistente<>(null, 0);
+
+    private final No raiz;
+    private final int tamanho;
+
+    private MapaPersistente(No raiz, int tamanho) {
+        this.raiz = raiz;
+        this.tamanho = tamanho;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> MapaPersistente<K, V> vazio() {
+        return (MapaPersistente<K, V>) VAZIO;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object chave) {
+        if (raiz == null || chave == null) {
+            return null;
+        }
+        return (V) raiz.buscar(chave, espalhar(chave.hashCode()), 0);
+    }
+
+    public boolean contem(Object chave) {
+        return get(chave) != null;
+    }
+
+    /**
+     * @return Um mapa com a chave associada ao valor (este mapa não muda).
+     */
+    public MapaPersistente<K, V> com(K chave, V valor) {
+        Transiente<K, V> edicao = new Transiente<>(raiz, tamanho, null);
+        edicao.com(chave, valor);
+        return edicao.raiz == raiz ? this : new MapaPersistente<>(edicao.raiz, edicao.tamanho);
+    }
+
+    /**
+     * @return Um mapa sem a chave (este mapa não muda).
+     */
+    public MapaPersistente<K, V> sem(Object chave) {
+        Transiente<K, V> edicao = new Transiente<>(raiz, tamanho, null);
+        edicao.sem(chave);
+        return edicao.raiz == raiz ? this : edicao.persistente();
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazio() {
+        return tamanho == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void paraCada(BiConsumer<? super K, ? super V> acao) {
+        if (raiz != null) {
+            raiz.paraCada((BiConsumer<Object, Object>) acao);
+        }
+    }
+
+    public List<V> valores() {
+        List<V> valores = new ArrayList<>(tamanho);
+        paraCada((chave, valor) -> valores.add(valor));
+        return valores;
+    }
+
+    /**
+     * Versão editável deste mapa, que compartilha a estrutura com ele (este mapa não muda).
+     */
+    public Transiente<K, V> transiente() {
+        return new Transiente<>(raiz, tamanho, new Edicao());
+    }
+
+    /**
+     * Mapa editável para lotes de alterações. Não é thread-safe e só vale até persistente().
+     */
+    public static final class Transiente<K, V> {
+        private Edicao edicao; // null = cada operação copia o caminho (uso interno de com/sem)
+        private final Mudanca mudanca = new Mudanca();
+        private No raiz;
+        private int tamanho;
+        private boolean congelado;
+
+        private Transiente(No raiz, int tamanho, Edicao edicao) {
+            this.raiz = raiz;
+            this.tamanho = tamanho;
+            this.edicao = edicao;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object chave) {
+            if (raiz == null || chave == null) {
+                return null;
+            }
+            return (V) raiz.buscar(chave, espalhar(chave.hashCode()), 0);
+        }
+
+        public Transiente<K, V> com(K chave, V valor) {
+            trocar(chave, valor);
+            return this;
+        }
+
+        /**
+         * Associa a chave ao valor percorrendo a árvore uma vez só.
+         * @return O valor anterior, ou null se a chave não existia.
+         */
+        @SuppressWarnings("unchecked")
+        public V trocar(K chave, V valor) {
+            verificarAtivo();
+            if (chave == null || valor == null) {
+                throw new IllegalArgumentException("Chave e valor não podem ser nulos.");
+            }
+            Entrada nova = new Entrada(chave, valor, espalhar(chave.hashCode()));
+            mudanca.limpar();
+            if (raiz == null) {
+                raiz = new NoBitmap(edicao, 1 << indice(nova.hash, 0), new Object[]{nova});
+                mudanca.adicionou = true;
+            } else {
+                raiz = raiz.com(edicao, nova, 0, mudanca);
+            }
+            if (mudanca.adicionou) {
+                tamanho++;
+            }
+            return (V) mudanca.anterior;
+        }
+
+        public Transiente<K, V> sem(Object chave) {
+            verificarAtivo();
+            if (raiz == null || chave == null) {
+                return this;
+            }
+            mudanca.limpar();
+            raiz = raiz.sem(edicao, chave, espalhar(chave.hashCode()), 0, mudanca);
+            if (mudanca.removeu) {
+                tamanho--;
+            }
+            return this;
+        }
+
+        public int tamanho() {
+            return tamanho;
+        }
+
+        /**
+         * Congela as alterações em um MapaPersistente; o transiente não pode mais ser usado.
+         */
+        public MapaPersistente<K, V> persistente() {
+            verificarAtivo();
+            congelado = true;
+            edicao = null; // Nós criados por esta edição passam a ser imutáveis
+            return raiz == null ? vazio() : new MapaPersistente<>(raiz, tamanho);
+        }
+
+        private void verificarAtivo() {
+            if (congelado) {
+                throw new IllegalStateException("Transiente já foi convertido em mapa persistente.");
+            }
+        }
+    }
+
+    // Mistura os bits altos nos baixos, que são os usados nos primeiros níveis
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int indice(int hash, int deslocamento) {
+        return (hash >>> deslocamento) & 31;
+    }
+
+    // Identidade de uma edição transiente: nós marcados com ela podem ser alterados no lugar
+    private static final class Edicao {
+    }
+
+    // Resultado de uma operação, preenchido durante a descida na árvore
+    private static final class Mudanca {
+        boolean adicionou;
+        boolean removeu;
+        Object anterior;
+
+        void limpar() {
+            adicionou = false;
+            removeu = false;
+            anterior = null;
+        }
+    }
+
+    private static final class Entrada {
+        final Object chave;
+        final Object valor;
+        final int hash;
+
+        Entrada(Object chave, Object valor, int hash) {
+            this.chave = chave;
+            this.valor = valor;
+            this.hash = hash;
+        }
+    }
+
+    private abstract static class No {
+        abstract Object buscar(Object chave, int hash, int deslocamento);
+
+        /**
+         * Anota em mudanca se a chave foi adicionada e o valor substituído.
+         */
+        abstract No com(Edicao edicao, Entrada entrada, int deslocamento, Mudanca mudanca);
+
+        /**
+         * Anota em mudanca se a chave existia.
+         * @return O nó resultante, ou null se ficou vazio.
+         */
+        abstract No sem(Edicao edicao, Object chave, int hash, int deslocamento, Mudanca mudanca);
+
+        /**
+         * @return A única entrada do nó (sem subnós), para o pai absorvê-la; senão null.
+         */
+        abstract Entrada unica();
+
+        abstract void paraCada(BiConsumer<Object, Object> acao);
+    }
+
+    /**
+     * Nó interno: o bitmap diz quais das 32 posições do nível estão ocupadas, e o array
+     * guarda só as ocupadas (Entrada ou subnó), na ordem dos bits.
+     * Os campos só mudam depois de construído se o nó pertence à edição em curso.
+     */
+    private static final class NoBitmap extends No {
+        final Edicao dono;
+        int bitmap;
+        Object[] filhos;
+
+        NoBitmap(Edicao dono, int bitmap, Object[] filhos) {
+            this.dono = dono;
+            this.bitmap = bitmap;
+            this.filhos = filhos;
+        }
+
+        @Override
+        Object buscar(Object chave, int hash, int deslocamento) {
+            int bit = 1 << indice(hash, deslocamento);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object filho = filhos[Integer.bitCount(bitmap & (bit - 1))];
+            if (filho instanceof Entrada) {
+                Entrada entrada = (Entrada) filho;
+                return entrada.hash == hash && entrada.chave.equals(chave) ? entrada.valor : null;
+            }
+            return ((No) filho).buscar(chave, hash, deslocamento + 5);
+        }
+
+        @Override
+        No com(Edicao edicao, Entrada nova, int deslocamento, Mudanca mudanca) {
+            int bit = 1 << indice(nova.hash, deslocamento);
+            int posicao = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] novos = new Object[filhos.length + 1];
+                System.arraycopy(filhos, 0, novos, 0, posicao);
+                novos[posicao] = nova;
+                System.arraycopy(filhos, posicao, novos, posicao + 1, filhos.length - posicao);
+                mudanca.adicionou = true;
+                return trocar(edicao, bitmap | bit, novos);
+            }
+            Object filho = filhos[posicao];
+            Object substituto;
+            if (filho instanceof Entrada) {
+                Entrada atual = (Entrada) filho;
+                if (atual.hash == nova.hash && atual.chave.equals(nova.chave)) {
+                    mudanca.anterior = atual.valor;
+                    if (atual.valor == nova.valor) {
+                        return this;
+                    }
+                    substituto = nova;
+                } else {
+                    substituto = dividir(edicao, atual, nova, deslocamento + 5);
+                    mudanca.adicionou = true;
+                }
+            } else {
+                No sub = (No) filho;
+                No novoSub = sub.com(edicao, nova, deslocamento + 5, mudanca);
+                if (novoSub == sub) {
+                    return this; // Sem mudança, ou subnó alterado no lugar
+                }
+                substituto = novoSub;
+            }
+            return colocar(edicao, posicao, substituto);
+        }
+
+        @Override
+        No sem(Edicao edicao, Object chave, int hash, int deslocamento, Mudanca mudanca) {
+            int bit = 1 << indice(hash, deslocamento);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int posicao = Integer.bitCount(bitmap & (bit - 1));
+            Object filho = filhos[posicao];
+            Object substituto;
+            if (filho instanceof Entrada) {
+                Entrada entrada = (Entrada) filho;
+                if (entrada.hash != hash || !entrada.chave.equals(chave)) {
+                    return this;
+                }
+                mudanca.removeu = true;
+                substituto = null;
+            } else {
+                No sub = (No) filho;
+                No novoSub = sub.sem(edicao, chave, hash, deslocamento + 5, mudanca);
+                if (!mudanca.removeu) {
+                    return this;
+                }
+                Entrada unica = novoSub != null ? novoSub.unica() : null;
+                substituto = unica != null ? unica : novoSub; // Sobe a entrada solitária, mantendo a árvore rasa
+                if (substituto == sub) {
+                    return this; // Subnó alterado no lugar
+                }
+            }
+            if (substituto != null) {
+                return colocar(edicao, posicao, substituto);
+            }
+            if (filhos.length == 1) {
+                return null;
+            }
+            Object[] novos = new Object[filhos.length - 1];
+            System.arraycopy(filhos, 0, novos, 0, posicao);
+            System.arraycopy(filhos, posicao + 1, novos, posicao, novos.length - posicao);
+            return trocar(edicao, bitmap & ~bit, novos);
+        }
+
+        @Override
+        Entrada unica() {
+            return filhos.length == 1 && filhos[0] instanceof Entrada ? (Entrada) filhos[0] : null;
+        }
+
+        @Override
+        void paraCada(BiConsumer<Object, Object> acao) {
+            for (Object filho : filhos) {
+                if (filho instanceof Entrada) {
+                    acao.accept(((Entrada) filho).chave, ((Entrada) filho).valor);
+                } else {
+                    ((No) filho).paraCada(acao);
+                }
+            }
+        }
+
+        private boolean editavel(Edicao edicao) {
+            return edicao != null && dono == edicao;
+        }
+
+        private No colocar(Edicao edicao, int posicao, Object filho) {
+            if (editavel(edicao)) {
+                filhos[posicao] = filho;
+                return this;
+            }
+            Object[] novos = filhos.clone();
+            novos[posicao] = filho;
+            return new NoBitmap(edicao, bitmap, novos);
+        }
+
+        private No trocar(Edicao edicao, int novoBitmap, Object[] novosFilhos) {
+            if (editavel(edicao)) {
+                bitmap = novoBitmap;
+                filhos = novosFilhos;
+                return this;
+            }
+            return new NoBitmap(edicao, novoBitmap, novosFilhos);
+        }
+
+        // Duas entradas que caíram na mesma posição: desce até onde os hashes divergem
+        private static No dividir(Edicao edicao, Entrada a, Entrada b, int deslocamento) {
+            if (a.hash == b.hash) {
+                return new NoColisao(a.hash, new Entrada[]{a, b});
+            }
+            int ia = indice(a.hash, deslocamento);
+            int ib = indice(b.hash, deslocamento);
+            if (ia == ib) {
+                return new NoBitmap(edicao, 1 << ia, new Object[]{dividir(edicao, a, b, deslocamento + 5)});
+            }
+            return new NoBitmap(edicao, (1 << ia) | (1 << ib), ia < ib ? new Object[]{a, b} : new Object[]{b, a});
+        }
+    }
+
+    /**
+     * Folha com chaves diferentes de hash (32 bits) idêntico. Rara, então sempre copia.
+     */
+    private static final class NoColisao extends No {
+        final int hash;
+        final Entrada[] entradas;
+
+        NoColisao(int hash, Entrada[] entradas) {
+            this.hash = hash;
+            this.entradas = entradas;
+        }
+
+        @Override
+        Object buscar(Object chave, int hash, int deslocamento) {
+            if (hash == this.hash) {
+                for (Entrada entrada : entradas) {
+                    if (entrada.chave.equals(chave)) {
+                        return entrada.valor;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        No com(Edicao edicao, Entrada nova, int deslocamento, Mudanca mudanca) {
+            if (nova.hash != hash) {
+                // Hash diferente com o mesmo prefixo: põe este nó sob um NoBitmap e insere lá
+                return new NoBitmap(edicao, 1 << indice(hash, deslocamento), new Object[]{this})
+                        .com(edicao, nova, deslocamento, mudanca);
+            }
+            for (int i = 0; i < entradas.length; i++) {
+                if (entradas[i].chave.equals(nova.chave)) {
+                    mudanca.anterior = entradas[i].valor;
+                    if (entradas[i].valor == nova.valor) {
+                        return this;
+                    }
+                    Entrada[] novas = entradas.clone();
+                    novas[i] = nova;
+                    return new NoColisao(hash, novas);
+                }
+            }
+            Entrada[] novas = Arrays.copyOf(entradas, entradas.length + 1);
+            novas[entradas.length] = nova;
+            mudanca.adicionou = true;
+            return new NoColisao(hash, novas);
+        }
+
+        @Override
+        No sem(Edicao edicao, Object chave, int hash, int deslocamento, Mudanca mudanca) {
+            if (hash != this.hash) {
+                return this;
+            }
+            for (int i = 0; i < entradas.length; i++) {
+                if (entradas[i].chave.equals(chave)) {
+                    mudanca.removeu = true;
+                    if (entradas.length == 1) {
+                        return null;
+                    }
+                    Entrada[] novas = new Entrada[entradas.length - 1];
+                    System.arraycopy(entradas, 0, novas, 0, i);
+                    System.arraycopy(entradas, i + 1, novas, i, novas.length - i);
+                    return new NoColisao(hash, novas);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Entrada unica() {
+            return entradas.length == 1 ? entradas[0] : null;
+        }
+
+        @Override
+        void paraCada(BiConsumer<Object, Object> acao) {
+            for (Entrada entrada : entradas) {
+                acao.accept(entrada.chave, entrada.valor);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.sistemapedidos.leitura;
+
+import com.example.sistemapedidos.model.OuvintePedido;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Classe ModeloLeituraPedidos.
+ * Lado de leitura (CQRS) separado dos objetos Pedido mutáveis: cada criação ou mudança de
+ * status vira uma ProjecaoPedido imutável, enfileirada sem lock na thread de quem escreveu.
+ * Uma thread publicadora aplica as projeções pendentes sobre o retrato atual (mapas
+ * persistentes, só o caminho alterado é copiado) e publica o novo RetratoPedidos com uma
+ * única escrita volatile.
+ *
+ * A publicação acontece a cada intervalo ou assim que houver N projeções pendentes, o que
+ * vier primeiro. Leitores chamam retrato() e trabalham sobre aquela versão: nunca bloqueiam
+ * nem veem estado pela metade, ao custo de enxergar os dados com até um intervalo de atraso.
+ *
+ * Abaixo de 16 * N pendentes o escritor nunca espera. Se o publicador ficar para trás
+ * além disso (escritas mais rápidas do que a aplicação), o escritor publica ele mesmo,
+ * esperando a publicação em curso se houver: é a contrapressão que limita a memória da
+ * fila e a defasagem dos leitores.
+ *
+ * Alterações que não geram notificação (ex: ItemPedido.setQuantidade) só aparecem
+ * quando registrar(pedido) é chamado explicitamente.
+ *
+ * A classe é final porque o construtor já agenda publicar() na thread publicadora, que
+ * poderia rodar antes de o construtor de uma subclasse terminar.
+ */
+public final class ModeloLeituraPedidos implements OuvintePedido, Closeable {
+    public static final Duration INTERVALO_PADRAO = Duration.ofMillis(50);
+    public static final int PUBLICAR_A_CADA_PADRAO = 1024;
+
+    private final int publicarACada;
+    private final int limitePendente;
+    private final ReentrantLock publicacao = new ReentrantLock();
+    private final Queue<ProjecaoPedido> pendentes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadePendente = new AtomicInteger();
+    private final AtomicBoolean publicacaoSolicitada = new AtomicBoolean();
+    private final ScheduledExecutorService publicador;
+    private volatile RetratoPedidos retrato = RetratoPedidos.VAZIO;
+
+    public ModeloLeituraPedidos() {
+        this(INTERVALO_PADRAO, PUBLICAR_A_CADA_PADRAO);
+    }
+
+    /**
+     * @param intervalo Tempo máximo entre publicações (Duration.ZERO = só por quantidade ou publicar()).
+     * @param publicarACada Quantidade de escritas pendentes que antecipa a publicação.
+     */
+    public ModeloLeituraPedidos(Duration intervalo, int publicarACada) {
+        if (intervalo == null || intervalo.isNegative()) {
+            throw new IllegalArgumentException("Intervalo de publicação não pode ser negativo.");
+        }
+        if (publicarACada <= 0) {
+            throw new IllegalArgumentException("Quantidade de escritas por publicação deve ser positiva.");
+        }
+        this.publicarACada = publicarACada;
+        this.limitePendente = publicarACada > Integer.MAX_VALUE / 16 ? Integer.MAX_VALUE : publicarACada * 16;
+        this.publicador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "publicador-modelo-leitura");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!intervalo.isZero()) {
+            long nanos = intervalo.toNanos();
+            publicador.scheduleWithFixedDelay(this::publicar, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void pedidoCriado(Pedido pedido) {
+        registrar(pedido);
+    }
+
+    @Override
+    public void statusAlterado(Pedido pedido, String statusAnterior, String statusNovo) {
+        registrar(pedido);
+    }
+
+    /**
+     * Enfileira o estado atual do pedido para a próxima publicação.
+     * Deve ser chamado na thread que está alterando o pedido.
+     */
+    public void registrar(Pedido pedido) {
+        pendentes.add(ProjecaoPedido.de(pedido));
+        int pendente = quantidadePendente.incrementAndGet();
+        if (pendente >= limitePendente) {
+            publicar(); // Publicador atrasado: o próprio escritor aplica a fila
+        } else if (pendente >= publicarACada && publicacaoSolicitada.compareAndSet(false, true)) {
+            try {
+                publicador.execute(this::publicar);
+            } catch (RejectedExecutionException e) {
+                publicacaoSolicitada.set(false); // Modelo fechado: fica pendente até publicar() explícito
+            }
+        }
+    }
+
+    /**
+     * Versão publicada mais recente. Não bloqueia.
+     */
+    public RetratoPedidos retrato() {
+        return retrato;
+    }
+
+    /**
+     * Aplica as projeções pendentes e publica a nova versão imediatamente.
+     * @return O retrato publicado (o mesmo de antes, se não havia nada pendente).
+     */
+    public RetratoPedidos publicar() {
+        publicacao.lock();
+        try {
+            return aplicarPendentes();
+        } finally {
+            publicacao.unlock();
+        }
+    }
+
+    // Chamado com a trava de publicação
+    private RetratoPedidos aplicarPendentes() {
+        publicacaoSolicitada.set(false);
+        // Drena só o que já estava pendente, para não correr atrás de escritores mais rápidos
+        int limite = quantidadePendente.get();
+        List<ProjecaoPedido> lote = new ArrayList<>(limite);
+        ProjecaoPedido projecao;
+        while (lote.size() < limite && (projecao = pendentes.poll()) != null) {
+            lote.add(projecao);
+        }
+        if (lote.isEmpty()) {
+            return retrato;
+        }
+        quantidadePendente.addAndGet(-lote.size());
+        RetratoPedidos novo = retrato.aplicar(lote, System.nanoTime());
+        retrato = novo;
+        return novo;
+    }
+
+    public int quantidadePendente() {
+        return quantidadePendente.get();
+    }
+
+    /**
+     * Para a publicação periódica, publicando o que estiver pendente.
+     */
+    @Override
+    public void close() {
+        publicador.shutdownNow();
+        publicar();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.sistemapedidos.leitura;
+
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe ProjecaoPedido.
+ * Cópia imutável de um Pedido para o modelo de leitura: só campos finais e lista
+ * de itens imutável, então pode ser compartilhada entre threads sem sincronização.
+ * É tirada na thread que criou/alterou o pedido, no momento da notificação.
+ */
+public final class ProjecaoPedido {
+    private final String id;
+    private final String clienteId;
+    private final String clienteNome;
+    private final LocalDateTime data;
+    private final String status;
+    private final double total;
+    private final List<Item> itens;
+
+    private ProjecaoPedido(Pedido pedido) {
+        this.id = pedido.getId();
+        this.clienteId = pedido.getCliente().getId();
+        this.clienteNome = pedido.getCliente().getNome();
+        this.data = pedido.getData();
+        this.status = pedido.getStatus();
+        this.total = pedido.getTotal();
+        List<Item> copia = new ArrayList<>();
+        for (ItemPedido item : pedido.getItens()) {
+            copia.add(new Item(item));
+        }
+        this.itens = Collections.unmodifiableList(copia);
+    }
+
+    public static ProjecaoPedido de(Pedido pedido) {
+        if (pedido == null || pedido.getId() == null || pedido.getCliente() == null) {
+            throw new IllegalArgumentException("Pedido, seu ID e seu cliente não podem ser nulos.");
+        }
+        return new ProjecaoPedido(pedido);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClienteId() {
+        return clienteId;
+    }
+
+    public String getClienteNome() {
+        return clienteNome;
+    }
+
+    public LocalDateTime getData() {
+        return data;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjecaoPedido{id='" + id + "', cliente='" + clienteId + "', status='" + status + "', total=" + total + "}";
+    }
+
+    /**
+     * Item da projeção: produto (nome e tipo), quantidade e preços no momento da cópia.
+     */
+    public static final class Item {
+        private final String nomeProduto;
+        private final String tipoProduto;
+        private final int quantidade;
+        private final double precoUnitario;
+        private final double subtotal;
+
+        private Item(ItemPedido item) {
+            this.nomeProduto = item.getProduto().getNome();
+            this.tipoProduto = item.getProduto().getTipo();
+            this.quantidade = item.getQuantidade();
+            this.precoUnitario = item.getPrecoUnitario();
+            this.subtotal = item.getSubtotal();
+        }
+
+        public String getNomeProduto() {
+            return nomeProduto;
+        }
+
+        public String getTipoProduto() {
+            return tipoProduto;
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public double getPrecoUnitario() {
+            return precoUnitario;
+        }
+
+        public double getSubtotal() {
+            return subtotal;
+        }
+    }
+}
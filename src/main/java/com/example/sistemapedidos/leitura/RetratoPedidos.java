@@ -0,0 +1,145 @@
+package com.example.sistemapedidos.leitura;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe RetratoPedidos.
+ * Uma versão publicada do modelo de leitura: projeções por ID, por cliente e contagem
+ * por status, todas em mapas persistentes. É imutável; quem segura um retrato vê sempre
+ * o mesmo conjunto consistente de pedidos, mesmo que versões novas sejam publicadas.
+ */
+public final class RetratoPedidos {
+    static final RetratoPedidos VAZIO = new RetratoPedidos(0, 0L,
+            MapaPersistente.vazio(), MapaPersistente.vazio(), MapaPersistente.vazio());
+
+    private final long versao;
+    private final long publicadoEmNanos;
+    private final MapaPersistente<String, ProjecaoPedido> porId;
+    private final MapaPersistente<String, MapaPersistente<String, ProjecaoPedido>> porCliente;
+    private final MapaPersistente<String, Integer> quantidadePorStatus;
+
+    RetratoPedidos(long versao, long publicadoEmNanos,
+                   MapaPersistente<String, ProjecaoPedido> porId,
+                   MapaPersistente<String, MapaPersistente<String, ProjecaoPedido>> porCliente,
+                   MapaPersistente<String, Integer> quantidadePorStatus) {
+        this.versao = versao;
+        this.publicadoEmNanos = publicadoEmNanos;
+        this.porId = porId;
+        this.porCliente = porCliente;
+        this.quantidadePorStatus = quantidadePorStatus;
+    }
+
+    /**
+     * Cria a próxima versão aplicando as projeções em ordem (a última de cada pedido vence).
+     * O lote é aplicado sobre versões transientes dos mapas, então cada nó da árvore é
+     * copiado no máximo uma vez por publicação, e não uma vez por projeção.
+     */
+    RetratoPedidos aplicar(List<ProjecaoPedido> projecoes, long agoraNanos) {
+        MapaPersistente.Transiente<String, ProjecaoPedido> novosPorId = porId.transiente();
+        MapaPersistente.Transiente<String, MapaPersistente<String, ProjecaoPedido>> novosPorCliente = porCliente.transiente();
+        MapaPersistente.Transiente<String, Integer> novasQuantidades = quantidadePorStatus.transiente();
+        Map<String, MapaPersistente.Transiente<String, ProjecaoPedido>> clientesAlterados = new HashMap<>();
+
+        // Só a última projeção de cada pedido no lote importa (ex: criação seguida de mudança de status)
+        Set<String> vistos = new HashSet<>();
+        List<ProjecaoPedido> ultimas = new ArrayList<>(projecoes.size());
+        for (int i = projecoes.size() - 1; i >= 0; i--) {
+            if (vistos.add(projecoes.get(i).getId())) {
+                ultimas.add(projecoes.get(i));
+            }
+        }
+
+        for (ProjecaoPedido projecao : ultimas) {
+            ProjecaoPedido anterior = novosPorId.trocar(projecao.getId(), projecao);
+            if (anterior != null) {
+                somar(novasQuantidades, anterior.getStatus(), -1);
+                if (!anterior.getClienteId().equals(projecao.getClienteId())) {
+                    doCliente(anterior.getClienteId(), novosPorCliente, clientesAlterados).sem(anterior.getId());
+                }
+            }
+            doCliente(projecao.getClienteId(), novosPorCliente, clientesAlterados).com(projecao.getId(), projecao);
+            somar(novasQuantidades, projecao.getStatus(), 1);
+        }
+        for (Map.Entry<String, MapaPersistente.Transiente<String, ProjecaoPedido>> cliente : clientesAlterados.entrySet()) {
+            MapaPersistente<String, ProjecaoPedido> pedidos = cliente.getValue().persistente();
+            if (pedidos.estaVazio()) {
+                novosPorCliente.sem(cliente.getKey());
+            } else {
+                novosPorCliente.com(cliente.getKey(), pedidos);
+            }
+        }
+        return new RetratoPedidos(versao + 1, agoraNanos, novosPorId.persistente(),
+                novosPorCliente.persistente(), novasQuantidades.persistente());
+    }
+
+    /**
+     * Número da versão (0 = nada publicado ainda).
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Instante da publicação, em System.nanoTime(), para medir defasagem.
+     */
+    public long getPublicadoEmNanos() {
+        return publicadoEmNanos;
+    }
+
+    /**
+     * @return A projeção, ou null se o pedido não está neste retrato.
+     */
+    public ProjecaoPedido buscarPorId(String id) {
+        return porId.get(id);
+    }
+
+    public List<ProjecaoPedido> listarPorCliente(String clienteId) {
+        MapaPersistente<String, ProjecaoPedido> doCliente = porCliente.get(clienteId);
+        return doCliente != null ? doCliente.valores() : List.of();
+    }
+
+    public int quantidadePorStatus(String status) {
+        Integer quantidade = quantidadePorStatus.get(status);
+        return quantidade != null ? quantidade : 0;
+    }
+
+    public int quantidade() {
+        return porId.tamanho();
+    }
+
+    /**
+     * Todas as projeções (sem ordem definida).
+     */
+    public List<ProjecaoPedido> listarTodos() {
+        return porId.valores();
+    }
+
+    private static void somar(MapaPersistente.Transiente<String, Integer> quantidades, String status, int delta) {
+        if (status == null) {
+            return;
+        }
+        Integer atual = quantidades.get(status);
+        int nova = (atual != null ? atual : 0) + delta;
+        if (nova == 0) {
+            quantidades.sem(status);
+        } else {
+            quantidades.com(status, nova);
+        }
+    }
+
+    // Mapa editável dos pedidos do cliente, criado na primeira vez que o cliente aparece no lote
+    private static MapaPersistente.Transiente<String, ProjecaoPedido> doCliente(
+            String clienteId,
+            MapaPersistente.Transiente<String, MapaPersistente<String, ProjecaoPedido>> porCliente,
+            Map<String, MapaPersistente.Transiente<String, ProjecaoPedido>> alterados) {
+        return alterados.computeIfAbsent(clienteId, id -> {
+            MapaPersistente<String, ProjecaoPedido> atual = porCliente.get(id);
+            return (atual != null ? atual : MapaPersistente.<String, ProjecaoPedido>vazio()).transiente();
+        });
+    }
+}
@@ -12,6 +12,7 @@ public class ItemPedido {
     private Produto produto;
     private int quantidade;
     private double precoUnitario; // Preço do produto no momento da inclusão no pedido
+    private Pedido pedido; // Pedido ao qual o item pertence (null enquanto avulso)
 
     public ItemPedido(Produto produto, int quantidade, double precoUnitario) {
         if (produto == null) {
@@ -45,11 +46,20 @@ public class ItemPedido {
     }
 
     // Métodos para alterar quantidade, se necessário (ex: no carrinho antes de fechar pedido)
+    // Se o item já está em um pedido, o total do pedido é ajustado pela diferença
     public void setQuantidade(int quantidade) {
         if (quantidade <= 0) {
             throw new IllegalArgumentException("Quantidade deve ser positiva.");
         }
+        int anterior = this.quantidade;
         this.quantidade = quantidade;
+        if (pedido != null) {
+            pedido.ajustarTotal((quantidade - anterior) * precoUnitario);
+        }
+    }
+
+    void setPedido(Pedido pedido) { // usado pelo Pedido ao receber o item
+        this.pedido = pedido;
     }
 
     @Override
@@ -0,0 +1,43 @@
+package com.example.sistemapedidos.model;
+
+/**
+ * Interface OuvintePedido.
+ * Recebe notificações do ciclo de vida de um pedido: criação (ao final do
+ * PedidoBuilder.construir()) e mudança de status (Pedido.setStatus).
+ *
+ * As notificações acontecem na thread de quem construiu/alterou o pedido,
+ * então implementações devem ser rápidas (por exemplo, apenas publicar em um barramento).
+ */
+public interface OuvintePedido {
+
+    default void pedidoCriado(Pedido pedido) {
+    }
+
+    default void statusAlterado(Pedido pedido, String statusAnterior, String statusNovo) {
+    }
+
+    /**
+     * Combina dois ouvintes em um só, que notifica os dois na ordem.
+     */
+    static OuvintePedido combinar(OuvintePedido primeiro, OuvintePedido segundo) {
+        if (primeiro == null) {
+            return segundo;
+        }
+        if (segundo == null) {
+            return primeiro;
+        }
+        return new OuvintePedido() {
+            @Override
+            public void pedidoCriado(Pedido pedido) {
+                primeiro.pedidoCriado(pedido);
+                segundo.pedidoCriado(pedido);
+            }
+
+            @Override
+            public void statusAlterado(Pedido pedido, String statusAnterior, String statusNovo) {
+                primeiro.statusAlterado(pedido, statusAnterior, statusNovo);
+                segundo.statusAlterado(pedido, statusAnterior, statusNovo);
+            }
+        };
+    }
+}
@@ -18,13 +18,30 @@ public class Pedido {
     private LocalDateTime data;
     private double total;
     private String status; // Ex: PENDENTE, PAGO, ENVIADO, ENTREGUE, CANCELADO
+    private OuvintePedido ouvinte; // Notificado nas mudanças de status após a construção (pode ser null)
 
-    // Construtor package-private para ser usado principalmente pelo PedidoBuilder
-    Pedido() {
+    // Construtor público para ser usado pelo PedidoBuilder (que fica no pacote builder)
+    public Pedido() {
         this.itens = new ArrayList<>();
         // ID, data e status podem ser inicializados pelo Builder
     }
 
+    // Permite ao Builder reutilizável já criar a lista de itens no tamanho esperado
+    public Pedido(int capacidadeItens) {
+        this.itens = capacidadeItens > 0 ? new ArrayList<>(capacidadeItens) : new ArrayList<>();
+    }
+
+    // Reconstrói um pedido já aceito antes (lido de arquivo, da rede etc.) sem reaplicar as regras
+    // do PedidoBuilder: a configuração atual não deve invalidar pedidos antigos, e o status volta
+    // exatamente como foi gravado. Os itens são incluídos depois com adicionarItem.
+    public Pedido(String id, Cliente cliente, LocalDateTime data, String status, int capacidadeItens) {
+        this(capacidadeItens);
+        this.id = id;
+        this.cliente = cliente;
+        this.data = data;
+        this.status = status;
+    }
+
     // Getters
     public String getId() {
         return id;
@@ -55,15 +72,15 @@ public class Pedido {
     // É importante ter cuidado ao expor setters para atributos que afetam o estado
     // de forma complexa, como a lista de itens ou o total.
 
-    void setId(String id) { // package-private, para ser usado pelo Builder
+    public void setId(String id) { // público para o Builder, que está em outro pacote
         this.id = id;
     }
 
-    void setCliente(Cliente cliente) { // package-private
+    public void setCliente(Cliente cliente) { // usado pelo Builder
         this.cliente = cliente;
     }
 
-    void setData(LocalDateTime data) { // package-private
+    public void setData(LocalDateTime data) { // usado pelo Builder
         this.data = data;
     }
 
@@ -71,20 +88,34 @@ public class Pedido {
         if (status == null || status.trim().isEmpty()) {
             throw new IllegalArgumentException("Status não pode ser vazio.");
         }
+        String statusAnterior = this.status;
         this.status = status;
+        if (ouvinte != null && !status.equals(statusAnterior)) {
+            ouvinte.statusAlterado(this, statusAnterior, status);
+        }
+    }
+
+    public void setOuvinte(OuvintePedido ouvinte) { // usado pelo Builder ao finalizar o pedido
+        this.ouvinte = ouvinte;
     }
 
     // Método para adicionar item, usado pelo Builder
-    void adicionarItem(ItemPedido item) { // package-private
+    public void adicionarItem(ItemPedido item) { // usado pelo Builder
         if (item != null) {
             this.itens.add(item);
-            // O total será recalculado pelo builder ou por um método específico
+            item.setPedido(this); // O item avisa o pedido quando a quantidade mudar
+            this.total += item.getSubtotal();
         }
     }
 
-    // Método para calcular o total do pedido
-    // Pode ser chamado pelo Builder ao construir ou quando itens são modificados
-    void calcularTotal() { // package-private
+    // Chamado pelo ItemPedido quando a quantidade muda: atualiza o total sem percorrer os itens
+    void ajustarTotal(double diferenca) {
+        this.total += diferenca;
+    }
+
+    // Recalcula o total percorrendo todos os itens.
+    // O total já é mantido a cada item adicionado ou alterado; útil só para ressincronizar.
+    public void calcularTotal() {
         this.total = 0;
         for (ItemPedido item : this.itens) {
             this.total += item.getSubtotal();
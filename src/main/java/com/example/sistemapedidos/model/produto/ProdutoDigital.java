@@ -60,7 +60,10 @@ public class ProdutoDigital implements Produto {
 
     @Override
     public int hashCode() {
-        return Objects.hash(nome, preco, urlDownload);
+        // Mesmo valor de Objects.hash(nome, preco, urlDownload), sem criar array nem boxing (usado como chave no PedidoBuilder)
+        int resultado = 31 + Objects.hashCode(nome);
+        resultado = 31 * resultado + Double.hashCode(preco);
+        return 31 * resultado + Objects.hashCode(urlDownload);
     }
 
     @Override
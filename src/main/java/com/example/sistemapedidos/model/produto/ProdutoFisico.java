@@ -64,7 +64,10 @@ public class ProdutoFisico implements Produto {
 
     @Override
     public int hashCode() {
-        return Objects.hash(nome, preco, pesoKg);
+        // Mesmo valor de Objects.hash(nome, preco, pesoKg), sem criar array nem boxing (usado como chave no PedidoBuilder)
+        int resultado = 31 + Objects.hashCode(nome);
+        resultado = 31 * resultado + Double.hashCode(preco);
+        return 31 * resultado + Double.hashCode(pesoKg);
     }
 
     @Override
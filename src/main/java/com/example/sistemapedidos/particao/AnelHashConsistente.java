@@ -0,0 +1,123 @@
+package com.example.sistemapedidos.particao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe AnelHashConsistente.
+ * Distribui chaves (IDs de cliente) entre nós por hash consistente: cada nó ocupa vários
+ * pontos ("nós virtuais") em um anel de 64 bits e a chave pertence ao primeiro ponto
+ * no sentido horário. Ao entrar ou sair um nó, só as chaves vizinhas dos seus pontos mudam
+ * de dono (em média 1/N das chaves).
+ *
+ * As consultas (noPara) leem um retrato imutável do anel, sem lock; adicionar e remover
+ * constroem um novo retrato e o publicam de uma vez.
+ */
+public class AnelHashConsistente {
+    public static final int NOS_VIRTUAIS_PADRAO = 160;
+
+    private final int nosVirtuais;
+    private volatile Retrato retrato = new Retrato(new long[0], new String[0], Collections.emptyList());
+
+    public AnelHashConsistente() {
+        this(NOS_VIRTUAIS_PADRAO);
+    }
+
+    public AnelHashConsistente(int nosVirtuais) {
+        if (nosVirtuais <= 0) {
+            throw new IllegalArgumentException("Quantidade de nós virtuais deve ser positiva.");
+        }
+        this.nosVirtuais = nosVirtuais;
+    }
+
+    public synchronized void adicionar(String no) {
+        if (no == null || no.isEmpty()) {
+            throw new IllegalArgumentException("Nome do nó não pode ser vazio.");
+        }
+        List<String> nos = new ArrayList<>(retrato.nos);
+        if (nos.contains(no)) {
+            throw new IllegalStateException("Nó já está no anel: " + no);
+        }
+        nos.add(no);
+        retrato = construir(nos);
+    }
+
+    public synchronized void remover(String no) {
+        List<String> nos = new ArrayList<>(retrato.nos);
+        if (!nos.remove(no)) {
+            throw new IllegalStateException("Nó não está no anel: " + no);
+        }
+        retrato = construir(nos);
+    }
+
+    /**
+     * Nó dono da chave.
+     * @throws IllegalStateException se o anel estiver vazio.
+     */
+    public String noPara(String chave) {
+        Retrato atual = retrato;
+        if (atual.posicoes.length == 0) {
+            throw new IllegalStateException("Nenhum nó no anel.");
+        }
+        int i = Arrays.binarySearch(atual.posicoes, hash(chave));
+        if (i < 0) {
+            i = -i - 1; // Primeiro ponto depois do hash
+        }
+        return atual.donos[i == atual.posicoes.length ? 0 : i]; // Passou do último ponto: volta ao início do anel
+    }
+
+    public List<String> nos() {
+        return retrato.nos;
+    }
+
+    private Retrato construir(List<String> nos) {
+        long[] posicoes = new long[nos.size() * nosVirtuais];
+        long[][] pares = new long[posicoes.length][];
+        int p = 0;
+        for (int n = 0; n < nos.size(); n++) {
+            for (int v = 0; v < nosVirtuais; v++) {
+                pares[p++] = new long[]{hash(nos.get(n) + "#" + v), n};
+            }
+        }
+        Arrays.sort(pares, (a, b) -> Long.compare(a[0], b[0]));
+        String[] donos = new String[pares.length];
+        for (int i = 0; i < pares.length; i++) {
+            posicoes[i] = pares[i][0];
+            donos[i] = nos.get((int) pares[i][1]);
+        }
+        return new Retrato(posicoes, donos, Collections.unmodifiableList(nos));
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da mistura final do MurmurHash3, para espalhar bem
+     * chaves parecidas (ex: "CLI001", "CLI002") pelo anel.
+     */
+    static long hash(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Retrato {
+        final long[] posicoes; // Ordenadas
+        final String[] donos;  // donos[i] é o nó do ponto posicoes[i]
+        final List<String> nos;
+
+        Retrato(long[] posicoes, String[] donos, List<String> nos) {
+            this.posicoes = posicoes;
+            this.donos = donos;
+            this.nos = nos;
+        }
+    }
+}
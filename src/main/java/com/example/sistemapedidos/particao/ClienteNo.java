@@ -0,0 +1,220 @@
+package com.example.sistemapedidos.particao;
+
+import com.example.sistemapedidos.codec.PedidoBinarioEscritor;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Classe ClienteNo.
+ * Lado do roteador da comunicação com um NoParticao: um pool fixo de conexões TCP,
+ * cada uma usada por uma requisição de cada vez. As conexões são abertas sob demanda
+ * e descartadas (em vez de devolvidas ao pool) se der erro, pois o dicionário do
+ * codec binário das duas pontas pode ter ficado dessincronizado.
+ */
+class ClienteNo implements Closeable {
+    private final String nome;
+    private final InetSocketAddress endereco;
+    private final BlockingQueue<Conexao> livres;
+    private volatile boolean fechado;
+
+    ClienteNo(String nome, InetSocketAddress endereco, int conexoes) {
+        this.nome = nome;
+        this.endereco = endereco;
+        this.livres = new ArrayBlockingQueue<>(conexoes);
+        for (int i = 0; i < conexoes; i++) {
+            livres.add(new Conexao()); // Ainda não conectada
+        }
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    void salvar(Collection<Pedido> pedidos) throws IOException {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        Conexao conexao = pegar();
+        try {
+            conexao.requisitar(conexao.quadro.iniciar(Quadro.SALVAR).pedidos(pedidos, conexao.escritor));
+            devolver(conexao);
+        } catch (IOException | RuntimeException e) {
+            descartar(conexao);
+            throw e;
+        }
+    }
+
+    Pedido buscar(String id) throws IOException {
+        List<Pedido> encontrados = listar(conexao -> conexao.quadro.iniciar(Quadro.BUSCAR).texto(id));
+        return encontrados.isEmpty() ? null : encontrados.get(0);
+    }
+
+    List<Pedido> listarCliente(String clienteId) throws IOException {
+        return listar(conexao -> conexao.quadro.iniciar(Quadro.LISTAR_CLIENTE).texto(clienteId));
+    }
+
+    List<Pedido> listarPeriodo(LocalDateTime de, LocalDateTime ate) throws IOException {
+        return listar(conexao -> conexao.quadro.iniciar(Quadro.LISTAR_PERIODO).texto(de.toString()).texto(ate.toString()));
+    }
+
+    List<Pedido> extrairClientes(Collection<String> clienteIds) throws IOException {
+        return listar(conexao -> {
+            Quadro quadro = conexao.quadro.iniciar(Quadro.EXTRAIR_CLIENTES).inteiro(clienteIds.size());
+            for (String clienteId : clienteIds) {
+                quadro.texto(clienteId);
+            }
+            return quadro;
+        });
+    }
+
+    long contar() throws IOException {
+        Conexao conexao = pegar();
+        try {
+            long quantidade = conexao.requisitar(conexao.quadro.iniciar(Quadro.CONTAR)).getLong();
+            devolver(conexao);
+            return quantidade;
+        } catch (IOException | RuntimeException e) {
+            descartar(conexao);
+            throw e;
+        }
+    }
+
+    List<String> clientes() throws IOException {
+        Conexao conexao = pegar();
+        try {
+            ByteBuffer resposta = conexao.requisitar(conexao.quadro.iniciar(Quadro.CLIENTES));
+            int quantidade = resposta.getInt();
+            List<String> clientes = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                clientes.add(Quadro.lerTexto(resposta));
+            }
+            devolver(conexao);
+            return clientes;
+        } catch (IOException | RuntimeException e) {
+            descartar(conexao);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        fechado = true;
+        Conexao conexao;
+        while ((conexao = livres.poll()) != null) {
+            conexao.fechar();
+        }
+    }
+
+    private List<Pedido> listar(MontadorRequisicao montador) throws IOException {
+        Conexao conexao = pegar();
+        try {
+            List<Pedido> pedidos = Quadro.lerPedidos(conexao.requisitar(montador.montar(conexao)), conexao.leitor);
+            devolver(conexao);
+            return pedidos;
+        } catch (IOException | RuntimeException e) {
+            descartar(conexao);
+            throw e;
+        }
+    }
+
+    private Conexao pegar() throws IOException {
+        if (fechado) {
+            throw new IOException("Cliente do nó " + nome + " está fechado.");
+        }
+        try {
+            Conexao conexao = livres.take();
+            conexao.conectar();
+            return conexao;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido esperando conexão com o nó " + nome + ".");
+        }
+    }
+
+    private void devolver(Conexao conexao) {
+        if (fechado) {
+            conexao.fechar(); // close() já esvaziou o pool: a conexão não volta para ele
+            return;
+        }
+        livres.add(conexao);
+    }
+
+    private void descartar(Conexao conexao) {
+        conexao.fechar();
+        if (!fechado) {
+            livres.add(new Conexao()); // Reconecta na próxima vez, com dicionários zerados
+        }
+    }
+
+    @FunctionalInterface
+    private interface MontadorRequisicao {
+        Quadro montar(Conexao conexao);
+    }
+
+    private final class Conexao {
+        final Quadro quadro = new Quadro(4096);
+        final PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+        final PedidoBinarioLeitor leitor = new PedidoBinarioLeitor();
+        Socket socket;
+        DataInputStream entrada;
+        DataOutputStream saida;
+
+        void conectar() throws IOException {
+            if (socket != null) {
+                return;
+            }
+            Socket novo = new Socket();
+            try {
+                novo.setTcpNoDelay(true);
+                novo.connect(endereco, 5_000);
+                entrada = new DataInputStream(new BufferedInputStream(novo.getInputStream()));
+                saida = new DataOutputStream(new BufferedOutputStream(novo.getOutputStream()));
+                socket = novo;
+            } catch (IOException e) {
+                novo.close();
+                livres.add(new Conexao()); // Mantém o tamanho do pool
+                throw new IOException("Não foi possível conectar ao nó " + nome + " em " + endereco + ".", e);
+            }
+        }
+
+        /**
+         * Envia o quadro e espera a resposta.
+         * @return A resposta, posicionada logo após o código OK.
+         */
+        ByteBuffer requisitar(Quadro requisicao) throws IOException {
+            requisicao.enviar(saida);
+            ByteBuffer resposta = Quadro.receber(entrada);
+            if (resposta.get() == Quadro.ERRO) {
+                throw new IOException("Nó " + nome + " recusou a requisição: " + Quadro.lerTexto(resposta));
+            }
+            return resposta;
+        }
+
+        void fechar() {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // Já estava fechada
+                }
+            }
+        }
+    }
+}
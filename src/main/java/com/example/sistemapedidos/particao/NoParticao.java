@@ -0,0 +1,243 @@
+package com.example.sistemapedidos.particao;
+
+import com.example.sistemapedidos.codec.PedidoBinarioEscritor;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Classe NoParticao.
+ * Um nó de armazenamento da camada particionada: guarda os pedidos dos clientes que o
+ * anel lhe atribui e atende o RoteadorPedidos por um socket TCP no loopback.
+ * Cada conexão é atendida por uma virtual thread e processa um quadro por vez
+ * (requisição → resposta), com seu próprio par de dicionários do codec binário.
+ *
+ * O nó não conhece o anel: quem decide o que mover no rebalanceamento é o roteador,
+ * usando as operações CLIENTES e EXTRAIR_CLIENTES.
+ *
+ * Pode rodar no mesmo processo (testes) ou como processo separado pelo main(),
+ * que imprime "PORTA n" na saída e encerra quando a entrada padrão é fechada
+ * (o processo pai terminou). Ver ProcessoNoLocal.
+ */
+public class NoParticao implements Closeable {
+    static final String PREFIXO_PORTA = "PORTA ";
+
+    private final RepositorioPedidos repositorio = new RepositorioPedidos();
+    // clienteId -> pedidos do cliente, para listar e extrair sem varrer o repositório
+    private final Map<String, Set<String>> idsPorCliente = new ConcurrentHashMap<>();
+    private final ServerSocket servidor;
+    private final ExecutorService conexoes = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param porta Porta no loopback (0 = escolhida pelo sistema).
+     */
+    public NoParticao(int porta) throws IOException {
+        this.servidor = new ServerSocket();
+        servidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+    }
+
+    public NoParticao iniciar() {
+        Thread aceitador = new Thread(this::aceitar, "no-particao-" + getPorta());
+        aceitador.setDaemon(true);
+        aceitador.start();
+        return this;
+    }
+
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    public InetSocketAddress getEndereco() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), getPorta());
+    }
+
+    public int quantidade() {
+        return repositorio.quantidade();
+    }
+
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        conexoes.shutdownNow();
+    }
+
+    private void aceitar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                socket.setTcpNoDelay(true);
+                conexoes.submit(() -> atender(socket));
+            } catch (IOException e) {
+                // Servidor fechado: encerra o laço
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        PedidoBinarioLeitor leitor = new PedidoBinarioLeitor();
+        PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+        Quadro resposta = new Quadro(4096);
+        try (socket;
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                ByteBuffer requisicao = Quadro.receber(entrada);
+                try {
+                    processar(requisicao, leitor, escritor, resposta);
+                } catch (RuntimeException e) {
+                    // Requisição inválida: responde o erro; o dicionário do leitor pode ter ficado
+                    // inconsistente, então o roteador descarta a conexão ao receber ERRO
+                    resposta.iniciar(Quadro.ERRO).texto(String.valueOf(e.getMessage()));
+                }
+                resposta.enviar(saida);
+            }
+        } catch (EOFException e) {
+            // Roteador fechou a conexão
+        } catch (IOException e) {
+            if (!servidor.isClosed()) { // Ao fechar o nó, as conexões são interrompidas de propósito
+                System.err.println("Conexão com o roteador encerrada: " + e.getMessage());
+            }
+        }
+    }
+
+    private void processar(ByteBuffer requisicao, PedidoBinarioLeitor leitor,
+                           PedidoBinarioEscritor escritor, Quadro resposta) {
+        byte operacao = requisicao.get();
+        switch (operacao) {
+            case Quadro.SALVAR:
+                for (Pedido pedido : Quadro.lerPedidos(requisicao, leitor)) {
+                    salvar(pedido);
+                }
+                resposta.iniciar(Quadro.OK);
+                break;
+            case Quadro.BUSCAR:
+                Pedido encontrado = repositorio.buscarPorId(Quadro.lerTexto(requisicao));
+                resposta.iniciar(Quadro.OK).pedidos(encontrado != null ? List.of(encontrado) : List.of(), escritor);
+                break;
+            case Quadro.LISTAR_CLIENTE:
+                resposta.iniciar(Quadro.OK).pedidos(listarCliente(Quadro.lerTexto(requisicao)), escritor);
+                break;
+            case Quadro.LISTAR_PERIODO:
+                LocalDateTime de = LocalDateTime.parse(Quadro.lerTexto(requisicao));
+                LocalDateTime ate = LocalDateTime.parse(Quadro.lerTexto(requisicao));
+                resposta.iniciar(Quadro.OK).pedidos(listarPeriodo(de, ate), escritor);
+                break;
+            case Quadro.CONTAR:
+                resposta.iniciar(Quadro.OK).longo(repositorio.quantidade());
+                break;
+            case Quadro.CLIENTES:
+                List<String> clientes = new ArrayList<>(idsPorCliente.keySet());
+                resposta.iniciar(Quadro.OK).inteiro(clientes.size());
+                for (String cliente : clientes) {
+                    resposta.texto(cliente);
+                }
+                break;
+            case Quadro.EXTRAIR_CLIENTES:
+                int quantidade = requisicao.getInt();
+                List<Pedido> extraidos = new ArrayList<>();
+                for (int i = 0; i < quantidade; i++) {
+                    extrair(Quadro.lerTexto(requisicao), extraidos);
+                }
+                resposta.iniciar(Quadro.OK).pedidos(extraidos, escritor);
+                break;
+            default:
+                throw new IllegalArgumentException("Operação desconhecida: " + operacao);
+        }
+    }
+
+    private void salvar(Pedido pedido) {
+        Pedido anterior = repositorio.buscarPorId(pedido.getId());
+        if (anterior != null && !anterior.getCliente().getId().equals(pedido.getCliente().getId())) {
+            desindexar(anterior); // Mesmo ID regravado para outro cliente
+        }
+        repositorio.salvar(pedido);
+        idsPorCliente.computeIfAbsent(pedido.getCliente().getId(), c -> ConcurrentHashMap.newKeySet()).add(pedido.getId());
+    }
+
+    private List<Pedido> listarCliente(String clienteId) {
+        Set<String> ids = idsPorCliente.get(clienteId);
+        List<Pedido> pedidos = new ArrayList<>();
+        if (ids != null) {
+            coletar(ids, pedidos);
+        }
+        return pedidos;
+    }
+
+    private List<Pedido> listarPeriodo(LocalDateTime de, LocalDateTime ate) {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (Pedido pedido : repositorio.listarTodos()) {
+            LocalDateTime data = pedido.getData();
+            if (data != null && !data.isBefore(de) && data.isBefore(ate)) {
+                pedidos.add(pedido);
+            }
+        }
+        return pedidos;
+    }
+
+    private void extrair(String clienteId, List<Pedido> destino) {
+        Set<String> ids = idsPorCliente.remove(clienteId);
+        if (ids == null) {
+            return;
+        }
+        for (String id : ids) {
+            Pedido pedido = repositorio.remover(id);
+            if (pedido != null) {
+                destino.add(pedido);
+            }
+        }
+    }
+
+    private void coletar(Collection<String> ids, List<Pedido> destino) {
+        for (String id : ids) {
+            Pedido pedido = repositorio.buscarPorId(id);
+            if (pedido != null) {
+                destino.add(pedido);
+            }
+        }
+    }
+
+    private void desindexar(Pedido pedido) {
+        Set<String> ids = idsPorCliente.get(pedido.getCliente().getId());
+        if (ids != null) {
+            ids.remove(pedido.getId());
+        }
+    }
+
+    /**
+     * Executa o nó como processo separado.
+     * Uso: NoParticao [porta]
+     */
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        NoParticao no = new NoParticao(porta).iniciar();
+        System.out.println(PREFIXO_PORTA + no.getPorta());
+        System.out.flush();
+        // Fica vivo até o processo pai fechar a entrada padrão (ou morrer)
+        while (System.in.read() != -1) {
+            // Ignora o que chegar
+        }
+        no.close();
+    }
+}
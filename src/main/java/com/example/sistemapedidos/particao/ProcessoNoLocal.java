@@ -0,0 +1,85 @@
+package com.example.sistemapedidos.particao;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe ProcessoNoLocal.
+ * Sobe um NoParticao em outro processo Java na mesma máquina (mesmo java e mesmo classpath
+ * do processo atual) e espera ele informar a porta escolhida no loopback.
+ * Fechar este objeto fecha a entrada padrão do filho, que então encerra sozinho;
+ * se não encerrar em alguns segundos, o processo é destruído.
+ */
+public class ProcessoNoLocal implements Closeable {
+    private final String nome;
+    private final Process processo;
+    private final InetSocketAddress endereco;
+
+    private ProcessoNoLocal(String nome, Process processo, int porta) {
+        this.nome = nome;
+        this.processo = processo;
+        this.endereco = new InetSocketAddress(InetAddress.getLoopbackAddress(), porta);
+    }
+
+    /**
+     * @param nome Nome do nó (usado no anel e nas mensagens).
+     * @param opcoesJvm Opções extras da JVM do filho (ex: "-Xmx512m").
+     */
+    public static ProcessoNoLocal iniciar(String nome, String... opcoesJvm) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        comando.addAll(List.of(opcoesJvm));
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(NoParticao.class.getName());
+        Process processo = new ProcessBuilder(comando)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8));
+        String linha;
+        while ((linha = saida.readLine()) != null) {
+            if (linha.startsWith(NoParticao.PREFIXO_PORTA)) {
+                return new ProcessoNoLocal(nome, processo, Integer.parseInt(linha.substring(NoParticao.PREFIXO_PORTA.length()).trim()));
+            }
+        }
+        processo.destroyForcibly();
+        throw new IOException("Nó " + nome + " encerrou antes de informar a porta.");
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public InetSocketAddress getEndereco() {
+        return endereco;
+    }
+
+    public long getPid() {
+        return processo.pid();
+    }
+
+    @Override
+    public void close() {
+        try {
+            processo.getOutputStream().close();
+            if (!processo.waitFor(5, TimeUnit.SECONDS)) {
+                processo.destroyForcibly();
+            }
+        } catch (IOException e) {
+            processo.destroyForcibly();
+        } catch (InterruptedException e) {
+            processo.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.sistemapedidos.particao;
+
+import com.example.sistemapedidos.codec.PedidoBinarioEscritor;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Classe Quadro.
+ * Mensagem do protocolo entre o roteador e os nós: [tamanho (int)][operação (byte)][conteúdo].
+ * O conteúdo é montado em um buffer que cresce conforme necessário; pedidos usam o
+ * codec binário, cujo dicionário de produtos vive enquanto durar a conexão.
+ */
+final class Quadro {
+    // Operações
+    static final byte SALVAR = 1;
+    static final byte BUSCAR = 2;
+    static final byte LISTAR_CLIENTE = 3;
+    static final byte LISTAR_PERIODO = 4;
+    static final byte CONTAR = 5;
+    static final byte CLIENTES = 6;
+    static final byte EXTRAIR_CLIENTES = 7;
+    // Respostas
+    static final byte OK = 0;
+    static final byte ERRO = -1;
+
+    private ByteBuffer buffer;
+
+    Quadro(int capacidadeInicial) {
+        this.buffer = ByteBuffer.allocate(capacidadeInicial);
+    }
+
+    Quadro iniciar(byte operacao) {
+        buffer.clear();
+        buffer.putInt(0); // Tamanho, preenchido no envio
+        buffer.put(operacao);
+        return this;
+    }
+
+    Quadro inteiro(int valor) {
+        garantir(Integer.BYTES);
+        buffer.putInt(valor);
+        return this;
+    }
+
+    Quadro longo(long valor) {
+        garantir(Long.BYTES);
+        buffer.putLong(valor);
+        return this;
+    }
+
+    Quadro texto(String valor) {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        garantir(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    Quadro pedido(Pedido pedido, PedidoBinarioEscritor escritor) {
+        while (true) {
+            try {
+                escritor.escrever(pedido, buffer);
+                return this;
+            } catch (BufferOverflowException e) {
+                crescer(buffer.capacity()); // O escritor desfez a escrita parcial; tenta de novo com mais espaço
+            }
+        }
+    }
+
+    Quadro pedidos(Collection<Pedido> pedidos, PedidoBinarioEscritor escritor) {
+        inteiro(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            pedido(pedido, escritor);
+        }
+        return this;
+    }
+
+    void enviar(DataOutputStream saida) throws IOException {
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        saida.write(buffer.array(), 0, buffer.position());
+        saida.flush();
+    }
+
+    /**
+     * Lê o próximo quadro da conexão.
+     * @return O conteúdo, posicionado na operação (primeiro byte).
+     */
+    static ByteBuffer receber(DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho <= 0) {
+            throw new IOException("Quadro inválido: tamanho " + tamanho + ".");
+        }
+        byte[] conteudo = new byte[tamanho];
+        entrada.readFully(conteudo);
+        return ByteBuffer.wrap(conteudo);
+    }
+
+    static String lerTexto(ByteBuffer conteudo) {
+        int tamanho = conteudo.getInt();
+        String texto = new String(conteudo.array(), conteudo.arrayOffset() + conteudo.position(), tamanho, StandardCharsets.UTF_8);
+        conteudo.position(conteudo.position() + tamanho);
+        return texto;
+    }
+
+    static List<Pedido> lerPedidos(ByteBuffer conteudo, PedidoBinarioLeitor leitor) {
+        int quantidade = conteudo.getInt();
+        if (quantidade < 0 || quantidade > conteudo.remaining()) {
+            throw new IllegalArgumentException("Quantidade de pedidos inválida no quadro: " + quantidade + ".");
+        }
+        List<Pedido> pedidos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            pedidos.add(leitor.ler(conteudo));
+        }
+        return pedidos;
+    }
+
+    private void garantir(int bytes) {
+        if (buffer.remaining() < bytes) {
+            crescer(bytes);
+        }
+    }
+
+    private void crescer(int minimoExtra) {
+        ByteBuffer maior = ByteBuffer.allocate(buffer.capacity() + Math.max(buffer.capacity(), minimoExtra));
+        buffer.flip();
+        maior.put(buffer);
+        buffer = maior;
+    }
+}
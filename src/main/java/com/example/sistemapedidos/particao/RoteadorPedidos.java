@@ -0,0 +1,352 @@
+package com.example.sistemapedidos.particao;
+
+import com.example.sistemapedidos.model.Pedido;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classe RoteadorPedidos.
+ * Ponto de entrada da camada particionada: envia cada pedido ao NoParticao dono do
+ * cliente (hash consistente de Cliente.getId() em um AnelHashConsistente), de modo que
+ * todos os pedidos de um cliente ficam no mesmo nó.
+ *
+ * - Consultas por cliente vão direto a um nó; consultas sem cliente (por ID, por
+ *   período, contagem) são enviadas a todos os nós em paralelo e os resultados
+ *   são combinados (scatter-gather).
+ * - adicionarNo/removerNo rebalanceiam: só os clientes cujo dono mudou no anel são
+ *   extraídos do nó antigo e regravados no novo.
+ *
+ * Operações normais seguram o lock de leitura; mudanças de membros seguram o de escrita,
+ * então nenhum pedido é gravado no dono antigo durante uma migração. Supõe um único
+ * roteador por conjunto de nós.
+ */
+public class RoteadorPedidos implements Closeable {
+    public static final int CONEXOES_POR_NO_PADRAO = 4;
+
+    private final AnelHashConsistente anel;
+    private final int conexoesPorNo;
+    private final Map<String, ClienteNo> nos = new ConcurrentHashMap<>();
+    private final ReadWriteLock membros = new ReentrantReadWriteLock();
+    private final ExecutorService dispersao = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RoteadorPedidos() {
+        this(new AnelHashConsistente(), CONEXOES_POR_NO_PADRAO);
+    }
+
+    public RoteadorPedidos(AnelHashConsistente anel, int conexoesPorNo) {
+        if (!anel.nos().isEmpty()) {
+            throw new IllegalArgumentException("O anel do roteador deve começar vazio.");
+        }
+        if (conexoesPorNo <= 0) {
+            throw new IllegalArgumentException("Conexões por nó deve ser positivo.");
+        }
+        this.anel = anel;
+        this.conexoesPorNo = conexoesPorNo;
+    }
+
+    /**
+     * Inclui um nó no anel e migra para ele os clientes que passaram a ser seus.
+     * Se a migração falhar no meio, os clientes já migrados voltam aos donos anteriores
+     * e o nó sai do anel.
+     * @return Quantidade de pedidos migrados.
+     */
+    public long adicionarNo(String nome, InetSocketAddress endereco) throws IOException {
+        membros.writeLock().lock();
+        try {
+            if (nos.containsKey(nome)) {
+                throw new IllegalStateException("Nó já cadastrado: " + nome);
+            }
+            ClienteNo novo = new ClienteNo(nome, endereco, conexoesPorNo);
+            try {
+                novo.contar(); // Falha cedo se o nó não responde
+            } catch (IOException e) {
+                novo.close();
+                throw e;
+            }
+            List<ClienteNo> existentes = new ArrayList<>(nos.values());
+            existentes.sort(Comparator.comparing(ClienteNo::getNome)); // Ordem fixa, como em removerNo
+            anel.adicionar(nome);
+            nos.put(nome, novo);
+
+            long migrados = 0;
+            Map<ClienteNo, List<String>> migradosPorOrigem = new LinkedHashMap<>();
+            try {
+                for (ClienteNo antigo : existentes) {
+                    List<String> mudaram = new ArrayList<>();
+                    for (String clienteId : antigo.clientes()) {
+                        if (nome.equals(anel.noPara(clienteId))) {
+                            mudaram.add(clienteId);
+                        }
+                    }
+                    migrados += migrar(antigo, mudaram, novo); // Se falhar, o lote já voltou à origem
+                    migradosPorOrigem.put(antigo, mudaram);
+                }
+            } catch (IOException e) {
+                // Devolve aos donos anteriores o que já tinha chegado ao novo nó e o tira do anel
+                for (Map.Entry<ClienteNo, List<String>> migrado : migradosPorOrigem.entrySet()) {
+                    try {
+                        migrado.getKey().salvar(novo.extrairClientes(migrado.getValue()));
+                    } catch (IOException | RuntimeException falha) {
+                        e.addSuppressed(falha);
+                    }
+                }
+                anel.remover(nome);
+                nos.remove(nome);
+                novo.close();
+                throw e;
+            }
+            return migrados;
+        } finally {
+            membros.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira um nó do anel, redistribuindo seus pedidos entre os nós restantes.
+     * O processo do nó não é encerrado.
+     * @return Quantidade de pedidos migrados.
+     */
+    public long removerNo(String nome) throws IOException {
+        membros.writeLock().lock();
+        try {
+            ClienteNo saindo = nos.get(nome);
+            if (saindo == null) {
+                throw new IllegalStateException("Nó não cadastrado: " + nome);
+            }
+            if (nos.size() == 1) {
+                throw new IllegalStateException("Não é possível remover o último nó.");
+            }
+            List<Pedido> pedidos = saindo.extrairClientes(saindo.clientes());
+            anel.remover(nome);
+            nos.remove(nome);
+            Map<ClienteNo, List<Pedido>> destinos = agruparPorNo(pedidos);
+            List<ClienteNo> ordem = new ArrayList<>(destinos.keySet());
+            ordem.sort(Comparator.comparing(ClienteNo::getNome)); // Ordem fixa: a mesma falha deixa os mesmos lotes gravados
+            List<ClienteNo> enviados = new ArrayList<>();
+            try {
+                for (ClienteNo destino : ordem) {
+                    enviados.add(destino); // Antes de salvar: a falha pode vir depois da gravação
+                    destino.salvar(destinos.get(destino));
+                }
+            } catch (IOException e) {
+                // Devolve tudo ao nó que estava saindo, que volta para o anel, tirando antes
+                // os clientes dos destinos que já tinham gravado, para não ficarem em dois nós
+                for (ClienteNo destino : enviados) {
+                    desfazerEnvio(destino, destinos.get(destino), e);
+                }
+                anel.adicionar(nome);
+                nos.put(nome, saindo);
+                saindo.salvar(pedidos);
+                throw e;
+            }
+            saindo.close();
+            return pedidos.size();
+        } finally {
+            membros.writeLock().unlock();
+        }
+    }
+
+    public void salvar(Pedido pedido) throws IOException {
+        membros.readLock().lock();
+        try {
+            noPara(pedido.getCliente().getId()).salvar(List.of(pedido));
+        } finally {
+            membros.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava um lote, com uma requisição por nó (em paralelo).
+     */
+    public void salvarTodos(Collection<Pedido> pedidos) throws IOException {
+        membros.readLock().lock();
+        try {
+            List<Future<Void>> envios = new ArrayList<>();
+            for (Map.Entry<ClienteNo, List<Pedido>> lote : agruparPorNo(pedidos).entrySet()) {
+                envios.add(dispersao.submit(() -> {
+                    lote.getKey().salvar(lote.getValue());
+                    return null;
+                }));
+            }
+            for (Future<Void> envio : envios) {
+                esperar(envio);
+            }
+        } finally {
+            membros.readLock().unlock();
+        }
+    }
+
+    public List<Pedido> listarPorCliente(String clienteId) throws IOException {
+        membros.readLock().lock();
+        try {
+            return noPara(clienteId).listarCliente(clienteId);
+        } finally {
+            membros.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por ID em todos os nós (o ID não diz qual é o cliente).
+     * @return O pedido, ou null se nenhum nó o tiver.
+     */
+    public Pedido buscarPorId(String id) throws IOException {
+        List<Pedido> encontrados = dispersar(no -> {
+            Pedido encontrado = no.buscar(id);
+            return encontrado != null ? List.of(encontrado) : List.of();
+        });
+        return encontrados.isEmpty() ? null : encontrados.get(0);
+    }
+
+    /**
+     * Pedidos com data em [de, ate) de todos os nós, ordenados por data.
+     */
+    public List<Pedido> buscarPorPeriodo(LocalDateTime de, LocalDateTime ate) throws IOException {
+        if (de == null || ate == null || de.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido.");
+        }
+        List<Pedido> pedidos = dispersar(no -> no.listarPeriodo(de, ate));
+        pedidos.sort(Comparator.comparing(Pedido::getData).thenComparing(Pedido::getId));
+        return pedidos;
+    }
+
+    public long contar() throws IOException {
+        long total = 0;
+        for (long quantidade : distribuicao().values()) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    /**
+     * Quantidade de pedidos em cada nó.
+     */
+    public Map<String, Long> distribuicao() throws IOException {
+        membros.readLock().lock();
+        try {
+            Map<String, Future<Long>> contagens = new LinkedHashMap<>();
+            for (ClienteNo no : nos.values()) {
+                contagens.put(no.getNome(), dispersao.submit(no::contar));
+            }
+            Map<String, Long> distribuicao = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<Long>> contagem : contagens.entrySet()) {
+                distribuicao.put(contagem.getKey(), esperar(contagem.getValue()));
+            }
+            return distribuicao;
+        } finally {
+            membros.readLock().unlock();
+        }
+    }
+
+    public List<String> nos() {
+        return anel.nos();
+    }
+
+    @Override
+    public void close() {
+        dispersao.shutdownNow();
+        for (ClienteNo no : nos.values()) {
+            no.close();
+        }
+        nos.clear();
+    }
+
+    private long migrar(ClienteNo origem, List<String> clienteIds, ClienteNo destino) throws IOException {
+        if (clienteIds.isEmpty()) {
+            return 0;
+        }
+        List<Pedido> pedidos = origem.extrairClientes(clienteIds);
+        try {
+            destino.salvar(pedidos);
+        } catch (IOException e) {
+            desfazerEnvio(destino, pedidos, e);
+            origem.salvar(pedidos); // Não perde os pedidos extraídos
+            throw e;
+        }
+        return pedidos.size();
+    }
+
+    /**
+     * Tira do nó os clientes de um lote enviado a ele (ele pode ter gravado antes de a resposta
+     * falhar). Como o destino não tinha pedidos desses clientes, só sai o que foi enviado.
+     * Se nem isso funcionar, a falha fica suprimida em erro: o lote pode ter ficado em dois nós.
+     */
+    private static void desfazerEnvio(ClienteNo destino, List<Pedido> pedidos, IOException erro) {
+        Set<String> clienteIds = new LinkedHashSet<>();
+        for (Pedido pedido : pedidos) {
+            clienteIds.add(pedido.getCliente().getId());
+        }
+        try {
+            destino.extrairClientes(clienteIds);
+        } catch (IOException | RuntimeException e) {
+            erro.addSuppressed(e);
+        }
+    }
+
+    private ClienteNo noPara(String clienteId) {
+        return nos.get(anel.noPara(clienteId));
+    }
+
+    private Map<ClienteNo, List<Pedido>> agruparPorNo(Collection<Pedido> pedidos) {
+        Map<ClienteNo, List<Pedido>> lotes = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            lotes.computeIfAbsent(noPara(pedido.getCliente().getId()), n -> new ArrayList<>()).add(pedido);
+        }
+        return lotes;
+    }
+
+    private List<Pedido> dispersar(ConsultaNo consulta) throws IOException {
+        membros.readLock().lock();
+        try {
+            List<Future<List<Pedido>>> respostas = new ArrayList<>();
+            for (ClienteNo no : nos.values()) {
+                respostas.add(dispersao.submit(() -> consulta.consultar(no)));
+            }
+            List<Pedido> pedidos = new ArrayList<>();
+            for (Future<List<Pedido>> resposta : respostas) {
+                pedidos.addAll(esperar(resposta));
+            }
+            return pedidos;
+        } finally {
+            membros.readLock().unlock();
+        }
+    }
+
+    private static <T> T esperar(Future<T> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido esperando resposta dos nós.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Falha consultando nó: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConsultaNo {
+        List<Pedido> consultar(ClienteNo no) throws IOException;
+    }
+}
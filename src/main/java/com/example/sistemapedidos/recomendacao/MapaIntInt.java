@@ -0,0 +1,112 @@
+package com.example.sistemapedidos.recomendacao;
+
+import java.util.Arrays;
+
+/**
+ * Classe MapaIntInt.
+ * Mapa de int para int com endereçamento aberto (sondagem linear) em dois arrays paralelos,
+ * sem boxing nem objeto por entrada: cada entrada custa 8 bytes divididos pela ocupação
+ * (máximo de 75%). As chaves são IDs de produto internados, sempre >= 0; -1 marca posição vazia.
+ * Não há remoção: contagens de coocorrência só crescem.
+ *
+ * Não é thread-safe: o MotorCoocorrencia protege cada mapa com o lock da sua linha.
+ */
+class MapaIntInt {
+    private static final int VAZIO = -1;
+
+    private int[] chaves;
+    private int[] valores;
+    private int tamanho;
+    private int limite;
+
+    MapaIntInt() {
+        this(4);
+    }
+
+    /**
+     * @param capacidadeInicial Potência de 2.
+     */
+    MapaIntInt(int capacidadeInicial) {
+        alocar(capacidadeInicial);
+    }
+
+    /**
+     * @return O valor da chave, ou 0 se ausente.
+     */
+    int get(int chave) {
+        int mascara = chaves.length - 1;
+        int posicao = espalhar(chave) & mascara;
+        int atual;
+        while ((atual = chaves[posicao]) != VAZIO) {
+            if (atual == chave) {
+                return valores[posicao];
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return 0;
+    }
+
+    /**
+     * Soma 1 ao valor da chave (ausente conta como 0).
+     * @return O novo valor.
+     */
+    int incrementar(int chave) {
+        int mascara = chaves.length - 1;
+        int posicao = espalhar(chave) & mascara;
+        int atual;
+        while ((atual = chaves[posicao]) != VAZIO) {
+            if (atual == chave) {
+                return ++valores[posicao];
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        chaves[posicao] = chave;
+        valores[posicao] = 1;
+        if (++tamanho > limite) {
+            crescer();
+        }
+        return 1;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Bytes ocupados pelos dois arrays (sem cabeçalhos de objeto).
+     */
+    long bytesArrays() {
+        return 8L * chaves.length;
+    }
+
+    private void crescer() {
+        int[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        alocar(chavesAntigas.length * 2);
+        int mascara = chaves.length - 1;
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            int chave = chavesAntigas[i];
+            if (chave != VAZIO) {
+                int posicao = espalhar(chave) & mascara;
+                while (chaves[posicao] != VAZIO) {
+                    posicao = (posicao + 1) & mascara;
+                }
+                chaves[posicao] = chave;
+                valores[posicao] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        Arrays.fill(chaves, VAZIO);
+        valores = new int[capacidade];
+        limite = capacidade - capacidade / 4;
+    }
+
+    /** IDs internados são sequenciais: a multiplicação espalha os bits antes da máscara. */
+    private static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
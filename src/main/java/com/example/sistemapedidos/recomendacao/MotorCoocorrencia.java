@@ -0,0 +1,332 @@
+package com.example.sistemapedidos.recomendacao;
+
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.OuvintePedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe MotorCoocorrencia.
+ * "Comprados juntos com frequência": conta, para cada par de produtos, em quantos pedidos
+ * eles apareceram juntos, e mantém para cada produto os K parceiros mais frequentes.
+ * Como ouvinte de pedidos (PedidoBuilder.comOuvinte), conta cada pedido uma vez, quando ele
+ * vira compra: criado já PAGO/ENVIADO/ENTREGUE, ou mudando para um desses status.
+ *
+ * Estrutura:
+ * - cada Produto é internado uma vez num ID int sequencial (o único mapa com boxing, um por produto);
+ * - cada produto tem uma linha com um MapaIntInt (ID do parceiro -> pedidos juntos). O par
+ *   (a, b) é guardado uma só vez, na linha do menor ID, então cada par custa ~8 a 16 bytes;
+ * - cada linha tem um min-heap com os K parceiros de maior contagem (em arrays int). Como
+ *   as contagens só sobem de 1 em 1, um parceiro fora do heap nunca passa do mínimo por mais
+ *   de 1, e basta comparar com a raiz: a atualização é O(K) e a consulta só ordena K itens.
+ *
+ * Thread-safe: cada linha tem seu próprio lock. Um par trava a linha do menor ID e, dentro
+ * dela, a do maior (sempre nessa ordem, então não há deadlock).
+ */
+public class MotorCoocorrencia implements OuvintePedido {
+    public static final int TOP_PADRAO = 10;
+
+    private static final Set<String> STATUS_COMPRA = Set.of("PAGO", "ENVIADO", "ENTREGUE");
+
+    private final int top;
+    private final ConcurrentHashMap<Produto, Integer> ids = new ConcurrentHashMap<>();
+    private final LongAdder pedidos = new LongAdder();
+    private volatile Linha[] linhas = new Linha[1024];
+    private int proximoId; // Protegido pelo lock de "ids"
+
+    public MotorCoocorrencia() {
+        this(TOP_PADRAO);
+    }
+
+    /**
+     * @param top Quantos parceiros manter por produto (K).
+     */
+    public MotorCoocorrencia(int top) {
+        if (top <= 0) {
+            throw new IllegalArgumentException("Quantidade de recomendações por produto deve ser positiva.");
+        }
+        this.top = top;
+    }
+
+    @Override
+    public void pedidoCriado(Pedido pedido) {
+        if (ehCompra(pedido.getStatus())) {
+            registrar(pedido);
+        }
+    }
+
+    @Override
+    public void statusAlterado(Pedido pedido, String statusAnterior, String statusNovo) {
+        if (!ehCompra(statusAnterior) && ehCompra(statusNovo)) {
+            registrar(pedido);
+        }
+    }
+
+    /**
+     * Conta o pedido, independentemente do status. Produtos repetidos no pedido contam uma vez.
+     */
+    public void registrar(Pedido pedido) {
+        List<ItemPedido> itens = pedido.getItens();
+        if (itens.isEmpty()) {
+            return;
+        }
+        int[] doPedido = new int[itens.size()];
+        for (int i = 0; i < doPedido.length; i++) {
+            doPedido[i] = internar(itens.get(i).getProduto());
+        }
+        Arrays.sort(doPedido); // Ordem crescente: define a ordem de travamento dos pares
+        int distintos = 0;
+        for (int i = 0; i < doPedido.length; i++) {
+            if (i == 0 || doPedido[i] != doPedido[i - 1]) {
+                doPedido[distintos++] = doPedido[i];
+            }
+        }
+
+        Linha[] atual = linhas; // Já contém todas as linhas internadas acima
+        for (int i = 0; i < distintos; i++) {
+            Linha linha = atual[doPedido[i]];
+            synchronized (linha) {
+                linha.pedidos++;
+            }
+        }
+        for (int i = 0; i < distintos; i++) {
+            Linha menor = atual[doPedido[i]];
+            for (int j = i + 1; j < distintos; j++) {
+                Linha maior = atual[doPedido[j]];
+                synchronized (menor) {
+                    int juntos = menor.parceiros.incrementar(doPedido[j]);
+                    menor.atualizarTopo(doPedido[j], juntos);
+                    synchronized (maior) {
+                        maior.atualizarTopo(doPedido[i], juntos);
+                    }
+                }
+            }
+        }
+        pedidos.increment();
+    }
+
+    /**
+     * Os produtos mais comprados junto com o produto informado, do mais para o menos frequente.
+     * @param k Quantos retornar (no máximo o K do motor).
+     * @return Lista vazia se o produto nunca foi comprado.
+     */
+    public List<Recomendacao> maisCompradosJunto(Produto produto, int k) {
+        if (k <= 0 || k > top) {
+            throw new IllegalArgumentException("Quantidade deve estar entre 1 e " + top + ".");
+        }
+        Integer id = ids.get(produto);
+        if (id == null) {
+            return List.of();
+        }
+        Linha linha = linhas[id];
+        long[] ordenados; // contagem nos 32 bits altos, ID invertido nos baixos: ordena por contagem desc, ID asc
+        synchronized (linha) {
+            ordenados = new long[linha.topoTamanho];
+            for (int i = 0; i < linha.topoTamanho; i++) {
+                ordenados[i] = -(((long) linha.topoContagens[i] << 32) | (Integer.MAX_VALUE - linha.topoIds[i]));
+            }
+        }
+        // Lido depois da cópia: os parceiros do topo podem ter sido internados depois de "linha"
+        Linha[] atual = linhas;
+        Arrays.sort(ordenados);
+        List<Recomendacao> recomendacoes = new ArrayList<>(Math.min(k, ordenados.length));
+        for (int i = 0; i < ordenados.length && i < k; i++) {
+            long valor = -ordenados[i];
+            int parceiro = Integer.MAX_VALUE - (int) valor;
+            recomendacoes.add(new Recomendacao(atual[parceiro].produto, (int) (valor >>> 32)));
+        }
+        return recomendacoes;
+    }
+
+    public List<Recomendacao> maisCompradosJunto(Produto produto) {
+        return maisCompradosJunto(produto, top);
+    }
+
+    /**
+     * Em quantos pedidos contados os dois produtos apareceram juntos.
+     */
+    public int pedidosJuntos(Produto a, Produto b) {
+        Integer idA = ids.get(a);
+        Integer idB = ids.get(b);
+        if (idA == null || idB == null) {
+            return 0;
+        }
+        if (idA.intValue() == idB.intValue()) {
+            return pedidosCom(a);
+        }
+        Linha menor = linhas[Math.min(idA, idB)];
+        synchronized (menor) {
+            return menor.parceiros.get(Math.max(idA, idB));
+        }
+    }
+
+    /**
+     * Em quantos pedidos contados o produto apareceu.
+     */
+    public int pedidosCom(Produto produto) {
+        Integer id = ids.get(produto);
+        if (id == null) {
+            return 0;
+        }
+        Linha linha = linhas[id];
+        synchronized (linha) {
+            return linha.pedidos;
+        }
+    }
+
+    public long quantidadePedidos() {
+        return pedidos.sum();
+    }
+
+    public int quantidadeProdutos() {
+        return ids.size();
+    }
+
+    /**
+     * Pares distintos de produtos já vistos juntos.
+     */
+    public long quantidadePares() {
+        long pares = 0;
+        for (Linha linha : linhasInternadas()) {
+            synchronized (linha) {
+                pares += linha.parceiros.tamanho();
+            }
+        }
+        return pares;
+    }
+
+    /**
+     * Bytes dos arrays de contagens e de heaps (sem cabeçalhos de objeto nem o mapa de IDs).
+     */
+    public long bytesEstimados() {
+        long bytes = 0;
+        for (Linha linha : linhasInternadas()) {
+            synchronized (linha) {
+                bytes += linha.parceiros.bytesArrays() + 8L * top;
+            }
+        }
+        return bytes;
+    }
+
+    private List<Linha> linhasInternadas() {
+        int quantidade;
+        synchronized (ids) {
+            quantidade = proximoId;
+        }
+        return Arrays.asList(linhas).subList(0, quantidade);
+    }
+
+    private int internar(Produto produto) {
+        Integer id = ids.get(produto);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            id = ids.get(produto);
+            if (id != null) {
+                return id;
+            }
+            int novo = proximoId++;
+            Linha[] atual = linhas;
+            if (novo == atual.length) {
+                atual = Arrays.copyOf(atual, atual.length * 2);
+            }
+            atual[novo] = new Linha(produto, top);
+            linhas = atual; // Publica a linha antes do ID
+            ids.put(produto, novo);
+            return novo;
+        }
+    }
+
+    private static boolean ehCompra(String status) {
+        return status != null && STATUS_COMPRA.contains(status);
+    }
+
+    /**
+     * Linha da matriz de um produto: parceiros de ID maior e o heap dos K maiores parceiros.
+     */
+    private static final class Linha {
+        final Produto produto;
+        final MapaIntInt parceiros = new MapaIntInt();
+        final int[] topoIds;
+        final int[] topoContagens;
+        int topoTamanho;
+        int pedidos;
+
+        Linha(Produto produto, int top) {
+            this.produto = produto;
+            this.topoIds = new int[top];
+            this.topoContagens = new int[top];
+        }
+
+        /**
+         * Informa a nova contagem de um parceiro. Contagens menores que a já conhecida são ignoradas.
+         */
+        void atualizarTopo(int parceiro, int contagem) {
+            for (int i = 0; i < topoTamanho; i++) {
+                if (topoIds[i] == parceiro) {
+                    if (contagem > topoContagens[i]) {
+                        topoContagens[i] = contagem;
+                        descer(i);
+                    }
+                    return;
+                }
+            }
+            if (topoTamanho < topoIds.length) {
+                topoIds[topoTamanho] = parceiro;
+                topoContagens[topoTamanho] = contagem;
+                subir(topoTamanho++);
+            } else if (contagem > topoContagens[0]) {
+                topoIds[0] = parceiro;
+                topoContagens[0] = contagem;
+                descer(0);
+            }
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (topoContagens[pai] <= topoContagens[i]) {
+                    return;
+                }
+                trocar(i, pai);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int menor = i;
+                int esquerdo = 2 * i + 1;
+                int direito = esquerdo + 1;
+                if (esquerdo < topoTamanho && topoContagens[esquerdo] < topoContagens[menor]) {
+                    menor = esquerdo;
+                }
+                if (direito < topoTamanho && topoContagens[direito] < topoContagens[menor]) {
+                    menor = direito;
+                }
+                if (menor == i) {
+                    return;
+                }
+                trocar(i, menor);
+                i = menor;
+            }
+        }
+
+        private void trocar(int i, int j) {
+            int id = topoIds[i];
+            topoIds[i] = topoIds[j];
+            topoIds[j] = id;
+            int contagem = topoContagens[i];
+            topoContagens[i] = topoContagens[j];
+            topoContagens[j] = contagem;
+        }
+    }
+}
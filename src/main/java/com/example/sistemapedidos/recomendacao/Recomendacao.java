@@ -0,0 +1,30 @@
+package com.example.sistemapedidos.recomendacao;
+
+import com.example.sistemapedidos.model.produto.Produto;
+
+/**
+ * Classe Recomendacao.
+ * Um produto comprado junto com outro e em quantos pedidos isso aconteceu.
+ */
+public class Recomendacao {
+    private final Produto produto;
+    private final int pedidosJuntos;
+
+    public Recomendacao(Produto produto, int pedidosJuntos) {
+        this.produto = produto;
+        this.pedidosJuntos = pedidosJuntos;
+    }
+
+    public Produto getProduto() {
+        return produto;
+    }
+
+    public int getPedidosJuntos() {
+        return pedidosJuntos;
+    }
+
+    @Override
+    public String toString() {
+        return "Recomendacao{produto=" + produto.getNome() + ", pedidosJuntos=" + pedidosJuntos + "}";
+    }
+}
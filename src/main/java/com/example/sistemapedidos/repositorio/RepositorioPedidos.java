@@ -0,0 +1,63 @@
+package com.example.sistemapedidos.repositorio;
+
+import com.example.sistemapedidos.model.Pedido;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe RepositorioPedidos.
+ * Armazena em memória os pedidos já construídos, indexados pelo ID.
+ * É seguro para uso concorrente (usa ConcurrentHashMap), pois é compartilhado
+ * pelas requisições atendidas em paralelo pela API HTTP.
+ */
+public class RepositorioPedidos {
+    private final Map<String, Pedido> pedidos = new ConcurrentHashMap<>();
+
+    /**
+     * Salva (ou substitui) um pedido.
+     * @param pedido O pedido a ser salvo.
+     */
+    public void salvar(Pedido pedido) {
+        if (pedido == null || pedido.getId() == null) {
+            throw new IllegalArgumentException("Pedido e seu ID não podem ser nulos.");
+        }
+        pedidos.put(pedido.getId(), pedido);
+    }
+
+    /**
+     * Busca um pedido pelo ID.
+     * @param id O ID do pedido.
+     * @return O pedido encontrado, ou null se não existir.
+     */
+    public Pedido buscarPorId(String id) {
+        if (id == null) {
+            return null;
+        }
+        return pedidos.get(id);
+    }
+
+    /**
+     * Remove um pedido pelo ID.
+     * @return O pedido removido, ou null se não existia.
+     */
+    public Pedido remover(String id) {
+        if (id == null) {
+            return null;
+        }
+        return pedidos.remove(id);
+    }
+
+    /**
+     * Retorna uma cópia com todos os pedidos armazenados (sem ordem definida).
+     */
+    public List<Pedido> listarTodos() {
+        return new ArrayList<>(pedidos.values());
+    }
+
+    public int quantidade() {
+        return pedidos.size();
+    }
+}
@@ -9,8 +9,13 @@ package com.example.sistemapedidos.singleton;
  */
 public class ConfiguracaoSistema {
 
-    // 1. A única instância da classe (estática e privada)
-    private static ConfiguracaoSistema instancia;
+    // 1. A única instância fica na classe interna Holder (idioma "Initialization-on-demand holder").
+    // A JVM só inicializa Holder no primeiro acesso a Holder.INSTANCIA, e a inicialização de classe
+    // já é thread-safe: não precisa de synchronized nem de volatile, e depois de inicializada a
+    // leitura é só um campo estático final (o JIT trata como constante).
+    private static class Holder {
+        private static final ConfiguracaoSistema INSTANCIA = new ConfiguracaoSistema();
+    }
 
     // Atributos de configuração
     private String moedaPadrao;
@@ -21,23 +26,19 @@ public class ConfiguracaoSistema {
         // Simula o carregamento de configurações (poderia vir de um arquivo, banco de dados, etc.)
         this.moedaPadrao = "BRL"; // Real Brasileiro
         this.maxItensPorPedido = 50;
-        System.out.println("Instância de ConfiguracaoSistema criada.");
+        // No modo de início rápido, sem saída no console. A propriedade é lida aqui mesmo (a mesma
+        // de InicioRapido.PROPRIEDADE) para o pacote singleton não depender do pacote inicio.
+        if (!Boolean.getBoolean("sistemapedidos.inicioRapido")) {
+            System.out.println("Instância de ConfiguracaoSistema criada.");
+        }
     }
 
     // 3. Método público estático para obter a única instância da classe.
-    // Esta é a "lazy initialization" (inicialização preguiçosa): a instância só é
-    // criada quando o método getInstance() é chamado pela primeira vez.
+    // Continua sendo "lazy initialization" (inicialização preguiçosa): a instância só é
+    // criada quando o método getInstance() é chamado pela primeira vez. Para tirar esse custo
+    // do primeiro pedido, chame InicioRapido.preparar() na inicialização da aplicação.
     public static ConfiguracaoSistema getInstance() {
-        if (instancia == null) { // Se a instância ainda não foi criada
-            // Bloco sincronizado para garantir thread-safety na primeira criação
-            // Em ambientes com múltiplas threads, duas threads poderiam tentar criar a instância ao mesmo tempo.
-            synchronized (ConfiguracaoSistema.class) {
-                if (instancia == null) { // Dupla verificação para eficiência após a primeira criação
-                    instancia = new ConfiguracaoSistema();
-                }
-            }
-        }
-        return instancia;
+        return Holder.INSTANCIA;
     }
 
     // Getters para as configurações
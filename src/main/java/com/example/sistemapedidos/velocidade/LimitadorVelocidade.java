@@ -0,0 +1,409 @@
+package com.example.sistemapedidos.velocidade;
+
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Classe LimitadorVelocidade.
+ * Limites de velocidade por cliente, verificados na construção do pedido (PedidoBuilder.comLimitadorVelocidade):
+ * pedidos por minuto, valor total por hora e produtos distintos por hora. Um pedido recusado
+ * não é contado.
+ *
+ * Janelas deslizantes aproximadas: cada contador guarda a contagem da janela fixa atual e da
+ * anterior, e a estimativa é "atual + anterior x fração da janela anterior que ainda cabe nos
+ * últimos 60 minutos/segundos". Produtos distintos são contados por contagem linear num mapa de
+ * 56 bits por hora (erro típico abaixo de 15% até MAX_PRODUTOS_DISTINTOS).
+ *
+ * Estrutura:
+ * - uma única tabela de endereçamento aberto num AtomicLongArray, com 5 longs (40 bytes) por
+ *   cliente: hash de 64 bits do ID, pedidos, valor em centavos e dois mapas de produtos (horas
+ *   pares e ímpares). Nenhum objeto por cliente nem por verificação;
+ * - cada contador é uma palavra só, [janela | contagem anterior | contagem atual], atualizada por
+ *   CAS, sem locks. Os três limites não formam uma transação: se um recusa, os já somados são
+ *   desfeitos;
+ * - clientes sem pedidos há duas horas (todos os contadores já zerados) expiram sozinhos: a
+ *   posição deles é reaproveitada pelo próximo cliente novo que passar por ela.
+ *
+ * Se a vizinhança de um cliente novo estiver toda ocupada por clientes ativos, o pedido passa sem
+ * limite (falha aberta) e é contado em quantidadeSemEspaco(); dimensione a capacidade pelo pico de
+ * clientes ativos em duas horas. Em corridas raras (posição expirando enquanto o antigo dono
+ * volta) um pedido pode ser contado para o cliente errado.
+ */
+public class LimitadorVelocidade {
+    public static final String PEDIDOS_POR_MINUTO = "pedidos por minuto";
+    public static final String VALOR_POR_HORA = "valor por hora";
+    public static final String PRODUTOS_DISTINTOS_POR_HORA = "produtos distintos por hora";
+
+    /** Acima disso a contagem linear em 56 bits perde precisão. */
+    public static final int MAX_PRODUTOS_DISTINTOS = 100;
+    public static final int CAPACIDADE_MAXIMA = 1 << 27;
+
+    private static final long MINUTO_NANOS = 60_000_000_000L;
+    private static final long HORA_NANOS = 60 * MINUTO_NANOS;
+    private static final long MINUTOS_ATE_EXPIRAR = 120; // Duas janelas de uma hora
+    private static final int SONDAGEM_MAXIMA = 64;
+
+    // Campos de cada cliente na tabela
+    private static final int CAMPOS = 5;
+    private static final int CHAVE = 0;
+    private static final int PEDIDOS = 1;
+    private static final int VALOR = 2;
+    private static final int PRODUTOS = 3; // 3 e 4: mapas das horas pares e ímpares
+    private static final long VAZIO = 0;
+
+    private static final int BITS_PEDIDOS = 20; // [minuto 24 | anterior 20 | atual 20]
+    private static final int BITS_VALOR = 28;   // [hora 8 | anterior 28 | atual 28], em centavos
+    private static final int BITS_MAPA = 56;    // [hora 8 | mapa de bits 56]
+    private static final long MASCARA_MAPA = (1L << BITS_MAPA) - 1;
+    private static final long MASCARA_MINUTO = (1L << (64 - 2 * BITS_PEDIDOS)) - 1;
+    private static final double[] DISTINTOS_POR_BITS = new double[BITS_MAPA + 1];
+
+    static {
+        for (int bits = 0; bits <= BITS_MAPA; bits++) { // Contagem linear: -m ln(zeros / m); mapa cheio satura
+            DISTINTOS_POR_BITS[bits] = -BITS_MAPA * Math.log((double) Math.max(BITS_MAPA - bits, 1) / BITS_MAPA);
+        }
+    }
+
+    private final AtomicLongArray estado;
+    private final int mascaraPosicoes;
+    private final double maxPedidosPorMinuto;
+    private final double maxCentavosPorHora;
+    private final double maxProdutosDistintos;
+    private final LongSupplier relogioNanos;
+    private final long origemNanos;
+    private final LongAdder semEspaco = new LongAdder();
+
+    /**
+     * @param capacidadeClientes          Clientes ativos (com pedidos nas últimas duas horas) a acompanhar.
+     * @param maxPedidosPorMinuto         Pedidos por minuto por cliente; 0 desliga o limite.
+     * @param maxValorPorHora             Soma dos totais dos pedidos por hora por cliente; 0 desliga o limite.
+     * @param maxProdutosDistintosPorHora Produtos diferentes por hora por cliente; 0 desliga o limite.
+     */
+    public LimitadorVelocidade(int capacidadeClientes, int maxPedidosPorMinuto, double maxValorPorHora,
+                               int maxProdutosDistintosPorHora) {
+        this(capacidadeClientes, maxPedidosPorMinuto, maxValorPorHora, maxProdutosDistintosPorHora, System::nanoTime);
+    }
+
+    /**
+     * Construtor que permite trocar o relógio (útil em testes).
+     * @param relogioNanos Fonte de tempo monotônica em nanossegundos.
+     */
+    public LimitadorVelocidade(int capacidadeClientes, int maxPedidosPorMinuto, double maxValorPorHora,
+                               int maxProdutosDistintosPorHora, LongSupplier relogioNanos) {
+        if (capacidadeClientes <= 0 || capacidadeClientes > CAPACIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Capacidade de clientes deve estar entre 1 e " + CAPACIDADE_MAXIMA + ".");
+        }
+        if (maxPedidosPorMinuto < 0 || maxPedidosPorMinuto >= 1 << BITS_PEDIDOS) {
+            throw new IllegalArgumentException("Limite de pedidos por minuto deve estar entre 0 (sem limite) e "
+                    + ((1 << BITS_PEDIDOS) - 1) + ".");
+        }
+        if (!(maxValorPorHora >= 0) || Math.round(maxValorPorHora * 100) >= 1L << BITS_VALOR) {
+            throw new IllegalArgumentException("Limite de valor por hora deve estar entre 0 (sem limite) e "
+                    + ((1L << BITS_VALOR) - 1) / 100 + ".");
+        }
+        if (maxProdutosDistintosPorHora < 0 || maxProdutosDistintosPorHora > MAX_PRODUTOS_DISTINTOS) {
+            throw new IllegalArgumentException("Limite de produtos distintos por hora deve estar entre 0 (sem limite) e "
+                    + MAX_PRODUTOS_DISTINTOS + ".");
+        }
+        if (relogioNanos == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo.");
+        }
+        int posicoes = Integer.highestOneBit(2 * capacidadeClientes - 1) << 1; // Potência de 2, ocupação máxima de 50%
+        this.estado = new AtomicLongArray(posicoes * CAMPOS);
+        this.mascaraPosicoes = posicoes - 1;
+        this.maxPedidosPorMinuto = maxPedidosPorMinuto == 0 ? Double.POSITIVE_INFINITY : maxPedidosPorMinuto;
+        this.maxCentavosPorHora = maxValorPorHora == 0 ? Double.POSITIVE_INFINITY : Math.round(maxValorPorHora * 100);
+        this.maxProdutosDistintos = maxProdutosDistintosPorHora == 0 ? Double.POSITIVE_INFINITY : maxProdutosDistintosPorHora;
+        this.relogioNanos = relogioNanos;
+        this.origemNanos = relogioNanos.getAsLong();
+    }
+
+    /**
+     * Conta o pedido para o cliente dele, se couber nos limites.
+     * @throws LimiteVelocidadeExcedidoException se o pedido passaria de algum limite (e então não é contado).
+     */
+    public void verificar(Pedido pedido) {
+        if (pedido == null || pedido.getCliente() == null) {
+            throw new IllegalArgumentException("Pedido com cliente é obrigatório para o limite de velocidade.");
+        }
+        verificar(pedido.getCliente().getId(), pedido.getTotal(), pedido.getItens());
+    }
+
+    /**
+     * Conta um pedido do cliente, se couber nos limites.
+     * @param valor Total do pedido.
+     * @param itens Itens do pedido (só os produtos importam).
+     * @throws LimiteVelocidadeExcedidoException se o pedido passaria de algum limite (e então não é contado).
+     */
+    public void verificar(String clienteId, double valor, Collection<ItemPedido> itens) {
+        if (clienteId == null || clienteId.isEmpty()) {
+            throw new IllegalArgumentException("Cliente é obrigatório para o limite de velocidade.");
+        }
+        if (itens == null) {
+            throw new IllegalArgumentException("Itens não podem ser nulos.");
+        }
+        String limite = registrar(clienteId, valor, itens);
+        if (limite != null) {
+            throw new LimiteVelocidadeExcedidoException(clienteId, limite,
+                    "Limite de " + limite + " excedido para o cliente " + clienteId + ".");
+        }
+    }
+
+    /**
+     * Desfaz a contagem de um pedido aceito por verificar que acabou não sendo criado (ex: outra
+     * tentativa com a mesma chave de idempotência registrou o pedido antes). Pedidos por minuto e
+     * valor por hora voltam ao que eram se a janela ainda for a mesma; os produtos marcados ficam,
+     * pois podem ser também de outros pedidos.
+     * @param valor O mesmo total passado a verificar.
+     */
+    public void estornar(String clienteId, double valor) {
+        if (clienteId == null || clienteId.isEmpty()) {
+            throw new IllegalArgumentException("Cliente é obrigatório para o limite de velocidade.");
+        }
+        long tempo = relogioNanos.getAsLong() - origemNanos;
+        int base = buscar(chave(clienteId));
+        if (base < 0) {
+            return; // Pedido passou sem posição (falha aberta): não foi contado
+        }
+        long centavos = Math.min(Math.max(Math.round(valor * 100), 0), (1L << BITS_VALOR) - 1);
+        desfazer(base + VALOR, tempo / HORA_NANOS, BITS_VALOR, centavos);
+        desfazer(base + PEDIDOS, tempo / MINUTO_NANOS, BITS_PEDIDOS, 1);
+    }
+
+    /**
+     * @return O limite excedido, ou null se o pedido foi contado.
+     */
+    private String registrar(String clienteId, double valor, Collection<ItemPedido> itens) {
+        long tempo = relogioNanos.getAsLong() - origemNanos;
+        long minuto = tempo / MINUTO_NANOS;
+        long hora = tempo / HORA_NANOS;
+        double restanteMinuto = 1 - (double) (tempo % MINUTO_NANOS) / MINUTO_NANOS;
+        double restanteHora = 1 - (double) (tempo % HORA_NANOS) / HORA_NANOS;
+
+        int base = localizar(chave(clienteId), minuto);
+        if (base < 0) {
+            semEspaco.increment();
+            return null;
+        }
+        // Cliente que volta depois de expirar: os contadores de hora guardam só 8 bits da hora e poderiam coincidir
+        boolean ocioso = ocioso(estado.get(base + PEDIDOS), minuto);
+        if (!somar(base + PEDIDOS, minuto, BITS_PEDIDOS, 1, maxPedidosPorMinuto, restanteMinuto, false)) {
+            return PEDIDOS_POR_MINUTO;
+        }
+        long centavos = Math.min(Math.max(Math.round(valor * 100), 0), (1L << BITS_VALOR) - 1);
+        if (!somar(base + VALOR, hora, BITS_VALOR, centavos, maxCentavosPorHora, restanteHora, ocioso)) {
+            desfazer(base + PEDIDOS, minuto, BITS_PEDIDOS, 1);
+            return VALOR_POR_HORA;
+        }
+        if (!marcarProdutos(base, hora, mapaDeProdutos(itens), restanteHora, ocioso)) {
+            desfazer(base + VALOR, hora, BITS_VALOR, centavos);
+            desfazer(base + PEDIDOS, minuto, BITS_PEDIDOS, 1);
+            return PRODUTOS_DISTINTOS_POR_HORA;
+        }
+        return null;
+    }
+
+    /**
+     * Posição (início dos campos) do cliente, ocupando uma se ele for novo.
+     * @return -1 se não há posição livre nem expirada na vizinhança.
+     */
+    private int localizar(long chave, long minuto) {
+        while (true) {
+            int posicao = (int) chave & mascaraPosicoes;
+            int expirada = -1;
+            long chaveExpirada = VAZIO;
+            int livre = -1;
+            for (int sondagem = 0; sondagem < SONDAGEM_MAXIMA; sondagem++) {
+                int base = posicao * CAMPOS;
+                long atual = estado.get(base + CHAVE);
+                if (atual == chave) {
+                    return base;
+                }
+                if (atual == VAZIO) {
+                    livre = base;
+                    break;
+                }
+                if (expirada < 0 && ocioso(estado.get(base + PEDIDOS), minuto)) {
+                    expirada = base;
+                    chaveExpirada = atual;
+                }
+                posicao = (posicao + 1) & mascaraPosicoes;
+            }
+            // Cliente novo: reaproveita o primeiro expirado do caminho ou ocupa a posição livre
+            int alvo = expirada >= 0 ? expirada : livre;
+            if (alvo < 0) {
+                return -1;
+            }
+            if (estado.compareAndSet(alvo + CHAVE, alvo == expirada ? chaveExpirada : VAZIO, chave)) {
+                return alvo; // Contadores antigos ficam: as janelas deles já passaram
+            }
+            // Outra thread ocupou a posição antes: procura de novo
+        }
+    }
+
+    /**
+     * Posição do cliente, sem ocupar uma nova.
+     * @return -1 se o cliente não está na tabela.
+     */
+    private int buscar(long chave) {
+        int posicao = (int) chave & mascaraPosicoes;
+        for (int sondagem = 0; sondagem < SONDAGEM_MAXIMA; sondagem++) {
+            int base = posicao * CAMPOS;
+            long atual = estado.get(base + CHAVE);
+            if (atual == chave) {
+                return base;
+            }
+            if (atual == VAZIO) {
+                return -1;
+            }
+            posicao = (posicao + 1) & mascaraPosicoes;
+        }
+        return -1;
+    }
+
+    /**
+     * Soma o incremento à janela atual do contador, se a estimativa deslizante couber no limite.
+     * @param descartar Trata o conteúdo guardado como vazio (cliente ocioso).
+     */
+    private boolean somar(int posicao, long janela, int bits, long incremento, double limite, double restante,
+                          boolean descartar) {
+        long mascara = (1L << bits) - 1;
+        while (true) {
+            long palavra = estado.get(posicao);
+            long rolada = descartar ? (janela & (-1L >>> 2 * bits)) << 2 * bits : rolar(palavra, janela, bits);
+            long atual = rolada & mascara;
+            long anterior = (rolada >>> bits) & mascara;
+            if (atual + incremento + anterior * restante > limite) {
+                return false;
+            }
+            if (estado.compareAndSet(posicao, palavra, (rolada & ~mascara) | Math.min(atual + incremento, mascara))) {
+                return true;
+            }
+            descartar = false; // Outra thread acabou de escrever: o conteúdo já é atual
+        }
+    }
+
+    /**
+     * Desfaz uma soma. Se a janela já virou, deixa como está (o valor só pesa na estimativa que vai sumindo).
+     */
+    private void desfazer(int posicao, long janela, int bits, long incremento) {
+        long mascara = (1L << bits) - 1;
+        while (true) {
+            long palavra = estado.get(posicao);
+            if (palavra >>> 2 * bits != (janela & (-1L >>> 2 * bits)) || (palavra & mascara) < incremento) {
+                return;
+            }
+            if (estado.compareAndSet(posicao, palavra, palavra - incremento)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marca os produtos do pedido no mapa da hora atual, se a estimativa de distintos couber no limite.
+     * Pedido só com produtos já marcados sempre passa.
+     */
+    private boolean marcarProdutos(int base, long hora, long mapaPedido, double restante, boolean ocioso) {
+        int posicao = base + PRODUTOS + (int) (hora & 1);
+        long palavraAnterior = estado.get(base + PRODUTOS + (int) ((hora + 1) & 1));
+        long anterior = !ocioso && palavraAnterior >>> BITS_MAPA == ((hora - 1) & 0xFF) ? palavraAnterior & MASCARA_MAPA : 0;
+        boolean descartar = ocioso;
+        while (true) {
+            long palavra = estado.get(posicao);
+            long atual = !descartar && palavra >>> BITS_MAPA == (hora & 0xFF) ? palavra & MASCARA_MAPA : 0;
+            long novo = atual | mapaPedido;
+            if (novo == atual) {
+                return true;
+            }
+            double distintosAtual = DISTINTOS_POR_BITS[Long.bitCount(novo)];
+            double distintosSoAnterior = DISTINTOS_POR_BITS[Long.bitCount(novo | anterior)] - distintosAtual;
+            if (distintosAtual + distintosSoAnterior * restante > maxProdutosDistintos) {
+                return false;
+            }
+            if (estado.compareAndSet(posicao, palavra, ((hora & 0xFF) << BITS_MAPA) | novo)) {
+                return true;
+            }
+            descartar = false;
+        }
+    }
+
+    /**
+     * Traz o contador para a janela informada: a contagem atual vira anterior se a janela avançou uma
+     * vez, e as duas zeram se avançou mais.
+     */
+    private static long rolar(long palavra, long janela, int bits) {
+        long mascaraJanela = -1L >>> 2 * bits;
+        long guardada = palavra >>> 2 * bits;
+        if (guardada == (janela & mascaraJanela)) {
+            return palavra;
+        }
+        long vazia = (janela & mascaraJanela) << 2 * bits;
+        if (guardada == ((janela - 1) & mascaraJanela)) {
+            return vazia | ((palavra & ((1L << bits) - 1)) << bits);
+        }
+        return vazia;
+    }
+
+    private static boolean ocioso(long palavraPedidos, long minuto) {
+        return ((minuto - (palavraPedidos >>> 2 * BITS_PEDIDOS)) & MASCARA_MINUTO) >= MINUTOS_ATE_EXPIRAR;
+    }
+
+    private static long mapaDeProdutos(Collection<ItemPedido> itens) {
+        long mapa = 0;
+        for (ItemPedido item : itens) {
+            int h = item.getProduto().hashCode() * 0x9E3779B9;
+            mapa |= 1L << (((h >>> 8) * (long) BITS_MAPA) >>> 24); // 24 bits altos do hash -> bit 0..55
+        }
+        return mapa;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da mistura final do MurmurHash3, sem alocar. 0 é reservado para posição vazia.
+     */
+    private static long chave(String clienteId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < clienteId.length(); i++) {
+            h ^= clienteId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == VAZIO ? 1 : h;
+    }
+
+    /**
+     * Clientes com pedidos nas últimas duas horas (percorre a tabela inteira).
+     */
+    public int clientesAtivos() {
+        long minuto = (relogioNanos.getAsLong() - origemNanos) / MINUTO_NANOS;
+        int ativos = 0;
+        for (int base = 0; base < estado.length(); base += CAMPOS) {
+            if (estado.get(base + CHAVE) != VAZIO && !ocioso(estado.get(base + PEDIDOS), minuto)) {
+                ativos++;
+            }
+        }
+        return ativos;
+    }
+
+    /**
+     * Pedidos que passaram sem limite por falta de posição livre para um cliente novo.
+     */
+    public long quantidadeSemEspaco() {
+        return semEspaco.sum();
+    }
+
+    /**
+     * Bytes da tabela (sem cabeçalho de objeto); fixo, definido pela capacidade.
+     */
+    public long bytesEstimados() {
+        return 8L * estado.length();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.sistemapedidos.velocidade;
+
+/**
+ * Classe LimiteVelocidadeExcedidoException.
+ * Lançada por PedidoBuilder.construir() quando o cliente passou de um dos limites do
+ * LimitadorVelocidade. É uma IllegalStateException, como as demais recusas do builder;
+ * a API HTTP a distingue para responder 429 em vez de 400.
+ *
+ * Não guarda stack trace: recusas chegam em rajadas (ex: robôs) e preencher a pilha custaria
+ * mais que a própria verificação; cliente e limite bastam para diagnosticar.
+ */
+public class LimiteVelocidadeExcedidoException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final String clienteId;
+    private final String limite;
+
+    /**
+     * @param limite Um de LimitadorVelocidade.PEDIDOS_POR_MINUTO, VALOR_POR_HORA ou PRODUTOS_DISTINTOS_POR_HORA.
+     */
+    public LimiteVelocidadeExcedidoException(String clienteId, String limite, String mensagem) {
+        super(mensagem);
+        this.clienteId = clienteId;
+        this.limite = limite;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    public String getClienteId() {
+        return clienteId;
+    }
+
+    public String getLimite() {
+        return limite;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.sistemapedidos.api;
+
+import com.example.sistemapedidos.codec.JsonLeitor;
+import com.example.sistemapedidos.idempotencia.CacheIdempotencia;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import com.example.sistemapedidos.velocidade.LimitadorVelocidade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+class ServidorHttpPedidosTest {
+    private static final String CORPO_PEDIDO =
+            "{\"cliente\":{\"id\":\"C001\",\"nome\":\"José Teste\",\"email\":\"teste@example.com\"},"
+            + "\"itens\":[{\"tipo\":\"FISICO\",\"nome\":\"Livro\",\"preco\":10.0,\"pesoKg\":0.5,\"quantidade\":2},"
+            + "{\"tipo\":\"DIGITAL\",\"nome\":\"Ebook\",\"preco\":20.0,\"urlDownload\":\"http://example.com/e\",\"quantidade\":1}]}";
+
+    private ServidorHttpPedidos servidor;
+    private RepositorioPedidos repositorio;
+    private HttpClient cliente;
+    private String base;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        repositorio = new RepositorioPedidos();
+        servidor = new ServidorHttpPedidos(0, repositorio); // Porta 0: o SO escolhe uma porta livre
+        servidor.iniciar();
+        cliente = HttpClient.newHttpClient();
+        base = "http://localhost:" + servidor.getPorta() + "/pedidos";
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.parar();
+    }
+
+    @Test
+    void post_deveCriarPedidoERetornar201() throws Exception {
+        HttpResponse<String> resposta = enviar("POST", base, CORPO_PEDIDO);
+
+        assertEquals(201, resposta.statusCode());
+        String id = lerCampo(resposta.body(), "id");
+        assertNotNull(repositorio.buscarPorId(id), "Pedido deveria ter sido salvo no repositório.");
+        assertEquals(40.0, repositorio.buscarPorId(id).getTotal(), 0.001);
+        assertEquals("PENDENTE", lerCampo(resposta.body(), "status"));
+        assertTrue(resposta.body().contains("José Teste"), "Acentos devem ser preservados no JSON.");
+    }
+
+    @Test
+    void get_deveRetornarPedidoExistenteOu404() throws Exception {
+        String id = lerCampo(enviar("POST", base, CORPO_PEDIDO).body(), "id");
+
+        HttpResponse<String> encontrado = enviar("GET", base + "/" + id, null);
+        assertEquals(200, encontrado.statusCode());
+        assertEquals(id, lerCampo(encontrado.body(), "id"));
+
+        assertEquals(404, enviar("GET", base + "/naoexiste", null).statusCode());
+    }
+
+    @Test
+    void put_deveAtualizarStatus() throws Exception {
+        String id = lerCampo(enviar("POST", base, CORPO_PEDIDO).body(), "id");
+
+        HttpResponse<String> resposta = enviar("PUT", base + "/" + id + "/status", "{\"status\":\"PAGO\"}");
+
+        assertEquals(200, resposta.statusCode());
+        assertEquals("PAGO", repositorio.buscarPorId(id).getStatus());
+    }
+
+    @Test
+    void post_comPedidoInvalido_deveRetornar400ComMensagemDoBuilder() throws Exception {
+        HttpResponse<String> resposta = enviar("POST", base,
+                "{\"cliente\":{\"id\":\"C001\",\"nome\":\"Teste\",\"email\":\"teste@example.com\"},\"itens\":[]}");
+
+        assertEquals(400, resposta.statusCode());
+        assertEquals("O pedido deve ter pelo menos um item.", lerCampo(resposta.body(), "erro"));
+    }
+
+    @Test
+    void post_comJsonMalFormadoOuGrandeDemais_deveSerRecusado() throws Exception {
+        assertEquals(400, enviar("POST", base, CORPO_PEDIDO + "{}").statusCode(), "Conteúdo depois do JSON.");
+        assertEquals(400, enviar("POST", base, CORPO_PEDIDO.replace("},\"itens\"", "} \"itens\"")).statusCode(),
+                "Campos sem ',' entre eles.");
+        assertEquals(400, enviar("POST", base, "{\"extra\":" + "[".repeat(100_000)).statusCode(),
+                "Aninhamento profundo deveria virar 400, não estourar a pilha.");
+        String id = lerCampo(enviar("POST", base, CORPO_PEDIDO).body(), "id");
+        assertEquals(400, enviar("PUT", base + "/" + id + "/status", "{\"status\":\"PAGO\"} x").statusCode());
+        assertEquals("PENDENTE", repositorio.buscarPorId(id).getStatus());
+
+        String grande = CORPO_PEDIDO.replace("\"José Teste\"", "\"" + "a".repeat(300 * 1024) + "\"");
+        HttpResponse<String> resposta = enviar("POST", base, grande);
+        assertEquals(413, resposta.statusCode());
+        assertEquals(1, repositorio.quantidade());
+    }
+
+    @Test
+    void get_comPrefixoParecido_deveRetornar404() throws Exception {
+        String id = lerCampo(enviar("POST", base, CORPO_PEDIDO).body(), "id");
+
+        assertEquals(404, enviar("GET", base + "X/" + id, null).statusCode());
+        assertEquals(404, enviar("GET", base + "X", null).statusCode());
+    }
+
+    @Test
+    void post_comIdempotencyKey_deveValerPorCliente() throws Exception {
+        String outroCliente = CORPO_PEDIDO.replace("\"C001\"", "\"C002\"").replace("José Teste", "Maria Outra");
+
+        String original = lerCampo(enviarComChave(CORPO_PEDIDO, "k-1").body(), "id");
+        HttpResponse<String> repeticao = enviarComChave(CORPO_PEDIDO, "k-1");
+        HttpResponse<String> alheio = enviarComChave(outroCliente, "k-1");
+
+        assertEquals(original, lerCampo(repeticao.body(), "id"), "Nova tentativa do mesmo cliente recebe o pedido original.");
+        assertEquals(201, alheio.statusCode());
+        assertNotEquals(original, lerCampo(alheio.body(), "id"), "Outro cliente com a mesma chave não recebe o pedido alheio.");
+        assertFalse(alheio.body().contains("José Teste"), "Dados do primeiro cliente não podem vazar.");
+    }
+
+    @Test
+    void post_acimaDoLimiteDeVelocidade_deveRetornar429() throws Exception {
+        ServidorHttpPedidos limitado = new ServidorHttpPedidos(0, repositorio, new CacheIdempotencia(100, Duration.ofMinutes(1)),
+                null, new LimitadorVelocidade(100, 2, 0, 0));
+        limitado.iniciar();
+        try {
+            String url = "http://localhost:" + limitado.getPorta() + "/pedidos";
+            assertEquals(201, enviar("POST", url, CORPO_PEDIDO).statusCode());
+            assertEquals(201, enviar("POST", url, CORPO_PEDIDO).statusCode());
+
+            HttpResponse<String> resposta = enviar("POST", url, CORPO_PEDIDO);
+            assertEquals(429, resposta.statusCode());
+            assertTrue(lerCampo(resposta.body(), "erro").contains("pedidos por minuto"));
+            assertEquals(2, repositorio.listarTodos().size(), "Pedido recusado não deveria ser salvo.");
+        } finally {
+            limitado.parar();
+        }
+    }
+
+    @Test
+    void get_semId_deveListarPedidosPaginadosPorCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            enviar("POST", base, CORPO_PEDIDO);
+        }
+
+        HttpResponse<String> primeira = enviar("GET", base + "?limite=2", null);
+        assertEquals(200, primeira.statusCode());
+        String cursor = lerCampo(primeira.body(), "proximoCursor");
+        assertNotNull(cursor, "Primeira página deveria trazer o cursor da próxima.");
+
+        HttpResponse<String> segunda = enviar("GET", base + "?limite=2&cursor=" + cursor, null);
+        assertEquals(200, segunda.statusCode());
+        assertTrue(segunda.body().contains("\"proximoCursor\":null"), "Última página não deveria ter cursor.");
+
+        assertEquals(400, enviar("GET", base + "?de=ontem", null).statusCode());
+    }
+
+    private HttpResponse<String> enviarComChave(String corpo, String chave) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base)).header("Idempotency-Key", chave)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo, StandardCharsets.UTF_8)).build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> enviar(String metodo, String url, String corpo) throws Exception {
+        HttpRequest.BodyPublisher publicador = corpo == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(corpo, StandardCharsets.UTF_8);
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url)).method(metodo, publicador).build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    // Lê um campo de primeiro nível do JSON de resposta usando o próprio leitor do projeto
+    private static String lerCampo(String json, String nome) {
+        JsonLeitor leitor = new JsonLeitor(json.getBytes(StandardCharsets.UTF_8));
+        leitor.iniciarObjeto();
+        String campo;
+        while ((campo = leitor.proximoCampo()) != null) {
+            if (nome.equals(campo)) {
+                return leitor.lerString();
+            }
+            leitor.pularValor();
+        }
+        return null;
+    }
+}
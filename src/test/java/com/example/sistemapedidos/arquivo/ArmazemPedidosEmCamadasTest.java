@@ -0,0 +1,161 @@
+package com.example.sistemapedidos.arquivo;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class ArmazemPedidosEmCamadasTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 12, 0, 0, 123_000_000);
+
+    @TempDir
+    Path diretorio;
+
+    private Cliente cliente;
+    private ProdutoFisico fisico;
+    private ProdutoDigital digital;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        fisico = new ProdutoFisico("Livro", 50.0, 0.5);
+        digital = new ProdutoDigital("E-book", 20.0, "http://example.com/ebook");
+    }
+
+    private Pedido novoPedido(int diasDepoisDaBase, String status) {
+        return new PedidoBuilder()
+                .comCliente(cliente)
+                .comData(BASE.plusDays(diasDepoisDaBase))
+                .comStatusInicial(status)
+                .adicionarItem(fisico, 2)
+                .adicionarItem(digital, 1)
+                .construir();
+    }
+
+    @Test
+    void arquivar_deveMoverPedidosAntigosParaCamadaFria() throws IOException {
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(repositorio, diretorio, 4)) {
+            for (int dia = 0; dia < 20; dia++) {
+                armazem.salvar(novoPedido(dia, "ENTREGUE"));
+            }
+
+            int arquivados = armazem.arquivarAnterioresA(BASE.plusDays(15));
+
+            assertEquals(15, arquivados, "Pedidos anteriores ao limite deveriam ser arquivados.");
+            assertEquals(5, armazem.quantidadeQuente(), "Só os recentes ficam em memória.");
+            assertEquals(15, armazem.quantidadeFria());
+            assertEquals(1, armazem.quantidadeSegmentos());
+        }
+    }
+
+    @Test
+    void buscarPorId_naCamadaFria_devePreservarDadosDoPedido() throws IOException {
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        Pedido original = novoPedido(0, "PAGO");
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(repositorio, diretorio)) {
+            armazem.salvar(original);
+            armazem.arquivarAnterioresA(BASE.plusDays(1));
+            assertNull(repositorio.buscarPorId(original.getId()), "Pedido arquivado não deveria continuar em memória.");
+
+            Pedido lido = armazem.buscarPorId(original.getId());
+
+            assertNotNull(lido, "Pedido arquivado deveria ser encontrado na camada fria.");
+            assertEquals(original.getId(), lido.getId());
+            assertEquals(original.getData(), lido.getData(), "Data deveria ser preservada com precisão.");
+            assertEquals("PAGO", lido.getStatus());
+            assertEquals(original.getCliente(), lido.getCliente());
+            assertEquals(2, lido.getItens().size());
+            assertEquals(120.0, lido.getTotal(), 0.001, "Total deveria ser o mesmo do pedido original.");
+            assertTrue(lido.getItens().get(1).getProduto() instanceof ProdutoDigital);
+            assertNull(armazem.buscarPorId("inexistente"));
+        }
+    }
+
+    @Test
+    void buscarPorPeriodo_deveConsultarAsDuasCamadasEmOrdemDeData() throws IOException {
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(repositorio, diretorio, 3)) {
+            for (int dia = 0; dia < 30; dia++) {
+                armazem.salvar(novoPedido(dia, "ENTREGUE"));
+            }
+            armazem.arquivarAnterioresA(BASE.plusDays(10));
+            armazem.arquivarAnterioresA(BASE.plusDays(20));
+
+            List<Pedido> resultado = armazem.buscarPorPeriodo(BASE.plusDays(5), BASE.plusDays(25));
+
+            assertEquals(20, resultado.size(), "Período deveria incluir pedidos dos dois segmentos e da memória.");
+            for (int i = 0; i < resultado.size(); i++) {
+                assertEquals(BASE.plusDays(5 + i), resultado.get(i).getData(), "Resultado deveria estar em ordem de data.");
+            }
+        }
+    }
+
+    @Test
+    void buscarPorPeriodo_comMesmoIdEmPedidosDiferentes_deveDevolverOsDois() throws IOException {
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        Pedido antigo = novoPedido(0, "ENTREGUE");
+        Pedido emArquivamento = novoPedido(1, "ENTREGUE");
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(repositorio, diretorio)) {
+            armazem.salvar(antigo);
+            armazem.salvar(emArquivamento);
+            armazem.arquivarAnterioresA(BASE.plusDays(2));
+            // Outro pedido que sorteou o mesmo ID do arquivado, e a cópia que ainda estaria
+            // na camada quente durante o arquivamento
+            armazem.salvar(new Pedido(antigo.getId(), cliente, BASE.plusDays(3), "PAGO", 0));
+            repositorio.salvar(emArquivamento);
+
+            List<Pedido> resultado = armazem.buscarPorPeriodo(BASE, BASE.plusDays(4));
+
+            assertEquals(List.of(BASE, BASE.plusDays(1), BASE.plusDays(3)),
+                    resultado.stream().map(Pedido::getData).toList(),
+                    "Pedidos distintos com o mesmo ID aparecem; a cópia do arquivamento aparece uma vez.");
+        }
+    }
+
+    @Test
+    void reabrirDiretorio_deveEncontrarSegmentosExistentes() throws IOException {
+        Pedido original = novoPedido(0, "ENTREGUE");
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(new RepositorioPedidos(), diretorio)) {
+            armazem.salvar(original);
+            armazem.arquivarAnterioresA(BASE.plusDays(1));
+        }
+
+        try (ArmazemPedidosEmCamadas reaberto = new ArmazemPedidosEmCamadas(new RepositorioPedidos(), diretorio)) {
+            assertEquals(1, reaberto.quantidadeFria());
+            assertNotNull(reaberto.buscarPorId(original.getId()), "Segmento gravado antes deveria ser carregado.");
+        }
+    }
+
+    @Test
+    void buscarPorId_naCamadaFria_naoDeveReaplicarRegrasDoBuilder() throws IOException {
+        Pedido original = novoPedido(0, "ENTREGUE");
+        original.setStatus("PENDENTE_INICIAL");
+        try (ArmazemPedidosEmCamadas armazem = new ArmazemPedidosEmCamadas(new RepositorioPedidos(), diretorio)) {
+            armazem.salvar(original);
+            armazem.arquivarAnterioresA(BASE.plusDays(1));
+            ConfiguracaoSistema.getInstance().setMaxItensPorPedido(1);
+
+            Pedido lido = armazem.buscarPorId(original.getId());
+
+            assertNotNull(lido, "Limite de itens reduzido depois não deveria tornar o segmento ilegível.");
+            assertEquals(2, lido.getItens().size());
+            assertEquals("PENDENTE_INICIAL", lido.getStatus(), "Status deveria voltar exatamente como foi gravado.");
+        } finally {
+            ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 class PedidoBuilderTest {
@@ -113,6 +114,93 @@ class PedidoBuilderTest {
         ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
     }
 
+    @Test
+    void adicionarItem_comProdutoRepetido_deveSomarQuantidadeNoMesmoItem() {
+        Pedido pedido = new PedidoBuilder()
+                .comCliente(clienteTeste)
+                .adicionarItem(produtoTeste1, 2)
+                .adicionarItem(produtoTeste2, 1)
+                .adicionarItem(new ProdutoFisico("Produto A", 10.0, 0.1), 3) // Igual ao produtoTeste1
+                .construir();
+
+        assertEquals(2, pedido.getItens().size(), "Produto repetido não deveria gerar um novo item.");
+        assertEquals(5, pedido.getItens().get(0).getQuantidade(), "Quantidades do mesmo produto deveriam ser somadas.");
+        assertEquals(70.0, pedido.getTotal(), 0.001);
+    }
+
+    @Test
+    void adicionarItem_produtoRepetidoNaoDeveContarNoLimiteDeItens() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(2);
+        PedidoBuilder builder = new PedidoBuilder().comCliente(clienteTeste)
+                .adicionarItem(produtoTeste1, 1)
+                .adicionarItem(produtoTeste2, 1);
+
+        assertDoesNotThrow(() -> builder.adicionarItem(produtoTeste1, 1), "Repetir um produto não adiciona item novo.");
+        assertThrows(IllegalStateException.class, () -> builder.adicionarItem(new ProdutoFisico("Produto C", 5.0, 0.05), 1));
+
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+    }
+
+    @Test
+    void setQuantidadeDoItem_aposConstruir_deveAtualizarTotalDoPedido() {
+        Pedido pedido = new PedidoBuilder()
+                .comCliente(clienteTeste)
+                .adicionarItem(produtoTeste1, 2)
+                .adicionarItem(produtoTeste2, 1)
+                .construir();
+
+        pedido.getItens().get(0).setQuantidade(5); // 5 * 10.0 + 20.0
+
+        assertEquals(70.0, pedido.getTotal(), 0.001, "Total deveria acompanhar a alteração de quantidade.");
+        pedido.calcularTotal();
+        assertEquals(70.0, pedido.getTotal(), 0.001, "Recalcular deveria chegar ao mesmo total.");
+    }
+
+    @Test
+    void reset_devePrepararNovoPedidoSemAlterarOAnterior() {
+        PedidoBuilder builder = new PedidoBuilder();
+        Pedido primeiro = builder.comCliente(clienteTeste).adicionarItem(produtoTeste1, 2).construir();
+
+        Pedido segundo = builder.reset().comCliente(clienteTeste).adicionarItem(produtoTeste2, 1).construir();
+
+        assertNotSame(primeiro, segundo);
+        assertNotEquals(primeiro.getId(), segundo.getId(), "Pedido após reset deveria ter novo ID.");
+        assertEquals(1, primeiro.getItens().size(), "Pedido anterior não deveria receber itens do novo.");
+        assertEquals(20.0, primeiro.getTotal(), 0.001);
+        assertEquals(1, segundo.getItens().size(), "Reset deveria esvaziar os itens.");
+        assertEquals(20.0, segundo.getTotal(), 0.001);
+        assertThrows(IllegalStateException.class, () -> builder.reset().construir(), "Reset deveria remover o cliente.");
+    }
+
+    @Test
+    void daThread_deveReaproveitarBuilderJaResetado() {
+        PedidoBuilder builder = PedidoBuilder.daThread();
+        builder.comCliente(clienteTeste).adicionarItem(produtoTeste1, 1).construir();
+
+        PedidoBuilder deNovo = PedidoBuilder.daThread();
+
+        assertSame(builder, deNovo, "A mesma thread deveria receber o mesmo builder.");
+        assertThrows(IllegalStateException.class, deNovo::construir, "Builder da thread deveria vir resetado.");
+    }
+
+    @Test
+    void construir_comRelogioInformado_deveUsarDataDoRelogio() {
+        LocalDateTime instante = LocalDateTime.of(2024, 5, 10, 8, 0);
+
+        Pedido pedido = new PedidoBuilder(() -> instante).comCliente(clienteTeste).adicionarItem(produtoTeste1, 1).construir();
+
+        assertEquals(instante, pedido.getData(), "Data padrão deveria vir do relógio do builder.");
+        assertTrue(pedido.getId().matches("[0-9a-f]{8}"), "ID deveria ter 8 caracteres hexadecimais.");
+    }
+
+    @Test
+    void relogioEmCache_deveRepetirInstanteDentroDaResolucao() {
+        RelogioPedido relogio = RelogioPedido.emCache(Duration.ofHours(1));
+
+        assertSame(relogio.agora(), relogio.agora(), "Dentro da resolução o instante em cache deveria ser reutilizado.");
+        assertThrows(IllegalArgumentException.class, () -> RelogioPedido.emCache(Duration.ZERO));
+    }
+
     @Test
     void comCliente_deveLancarExcecaoSeClienteForNulo() {
         PedidoBuilder builder = new PedidoBuilder();
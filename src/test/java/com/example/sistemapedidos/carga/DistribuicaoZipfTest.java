@@ -0,0 +1,44 @@
+package com.example.sistemapedidos.carga;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+class DistribuicaoZipfTest {
+
+    @Test
+    void sortear_deveFicarNoIntervaloEFavorecerAsPrimeirasPosicoes() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(1000, 1.0);
+        Random aleatorio = new Random(7);
+        int[] contagem = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            int posicao = zipf.sortear(aleatorio);
+            assertTrue(posicao >= 0 && posicao < 1000, "Posição fora do intervalo: " + posicao);
+            contagem[posicao]++;
+        }
+
+        // Com expoente 1, a posição 0 sai ~2x mais que a 1 e ~10x mais que a 9
+        assertTrue(contagem[0] > contagem[1] * 1.5, "Posição 0 deveria ser bem mais frequente que a 1.");
+        assertTrue(contagem[0] > contagem[9] * 5, "Posição 0 deveria ser bem mais frequente que a 9.");
+    }
+
+    @Test
+    void expoenteZero_deveSerUniforme() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(10, 0.0);
+        Random aleatorio = new Random(7);
+        int[] contagem = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            contagem[zipf.sortear(aleatorio)]++;
+        }
+        for (int c : contagem) {
+            assertEquals(10_000, c, 600, "Distribuição deveria ser aproximadamente uniforme.");
+        }
+    }
+
+    @Test
+    void construtor_deveRejeitarTamanhoInvalido() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new DistribuicaoZipf(0, 1.0));
+        assertEquals("Quantidade de itens deve ser positiva.", exception.getMessage());
+    }
+}
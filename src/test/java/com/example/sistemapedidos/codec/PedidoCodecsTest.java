@@ -0,0 +1,184 @@
+package com.example.sistemapedidos.codec;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.ItemPedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+class PedidoCodecsTest {
+    private Pedido pedido;
+    private ProdutoFisico livro;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        livro = new ProdutoFisico("Livro", 75.9, 1.2);
+        pedido = new PedidoBuilder()
+                .comCliente(new Cliente("CLI001", "José Ação 😀", "jose@example.com"))
+                .comData(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789))
+                .comStatusInicial("PAGO")
+                .adicionarItem(livro, 2)
+                .adicionarItem(new ProdutoDigital("E-book", 29.99, "http://example.com/e"), 1)
+                .construir();
+    }
+
+    private static void assertPedidoIgual(Pedido esperado, Pedido lido) {
+        assertEquals(esperado.getId(), lido.getId());
+        assertEquals(esperado.getData(), lido.getData(), "Data deveria ser preservada com nanossegundos.");
+        assertEquals(esperado.getStatus(), lido.getStatus());
+        assertEquals(esperado.getCliente().getNome(), lido.getCliente().getNome(), "Texto fora do ASCII deveria ser preservado.");
+        assertEquals(esperado.getCliente().getEmail(), lido.getCliente().getEmail());
+        assertEquals(esperado.getTotal(), lido.getTotal(), 0.001);
+        List<ItemPedido> itensEsperados = esperado.getItens();
+        List<ItemPedido> itensLidos = lido.getItens();
+        assertEquals(itensEsperados.size(), itensLidos.size());
+        for (int i = 0; i < itensEsperados.size(); i++) {
+            assertEquals(itensEsperados.get(i).getProduto(), itensLidos.get(i).getProduto());
+            assertEquals(itensEsperados.get(i).getQuantidade(), itensLidos.get(i).getQuantidade());
+        }
+    }
+
+    @Test
+    void binario_deveIdaEVoltaPreservarPedidoEReferenciarProdutosRepetidos() {
+        Pedido segundo = new PedidoBuilder()
+                .comCliente(new Cliente("CLI002", "Maria", "maria@example.com"))
+                .adicionarItem(livro, 1)
+                .construir();
+        PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        escritor.escrever(pedido, buffer);
+        int tamanhoPrimeiro = buffer.position();
+        escritor.escrever(segundo, buffer);
+        int tamanhoSegundo = buffer.position() - tamanhoPrimeiro;
+        buffer.flip();
+
+        PedidoBinarioLeitor leitor = new PedidoBinarioLeitor();
+        assertPedidoIgual(pedido, leitor.ler(buffer));
+        assertPedidoIgual(segundo, leitor.ler(buffer));
+        assertFalse(buffer.hasRemaining());
+        assertEquals(2, leitor.tamanhoDicionario(), "Produto repetido não deveria entrar de novo no dicionário.");
+        assertTrue(tamanhoSegundo < tamanhoPrimeiro, "Produto já enviado deveria virar só uma referência.");
+    }
+
+    @Test
+    void binario_semEspaco_deveDesfazerEscritaEManterDicionario() {
+        PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+        ByteBuffer pequeno = ByteBuffer.allocate(40);
+        pequeno.put((byte) 7);
+
+        assertThrows(BufferOverflowException.class, () -> escritor.escrever(pedido, pequeno));
+        assertEquals(1, pequeno.position(), "Buffer deveria voltar à posição anterior.");
+        assertEquals(0, escritor.tamanhoDicionario(), "Produtos do pedido que não coube não deveriam ficar no dicionário.");
+
+        ByteBuffer grande = ByteBuffer.allocate(1024);
+        escritor.escrever(pedido, grande);
+        grande.flip();
+        assertPedidoIgual(pedido, new PedidoBinarioLeitor().ler(grande));
+    }
+
+    @Test
+    void binario_truncado_deveLancarExcecao() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        new PedidoBinarioEscritor().escrever(pedido, buffer);
+        buffer.flip();
+        ByteBuffer truncado = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), buffer.limit() - 5));
+        PedidoBinarioLeitor leitor = new PedidoBinarioLeitor();
+
+        assertThrows(IllegalArgumentException.class, () -> leitor.ler(truncado));
+        assertEquals(0, truncado.position(), "Buffer deveria voltar ao início do pedido.");
+        assertEquals(0, leitor.tamanhoDicionario(), "Produtos do pedido truncado não deveriam ficar no dicionário.");
+        assertPedidoIgual(pedido, leitor.ler(buffer));
+    }
+
+    @Test
+    void binario_quantidadeDeItensCorrompida_deveRecusarAntesDeAlocar() {
+        // id "P", data 0, status "X", cliente ("C", "C", "C") e 2^31 - 1 itens sem nenhum byte depois
+        byte[] dados = {1, 'P', 0, 0, 1, 'X', 1, 'C', 1, 'C', 1, 'C', (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        ByteBuffer corrompido = ByteBuffer.wrap(dados);
+
+        assertThrows(IllegalArgumentException.class, () -> new PedidoBinarioLeitor().ler(corrompido));
+        assertEquals(0, corrompido.position(), "Buffer deveria voltar ao início do pedido.");
+    }
+
+    @Test
+    void binario_produtoNaoRegistrado_deveDesfazerEscrita() {
+        Produto avulso = new Produto() {
+            public String getNome() { return "Avulso"; }
+            public double getPreco() { return 1.0; }
+            public void exibirDetalhes() { }
+            public String getTipo() { return "AVULSO"; }
+        };
+        Pedido comAvulso = new PedidoBuilder()
+                .comCliente(new Cliente("CLI002", "Maria", "maria@example.com"))
+                .adicionarItem(livro, 1)
+                .adicionarItem(avulso, 1)
+                .construir();
+        PedidoBinarioEscritor escritor = new PedidoBinarioEscritor();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        assertThrows(IllegalArgumentException.class, () -> escritor.escrever(comAvulso, buffer));
+        assertEquals(0, buffer.position(), "Buffer deveria voltar à posição anterior.");
+        assertEquals(0, escritor.tamanhoDicionario(), "Produto gravado antes da falha não deveria ficar no dicionário.");
+    }
+
+    @Test
+    void json_deveIdaEVoltaPreservarPedidos() {
+        JsonEscritor escritor = new JsonEscritor(256);
+        PedidoJson.escreverTodos(List.of(pedido, pedido), escritor);
+
+        List<Pedido> lidos = PedidoJson.lerTodos(new JsonLeitor(escritor.resultado()));
+
+        assertEquals(2, lidos.size());
+        assertPedidoIgual(pedido, lidos.get(0));
+        assertPedidoIgual(pedido, lidos.get(1));
+        assertNotSame(lidos.get(0), lidos.get(1), "Cada elemento deveria virar um pedido próprio.");
+    }
+
+    @Test
+    void json_semVirgulaOuComVirgulaSobrando_deveLancarExcecao() {
+        for (String invalido : new String[] {"{\"a\":1 \"b\":2}", "{,\"a\":1}", "{\"a\":1,}", "[1 2]", "[,1]", "[1,]"}) {
+            JsonLeitor leitor = new JsonLeitor(invalido.getBytes(StandardCharsets.US_ASCII));
+            assertThrows(IllegalArgumentException.class, leitor::pularValor, invalido);
+        }
+        JsonLeitor valido = new JsonLeitor("{\"a\": [1, {\"b\": null}], \"c\": \"x\"}".getBytes(StandardCharsets.US_ASCII));
+        valido.pularValor();
+        assertFalse(valido.temMaisConteudo());
+    }
+
+    @Test
+    void json_aninhamentoProfundo_deveLancarExcecaoEmVezDeEstourarAPilha() {
+        String profundo = "[".repeat(100_000) + "]".repeat(100_000);
+        assertThrows(IllegalArgumentException.class,
+                () -> new JsonLeitor(profundo.getBytes(StandardCharsets.US_ASCII)).pularValor());
+
+        int limite = JsonLeitor.PROFUNDIDADE_MAXIMA;
+        new JsonLeitor(("[".repeat(limite) + "]".repeat(limite)).getBytes(StandardCharsets.US_ASCII)).pularValor();
+    }
+
+    @Test
+    void json_inteiroForaDoIntervalo_deveLancarExcecaoEmVezDeDarAVolta() {
+        JsonLeitor estouro = new JsonLeitor("18446744073709551617".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, estouro::lerInt, "2^64 + 1 não pode virar 1.");
+        assertThrows(IllegalArgumentException.class,
+                () -> new JsonLeitor("9223372036854775808".getBytes(StandardCharsets.US_ASCII)).lerLong());
+
+        assertEquals(Long.MAX_VALUE, new JsonLeitor("9223372036854775807".getBytes(StandardCharsets.US_ASCII)).lerLong());
+        assertEquals(Long.MIN_VALUE, new JsonLeitor("-9223372036854775808".getBytes(StandardCharsets.US_ASCII)).lerLong());
+        assertEquals(-42, new JsonLeitor("-42".getBytes(StandardCharsets.US_ASCII)).lerInt());
+    }
+}
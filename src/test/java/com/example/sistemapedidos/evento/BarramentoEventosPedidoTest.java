@@ -0,0 +1,131 @@
+package com.example.sistemapedidos.evento;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class BarramentoEventosPedidoTest {
+    private Cliente cliente;
+    private ProdutoFisico produto;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        produto = new ProdutoFisico("Produto A", 10.0, 0.1);
+    }
+
+    @Test
+    void builderEStatus_devemPublicarEventosDeCriacaoEMudanca() throws InterruptedException {
+        BarramentoEventosPedido barramento = new BarramentoEventosPedido(16, EstrategiaEspera.bloqueante());
+        List<String> recebidos = new CopyOnWriteArrayList<>();
+        barramento.adicionarConsumidor("registro", (evento, sequencia, fimDoLote) ->
+                recebidos.add(evento.getTipo() + ":" + evento.getStatusAnterior() + "->" + evento.getStatusNovo()));
+        barramento.iniciar();
+
+        Pedido pedido = new PedidoBuilder()
+                .comCliente(cliente)
+                .adicionarItem(produto, 1)
+                .comOuvinte(barramento)
+                .construir();
+        pedido.setStatus("PAGO");
+        pedido.setStatus("PAGO"); // Mesmo status: não gera evento
+        barramento.parar();
+
+        assertEquals(List.of("PEDIDO_CRIADO:null->PENDENTE", "STATUS_ALTERADO:PENDENTE->PAGO"), recebidos);
+    }
+
+    @Test
+    void todosOsConsumidores_devemReceberTodosOsEventosEmOrdem_mesmoComAnelPequeno() throws InterruptedException {
+        // Anel de 8 posições com 10 mil eventos força várias voltas e espera do produtor
+        BarramentoEventosPedido barramento = new BarramentoEventosPedido(8, EstrategiaEspera.comYield());
+        List<Long> rapido = new ArrayList<>();
+        List<Long> lento = new ArrayList<>();
+        barramento.adicionarConsumidor("rapido", (evento, sequencia, fimDoLote) -> rapido.add(sequencia));
+        barramento.adicionarConsumidor("lento", (evento, sequencia, fimDoLote) -> {
+            if (sequencia % 1000 == 0) {
+                Thread.yield();
+            }
+            lento.add(sequencia);
+        });
+        barramento.iniciar();
+
+        Pedido pedido = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1).construir();
+        int total = 10_000;
+        for (int i = 0; i < total; i++) {
+            barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B");
+        }
+        barramento.parar();
+
+        assertEquals(total, rapido.size());
+        assertEquals(total, lento.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, rapido.get(i).longValue());
+            assertEquals(i, lento.get(i).longValue());
+        }
+        assertEquals(total - 1, barramento.sequenciaDe("lento"));
+    }
+
+    @Test
+    void construtor_deveExigirTamanhoPotenciaDeDois() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new BarramentoEventosPedido(10, EstrategiaEspera.ocupada()));
+        assertEquals("Tamanho do anel deve ser uma potência de 2 positiva.", exception.getMessage());
+    }
+
+    @Test
+    void publicar_comAnelCheioEParado_naoDeveConsumirSequencia() throws InterruptedException {
+        BarramentoEventosPedido barramento = new BarramentoEventosPedido(2, EstrategiaEspera.bloqueante());
+        List<Long> recebidos = new CopyOnWriteArrayList<>();
+        barramento.adicionarConsumidor("registro", (evento, sequencia, fimDoLote) -> recebidos.add(sequencia));
+        Pedido pedido = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1).construir();
+
+        barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B");
+        barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B");
+        assertThrows(IllegalStateException.class,
+                () -> barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B"));
+
+        barramento.iniciar();
+        assertEquals(2, barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B"),
+                "A publicação que falhou não deveria deixar uma sequência reservada.");
+        barramento.parar();
+
+        assertEquals(List.of(0L, 1L, 2L), recebidos);
+    }
+
+    @Test
+    void consumidorComErro_deveIrParaOTratadorSemTravarOsDemais() throws InterruptedException {
+        List<String> erros = new CopyOnWriteArrayList<>();
+        BarramentoEventosPedido barramento = new BarramentoEventosPedido(8, EstrategiaEspera.bloqueante(),
+                (consumidor, evento, sequencia, erro) -> erros.add(consumidor + ":" + sequencia + ":" + erro.getMessage()));
+        List<Long> saudavel = new CopyOnWriteArrayList<>();
+        barramento.adicionarConsumidor("saudavel", (evento, sequencia, fimDoLote) -> saudavel.add(sequencia));
+        barramento.adicionarConsumidor("falho", (evento, sequencia, fimDoLote) -> {
+            if (sequencia % 2 == 1) {
+                throw new IllegalStateException("falha " + sequencia);
+            }
+        });
+        barramento.iniciar();
+
+        Pedido pedido = new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1).construir();
+        for (int i = 0; i < 4; i++) {
+            barramento.publicar(TipoEventoPedido.STATUS_ALTERADO, pedido, "A", "B");
+        }
+        barramento.parar();
+
+        assertEquals(List.of(0L, 1L, 2L, 3L), saudavel);
+        assertEquals(List.of("falho:1:falha 1", "falho:3:falha 3"), erros);
+        assertEquals(2, barramento.falhasDe("falho"));
+        assertEquals(0, barramento.falhasDe("saudavel"));
+        assertEquals(3, barramento.sequenciaDe("falho"), "Eventos com erro são pulados, não repetidos.");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.sistemapedidos.factory;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.codec.PedidoBinarioEscritor;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.fiscal.TabelaTributaria;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+class RegistroTiposProdutoTest {
+
+    /** Tipo de teste registrado em tempo de execução, com período em meses como argumento numérico. */
+    private static class Assinatura implements Produto {
+        private final String nome;
+        private final double preco;
+        private final int meses;
+
+        Assinatura(String nome, double preco, int meses) {
+            this.nome = nome;
+            this.preco = preco;
+            this.meses = meses;
+        }
+
+        public String getNome() { return nome; }
+        public double getPreco() { return preco; }
+        public void exibirDetalhes() { }
+        public String getTipo() { return "ASSINATURA"; }
+        int getMeses() { return meses; }
+    }
+
+    private static class CriadorAssinatura implements CriadorProduto {
+        public String getTipo() { return "ASSINATURA"; }
+        public Class<?> getTipoArgumento() { return double.class; }
+        public Produto criar(String nome, double preco) { return new Assinatura(nome, preco, 1); }
+        public Produto criar(String nome, double preco, double meses) { return new Assinatura(nome, preco, (int) meses); }
+        public double argumentoNumerico(Produto produto) { return ((Assinatura) produto).getMeses(); }
+    }
+
+    @Test
+    void criar_deveIgnorarMaiusculasEMinusculasSemBoxing() {
+        Produto fisico = ProdutoFactory.criar("fisico", "Livro", 50.0, 0.5);
+        Produto digital = ProdutoFactory.criar("Digital", "Ebook", 20.0, "http://example.com/ebook");
+        Produto padrao = ProdutoFactory.criar("FISICO", "Caixa", 10.0);
+
+        assertEquals(0.5, ((ProdutoFisico) fisico).getPesoKg());
+        assertEquals("http://example.com/ebook", ((ProdutoDigital) digital).getUrlDownload());
+        assertEquals(0.0, ((ProdutoFisico) padrao).getPesoKg(), "Sem argumento, usa o peso padrão.");
+        assertEquals(new ProdutoFisico("Livro", 50.0, 0.5), ProdutoFactory.criarFisico("Livro", 50.0, 0.5));
+    }
+
+    @Test
+    void criar_deveRecusarArgumentoQueOTipoNaoAceita() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> ProdutoFactory.criar("DIGITAL", "Ebook", 20.0, 1.5));
+        assertEquals("Tipo de produto DIGITAL não aceita argumento numérico.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ProdutoFactory.criar("FISICO", "Livro", 50.0, "pesado"));
+        assertThrows(IllegalArgumentException.class, () -> ProdutoFactory.criar("INVALIDO", "Produto", 10.0));
+        assertThrows(IllegalArgumentException.class, () -> ProdutoFactory.criar(null, "Produto", 10.0));
+    }
+
+    @Test
+    void registrar_deveAceitarNovoTipoSemAlterarAFabrica() {
+        RegistroTiposProduto registro = RegistroTiposProduto.getInstance();
+        registro.registrar(new CriadorAssinatura());
+        try {
+            Produto mensal = ProdutoFactory.criarProduto("assinatura", "Streaming", 29.9);
+            Produto anual = ProdutoFactory.criar("Assinatura", "Streaming anual", 299.0, 12);
+
+            assertEquals(1, ((Assinatura) mensal).getMeses());
+            assertEquals(12, ((Assinatura) anual).getMeses());
+            assertEquals("ASSINATURA", anual.getTipo());
+            assertEquals(List.of("FISICO", "DIGITAL", "ASSINATURA"), registro.tipos());
+            assertThrows(IllegalStateException.class, () -> registro.registrar(new CriadorAssinatura()),
+                    "Tipo já registrado não deveria ser aceito de novo.");
+
+            Pedido pedido = new PedidoBuilder().comCliente(new Cliente("C001", "Cliente", "c@example.com"))
+                    .adicionarItem(anual, 1).construir();
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            new PedidoBinarioEscritor().escrever(pedido, buffer);
+            buffer.flip();
+            Produto lido = new PedidoBinarioLeitor().ler(buffer).getItens().get(0).getProduto();
+            assertEquals(12, ((Assinatura) lido).getMeses(), "Codec binário deveria gravar o argumento pelo criador.");
+            Exception semRegra = assertThrows(IllegalArgumentException.class,
+                    () -> TabelaTributaria.padrao().exigirRegrasPara(registro.tipos()));
+            assertEquals("Sem regra tributária para os tipos de produto: [ASSINATURA]", semRegra.getMessage());
+        } finally {
+            registro.remover("assinatura");
+        }
+        assertNull(registro.buscar("ASSINATURA"), "Tipo removido não deveria ser encontrado.");
+        assertThrows(IllegalArgumentException.class, () -> ProdutoFactory.criarProduto("ASSINATURA", "Streaming", 29.9));
+    }
+
+    @Test
+    void registro_novoDeveTerSoOsTiposNativos() {
+        RegistroTiposProduto registro = new RegistroTiposProduto();
+
+        assertEquals(List.of("FISICO", "DIGITAL"), registro.tipos());
+        assertSame(registro.buscar("FISICO"), registro.buscar("fIsIcO"));
+        assertThrows(IllegalStateException.class, () -> registro.remover("SERVICO"));
+        assertThrows(IllegalArgumentException.class, () -> registro.registrar(new CriadorProduto() {
+            public String getTipo() { return " "; }
+            public Produto criar(String nome, double preco) { return null; }
+        }));
+    }
+
+    @Test
+    void registrar_deveRecusarCriadorQueNaoLeOArgumentoDeVolta() {
+        RegistroTiposProduto registro = new RegistroTiposProduto();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> registro.registrar(new CriadorProduto() {
+            public String getTipo() { return "CURSO"; }
+            public Class<?> getTipoArgumento() { return String.class; }
+            public Produto criar(String nome, double preco) { return null; }
+            public Produto criar(String nome, double preco, String url) { return null; }
+        }));
+        assertEquals("Criador do tipo CURSO deve implementar argumentoTexto(Produto).", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> registro.registrar(new CriadorProduto() {
+            public String getTipo() { return "CURSO"; }
+            public Class<?> getTipoArgumento() { return int.class; }
+            public Produto criar(String nome, double preco) { return null; }
+        }));
+        assertEquals(List.of("FISICO", "DIGITAL"), registro.tipos());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.sistemapedidos.fiscal;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class PipelineNotasFiscaisTest {
+    private static final LocalDateTime EMISSAO = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @TempDir
+    Path diretorio;
+
+    private Cliente cliente;
+    private ProdutoFisico fisico;
+    private ProdutoDigital digital;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente & Filhos <Ltda>", "teste@example.com");
+        fisico = new ProdutoFisico("Livro", 100.0, 0.5);
+        digital = new ProdutoDigital("E-book", 20.0, "http://example.com/ebook");
+    }
+
+    private Pedido novoPedido(String status) {
+        return new PedidoBuilder()
+                .comCliente(cliente)
+                .comStatusInicial(status)
+                .adicionarItem(fisico, 2)
+                .adicionarItem(digital, 1)
+                .construir();
+    }
+
+    private static Document ler(Path arquivo) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(arquivo.toFile());
+    }
+
+    private static String texto(Element pai, String tag) {
+        return pai.getElementsByTagName(tag).item(0).getTextContent();
+    }
+
+    @Test
+    void emitir_deveAplicarRegraPorTipoDeProduto() throws Exception {
+        try (PipelineNotasFiscais pipeline = new PipelineNotasFiscais(diretorio, 2)) {
+            Pedido pedido = novoPedido("PAGO");
+
+            ResumoEmissao resumo = pipeline.emitir(List.of(pedido), EMISSAO);
+
+            assertEquals(1, resumo.getNotas());
+            Element nota = (Element) ler(resumo.getArquivos().get(0)).getElementsByTagName("NFe").item(0);
+            assertEquals("NFe000000001", ((Element) nota.getElementsByTagName("infNFe").item(0)).getAttribute("Id"));
+            assertEquals(pedido.getId(), texto(nota, "xPed"));
+            assertEquals("Cliente & Filhos <Ltda>", texto(nota, "xNome"), "Texto deveria ser escapado e lido de volta igual.");
+
+            NodeList itens = nota.getElementsByTagName("det");
+            assertEquals(2, itens.getLength());
+            Element itemFisico = (Element) itens.item(0);
+            assertEquals("5102", texto(itemFisico, "CFOP"));
+            assertEquals("200.00", texto(itemFisico, "vProd"));
+            assertEquals("36.00", texto(itemFisico, "vICMS"), "Físico: ICMS de 18%.");
+            assertEquals(0, itemFisico.getElementsByTagName("ISSQN").getLength());
+            Element itemDigital = (Element) itens.item(1);
+            assertEquals("5933", texto(itemDigital, "CFOP"));
+            assertEquals("1.00", texto(itemDigital, "vISSQN"), "Digital: ISS de 5%.");
+            assertEquals("0.33", texto(itemDigital, "vPIS"));
+            assertEquals(0, itemDigital.getElementsByTagName("ICMS").getLength());
+
+            Element total = (Element) nota.getElementsByTagName("total").item(0);
+            assertEquals("220.00", texto(total, "vNF"));
+            assertEquals("36.00", texto(total, "vICMS"));
+            assertEquals("1.00", texto(total, "vISS"));
+            assertEquals("16.72", texto(total, "vCOFINS"));
+        }
+    }
+
+    @Test
+    void emitir_deveIgnorarNaoPagosEDividirEmLotesNumerados() throws Exception {
+        try (PipelineNotasFiscais pipeline = new PipelineNotasFiscais(TabelaTributaria.padrao(), diretorio, 10, 4, 1000)) {
+            List<Pedido> pedidos = new ArrayList<>();
+            for (int i = 0; i < 45; i++) {
+                pedidos.add(novoPedido(i % 3 == 0 ? "PENDENTE" : "PAGO"));
+            }
+
+            ResumoEmissao resumo = pipeline.emitir(pedidos, EMISSAO);
+
+            assertEquals(30, resumo.getNotas());
+            assertEquals(15, resumo.getIgnorados());
+            assertEquals(3, resumo.getArquivos().size(), "30 notas em lotes de 10.");
+            long bytes = 0;
+            for (Path arquivo : resumo.getArquivos()) {
+                bytes += Files.size(arquivo);
+            }
+            assertEquals(bytes, resumo.getBytes());
+            try (var arquivos = Files.list(diretorio)) {
+                assertTrue(arquivos.noneMatch(a -> a.toString().endsWith(".tmp")), "Não deveriam sobrar temporários.");
+            }
+
+            Document ultimo = ler(resumo.getArquivos().get(2));
+            NodeList numeros = ultimo.getElementsByTagName("nNF");
+            assertEquals(10, numeros.getLength());
+            assertEquals("1020", numeros.item(0).getTextContent(), "Numeração contínua entre lotes, na ordem dos pedidos.");
+            assertEquals("1029", numeros.item(9).getTextContent());
+            assertEquals(pedidos.get(44).getId(), ultimo.getElementsByTagName("xPed").item(9).getTextContent());
+
+            ResumoEmissao seguinte = pipeline.emitir(List.of(novoPedido("PAGO")), EMISSAO);
+            assertEquals("1030", ler(seguinte.getArquivos().get(0)).getElementsByTagName("nNF").item(0).getTextContent());
+        }
+    }
+
+    @Test
+    void emitir_comLoteComFalha_deveInformarPedidosFaturadosENumerosSemNota() throws Exception {
+        Produto servico = new Produto() {
+            public String getNome() { return "Consultoria"; }
+            public double getPreco() { return 10.0; }
+            public void exibirDetalhes() { }
+            public String getTipo() { return "SERVICO"; }
+        };
+        Pedido semRegra = new PedidoBuilder().comCliente(cliente).comStatusInicial("PAGO").adicionarItem(servico, 1).construir();
+        List<Pedido> pedidos = List.of(novoPedido("PAGO"), semRegra, novoPedido("PAGO"));
+
+        try (PipelineNotasFiscais pipeline = new PipelineNotasFiscais(TabelaTributaria.padrao(), diretorio, 1, 2, 100)) {
+            EmissaoParcialException falha = assertThrows(EmissaoParcialException.class, () -> pipeline.emitir(pedidos, EMISSAO));
+
+            assertEquals(List.of(pedidos.get(0).getId(), pedidos.get(2).getId()), falha.getResumo().getPedidosFaturados(),
+                    "Nova tentativa deveria poder pular os pedidos que já têm nota.");
+            assertEquals(2, falha.getResumo().getArquivos().size());
+            assertEquals(List.of(101L), falha.getNumerosNaoUsados());
+            assertInstanceOf(IllegalArgumentException.class, falha.getCause());
+        }
+    }
+
+    @Test
+    void novoPipeline_naoDeveSobrescreverLotesDeEmissaoAnterior() throws Exception {
+        try (PipelineNotasFiscais pipeline = new PipelineNotasFiscais(diretorio, 1)) {
+            pipeline.emitir(List.of(novoPedido("PAGO")), EMISSAO);
+        }
+        Path primeiro = diretorio.resolve("lote-000000001.xml");
+        String conteudo = Files.readString(primeiro);
+
+        assertThrows(FileAlreadyExistsException.class, () -> new PipelineNotasFiscais(diretorio, 1));
+        try (PipelineNotasFiscais seguinte = new PipelineNotasFiscais(TabelaTributaria.padrao(), diretorio,
+                PipelineNotasFiscais.TAMANHO_LOTE_MAXIMO, 1, 2, 2)) {
+            ResumoEmissao resumo = seguinte.emitir(List.of(novoPedido("PAGO")), EMISSAO);
+            assertEquals(diretorio.resolve("lote-000000002.xml"), resumo.getArquivos().get(0));
+        }
+        assertEquals(conteudo, Files.readString(primeiro), "Lote da emissão anterior não deveria mudar.");
+    }
+
+    @Test
+    void tabela_deveRecusarTipoSemRegra() {
+        TabelaTributaria tabela = new TabelaTributaria(List.of(
+                new RegraTributaria("FISICO", "5102", "49019900", false, 18.0, 1.65, 7.6)));
+        Produto servico = new Produto() {
+            public String getNome() { return "Consultoria"; }
+            public double getPreco() { return 10.0; }
+            public void exibirDetalhes() { }
+            public String getTipo() { return "SERVICO"; }
+        };
+
+        assertSame(tabela.regraPara(fisico), tabela.regraPara(new ProdutoFisico("Outro", 1.0, 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> tabela.regraPara(digital));
+        assertThrows(IllegalArgumentException.class, () -> tabela.regraPara(servico));
+        assertThrows(IllegalArgumentException.class, () -> new RegraTributaria("FISICO", "51", "49019900", false, 18.0, 0, 0));
+    }
+}
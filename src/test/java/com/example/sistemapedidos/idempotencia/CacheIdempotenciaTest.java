@@ -0,0 +1,124 @@
+package com.example.sistemapedidos.idempotencia;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CacheIdempotenciaTest {
+    private Cliente cliente;
+    private ProdutoFisico produto;
+    private AtomicLong relogio; // Relógio falso, controlado pelo teste
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        produto = new ProdutoFisico("Produto A", 10.0, 0.1);
+        relogio = new AtomicLong();
+    }
+
+    @Test
+    void construir_comMesmaChave_deveRetornarPedidoOriginal() {
+        CacheIdempotencia cache = new CacheIdempotencia(100, Duration.ofMinutes(10), relogio::get);
+
+        Pedido primeiro = novoBuilder().comChaveIdempotencia("chave-1", cache).construir();
+        Pedido repeticao = novoBuilder().comChaveIdempotencia("chave-1", cache).construir();
+        Pedido outro = novoBuilder().comChaveIdempotencia("chave-2", cache).construir();
+
+        assertSame(primeiro, repeticao, "Nova tentativa deveria receber o pedido original.");
+        assertNotSame(primeiro, outro, "Chaves diferentes devem gerar pedidos diferentes.");
+    }
+
+    @Test
+    void construir_comMesmaChaveDeOutroCliente_naoDeveDevolverPedidoAlheio() {
+        CacheIdempotencia cache = new CacheIdempotencia(100, Duration.ofMinutes(10), relogio::get);
+        Cliente outroCliente = new Cliente("C002", "Outro Cliente", "outro@example.com");
+
+        Pedido doPrimeiro = novoBuilder().comChaveIdempotencia("chave-1", cache).construir();
+        Pedido doSegundo = new PedidoBuilder().comCliente(outroCliente).adicionarItem(produto, 1)
+                .comChaveIdempotencia("chave-1", cache).construir();
+
+        assertNotSame(doPrimeiro, doSegundo, "A chave vale por cliente.");
+        assertEquals("C002", doSegundo.getCliente().getId());
+        assertSame(doPrimeiro, cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave-1")));
+        assertSame(doSegundo, cache.obter(CacheIdempotencia.chaveDoCliente("C002", "chave-1")));
+
+        // IDs com ':' não fazem chaves coincidirem ("C:1" + "x" e "C" + "1:x")
+        Pedido comDoisPontos = new PedidoBuilder().comCliente(new Cliente("C:1", "A", "a@example.com"))
+                .adicionarItem(produto, 1).comChaveIdempotencia("x", cache).construir();
+        Pedido semDoisPontos = new PedidoBuilder().comCliente(new Cliente("C", "B", "b@example.com"))
+                .adicionarItem(produto, 1).comChaveIdempotencia("1:x", cache).construir();
+        assertNotSame(comDoisPontos, semDoisPontos);
+        assertEquals("C", semDoisPontos.getCliente().getId());
+    }
+
+    @Test
+    void chave_deveExpirarAoFimDaJanela() {
+        CacheIdempotencia cache = new CacheIdempotencia(100, Duration.ofSeconds(30), relogio::get);
+        Pedido primeiro = novoBuilder().comChaveIdempotencia("chave", cache).construir();
+
+        relogio.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertSame(primeiro, cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave")));
+
+        relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave")), "Chave deveria ter expirado.");
+        Pedido depoisDaJanela = novoBuilder().comChaveIdempotencia("chave", cache).construir();
+        assertNotSame(primeiro, depoisDaJanela);
+    }
+
+    @Test
+    void cache_deveRespeitarCapacidadeDescartandoAsChavesMaisAntigas() {
+        CacheIdempotencia cache = new CacheIdempotencia(3, Duration.ofMinutes(10), relogio::get);
+        for (int i = 0; i < 5; i++) {
+            novoBuilder().comChaveIdempotencia("chave-" + i, cache).construir();
+        }
+
+        assertEquals(3, cache.tamanho());
+        assertNull(cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave-0")));
+        assertNull(cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave-1")));
+        assertNotNull(cache.obter(CacheIdempotencia.chaveDoCliente("C001", "chave-4")));
+    }
+
+    @Test
+    void tentativasConcorrentes_comMesmaChave_devemReceberOMesmoPedido() throws Exception {
+        CacheIdempotencia cache = new CacheIdempotencia(1000, Duration.ofMinutes(10));
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Pedido>> resultados = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Callable<Pedido> tentativa = () -> {
+                PedidoBuilder builder = novoBuilder().comChaveIdempotencia("concorrente", cache);
+                largada.await();
+                return builder.construir();
+            };
+            resultados.add(executor.submit(tentativa));
+        }
+        largada.countDown();
+
+        Pedido vencedor = resultados.get(0).get();
+        for (Future<Pedido> resultado : resultados) {
+            assertSame(vencedor, resultado.get());
+        }
+        executor.shutdown();
+    }
+
+    private PedidoBuilder novoBuilder() {
+        return new PedidoBuilder().comCliente(cliente).adicionarItem(produto, 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.sistemapedidos.indice;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class IndiceTemporalPedidosTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private IndiceTemporalPedidos indice;
+    private Cliente cliente;
+    private ProdutoFisico produto;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        indice = new IndiceTemporalPedidos();
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        produto = new ProdutoFisico("Produto A", 10.0, 0.1);
+    }
+
+    private Pedido novoPedido(LocalDateTime data) {
+        return new PedidoBuilder()
+                .comCliente(cliente)
+                .comData(data)
+                .adicionarItem(produto, 1)
+                .comOuvinte(indice)
+                .construir();
+    }
+
+    @Test
+    void construir_comIndiceComoOuvinte_deveIndexarPedido() {
+        Pedido pedido = novoPedido(BASE);
+
+        assertEquals(1, indice.quantidade());
+        assertSame(pedido, indice.buscar(null, null, 10).getPedidos().get(0));
+    }
+
+    @Test
+    void buscar_comCursor_devePercorrerPeriodoEmOrdemSemRepetir() {
+        for (int i = 0; i < 100; i++) {
+            novoPedido(BASE.plusMinutes(i % 10)); // Vários pedidos no mesmo instante: desempate pelo ID
+        }
+
+        List<Pedido> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaPedidos pagina = indice.buscar(BASE.plusMinutes(2), BASE.plusMinutes(8), 7, cursor, false);
+            assertTrue(pagina.getPedidos().size() <= 7);
+            vistos.addAll(pagina.getPedidos());
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+
+        assertEquals(60, vistos.size(), "Deveria retornar só os pedidos do período [de, ate).");
+        assertEquals(60, vistos.stream().map(Pedido::getId).distinct().count(), "Nenhum pedido deveria se repetir.");
+        for (int i = 1; i < vistos.size(); i++) {
+            assertFalse(vistos.get(i).getData().isBefore(vistos.get(i - 1).getData()), "Páginas deveriam estar em ordem de data.");
+        }
+    }
+
+    @Test
+    void buscar_decrescente_deveRetornarMaisRecentesPrimeiro() {
+        for (int i = 0; i < 5; i++) {
+            novoPedido(BASE.plusHours(i));
+        }
+
+        PaginaPedidos primeira = indice.buscar(null, null, 2, null, true);
+        PaginaPedidos segunda = indice.buscar(null, null, 2, primeira.getProximoCursor(), true);
+
+        assertEquals(BASE.plusHours(4), primeira.getPedidos().get(0).getData());
+        assertEquals(BASE.plusHours(3), primeira.getPedidos().get(1).getData());
+        assertEquals(BASE.plusHours(2), segunda.getPedidos().get(0).getData());
+    }
+
+    @Test
+    void insercaoEntrePaginas_naoDeveDeslocarProximaPagina() {
+        for (int i = 0; i < 4; i++) {
+            novoPedido(BASE.plusHours(i));
+        }
+        PaginaPedidos primeira = indice.buscar(null, null, 2);
+
+        novoPedido(BASE.minusHours(1)); // Entra antes do cursor: com offset, a próxima página repetiria um pedido
+        PaginaPedidos segunda = indice.buscar(null, null, 2, primeira.getProximoCursor(), false);
+
+        assertEquals(BASE.plusHours(2), segunda.getPedidos().get(0).getData());
+        assertEquals(BASE.plusHours(3), segunda.getPedidos().get(1).getData());
+        assertFalse(segunda.temProxima(), "Última página não deveria ter cursor.");
+    }
+
+    @Test
+    void buscar_comCursorInvalido_deveLancarExcecao() {
+        novoPedido(BASE);
+
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar(null, null, 10, "nao-e-cursor", false));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar(null, null, 0, null, false));
+    }
+}
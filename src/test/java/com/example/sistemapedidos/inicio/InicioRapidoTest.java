@@ -0,0 +1,38 @@
+package com.example.sistemapedidos.inicio;
+
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.repositorio.RepositorioPedidos;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InicioRapidoTest {
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+    }
+
+    @Test
+    void preparar_deveFazerOTrabalhoSoNaPrimeiraChamada() {
+        InicioRapido.preparar();
+
+        assertEquals(0, InicioRapido.preparar(), "Segunda chamada não deveria refazer o preparo.");
+        assertFalse(InicioRapido.ativo(), "Os testes rodam sem -Dsistemapedidos.inicioRapido=true.");
+    }
+
+    @Test
+    void processar_deveCriarPagarEResponderSemAcumularNoRepositorio() {
+        RepositorioPedidos repositorio = new RepositorioPedidos();
+        CaminhoPedido caminho = new CaminhoPedido(repositorio);
+
+        for (int i = 0; i < 32; i++) {
+            Pedido pedido = caminho.processar(i);
+            assertEquals("PAGO", pedido.getStatus());
+            assertEquals(1 + i % 4, pedido.getItens().size(), "Requisição i tem de 1 a 4 itens.");
+            assertTrue(caminho.tamanhoResposta() > 0, "Resposta JSON deveria ter sido escrita.");
+        }
+        assertEquals(0, repositorio.quantidade(), "Pedidos respondidos deveriam sair do repositório.");
+    }
+}
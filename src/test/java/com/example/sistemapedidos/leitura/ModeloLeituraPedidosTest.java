@@ -0,0 +1,160 @@
+package com.example.sistemapedidos.leitura;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class ModeloLeituraPedidosTest {
+    private Cliente cliente;
+    private ProdutoFisico fisico;
+    private ProdutoDigital digital;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        fisico = new ProdutoFisico("Livro", 50.0, 0.5);
+        digital = new ProdutoDigital("E-book", 20.0, "http://example.com/ebook");
+    }
+
+    private Pedido novoPedido(ModeloLeituraPedidos modelo, Cliente dono) {
+        return new PedidoBuilder()
+                .comCliente(dono)
+                .adicionarItem(fisico, 2)
+                .adicionarItem(digital, 1)
+                .comOuvinte(modelo)
+                .construir();
+    }
+
+    // Chave com hashCode fixo, para forçar colisões no mapa
+    private static final class ChaveColidente {
+        final int valor;
+
+        ChaveColidente(int valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ChaveColidente && ((ChaveColidente) o).valor == valor;
+        }
+
+        @Override
+        public int hashCode() {
+            return valor % 7;
+        }
+    }
+
+    @Test
+    void mapaPersistente_deveSeComportarComoHashMapSemAlterarVersoesAnteriores() {
+        Random aleatorio = new Random(1);
+        Map<Object, Integer> esperado = new HashMap<>();
+        MapaPersistente<Object, Integer> mapa = MapaPersistente.vazio();
+        for (int i = 0; i < 20_000; i++) {
+            Object chave = i % 3 == 0 ? new ChaveColidente(aleatorio.nextInt(300)) : aleatorio.nextInt(5_000);
+            if (aleatorio.nextInt(4) == 0) {
+                esperado.remove(chave);
+                mapa = mapa.sem(chave);
+            } else {
+                esperado.put(chave, i);
+                mapa = mapa.com(chave, i);
+            }
+        }
+        assertEquals(esperado.size(), mapa.tamanho());
+        for (Map.Entry<Object, Integer> entrada : esperado.entrySet()) {
+            assertEquals(entrada.getValue(), mapa.get(entrada.getKey()));
+        }
+        Map<Object, Integer> percorrido = new HashMap<>();
+        mapa.paraCada(percorrido::put);
+        assertEquals(esperado, percorrido, "paraCada deveria visitar cada entrada uma vez.");
+
+        MapaPersistente<Object, Integer> antes = mapa;
+        Object qualquer = esperado.keySet().iterator().next();
+        MapaPersistente<Object, Integer> depois = mapa.sem(qualquer).com("nova", -1);
+        assertEquals(esperado.get(qualquer), antes.get(qualquer), "Versão anterior não pode mudar.");
+        assertNull(antes.get("nova"));
+        assertNull(depois.get(qualquer));
+        assertEquals(antes.tamanho(), depois.tamanho());
+
+        MapaPersistente.Transiente<Object, Integer> lote = antes.transiente();
+        for (int i = 0; i < 1_000; i++) {
+            lote.com(i, -i);
+            lote.sem(new ChaveColidente(i % 300));
+        }
+        MapaPersistente<Object, Integer> editado = lote.persistente();
+        assertEquals(esperado.get(qualquer), antes.get(qualquer), "Transiente não pode alterar o mapa de origem.");
+        assertEquals(esperado.size(), antes.tamanho());
+        assertEquals(-999, editado.get(999));
+        assertNull(editado.get(new ChaveColidente(5)));
+        assertThrows(IllegalStateException.class, () -> lote.com("depois", 1));
+    }
+
+    @Test
+    void retrato_naoDeveMudarAposPublicacaoEStatusAlterado() {
+        try (ModeloLeituraPedidos modelo = new ModeloLeituraPedidos(Duration.ZERO, 1_000)) {
+            Pedido pedido = novoPedido(modelo, cliente);
+            assertNull(modelo.retrato().buscarPorId(pedido.getId()), "Nada visível antes da publicação.");
+
+            RetratoPedidos primeiro = modelo.publicar();
+            pedido.setStatus("PAGO");
+            RetratoPedidos segundo = modelo.publicar();
+
+            assertEquals("PENDENTE", primeiro.buscarPorId(pedido.getId()).getStatus(), "Retrato antigo continua igual.");
+            assertEquals("PAGO", segundo.buscarPorId(pedido.getId()).getStatus());
+            assertEquals(1, primeiro.quantidadePorStatus("PENDENTE"));
+            assertEquals(0, segundo.quantidadePorStatus("PENDENTE"));
+            assertEquals(1, segundo.quantidadePorStatus("PAGO"));
+            assertEquals(primeiro.getVersao() + 1, segundo.getVersao());
+            assertEquals(120.0, segundo.buscarPorId(pedido.getId()).getTotal(), 0.001);
+            assertEquals(2, segundo.buscarPorId(pedido.getId()).getItens().size());
+            assertThrows(UnsupportedOperationException.class, () -> segundo.buscarPorId(pedido.getId()).getItens().clear());
+        }
+    }
+
+    @Test
+    void registrar_devePublicarAoAtingirQuantidadeDeEscritas() throws InterruptedException {
+        try (ModeloLeituraPedidos modelo = new ModeloLeituraPedidos(Duration.ZERO, 10)) {
+            Cliente outro = new Cliente("C002", "Outro Cliente", "outro@example.com");
+            for (int i = 0; i < 9; i++) {
+                novoPedido(modelo, i % 3 == 0 ? outro : cliente);
+            }
+            Thread.sleep(50);
+            assertEquals(0, modelo.retrato().quantidade(), "Abaixo de N escritas não publica.");
+
+            novoPedido(modelo, cliente);
+            long limite = System.nanoTime() + 5_000_000_000L;
+            while (modelo.retrato().quantidade() < 10 && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+
+            RetratoPedidos retrato = modelo.retrato();
+            assertEquals(10, retrato.quantidade(), "A N-ésima escrita deveria disparar a publicação.");
+            assertEquals(3, retrato.listarPorCliente("C002").size());
+            assertEquals(7, retrato.listarPorCliente("C001").size());
+            assertEquals(0, modelo.quantidadePendente());
+        }
+    }
+
+    @Test
+    void publicacaoPeriodica_deveTornarEscritasVisiveis() throws InterruptedException {
+        try (ModeloLeituraPedidos modelo = new ModeloLeituraPedidos(Duration.ofMillis(5), 1_000)) {
+            Pedido pedido = novoPedido(modelo, cliente);
+            long limite = System.nanoTime() + 5_000_000_000L;
+            while (modelo.retrato().buscarPorId(pedido.getId()) == null && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+            assertNotNull(modelo.retrato().buscarPorId(pedido.getId()), "O intervalo deveria publicar a escrita.");
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.sistemapedidos.particao;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.codec.PedidoBinarioLeitor;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RoteadorPedidosTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    private final List<NoParticao> nos = new ArrayList<>();
+    private ProdutoFisico fisico;
+    private ProdutoDigital digital;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        fisico = new ProdutoFisico("Livro", 50.0, 0.5);
+        digital = new ProdutoDigital("E-book", 20.0, "http://example.com/ebook");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (NoParticao no : nos) {
+            no.close();
+        }
+    }
+
+    private NoParticao novoNo() throws IOException {
+        NoParticao no = new NoParticao(0).iniciar();
+        nos.add(no);
+        return no;
+    }
+
+    private List<Pedido> pedidos(int clientes, int pedidosPorCliente) {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int c = 0; c < clientes; c++) {
+            Cliente cliente = new Cliente("CLI" + c, "Cliente " + c, "cli" + c + "@example.com");
+            for (int p = 0; p < pedidosPorCliente; p++) {
+                pedidos.add(new PedidoBuilder()
+                        .comCliente(cliente)
+                        .comData(BASE.plusMinutes(c * pedidosPorCliente + p))
+                        .adicionarItem(fisico, 1 + p)
+                        .adicionarItem(digital, 1)
+                        .construir());
+            }
+        }
+        return pedidos;
+    }
+
+    @Test
+    void anel_deveDistribuirChavesEMoverPoucasAoAdicionarNo() {
+        AnelHashConsistente anel = new AnelHashConsistente();
+        anel.adicionar("a");
+        anel.adicionar("b");
+        anel.adicionar("c");
+        Map<String, String> antes = new HashMap<>();
+        Map<String, Integer> porNo = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            String dono = anel.noPara("CLI" + i);
+            antes.put("CLI" + i, dono);
+            porNo.merge(dono, 1, Integer::sum);
+        }
+        for (int quantidade : porNo.values()) {
+            assertTrue(quantidade > 7_000 && quantidade < 13_000, "Cada nó deveria ficar com cerca de 1/3 das chaves: " + porNo);
+        }
+
+        anel.adicionar("d");
+        int movidas = 0;
+        for (Map.Entry<String, String> chave : antes.entrySet()) {
+            String dono = anel.noPara(chave.getKey());
+            if (!dono.equals(chave.getValue())) {
+                assertEquals("d", dono, "Chaves só deveriam mudar para o nó novo.");
+                movidas++;
+            }
+        }
+        assertTrue(movidas > 4_500 && movidas < 10_500, "Cerca de 1/4 das chaves deveria mudar de dono: " + movidas);
+        assertThrows(IllegalStateException.class, () -> anel.adicionar("d"));
+    }
+
+    @Test
+    void salvar_deveManterPedidosDoClienteNoMesmoNoEConsultarTodos() throws IOException {
+        try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+            for (int i = 0; i < 3; i++) {
+                NoParticao no = novoNo();
+                roteador.adicionarNo("no-" + i, no.getEndereco());
+            }
+            List<Pedido> pedidos = pedidos(60, 5);
+            roteador.salvarTodos(pedidos.subList(0, 150));
+            for (Pedido pedido : pedidos.subList(150, pedidos.size())) {
+                roteador.salvar(pedido);
+            }
+
+            assertEquals(300, roteador.contar());
+            for (NoParticao no : nos) {
+                assertTrue(no.quantidade() > 0, "Todos os nós deveriam receber clientes.");
+            }
+            assertEquals(5, roteador.listarPorCliente("CLI7").size(), "Pedidos do cliente ficam juntos em um nó.");
+
+            Pedido alvo = pedidos.get(123);
+            Pedido encontrado = roteador.buscarPorId(alvo.getId());
+            assertNotNull(encontrado);
+            assertEquals(alvo.getCliente().getId(), encontrado.getCliente().getId());
+            assertEquals(alvo.getTotal(), encontrado.getTotal(), 0.001);
+            assertNull(roteador.buscarPorId("inexistente"));
+
+            List<Pedido> periodo = roteador.buscarPorPeriodo(BASE.plusMinutes(10), BASE.plusMinutes(20));
+            assertEquals(10, periodo.size());
+            for (int i = 1; i < periodo.size(); i++) {
+                assertFalse(periodo.get(i).getData().isBefore(periodo.get(i - 1).getData()), "Resultado deveria vir ordenado por data.");
+            }
+        }
+    }
+
+    @Test
+    void adicionarERemoverNo_deveRebalancearSemPerderPedidos() throws IOException {
+        try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+            roteador.adicionarNo("no-0", novoNo().getEndereco());
+            roteador.adicionarNo("no-1", novoNo().getEndereco());
+            roteador.salvarTodos(pedidos(100, 3));
+
+            long migrados = roteador.adicionarNo("no-2", novoNo().getEndereco());
+
+            assertTrue(migrados > 0 && migrados < 300, "Só parte dos pedidos deveria migrar: " + migrados);
+            assertEquals(migrados, nos.get(2).quantidade());
+            assertEquals(300, roteador.contar(), "Nenhum pedido pode se perder no rebalanceamento.");
+            for (int c = 0; c < 100; c++) {
+                assertEquals(3, roteador.listarPorCliente("CLI" + c).size(), "Cliente deveria ser achado no novo dono.");
+            }
+
+            roteador.removerNo("no-0");
+
+            assertEquals(List.of("no-1", "no-2"), roteador.nos());
+            assertEquals(0, nos.get(0).quantidade(), "Nó removido deveria ficar vazio.");
+            assertEquals(300, roteador.contar());
+            assertEquals(3, roteador.listarPorCliente("CLI42").size());
+            assertThrows(IllegalStateException.class, () -> roteador.removerNo("no-0"));
+        }
+    }
+
+    @Test
+    void removerNo_comDestinoForaDoAr_deveDevolverPedidosSemDuplicar() throws IOException {
+        try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+            for (int i = 0; i < 3; i++) {
+                roteador.adicionarNo("no-" + i, novoNo().getEndereco());
+            }
+            roteador.salvarTodos(pedidos(60, 2));
+            int noSaindo = nos.get(0).quantidade();
+            int noQueFica = nos.get(1).quantidade();
+            nos.get(2).close(); // no-1 recebe seu lote antes de no-2 falhar
+
+            assertThrows(IOException.class, () -> roteador.removerNo("no-0"));
+
+            assertEquals(noSaindo, nos.get(0).quantidade(), "Pedidos deveriam voltar ao nó que estava saindo.");
+            assertEquals(noQueFica, nos.get(1).quantidade(), "Destino que aceitou o lote não deveria ficar com cópias.");
+            assertTrue(roteador.nos().contains("no-0"), "Nó que estava saindo deveria voltar ao anel.");
+        }
+    }
+
+    @Test
+    void adicionarNo_comNovoNoFalhandoNoMeio_deveDevolverClientesAosDonos() throws IOException {
+        try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+            roteador.adicionarNo("no-0", novoNo().getEndereco());
+            roteador.adicionarNo("no-1", novoNo().getEndereco());
+            roteador.salvarTodos(pedidos(100, 3));
+            NoParticao real = novoNo();
+
+            try (NoQueRecusa novo = new NoQueRecusa(real, 1)) { // Aceita o lote de no-0 e recusa o de no-1
+                assertThrows(IOException.class, () -> roteador.adicionarNo("no-2", novo.getEndereco()));
+            }
+
+            assertEquals(List.of("no-0", "no-1"), roteador.nos().stream().sorted().toList());
+            assertEquals(0, real.quantidade(), "Novo nó não deveria ficar com pedidos.");
+            assertEquals(300, roteador.contar());
+            for (int c = 0; c < 100; c++) {
+                assertEquals(3, roteador.listarPorCliente("CLI" + c).size(), "Pedidos de CLI" + c);
+            }
+        }
+    }
+
+    @Test
+    void quadro_comQuantidadeDePedidosCorrompida_deveRecusarAntesDeAlocar() {
+        ByteBuffer corrompido = ByteBuffer.allocate(Integer.BYTES).putInt(0, Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> Quadro.lerPedidos(corrompido, new PedidoBinarioLeitor()));
+    }
+
+    @Test
+    void salvar_naoDeveReaplicarRegrasDoBuilderNoNo() throws IOException {
+        try (RoteadorPedidos roteador = new RoteadorPedidos()) {
+            roteador.adicionarNo("no-0", novoNo().getEndereco());
+            Pedido pedido = pedidos(1, 1).get(0);
+            ConfiguracaoSistema.getInstance().setMaxItensPorPedido(1); // O nó leria com esta configuração
+
+            roteador.salvar(pedido);
+
+            Pedido lido = roteador.buscarPorId(pedido.getId());
+            assertEquals(2, lido.getItens().size(), "Pedido aceito pelo roteador não deveria ser recusado pelo nó.");
+            assertEquals(pedido.getStatus(), lido.getStatus());
+        } finally {
+            ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        }
+    }
+
+    @Test
+    void processoNoLocal_deveAtenderEmOutroProcesso() throws IOException {
+        try (ProcessoNoLocal processo = ProcessoNoLocal.iniciar("externo");
+             RoteadorPedidos roteador = new RoteadorPedidos()) {
+            assertNotEquals(ProcessHandle.current().pid(), processo.getPid());
+            roteador.adicionarNo(processo.getNome(), processo.getEndereco());
+            List<Pedido> pedidos = pedidos(5, 2);
+            roteador.salvarTodos(pedidos);
+
+            assertEquals(10, roteador.contar());
+            assertEquals(pedidos.get(3).getId(), roteador.buscarPorId(pedidos.get(3).getId()).getId());
+        }
+    }
+
+    /**
+     * Repassa os quadros a um nó de verdade, mas responde ERRO aos SALVAR depois dos primeiros.
+     */
+    private static class NoQueRecusa implements Closeable {
+        private final ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final NoParticao real;
+        private final AtomicInteger salvamentosAceitos;
+
+        NoQueRecusa(NoParticao real, int salvamentosAceitos) throws IOException {
+            this.real = real;
+            this.salvamentosAceitos = new AtomicInteger(salvamentosAceitos);
+            Thread aceitador = new Thread(this::aceitar, "no-que-recusa");
+            aceitador.setDaemon(true);
+            aceitador.start();
+        }
+
+        InetSocketAddress getEndereco() {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), servidor.getLocalPort());
+        }
+
+        @Override
+        public void close() throws IOException {
+            servidor.close();
+        }
+
+        private void aceitar() {
+            while (!servidor.isClosed()) {
+                try {
+                    Socket socket = servidor.accept();
+                    Thread.ofVirtual().start(() -> repassar(socket));
+                } catch (IOException e) {
+                    // Servidor fechado: encerra o laço
+                }
+            }
+        }
+
+        private void repassar(Socket socket) {
+            try (socket; Socket destino = new Socket(InetAddress.getLoopbackAddress(), real.getPorta());
+                 DataInputStream entrada = new DataInputStream(socket.getInputStream());
+                 DataOutputStream saida = new DataOutputStream(socket.getOutputStream());
+                 DataInputStream entradaReal = new DataInputStream(destino.getInputStream());
+                 DataOutputStream saidaReal = new DataOutputStream(destino.getOutputStream())) {
+                while (true) {
+                    ByteBuffer requisicao = Quadro.receber(entrada);
+                    if (requisicao.get(0) == Quadro.SALVAR && salvamentosAceitos.getAndDecrement() <= 0) {
+                        new Quadro(64).iniciar(Quadro.ERRO).texto("Recusado pelo teste.").enviar(saida);
+                        continue;
+                    }
+                    enviar(requisicao, saidaReal);
+                    enviar(Quadro.receber(entradaReal), saida);
+                }
+            } catch (IOException e) {
+                // Roteador ou nó fechou a conexão
+            }
+        }
+
+        private static void enviar(ByteBuffer quadro, DataOutputStream saida) throws IOException {
+            saida.writeInt(quadro.capacity());
+            saida.write(quadro.array());
+            saida.flush();
+        }
+    }
+}
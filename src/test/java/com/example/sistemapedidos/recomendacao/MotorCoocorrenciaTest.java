@@ -0,0 +1,173 @@
+package com.example.sistemapedidos.recomendacao;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoDigital;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class MotorCoocorrenciaTest {
+
+    private Cliente cliente;
+    private Produto[] produtos;
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente Teste", "teste@example.com");
+        produtos = new Produto[30];
+        for (int i = 0; i < produtos.length; i++) {
+            produtos[i] = i % 3 == 0
+                    ? new ProdutoDigital("Digital " + i, 10.0 + i, "http://example.com/" + i)
+                    : new ProdutoFisico("Fisico " + i, 10.0 + i, 1.0);
+        }
+    }
+
+    private Pedido pedido(String status, int... indices) {
+        PedidoBuilder builder = new PedidoBuilder().comCliente(cliente).comStatusInicial(status);
+        for (int indice : indices) {
+            builder.adicionarItem(produtos[indice], 1);
+        }
+        return builder.construir();
+    }
+
+    private List<Pedido> pedidosAleatorios(int quantidade, long semente) {
+        Random aleatorio = new Random(semente);
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int p = 0; p < quantidade; p++) {
+            int[] indices = new int[1 + aleatorio.nextInt(6)];
+            for (int i = 0; i < indices.length; i++) {
+                // Pequena preferência pelos primeiros produtos, e repetições no mesmo pedido
+                indices[i] = Math.min(aleatorio.nextInt(produtos.length), aleatorio.nextInt(produtos.length));
+            }
+            pedidos.add(pedido("PAGO", indices));
+        }
+        return pedidos;
+    }
+
+    @Test
+    void ouvinte_deveContarCadaPedidoUmaVezQuandoViraCompra() {
+        MotorCoocorrencia motor = new MotorCoocorrencia();
+
+        Pedido pendente = new PedidoBuilder().comCliente(cliente).comOuvinte(motor)
+                .adicionarItem(produtos[0], 1).adicionarItem(produtos[1], 2).construir();
+        assertEquals(0, motor.quantidadePedidos(), "Pedido PENDENTE ainda não é compra.");
+
+        pendente.setStatus("PAGO");
+        pendente.setStatus("ENVIADO");
+        pendente.setStatus("ENTREGUE");
+        new PedidoBuilder().comCliente(cliente).comOuvinte(motor).comStatusInicial("PAGO")
+                .adicionarItem(produtos[1], 1).adicionarItem(produtos[2], 1).construir();
+
+        assertEquals(2, motor.quantidadePedidos());
+        assertEquals(1, motor.pedidosJuntos(produtos[0], produtos[1]));
+        assertEquals(1, motor.pedidosJuntos(produtos[2], produtos[1]), "A ordem dos produtos não importa.");
+        assertEquals(2, motor.pedidosCom(produtos[1]));
+        assertEquals(0, motor.pedidosJuntos(produtos[0], produtos[2]));
+        List<Recomendacao> recomendacoes = motor.maisCompradosJunto(produtos[1]);
+        assertEquals(2, recomendacoes.size());
+        assertSame(produtos[0], recomendacoes.get(0).getProduto(), "Empate na contagem: menor ID (primeiro visto) antes.");
+    }
+
+    @Test
+    void maisCompradosJunto_deveBaterComContagemForcaBruta() {
+        int k = 5;
+        MotorCoocorrencia motor = new MotorCoocorrencia(k);
+        int[][] esperado = new int[produtos.length][produtos.length];
+        for (Pedido pedido : pedidosAleatorios(3_000, 11)) {
+            motor.registrar(pedido);
+            boolean[] presente = new boolean[produtos.length];
+            pedido.getItens().forEach(item -> presente[Arrays.asList(produtos).indexOf(item.getProduto())] = true);
+            for (int a = 0; a < produtos.length; a++) {
+                for (int b = 0; b < produtos.length; b++) {
+                    if (a != b && presente[a] && presente[b]) {
+                        esperado[a][b]++;
+                    }
+                }
+            }
+        }
+
+        for (int a = 0; a < produtos.length; a++) {
+            for (int b = 0; b < produtos.length; b++) {
+                if (a != b) {
+                    assertEquals(esperado[a][b], motor.pedidosJuntos(produtos[a], produtos[b]));
+                }
+            }
+            int[] contagens = esperado[a].clone();
+            Arrays.sort(contagens);
+            List<Recomendacao> recomendacoes = motor.maisCompradosJunto(produtos[a], k);
+            assertEquals(k, recomendacoes.size());
+            for (int i = 0; i < k; i++) {
+                Recomendacao recomendacao = recomendacoes.get(i);
+                assertEquals(contagens[contagens.length - 1 - i], recomendacao.getPedidosJuntos(),
+                        "Posição " + i + " do topo do produto " + a + " deveria ter a " + (i + 1) + "ª maior contagem.");
+                assertEquals(recomendacao.getPedidosJuntos(), motor.pedidosJuntos(produtos[a], recomendacao.getProduto()));
+            }
+        }
+    }
+
+    @Test
+    void registrar_deveSomarCorretamenteComVariasThreads() throws Exception {
+        MotorCoocorrencia concorrente = new MotorCoocorrencia(5);
+        MotorCoocorrencia sequencial = new MotorCoocorrencia(5);
+        List<Pedido> pedidos = pedidosAleatorios(2_000, 23);
+        pedidos.forEach(sequencial::registrar);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int inicio = t;
+                tarefas.add(executor.submit(() -> {
+                    for (int i = inicio; i < pedidos.size(); i += 4) {
+                        concorrente.registrar(pedidos.get(i));
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(sequencial.quantidadePedidos(), concorrente.quantidadePedidos());
+        assertEquals(sequencial.quantidadePares(), concorrente.quantidadePares());
+        for (Produto a : produtos) {
+            assertEquals(sequencial.pedidosCom(a), concorrente.pedidosCom(a));
+            for (Produto b : produtos) {
+                assertEquals(sequencial.pedidosJuntos(a, b), concorrente.pedidosJuntos(a, b));
+            }
+            List<Recomendacao> esperado = sequencial.maisCompradosJunto(a);
+            List<Recomendacao> obtido = concorrente.maisCompradosJunto(a);
+            for (int i = 0; i < esperado.size(); i++) {
+                assertEquals(esperado.get(i).getPedidosJuntos(), obtido.get(i).getPedidosJuntos());
+            }
+        }
+    }
+
+    @Test
+    void maisCompradosJunto_deveValidarQuantidadeEProdutoDesconhecido() {
+        MotorCoocorrencia motor = new MotorCoocorrencia(3);
+        motor.registrar(pedido("PAGO", 0, 1));
+
+        assertTrue(motor.maisCompradosJunto(produtos[5], 3).isEmpty(), "Produto nunca comprado não tem recomendações.");
+        assertThrows(IllegalArgumentException.class, () -> motor.maisCompradosJunto(produtos[0], 4));
+        assertThrows(IllegalArgumentException.class, () -> motor.maisCompradosJunto(produtos[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> new MotorCoocorrencia(0));
+        assertEquals(1, motor.maisCompradosJunto(produtos[0], 3).size());
+    }
+}
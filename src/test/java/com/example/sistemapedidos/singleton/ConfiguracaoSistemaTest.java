@@ -3,6 +3,13 @@ package com.example.sistemapedidos.singleton;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 class ConfiguracaoSistemaTest {
 
     @Test
@@ -48,4 +55,24 @@ class ConfiguracaoSistemaTest {
         // Restaura para o padrão
         config.setMaxItensPorPedido(50);
     }
+
+    @Test
+    void getInstance_deveCriarUmaUnicaInstanciaEntreThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<ConfiguracaoSistema> instancias = ConcurrentHashMap.newKeySet();
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    largada.await();
+                    return instancias.add(ConfiguracaoSistema.getInstance());
+                });
+            }
+            largada.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, instancias.size());
+    }
 }
@@ -0,0 +1,235 @@
+package com.example.sistemapedidos.velocidade;
+
+import com.example.sistemapedidos.builder.PedidoBuilder;
+import com.example.sistemapedidos.idempotencia.CacheIdempotencia;
+import com.example.sistemapedidos.model.Cliente;
+import com.example.sistemapedidos.model.OuvintePedido;
+import com.example.sistemapedidos.model.Pedido;
+import com.example.sistemapedidos.model.produto.Produto;
+import com.example.sistemapedidos.model.produto.ProdutoFisico;
+import com.example.sistemapedidos.singleton.ConfiguracaoSistema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LimitadorVelocidadeTest {
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private Cliente cliente;
+    private AtomicLong relogio; // Relógio falso, controlado pelo teste
+
+    @BeforeEach
+    void setUp() {
+        ConfiguracaoSistema.getInstance().setMaxItensPorPedido(50);
+        cliente = new Cliente("C001", "Cliente de Teste", "teste@example.com");
+        relogio = new AtomicLong(5 * SEGUNDO);
+    }
+
+    private PedidoBuilder pedido(Cliente dono, Produto produto, LimitadorVelocidade limitador) {
+        return new PedidoBuilder().comCliente(dono).adicionarItem(produto, 1).comLimitadorVelocidade(limitador);
+    }
+
+    private boolean aceito(LimitadorVelocidade limitador, Produto produto) {
+        try {
+            pedido(cliente, produto, limitador).construir();
+            return true;
+        } catch (LimiteVelocidadeExcedidoException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void pedidosPorMinuto_deveRecusarAcimaDoLimiteComJanelaDeslizante() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 3, 0, 0, relogio::get);
+        ProdutoFisico produto = new ProdutoFisico("Livro", 10.0, 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            pedido(cliente, produto, limitador).construir();
+        }
+        LimiteVelocidadeExcedidoException excecao = assertThrows(LimiteVelocidadeExcedidoException.class,
+                () -> pedido(cliente, produto, limitador).construir());
+        assertEquals(LimitadorVelocidade.PEDIDOS_POR_MINUTO, excecao.getLimite());
+        assertEquals("C001", excecao.getClienteId());
+        assertEquals("Limite de pedidos por minuto excedido para o cliente C001.", excecao.getMessage());
+        assertNotNull(pedido(new Cliente("C002", "Outro", "outro@example.com"), produto, limitador).construir(),
+                "O limite é por cliente.");
+
+        // Metade do minuto seguinte: os 3 do minuto anterior ainda pesam 1,5
+        relogio.addAndGet(90 * SEGUNDO);
+        assertTrue(aceito(limitador, produto), "1 + 1,5 cabe no limite de 3.");
+        assertFalse(aceito(limitador, produto), "2 + 1,5 passa do limite de 3.");
+
+        relogio.addAndGet(2 * 60 * SEGUNDO);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(aceito(limitador, produto), "Com as janelas anteriores vazias o limite volta inteiro.");
+        }
+    }
+
+    @Test
+    void valorPorHora_deveRecusarSemContarOPedidoRecusado() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 3, 100.0, 0, relogio::get);
+        ProdutoFisico caro = new ProdutoFisico("Fone", 40.0, 0.2);
+        ProdutoFisico barato = new ProdutoFisico("Caneta", 5.0, 0.01);
+
+        assertTrue(aceito(limitador, caro));
+        assertTrue(aceito(limitador, caro));
+        LimiteVelocidadeExcedidoException excecao = assertThrows(LimiteVelocidadeExcedidoException.class,
+                () -> pedido(cliente, caro, limitador).construir());
+        assertEquals(LimitadorVelocidade.VALOR_POR_HORA, excecao.getLimite());
+
+        // O recusado não entrou na conta de pedidos por minuto: ainda cabe o terceiro
+        assertTrue(aceito(limitador, barato));
+        assertEquals(LimitadorVelocidade.PEDIDOS_POR_MINUTO,
+                assertThrows(LimiteVelocidadeExcedidoException.class, () -> pedido(cliente, barato, limitador).construir()).getLimite());
+
+        relogio.addAndGet(2 * 3600 * SEGUNDO);
+        assertTrue(aceito(limitador, caro), "Duas horas depois o valor da hora anterior já não pesa.");
+    }
+
+    @Test
+    void produtosDistintosPorHora_deveLimitarProdutosNovosMasNaoRecompras() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 0, 0, 10, relogio::get);
+        List<ProdutoFisico> produtos = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            produtos.add(new ProdutoFisico("Produto " + i, 10.0 + i, 1.0));
+        }
+
+        for (int rodada = 0; rodada < 20; rodada++) {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(aceito(limitador, produtos.get(i)), "Recomprar os mesmos produtos não aumenta os distintos.");
+            }
+        }
+        int aceitos = 5;
+        int recusados = 0;
+        for (int i = 5; i < produtos.size(); i++) {
+            if (aceito(limitador, produtos.get(i))) {
+                aceitos++;
+            } else {
+                recusados++;
+            }
+        }
+        assertTrue(recusados > 0, "Produtos novos acima do limite deveriam ser recusados.");
+        assertTrue(aceitos >= 8 && aceitos <= 14, "Estimativa deveria ficar perto do limite de 10, aceitou " + aceitos + ".");
+        assertTrue(aceito(limitador, produtos.get(0)), "Produto já comprado na hora continua liberado.");
+    }
+
+    @Test
+    void construir_deveContarSoPedidosNovos() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 1, 0, 0, relogio::get);
+        CacheIdempotencia cache = new CacheIdempotencia(100, Duration.ofMinutes(10), relogio::get);
+        ProdutoFisico produto = new ProdutoFisico("Livro", 10.0, 0.5);
+        AtomicInteger criados = new AtomicInteger();
+
+        Pedido original = pedido(cliente, produto, limitador).comChaveIdempotencia("k1", cache).construir();
+        Pedido repetido = pedido(cliente, produto, limitador).comChaveIdempotencia("k1", cache).construir();
+        assertSame(original, repetido, "Nova tentativa com a mesma chave não deveria ser recusada nem contada.");
+
+        OuvintePedido ouvinte = new OuvintePedido() {
+            @Override
+            public void pedidoCriado(Pedido pedido) {
+                criados.incrementAndGet();
+            }
+        };
+        assertThrows(LimiteVelocidadeExcedidoException.class, () -> pedido(cliente, produto, limitador)
+                .comOuvinte(ouvinte).comChaveIdempotencia("k2", cache).construir());
+        assertEquals(0, criados.get(), "Ouvinte não deveria saber de pedido recusado.");
+        assertNull(cache.obter(CacheIdempotencia.chaveDoCliente("C001", "k2")), "Pedido recusado não deveria ficar no cache de idempotência.");
+
+        PedidoBuilder builder = pedido(cliente, produto, limitador);
+        builder.reset().comCliente(cliente).adicionarItem(produto, 1);
+        assertNotNull(builder.construir(), "reset() deveria remover o limitador.");
+    }
+
+    @Test
+    void construir_tentativaQuePerdeACorridaDaChave_naoDeveSerContada() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 2, 0, 0, relogio::get);
+        // Simula duas tentativas simultâneas: as duas passam por obter() antes de alguma registrar
+        CacheIdempotencia cache = new CacheIdempotencia(100, Duration.ofMinutes(10), relogio::get) {
+            @Override
+            public Pedido obter(String chave) {
+                return null;
+            }
+        };
+        ProdutoFisico produto = new ProdutoFisico("Livro", 10.0, 0.5);
+
+        Pedido primeira = pedido(cliente, produto, limitador).comChaveIdempotencia("k1", cache).construir();
+        Pedido segunda = pedido(cliente, produto, limitador).comChaveIdempotencia("k1", cache).construir();
+
+        assertSame(primeira, segunda);
+        assertTrue(aceito(limitador, produto), "A tentativa que perdeu deveria ter sido estornada do limite.");
+        assertFalse(aceito(limitador, produto));
+    }
+
+    @Test
+    void clientesOciosos_deveriamLiberarPosicoesParaClientesNovos() {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(2, 1, 0, 0, relogio::get); // 4 posições
+        ProdutoFisico produto = new ProdutoFisico("Livro", 10.0, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            pedido(new Cliente("C" + i, "Cliente " + i, "c@example.com"), produto, limitador).construir();
+        }
+        assertEquals(4, limitador.clientesAtivos());
+        pedido(new Cliente("C9", "Sem vaga", "c@example.com"), produto, limitador).construir();
+        pedido(new Cliente("C9", "Sem vaga", "c@example.com"), produto, limitador).construir();
+        assertEquals(2, limitador.quantidadeSemEspaco(), "Sem posição livre o pedido passa sem limite.");
+
+        relogio.addAndGet(2 * 3600 * SEGUNDO);
+        assertEquals(0, limitador.clientesAtivos(), "Sem pedidos há duas horas todos expiram.");
+        Cliente novo = new Cliente("C10", "Novo", "c@example.com");
+        pedido(novo, produto, limitador).construir();
+        assertThrows(LimiteVelocidadeExcedidoException.class, () -> pedido(novo, produto, limitador).construir(),
+                "Cliente novo numa posição reaproveitada deveria ser limitado normalmente.");
+        assertEquals(1, limitador.clientesAtivos());
+        assertEquals(2, limitador.quantidadeSemEspaco());
+        assertEquals(4 * 5 * 8, limitador.bytesEstimados());
+    }
+
+    @Test
+    void verificar_deveAceitarExatamenteOLimiteComVariasThreads() throws Exception {
+        LimitadorVelocidade limitador = new LimitadorVelocidade(100, 100, 0, 0, relogio::get);
+        ProdutoFisico produto = new ProdutoFisico("Livro", 10.0, 0.5);
+        AtomicInteger aceitos = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        if (aceito(limitador, produto)) {
+                            aceitos.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100, aceitos.get());
+    }
+
+    @Test
+    void construtor_deveValidarParametros() {
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorVelocidade(0, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorVelocidade(10, -1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorVelocidade(10, 1, Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorVelocidade(10, 1, 1e7, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LimitadorVelocidade(10, 1, 1, LimitadorVelocidade.MAX_PRODUTOS_DISTINTOS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorVelocidade(10, 1, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> new PedidoBuilder().comLimitadorVelocidade(null));
+    }
+}